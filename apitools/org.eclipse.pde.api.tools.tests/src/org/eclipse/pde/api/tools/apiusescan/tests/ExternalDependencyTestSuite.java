@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2010, 2018 IBM Corporation and others.
+ * Copyright (c) 2010, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -24,7 +24,7 @@ import org.junit.runners.Suite;
  */
 @RunWith(Suite.class)
 @Suite.SuiteClasses({
-		ReferenceCountTests.class, ExternalDependencyProblemMarkerTests.class
+		ReferenceCountTests.class, ExternalDependencyProblemMarkerTests.class, UseReportConverterTests.class
 })
 public class ExternalDependencyTestSuite {
 
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2010 IBM Corporation and others.
+ * Copyright (c) 2010, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -15,19 +15,33 @@ package org.eclipse.pde.api.tools.apiusescan.tests;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 
+import java.io.File;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.stream.Stream;
+
 import org.eclipse.core.resources.IProject;
 import org.eclipse.core.runtime.NullProgressMonitor;
 import org.eclipse.osgi.util.NLS;
 import org.eclipse.pde.api.tools.internal.ApiDescription;
+import org.eclipse.pde.api.tools.internal.model.ArchiveTypeIndex;
 import org.eclipse.pde.api.tools.internal.provisional.ApiPlugin;
 import org.eclipse.pde.api.tools.internal.provisional.model.IApiBaseline;
 import org.eclipse.pde.api.tools.internal.provisional.model.IApiComponent;
 import org.eclipse.pde.api.tools.internal.search.IReferenceCollection;
 import org.eclipse.pde.api.tools.internal.search.IReferenceDescriptor;
+import org.eclipse.pde.api.tools.internal.search.UseScanIndex;
 import org.eclipse.pde.api.tools.internal.search.UseScanManager;
+import org.eclipse.pde.api.tools.internal.search.UseScanParser;
+import org.eclipse.pde.api.tools.internal.search.UseScanReferenceVisitor;
+import org.eclipse.pde.api.tools.internal.search.UseScanReferences;
+import org.eclipse.pde.api.tools.internal.util.Util;
 import org.eclipse.pde.api.tools.model.tests.TestSuiteHelper;
 import org.junit.Before;
 import org.junit.Test;
@@ -139,4 +153,52 @@ public class ReferenceCountTests {
 		assertFalse("References for org.eclipse.equinox.app.IApplication should have been purged from the cache", //$NON-NLS-1$
 				useScanRefs.hasReferencesTo("org.eclipse.equinox.app.IApplication")); //$NON-NLS-1$
 	}
+
+	/**
+	 * Tests that the binary index of a scan returns the same references as
+	 * parsing the reports, and that it is compiled again when the reports
+	 * change
+	 */
+	@Test
+	public void testIndexedReferences() throws Exception {
+		String location = ExternalDependencyTestUtils.setupReport("reportAll", true); //$NON-NLS-1$
+		if (location == null) {
+			fail("Could not setup the report : reportAll.zip"); //$NON-NLS-1$
+		}
+		IApiComponent apiComponent = fBaseline.getApiComponent(ExternalDependencyTestUtils.PROJECT_NAME);
+		String[][] types = new String[][] {
+				{"tests.apiusescan.coretestproject.ClassWithInnerType"}, //$NON-NLS-1$
+				{"tests.apiusescan.coretestproject.IConstants", //$NON-NLS-1$
+					"tests.apiusescan.coretestproject.ITestInterface"}, //$NON-NLS-1$
+				null };
+		File directory = Files.createTempDirectory("usescanindex").toFile(); //$NON-NLS-1$
+		try {
+			UseScanIndex index = UseScanIndex.open(location, directory, new NullProgressMonitor());
+			for (String[] lookup : types) {
+				UseScanReferences parsed = new UseScanReferences();
+				new UseScanParser().parse(location, new NullProgressMonitor(), new UseScanReferenceVisitor(apiComponent, lookup, parsed));
+				UseScanReferences indexed = new UseScanReferences();
+				index.collect(apiComponent.getSymbolicName(), lookup, indexed);
+				assertEquals("The index should return the parsed references", //$NON-NLS-1$
+						new HashSet<>(Arrays.asList(parsed.getAllExternalDependencies())),
+						new HashSet<>(Arrays.asList(indexed.getAllExternalDependencies())));
+			}
+			String[] compiled = directory.list();
+			assertEquals("The index should be compiled once", 1, compiled.length); //$NON-NLS-1$
+			assertTrue("The index should be named after the digest of the location", //$NON-NLS-1$
+					compiled[0].startsWith(ArchiveTypeIndex.digest(new File(location).getAbsolutePath()) + '-'));
+			UseScanIndex.open(location, directory, new NullProgressMonitor());
+			assertEquals("The index should be reused", Arrays.asList(compiled), Arrays.asList(directory.list())); //$NON-NLS-1$
+
+			File report;
+			try (Stream<Path> files = Files.walk(new File(location).toPath())) {
+				report = files.filter(Files::isRegularFile).findFirst().get().toFile();
+			}
+			report.setLastModified(report.lastModified() - 10000);
+			UseScanIndex.open(location, directory, new NullProgressMonitor());
+			assertNotEquals("The index should be compiled again", Arrays.asList(compiled), Arrays.asList(directory.list())); //$NON-NLS-1$
+		} finally {
+			Util.delete(directory);
+		}
+	}
 }
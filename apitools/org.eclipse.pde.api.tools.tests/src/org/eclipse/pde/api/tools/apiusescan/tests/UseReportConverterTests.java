@@ -0,0 +1,111 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse contributors and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Eclipse contributors - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.pde.api.tools.apiusescan.tests;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.fail;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.stream.Stream;
+
+import org.eclipse.core.runtime.NullProgressMonitor;
+import org.eclipse.pde.api.tools.internal.search.UseReportConverter;
+import org.eclipse.pde.api.tools.internal.util.Util;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests that the HTML pages of a use scan do not depend on the number of
+ * threads used to convert the components, nor on references being moved to
+ * disk while a component is converted.
+ */
+public class UseReportConverterTests {
+
+	private static final String SPILL_THRESHOLD_PROPERTY = "org.eclipse.pde.api.tools.usereport.spillThreshold"; //$NON-NLS-1$
+
+	private String fXmlLocation;
+	private File fHtmlRoot;
+
+	@Before
+	public void setUp() throws Exception {
+		fXmlLocation = ExternalDependencyTestUtils.setupReport("reportAll", true); //$NON-NLS-1$
+		if (fXmlLocation == null) {
+			fail("Could not setup the report : reportAll.zip"); //$NON-NLS-1$
+		}
+		fHtmlRoot = Files.createTempDirectory("usereport").toFile(); //$NON-NLS-1$
+	}
+
+	@After
+	public void tearDown() throws Exception {
+		System.clearProperty(SPILL_THRESHOLD_PROPERTY);
+		Util.delete(fHtmlRoot);
+	}
+
+	/**
+	 * Converts the scan to HTML in the given folder
+	 *
+	 * @param name the name of the folder
+	 * @param threads the number of threads
+	 * @return the content of the pages by relative path
+	 */
+	private Map<String, byte[]> convert(String name, int threads) throws Exception {
+		File html = new File(fHtmlRoot, name);
+		UseReportConverter converter = new UseReportConverter(html.getAbsolutePath(), fXmlLocation, null, null);
+		converter.setThreadCount(threads);
+		converter.convert(null, new NullProgressMonitor());
+		Map<String, byte[]> pages = new TreeMap<>();
+		try (Stream<Path> files = Files.walk(html.toPath())) {
+			files.filter(Files::isRegularFile).forEach(file -> {
+				try {
+					pages.put(html.toPath().relativize(file).toString(), Files.readAllBytes(file));
+				} catch (IOException e) {
+					throw new IllegalStateException(e);
+				}
+			});
+		}
+		assertFalse("The scan should be converted", pages.isEmpty()); //$NON-NLS-1$
+		return pages;
+	}
+
+	private static void assertSamePages(Map<String, byte[]> expected, Map<String, byte[]> actual) {
+		assertEquals("The same pages should be written", expected.keySet(), actual.keySet()); //$NON-NLS-1$
+		for (Map.Entry<String, byte[]> page : expected.entrySet()) {
+			assertArrayEquals(page.getKey(), page.getValue(), actual.get(page.getKey()));
+		}
+	}
+
+	@Test
+	public void testParallelConversion() throws Exception {
+		Map<String, byte[]> sequential = convert("sequential", 1); //$NON-NLS-1$
+		Map<String, byte[]> parallel = convert("parallel", 4); //$NON-NLS-1$
+		assertSamePages(sequential, parallel);
+	}
+
+	@Test
+	public void testSpilledReferences() throws Exception {
+		Map<String, byte[]> inMemory = convert("memory", 1); //$NON-NLS-1$
+		// every reference is moved to disk and read back for its page
+		System.setProperty(SPILL_THRESHOLD_PROPERTY, "1"); //$NON-NLS-1$
+		assertSamePages(inMemory, convert("spilled", 1)); //$NON-NLS-1$
+		assertSamePages(inMemory, convert("spilledparallel", 4)); //$NON-NLS-1$
+	}
+}
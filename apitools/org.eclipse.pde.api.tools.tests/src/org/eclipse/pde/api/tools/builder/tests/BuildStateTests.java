@@ -0,0 +1,163 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse contributors and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Eclipse contributors - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.pde.api.tools.builder.tests;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+
+import org.eclipse.pde.api.tools.internal.builder.BuildState;
+import org.eclipse.pde.api.tools.internal.comparator.Delta;
+import org.eclipse.pde.api.tools.internal.provisional.ApiPlugin;
+import org.eclipse.pde.api.tools.internal.provisional.RestrictionModifiers;
+import org.eclipse.pde.api.tools.internal.provisional.comparator.IDelta;
+import org.junit.Test;
+
+/**
+ * Tests reading and writing the {@link BuildState}
+ */
+public class BuildStateTests {
+
+	private static final int TYPE_COUNT = 50;
+
+	/**
+	 * Writes a build state in the version 33 format
+	 */
+	private byte[] writeLegacyState() throws IOException {
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		try (DataOutputStream out = new DataOutputStream(bytes)) {
+			out.writeUTF(ApiPlugin.PLUGIN_ID);
+			out.writeUTF("STATE"); //$NON-NLS-1$
+			out.writeInt(33);
+			out.writeBoolean(true);
+			out.writeLong(42L);
+			// compatible changes: one added method per type
+			out.writeInt(TYPE_COUNT);
+			for (int i = 0; i < TYPE_COUNT; i++) {
+				writeLegacyDelta(out, IDelta.CLASS_ELEMENT_TYPE, IDelta.ADDED, IDelta.METHOD, "p.Type" + i, "m()V"); //$NON-NLS-1$ //$NON-NLS-2$
+			}
+			// breaking changes: one removed method in the first type
+			out.writeInt(1);
+			writeLegacyDelta(out, IDelta.CLASS_ELEMENT_TYPE, IDelta.REMOVED, IDelta.METHOD, "p.Type0", "n()V"); //$NON-NLS-1$ //$NON-NLS-2$
+			out.writeInt(1);
+			out.writeUTF("reexported"); //$NON-NLS-1$
+			out.writeInt(1);
+			out.writeUTF("dependent"); //$NON-NLS-1$
+			out.writeInt(1);
+			out.writeUTF("Bundle-Version"); //$NON-NLS-1$
+			out.writeUTF("1.0.0"); //$NON-NLS-1$
+			out.writeInt(1);
+			out.writeUTF("jars.extra.classpath"); //$NON-NLS-1$
+			out.writeUTF("lib/a.jar"); //$NON-NLS-1$
+		}
+		return bytes.toByteArray();
+	}
+
+	private void writeLegacyDelta(DataOutputStream out, int elementType, int kind, int flags, String typeName, String key) throws IOException {
+		out.writeBoolean(false);
+		out.writeInt(elementType);
+		out.writeInt(kind);
+		out.writeInt(flags);
+		out.writeInt(RestrictionModifiers.NO_RESTRICTIONS);
+		out.writeInt(0);
+		out.writeInt(0);
+		out.writeUTF(typeName);
+		out.writeUTF(key);
+		out.writeInt(1);
+		out.writeUTF(typeName + '.' + key);
+	}
+
+	private BuildState read(byte[] bytes) throws IOException {
+		try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(bytes))) {
+			return BuildState.read(in);
+		}
+	}
+
+	private byte[] write(BuildState state) throws IOException {
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		try (DataOutputStream out = new DataOutputStream(bytes)) {
+			BuildState.write(state, out);
+		}
+		return bytes.toByteArray();
+	}
+
+	private Set<IDelta> asSet(IDelta[] deltas) {
+		return new HashSet<>(Arrays.asList(deltas));
+	}
+
+	/**
+	 * Tests that a version 33 build state is migrated to the current format
+	 */
+	@Test
+	public void testMigrateLegacyState() throws IOException {
+		BuildState legacy = read(writeLegacyState());
+		assertNotNull("The legacy state should be read", legacy); //$NON-NLS-1$
+		assertEquals("Wrong number of compatible changes", TYPE_COUNT, legacy.getCompatibleChanges().length); //$NON-NLS-1$
+		assertEquals("Wrong number of breaking changes", 1, legacy.getBreakingChanges().length); //$NON-NLS-1$
+
+		BuildState state = read(write(legacy));
+		assertNotNull("The migrated state should be read", state); //$NON-NLS-1$
+		assertEquals("Wrong compatible changes", asSet(legacy.getCompatibleChanges()), asSet(state.getCompatibleChanges())); //$NON-NLS-1$
+		assertEquals("Wrong breaking changes", asSet(legacy.getBreakingChanges()), asSet(state.getBreakingChanges())); //$NON-NLS-1$
+		assertArrayEquals("Wrong re-exported components", new String[] { "reexported" }, state.getReexportedComponents()); //$NON-NLS-1$ //$NON-NLS-2$
+		assertEquals("Wrong dependent projects", legacy.getApiToolingDependentProjects(), state.getApiToolingDependentProjects()); //$NON-NLS-1$
+		assertEquals("Wrong manifest state", legacy.getManifestState(), state.getManifestState()); //$NON-NLS-1$
+		assertEquals("Wrong build.properties state", legacy.getBuildPropertiesState(), state.getBuildPropertiesState()); //$NON-NLS-1$
+		assertEquals("Wrong build path CRC", 42L, state.getBuildPathCRC()); //$NON-NLS-1$
+	}
+
+	/**
+	 * Tests that changes of a saved state that are cleaned up or never
+	 * requested survive another save
+	 */
+	@Test
+	public void testLazyChanges() throws IOException {
+		byte[] saved = write(read(writeLegacyState()));
+		BuildState state = read(saved);
+		state.cleanup("p.Type1"); //$NON-NLS-1$
+		IDelta added = new Delta(null, IDelta.CLASS_ELEMENT_TYPE, IDelta.ADDED, IDelta.FIELD, RestrictionModifiers.NO_RESTRICTIONS, 0, 0, "p.Type2", "f", "p.Type2.f"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+		state.addCompatibleChange(added);
+
+		BuildState reread = read(write(state));
+		Set<IDelta> expected = asSet(read(saved).getCompatibleChanges());
+		expected.removeIf(delta -> "p.Type1".equals(delta.getTypeName())); //$NON-NLS-1$
+		expected.add(added);
+		assertEquals("Wrong compatible changes", expected, asSet(reread.getCompatibleChanges())); //$NON-NLS-1$
+		assertEquals("Wrong breaking changes", asSet(read(saved).getBreakingChanges()), asSet(reread.getBreakingChanges())); //$NON-NLS-1$
+	}
+
+	/**
+	 * Tests that states older than version 33 are not read
+	 */
+	@Test
+	public void testOldState() throws IOException {
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		try (DataOutputStream out = new DataOutputStream(bytes)) {
+			out.writeUTF(ApiPlugin.PLUGIN_ID);
+			out.writeUTF("STATE"); //$NON-NLS-1$
+			out.writeInt(32);
+		}
+		assertNull("Old states require a full build", read(bytes.toByteArray())); //$NON-NLS-1$
+	}
+}
@@ -0,0 +1,67 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse contributors and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Eclipse contributors - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.pde.api.tools.builder.tests;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.eclipse.core.runtime.NullProgressMonitor;
+import org.eclipse.pde.api.tools.internal.builder.ReferenceAnalyzer;
+import org.eclipse.pde.api.tools.internal.provisional.model.IApiBaseline;
+import org.eclipse.pde.api.tools.internal.provisional.model.IApiComponent;
+import org.eclipse.pde.api.tools.internal.provisional.problems.IApiProblem;
+import org.eclipse.pde.api.tools.model.tests.TestSuiteHelper;
+import org.junit.Test;
+
+/**
+ * Tests that the references extracted in parallel by the
+ * {@link ReferenceAnalyzer} lead to the same problems as a sequential
+ * extraction
+ */
+public class ReferenceAnalyzerTests {
+
+	private static final String[] COMPONENTS = { "component.a", "component.b" }; //$NON-NLS-1$ //$NON-NLS-2$
+
+	private static List<String> analyze(IApiBaseline baseline, int threads) throws Exception {
+		List<String> problems = new ArrayList<>();
+		for (String id : COMPONENTS) {
+			IApiComponent component = baseline.getApiComponent(id);
+			assertNotNull("Missing API component " + id, component); //$NON-NLS-1$
+			for (IApiProblem problem : new ReferenceAnalyzer(threads).analyze(component, component, new NullProgressMonitor())) {
+				problems.add(problem.getId() + " " + problem.getTypeName() + " " + problem.getLineNumber() + " " //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+						+ problem.getCharStart() + " " + Arrays.toString(problem.getMessageArguments())); //$NON-NLS-1$
+			}
+		}
+		return problems;
+	}
+
+	@Test
+	public void testParallelExtraction() throws Exception {
+		IApiBaseline baseline = TestSuiteHelper.createTestingBaseline("test-plugins"); //$NON-NLS-1$
+		try {
+			List<String> sequential = analyze(baseline, 1);
+			assertFalse("No problems found", sequential.isEmpty()); //$NON-NLS-1$
+			for (int i = 0; i < 3; i++) {
+				assertEquals("Different problems with 4 threads", sequential, analyze(baseline, 4)); //$NON-NLS-1$
+			}
+		} finally {
+			ApiTestingEnvironment.dispose(baseline);
+		}
+	}
+}
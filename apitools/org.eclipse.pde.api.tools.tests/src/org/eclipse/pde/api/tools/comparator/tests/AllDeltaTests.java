@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2007, 2018 IBM Corporation and others.
+ * Copyright (c) 2007, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -26,7 +26,7 @@ import org.junit.runners.Suite;
 @Suite.SuiteClasses({
 		FieldDeltaTests.class, InterfaceDeltaTests.class, ClassDeltaTests.class, AnnotationDeltaTests.class,
 		EnumDeltaTests.class, MethodDeltaTests.class, MixedTypesDeltaTests.class, BundlesDeltaTests.class,
-		RestrictionsDeltaTests.class, ApiScopeDeltaTests.class, Java8DeltaTests.class
+		RestrictionsDeltaTests.class, ApiScopeDeltaTests.class, Java8DeltaTests.class, ClassFileDeltaCacheTests.class
 })
 public class AllDeltaTests {
 }
@@ -578,4 +578,25 @@ public class BundlesDeltaTests extends DeltaTestSetup {
 		assertNotNull("No delta", delta); //$NON-NLS-1$
 		assertFalse("Equals to NO_DELTA", delta == ApiComparator.NO_DELTA); //$NON-NLS-1$
 	}
-}
\ No newline at end of file
+
+	/**
+	 * Test that comparing two baselines in parallel returns the same deltas in
+	 * the same order as a sequential comparison
+	 */
+	@Test
+	public void test17() {
+		deployBundles("test1"); //$NON-NLS-1$
+		IDelta delta = ApiComparator.compare(getBeforeState(), getAfterState(), VisibilityModifiers.ALL_VISIBILITIES, true, 1, null);
+		IDelta delta2 = ApiComparator.compare(getBeforeState(), getAfterState(), VisibilityModifiers.ALL_VISIBILITIES, true, 4, null);
+		assertNotNull("No delta", delta); //$NON-NLS-1$
+		assertNotNull("No delta", delta2); //$NON-NLS-1$
+		IDelta[] allLeavesDeltas = collectLeaves(delta);
+		IDelta[] allLeavesDeltas2 = collectLeaves(delta2);
+		assertEquals("Wrong size", allLeavesDeltas.length, allLeavesDeltas2.length); //$NON-NLS-1$
+		for (int i = 0; i < allLeavesDeltas.length; i++) {
+			assertEquals("Wrong kind", allLeavesDeltas[i].getKind(), allLeavesDeltas2[i].getKind()); //$NON-NLS-1$
+			assertEquals("Wrong flag", allLeavesDeltas[i].getFlags(), allLeavesDeltas2[i].getFlags()); //$NON-NLS-1$
+			assertEquals("Wrong key", allLeavesDeltas[i].getKey(), allLeavesDeltas2[i].getKey()); //$NON-NLS-1$
+		}
+	}
+}
@@ -0,0 +1,173 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse contributors and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Eclipse contributors - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.pde.api.tools.comparator.tests;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.nio.file.Files;
+
+import org.eclipse.pde.api.tools.internal.comparator.ClassFileComparator;
+import org.eclipse.pde.api.tools.internal.comparator.ClassFileDeltaCache;
+import org.eclipse.pde.api.tools.internal.comparator.Delta;
+import org.eclipse.pde.api.tools.internal.provisional.VisibilityModifiers;
+import org.eclipse.pde.api.tools.internal.provisional.comparator.IDelta;
+import org.eclipse.pde.api.tools.internal.provisional.model.IApiBaseline;
+import org.eclipse.pde.api.tools.internal.provisional.model.IApiComponent;
+import org.eclipse.pde.api.tools.internal.provisional.model.IApiTypeRoot;
+import org.junit.Test;
+
+/**
+ * Tests the cache of the deltas computed by the {@link ClassFileComparator}
+ */
+public class ClassFileDeltaCacheTests extends DeltaTestSetup {
+
+	private static final String TYPE_NAME = "X"; //$NON-NLS-1$
+
+	@Override
+	public String getTestRoot() {
+		return "class"; //$NON-NLS-1$
+	}
+
+	private static IApiTypeRoot findType(IApiBaseline baseline) throws Exception {
+		IApiComponent component = baseline.getApiComponent(BUNDLE_NAME);
+		assertNotNull("no api component", component); //$NON-NLS-1$
+		IApiTypeRoot root = component.findTypeRoot(TYPE_NAME);
+		assertNotNull("no type root", root); //$NON-NLS-1$
+		return root;
+	}
+
+	private static String computeKey(ClassFileDeltaCache cache, IApiBaseline baseline, IApiBaseline baseline2, int visibility) throws Exception {
+		IApiTypeRoot root = findType(baseline);
+		IApiTypeRoot root2 = findType(baseline2);
+		return cache.computeKey(root.getStructure(), root2.getStructure(), root.getApiComponent(), root2.getApiComponent(), visibility);
+	}
+
+	private static IDelta compare(ClassFileDeltaCache cache, IApiBaseline before, IApiBaseline after, String key) throws Exception {
+		IApiTypeRoot root = findType(before);
+		IApiTypeRoot root2 = findType(after);
+		ClassFileComparator comparator = new ClassFileComparator(root.getStructure(), root2, root.getApiComponent(), root2.getApiComponent(), before, after, VisibilityModifiers.ALL_VISIBILITIES);
+		IDelta delta = comparator.getDelta(null);
+		assertNotNull("No delta", delta); //$NON-NLS-1$
+		assertTrue("Not cacheable", comparator.isCacheable()); //$NON-NLS-1$
+		cache.put(key, comparator, delta);
+		return delta;
+	}
+
+	private static void assertDeltaEquals(IDelta expected, IDelta actual) {
+		assertEquals("Wrong type name", expected.getTypeName(), actual.getTypeName()); //$NON-NLS-1$
+		if (expected.getTypeName() != null) {
+			assertEquals("Wrong component", expected.getComponentVersionId(), actual.getComponentVersionId()); //$NON-NLS-1$
+			assertEquals("Wrong element type", expected.getElementType(), actual.getElementType()); //$NON-NLS-1$
+			assertEquals("Wrong kind", expected.getKind(), actual.getKind()); //$NON-NLS-1$
+			assertEquals("Wrong flags", expected.getFlags(), actual.getFlags()); //$NON-NLS-1$
+			assertEquals("Wrong restrictions", expected.getCurrentRestrictions(), actual.getCurrentRestrictions()); //$NON-NLS-1$
+			assertEquals("Wrong previous restrictions", expected.getPreviousRestrictions(), actual.getPreviousRestrictions()); //$NON-NLS-1$
+			assertEquals("Wrong old modifiers", expected.getOldModifiers(), actual.getOldModifiers()); //$NON-NLS-1$
+			assertEquals("Wrong new modifiers", expected.getNewModifiers(), actual.getNewModifiers()); //$NON-NLS-1$
+			assertEquals("Wrong key", expected.getKey(), actual.getKey()); //$NON-NLS-1$
+			assertArrayEquals("Wrong arguments", expected.getArguments(), actual.getArguments()); //$NON-NLS-1$
+		}
+		IDelta[] children = expected.getChildren();
+		IDelta[] children2 = actual.getChildren();
+		assertEquals("Wrong children", children.length, children2.length); //$NON-NLS-1$
+		for (int i = 0; i < children.length; i++) {
+			assertDeltaEquals(children[i], children2[i]);
+		}
+	}
+
+	/**
+	 * Tests that the key changes with the class files and the visibility of
+	 * the comparison
+	 */
+	@Test
+	public void testKeyInvalidation() throws Exception {
+		deployBundles("test1"); //$NON-NLS-1$
+		IApiBaseline before = getBeforeState();
+		IApiBaseline after = getAfterState();
+		ClassFileDeltaCache cache = new ClassFileDeltaCache(10);
+
+		String key = computeKey(cache, before, after, VisibilityModifiers.ALL_VISIBILITIES);
+		assertNotNull("No key", key); //$NON-NLS-1$
+		assertEquals("Unstable key", key, computeKey(cache, before, after, VisibilityModifiers.ALL_VISIBILITIES)); //$NON-NLS-1$
+		assertNotEquals("Same key for changed class file", key, computeKey(cache, before, before, VisibilityModifiers.ALL_VISIBILITIES)); //$NON-NLS-1$
+		assertNotEquals("Same key for swapped class files", key, computeKey(cache, after, before, VisibilityModifiers.ALL_VISIBILITIES)); //$NON-NLS-1$
+		assertNotEquals("Same key for other visibility", key, computeKey(cache, before, after, VisibilityModifiers.API)); //$NON-NLS-1$
+
+		assertNull("Disabled cache computed a key", computeKey(new ClassFileDeltaCache(0), before, after, VisibilityModifiers.ALL_VISIBILITIES)); //$NON-NLS-1$
+	}
+
+	/**
+	 * Tests that cached deltas are copies that can be changed by callers
+	 */
+	@Test
+	public void testCachedDeltasAreCopies() throws Exception {
+		deployBundles("test1"); //$NON-NLS-1$
+		IApiBaseline before = getBeforeState();
+		IApiBaseline after = getAfterState();
+		ClassFileDeltaCache cache = new ClassFileDeltaCache(10);
+		String key = computeKey(cache, before, after, VisibilityModifiers.ALL_VISIBILITIES);
+		IDelta delta = compare(cache, before, after, key);
+		int children = delta.getChildren().length;
+		((Delta) delta).add(new Delta());
+
+		IDelta cached = cache.get(key);
+		assertNotSame("Cached delta not copied", delta, cached); //$NON-NLS-1$
+		assertEquals("Cached delta changed", children, cached.getChildren().length); //$NON-NLS-1$
+		((Delta) cached).add(new Delta());
+		assertEquals("Cached delta changed", children, cache.get(key).getChildren().length); //$NON-NLS-1$
+	}
+
+	/**
+	 * Tests that a saved cache is restored with the same deltas
+	 */
+	@Test
+	public void testSaveRestore() throws Exception {
+		deployBundles("test1"); //$NON-NLS-1$
+		IApiBaseline before = getBeforeState();
+		IApiBaseline after = getAfterState();
+		ClassFileDeltaCache cache = new ClassFileDeltaCache(10);
+		String key = computeKey(cache, before, after, VisibilityModifiers.ALL_VISIBILITIES);
+		IDelta delta = compare(cache, before, after, key);
+		String key2 = computeKey(cache, before, before, VisibilityModifiers.ALL_VISIBILITIES);
+		IDelta delta2 = compare(cache, before, before, key2);
+		assertFalse("Empty delta", delta.isEmpty()); //$NON-NLS-1$
+
+		File file = File.createTempFile("classfile_deltas", ".dat"); //$NON-NLS-1$ //$NON-NLS-2$
+		try {
+			cache.save(file);
+			assertFalse("Temporary file left", new File(file.getParentFile(), file.getName() + ".tmp").exists()); //$NON-NLS-1$ //$NON-NLS-2$
+			ClassFileDeltaCache restored = new ClassFileDeltaCache(10);
+			restored.restore(file);
+			assertEquals("Wrong size", 2, restored.size()); //$NON-NLS-1$
+			assertDeltaEquals(delta, restored.get(key));
+			assertDeltaEquals(delta2, restored.get(key2));
+
+			// a corrupted cache file is ignored
+			Files.write(file.toPath(), new byte[] { 0, 0, 0, 1, 0, 0, 0, 5 });
+			ClassFileDeltaCache corrupted = new ClassFileDeltaCache(10);
+			corrupted.restore(file);
+			assertEquals("Corrupted cache restored", 0, corrupted.size()); //$NON-NLS-1$
+		} finally {
+			file.delete();
+		}
+	}
+}
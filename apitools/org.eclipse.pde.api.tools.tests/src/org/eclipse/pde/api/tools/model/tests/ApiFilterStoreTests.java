@@ -249,6 +249,49 @@ public class ApiFilterStoreTests extends AbstractApiTest {
 		assertFalse("src/x/y/z/C4.java should not have a filter", store.isFiltered(problem)); //$NON-NLS-1$
 	}
 
+	/**
+	 * Tests that a filter with simple message arguments filters problems with
+	 * qualified message arguments, and that the usage of the filter is recorded
+	 * when problems are filtered concurrently
+	 *
+	 * @throws Exception
+	 */
+	@Test
+	public void testFilterQualifiedArguments() throws Exception {
+		IApiComponent component = getProjectApiComponent(TESTING_PLUGIN_PROJECT_NAME);
+		assertNotNull("the testing project api component must exist", component); //$NON-NLS-1$
+		IProject project = getTestingJavaProject(TESTING_PLUGIN_PROJECT_NAME).getProject();
+		IResource resource = project.findMember(new Path("src/x/y/z/C4.java")); //$NON-NLS-1$
+		assertNotNull("the resource src/x/y/z/C4.java must exist", resource); //$NON-NLS-1$
+		String path = resource.getProjectRelativePath().toPortableString();
+		IApiProblem problem = ApiProblemFactory.newApiProblem(path, "x.y.z.C4", new String[] { "C4", "m()" }, null, null, -1, -1, -1, IApiProblem.CATEGORY_USAGE, IElementDescriptor.METHOD, IApiProblem.ILLEGAL_OVERRIDE, IApiProblem.NO_FLAGS); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+		IApiProblemFilter filter = ApiProblemFactory.newProblemFilter(component.getSymbolicName(), problem, null);
+		ApiFilterStore store = (ApiFilterStore) component.getFilterStore();
+		store.addFilters(new IApiProblemFilter[] { filter });
+		try {
+			store.recordFilterUsage();
+			IApiProblem qualified = ApiProblemFactory.newApiProblem(path, "x.y.z.C4", new String[] { "x.y.z.C4", "m()" }, null, null, -1, -1, -1, IApiProblem.CATEGORY_USAGE, IElementDescriptor.METHOD, IApiProblem.ILLEGAL_OVERRIDE, IApiProblem.NO_FLAGS); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+			IApiProblem other = ApiProblemFactory.newApiProblem(path, "x.y.z.C4", new String[] { "x.y.z.D4", "m()" }, null, null, -1, -1, -1, IApiProblem.CATEGORY_USAGE, IElementDescriptor.METHOD, IApiProblem.ILLEGAL_OVERRIDE, IApiProblem.NO_FLAGS); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+			assertFalse("the problem with other arguments should not be filtered", store.isFiltered(other)); //$NON-NLS-1$
+			assertEquals("the filter should not be used yet", 1, store.getUnusedFilters(resource, "x.y.z.C4", null).length); //$NON-NLS-1$ //$NON-NLS-2$
+			Thread[] threads = new Thread[4];
+			boolean[] filtered = new boolean[threads.length];
+			for (int i = 0; i < threads.length; i++) {
+				int index = i;
+				threads[i] = new Thread(() -> filtered[index] = store.isFiltered(qualified));
+				threads[i].start();
+			}
+			for (int i = 0; i < threads.length; i++) {
+				threads[i].join();
+				assertTrue("the problem with qualified arguments should be filtered", filtered[i]); //$NON-NLS-1$
+			}
+			assertEquals("the filter should be used", 0, store.getUnusedFilters(resource, "x.y.z.C4", null).length); //$NON-NLS-1$ //$NON-NLS-2$
+		} finally {
+			store.removeFilters(new IApiProblemFilter[] { filter });
+		}
+		assertFalse("src/x/y/z/C4.java should not have the filter", store.isFiltered(problem)); //$NON-NLS-1$
+	}
+
 	/**
 	 * Tests that a filter store will not be annotated from a bundle
 	 *
@@ -13,11 +13,13 @@
  *******************************************************************************/
 package org.eclipse.pde.api.tools.model.tests;
 
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
 
+import org.eclipse.pde.api.tools.internal.ConcurrentLRUCache;
 import org.eclipse.pde.api.tools.internal.model.ApiModelCache;
 import org.eclipse.pde.api.tools.internal.provisional.model.IApiElement;
 import org.eclipse.pde.api.tools.internal.provisional.model.IApiType;
@@ -175,4 +177,26 @@ public class ApiModelCacheTests {
 		assertTrue("The type 'a.b.c.testee1' should have been removed from the cache", ApiModelCache.getCache().removeElementInfo(element)); //$NON-NLS-1$
 		assertTrue("The cache should be empty", ApiModelCache.getCache().isEmpty()); //$NON-NLS-1$
 	}
+
+	/**
+	 * Tests that lookups in the type caches are recorded in the statistics
+	 *
+	 * @throws Exception
+	 */
+	@Test
+	public void testStatistics() throws Exception {
+		ConcurrentLRUCache.Statistics statistics = ApiModelCache.getCache().getStatistics();
+		statistics.reset();
+		cacheType("a.b.c.testee1"); //$NON-NLS-1$
+		cacheType("a.b.c.testee1$inner"); //$NON-NLS-1$
+		assertNotNull("The element 'a.b.c.testee1' should exist in the cache", //$NON-NLS-1$
+				ApiModelCache.getCache().getElementInfo(TEST_BASELINE_ID, TEST_COMP_ID, "a.b.c.testee1", IApiElement.TYPE)); //$NON-NLS-1$
+		assertNotNull("The element 'a.b.c.testee1$inner' should exist in the cache", //$NON-NLS-1$
+				ApiModelCache.getCache().getElementInfo(TEST_BASELINE_ID, TEST_COMP_ID, "a.b.c.testee1$inner", IApiElement.TYPE)); //$NON-NLS-1$
+		assertNull("The element 'a.b.c.testee2' should not exist in the cache", //$NON-NLS-1$
+				ApiModelCache.getCache().getElementInfo(TEST_BASELINE_ID, TEST_COMP_ID, "a.b.c.testee2", IApiElement.TYPE)); //$NON-NLS-1$
+		assertEquals("Wrong number of hits", 2, statistics.getHitCount()); //$NON-NLS-1$
+		assertEquals("Wrong number of misses", 1, statistics.getMissCount()); //$NON-NLS-1$
+		assertEquals("Wrong number of evictions", 0, statistics.getEvictionCount()); //$NON-NLS-1$
+	}
 }
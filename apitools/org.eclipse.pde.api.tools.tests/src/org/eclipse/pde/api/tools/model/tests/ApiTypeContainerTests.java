@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2007, 2018 IBM Corporation and others.
+ * Copyright (c) 2007, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -13,7 +13,10 @@
  *******************************************************************************/
 package org.eclipse.pde.api.tools.model.tests;
 
+import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 
@@ -27,8 +30,10 @@ import java.util.Set;
 
 import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.IPath;
+import org.eclipse.pde.api.tools.internal.model.AbstractApiTypeRoot;
 import org.eclipse.pde.api.tools.internal.model.ArchiveApiTypeContainer;
 import org.eclipse.pde.api.tools.internal.model.DirectoryApiTypeContainer;
+import org.eclipse.pde.api.tools.internal.model.MappedArchiveApiTypeContainer;
 import org.eclipse.pde.api.tools.internal.provisional.model.ApiTypeContainerVisitor;
 import org.eclipse.pde.api.tools.internal.provisional.model.IApiTypeContainer;
 import org.eclipse.pde.api.tools.internal.provisional.model.IApiTypeRoot;
@@ -54,6 +59,19 @@ public class ApiTypeContainerTests {
 		return new ArchiveApiTypeContainer(null, path.toOSString());
 	}
 
+	/**
+	 * Builds a sample memory mapped archive on sample.jar
+	 *
+	 * @return sample mapped archive
+	 */
+	protected IApiTypeContainer buildMappedArchiveContainer() {
+		IPath path = TestSuiteHelper.getPluginDirectoryPath();
+		path = path.append("test-jars").append("sample.jar"); //$NON-NLS-1$ //$NON-NLS-2$
+		File file = path.toFile();
+		assertTrue("Missing jar file", file.exists()); //$NON-NLS-1$
+		return new MappedArchiveApiTypeContainer(null, path.toOSString());
+	}
+
 	/**
 	 * Builds a sample container on directory
 	 *
@@ -77,6 +95,16 @@ public class ApiTypeContainerTests {
 		doTestPackageNames(buildArchiveContainer());
 	}
 
+	/**
+	 * Tests retrieving package names from a mapped archive.
+	 *
+	 * @throws CoreException
+	 */
+	@Test
+	public void testMappedArchivePackageNames() throws CoreException {
+		doTestPackageNames(buildMappedArchiveContainer());
+	}
+
 	/**
 	 * Tests retrieving package names from an directory.
 	 *
@@ -116,6 +144,16 @@ public class ApiTypeContainerTests {
 		doTestVisitPackages(buildArchiveContainer());
 	}
 
+	/**
+	 * Tests visiting packages in a mapped archive.
+	 *
+	 * @throws CoreException
+	 */
+	@Test
+	public void testMappedArchiveVistPackages() throws CoreException {
+		doTestVisitPackages(buildMappedArchiveContainer());
+	}
+
 	/**
 	 * Tests visiting packages in an directory.
 	 *
@@ -172,6 +210,51 @@ public class ApiTypeContainerTests {
 		doTestVisitClassFiles(buildArchiveContainer());
 	}
 
+	/**
+	 * Tests visiting class files in a mapped archive.
+	 *
+	 * @throws CoreException
+	 */
+	@Test
+	public void testMappedArchiveVisitClassFiles() throws CoreException {
+		doTestVisitClassFiles(buildMappedArchiveContainer());
+	}
+
+	/**
+	 * Tests finding and reading a class file in a mapped archive.
+	 *
+	 * @throws CoreException
+	 */
+	@Test
+	public void testMappedArchiveFindTypeRoot() throws CoreException {
+		IApiTypeContainer container = buildMappedArchiveContainer();
+		IApiTypeRoot root = container.findTypeRoot("a.b.c.ClassC"); //$NON-NLS-1$
+		assertNotNull("Missing type root", root); //$NON-NLS-1$
+		assertEquals("Wrong type name", "a.b.c.ClassC", root.getTypeName()); //$NON-NLS-1$ //$NON-NLS-2$
+		IApiTypeRoot root2 = buildArchiveContainer().findTypeRoot("a.b.c.ClassC"); //$NON-NLS-1$
+		assertArrayEquals("Wrong contents", ((AbstractApiTypeRoot) root2).getContents(), ((AbstractApiTypeRoot) root).getContents()); //$NON-NLS-1$
+		assertNull("Should not find type", container.findTypeRoot("a.b.ClassC")); //$NON-NLS-1$ //$NON-NLS-2$
+	}
+
+	/**
+	 * Tests that a type root found before the mapped archive is closed can
+	 * still be read, and that the archive is read again after being closed.
+	 *
+	 * @throws CoreException
+	 */
+	@Test
+	public void testMappedArchiveClose() throws CoreException {
+		IApiTypeContainer container = buildMappedArchiveContainer();
+		IApiTypeRoot root = container.findTypeRoot("a.b.c.ClassC"); //$NON-NLS-1$
+		assertNotNull("Missing type root", root); //$NON-NLS-1$
+		container.close();
+		IApiTypeRoot root2 = buildArchiveContainer().findTypeRoot("a.b.c.ClassC"); //$NON-NLS-1$
+		assertArrayEquals("Wrong contents", ((AbstractApiTypeRoot) root2).getContents(), ((AbstractApiTypeRoot) root).getContents()); //$NON-NLS-1$
+		container.close();
+		assertNotNull("Missing type root after close", container.findTypeRoot("a.b.c.ClassC")); //$NON-NLS-1$ //$NON-NLS-2$
+		assertArrayEquals("Wrong packages after close", buildArchiveContainer().getPackageNames(), container.getPackageNames()); //$NON-NLS-1$
+	}
+
 	/**
 	 * Tests visiting class files in a directory.
 	 *
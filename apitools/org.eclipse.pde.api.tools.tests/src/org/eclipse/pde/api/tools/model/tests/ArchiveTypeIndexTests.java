@@ -0,0 +1,140 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse contributors and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Eclipse contributors - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.pde.api.tools.model.tests;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.util.Map;
+import java.util.TreeMap;
+
+import org.eclipse.pde.api.tools.internal.model.ArchiveApiTypeContainer;
+import org.eclipse.pde.api.tools.internal.model.ArchiveTypeIndex;
+import org.eclipse.pde.api.tools.internal.model.MappedArchiveApiTypeContainer;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * Tests the persisted package and type tables of archives
+ */
+public class ArchiveTypeIndexTests {
+
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+	private File createArchive(String name) throws Exception {
+		File archive = folder.newFile(name);
+		Files.write(archive.toPath(), new byte[] { 1, 2, 3 });
+		return archive;
+	}
+
+	private File copySampleJar(String name) throws Exception {
+		File archive = new File(folder.getRoot(), name);
+		File sample = TestSuiteHelper.getPluginDirectoryPath().append("test-jars").append("sample.jar").toFile(); //$NON-NLS-1$ //$NON-NLS-2$
+		Files.copy(sample.toPath(), archive.toPath());
+		return archive;
+	}
+
+	private static Map<String, Map<String, String>> createPackages() {
+		Map<String, Map<String, String>> packages = new TreeMap<>();
+		Map<String, String> types = new TreeMap<>();
+		types.put("a.b.C", "a/b/C.class"); //$NON-NLS-1$ //$NON-NLS-2$
+		types.put("a.b.D", "a/b/D.class"); //$NON-NLS-1$ //$NON-NLS-2$
+		packages.put("a.b", types); //$NON-NLS-1$
+		packages.put("", new TreeMap<>()); //$NON-NLS-1$
+		return packages;
+	}
+
+	@Test
+	public void testRoundTrip() throws Exception {
+		String location = createArchive("roundtrip.jar").getAbsolutePath(); //$NON-NLS-1$
+		Map<String, Map<String, String>> packages = createPackages();
+		ArchiveTypeIndex.write(location, packages);
+		assertTrue(ArchiveTypeIndex.getIndexFile(location).isFile());
+		assertEquals(packages, ArchiveTypeIndex.read(location));
+	}
+
+	@Test
+	public void testChangedArchiveIsStale() throws Exception {
+		File archive = createArchive("changed.jar"); //$NON-NLS-1$
+		String location = archive.getAbsolutePath();
+		ArchiveTypeIndex.write(location, createPackages());
+		Files.write(archive.toPath(), new byte[] { 1, 2, 3, 4 });
+		assertNull(ArchiveTypeIndex.read(location));
+	}
+
+	@Test
+	public void testTouchedArchiveIsStale() throws Exception {
+		File archive = createArchive("touched.jar"); //$NON-NLS-1$
+		String location = archive.getAbsolutePath();
+		ArchiveTypeIndex.write(location, createPackages());
+		assertTrue(archive.setLastModified(archive.lastModified() - 10000));
+		assertNull(ArchiveTypeIndex.read(location));
+	}
+
+	@Test
+	public void testIndexFileNames() throws Exception {
+		// "Aa" and "BB" have the same String.hashCode()
+		File a = ArchiveTypeIndex.getIndexFile(new File(folder.getRoot(), "Aa").getAbsolutePath()); //$NON-NLS-1$
+		File b = ArchiveTypeIndex.getIndexFile(new File(folder.getRoot(), "BB").getAbsolutePath()); //$NON-NLS-1$
+		assertNotEquals(a, b);
+	}
+
+	@Test
+	public void testPruneDeletedArchive() throws Exception {
+		File deleted = createArchive("deleted.jar"); //$NON-NLS-1$
+		File kept = createArchive("kept.jar"); //$NON-NLS-1$
+		ArchiveTypeIndex.write(deleted.getAbsolutePath(), createPackages());
+		ArchiveTypeIndex.write(kept.getAbsolutePath(), createPackages());
+		assertTrue(deleted.delete());
+
+		ArchiveTypeIndex.prune();
+
+		assertFalse(ArchiveTypeIndex.getIndexFile(deleted.getAbsolutePath()).exists());
+		assertTrue(ArchiveTypeIndex.getIndexFile(kept.getAbsolutePath()).isFile());
+	}
+
+	@Test
+	public void testTemporaryArchiveNotIndexed() throws Exception {
+		String temporary = copySampleJar("temporary.jar").getAbsolutePath(); //$NON-NLS-1$
+		new ArchiveApiTypeContainer(null, temporary, false).getPackageNames();
+		assertFalse(ArchiveTypeIndex.getIndexFile(temporary).exists());
+
+		String indexed = copySampleJar("indexed.jar").getAbsolutePath(); //$NON-NLS-1$
+		new ArchiveApiTypeContainer(null, indexed).getPackageNames();
+		assertTrue(ArchiveTypeIndex.isValid(indexed));
+	}
+
+	@Test
+	public void testMappedArchiveIndexed() throws Exception {
+		String location = copySampleJar("mapped.jar").getAbsolutePath(); //$NON-NLS-1$
+		MappedArchiveApiTypeContainer container = new MappedArchiveApiTypeContainer(null, location);
+		String[] packageNames = container.getPackageNames();
+		container.close();
+		assertTrue(ArchiveTypeIndex.isValid(location));
+		assertArrayEquals(packageNames, ArchiveTypeIndex.read(location).keySet().toArray(String[]::new));
+
+		// the package names of the index are the ones of the archive
+		String[] indexed = new MappedArchiveApiTypeContainer(null, location).getPackageNames();
+		assertArrayEquals(packageNames, indexed);
+		assertArrayEquals(packageNames, new ArchiveApiTypeContainer(null, location).getPackageNames());
+	}
+}
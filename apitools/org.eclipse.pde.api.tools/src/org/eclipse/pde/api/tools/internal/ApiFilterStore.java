@@ -25,6 +25,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.eclipse.core.filebuffers.FileBuffers;
 import org.eclipse.core.filebuffers.ITextFileBuffer;
@@ -74,10 +75,53 @@ import org.w3c.dom.Element;
  */
 public class ApiFilterStore extends FilterStore implements IResourceChangeListener {
 
+	/**
+	 * The filters of one resource, keyed by {@link #getIndexKey(IApiProblem)}.
+	 * The arrays of filters are replaced rather than modified so they can be
+	 * read without locking.
+	 */
+	static final class ResourceFilters {
+		final IResource resource;
+		final ConcurrentHashMap<String, IApiProblemFilter[]> filters = new ConcurrentHashMap<>();
+
+		ResourceFilters(IResource resource) {
+			this.resource = resource;
+		}
+
+		void add(IApiProblemFilter filter) {
+			filters.merge(getIndexKey(filter.getUnderlyingProblem()), new IApiProblemFilter[] { filter }, (current, added) -> {
+				IApiProblemFilter[] merged = new IApiProblemFilter[current.length + 1];
+				System.arraycopy(current, 0, merged, 0, current.length);
+				merged[current.length] = added[0];
+				return merged;
+			});
+		}
+
+		void remove(IApiProblemFilter filter) {
+			filters.computeIfPresent(getIndexKey(filter.getUnderlyingProblem()), (key, current) -> {
+				List<IApiProblemFilter> remaining = new ArrayList<>(current.length);
+				for (IApiProblemFilter element : current) {
+					if (!element.equals(filter)) {
+						remaining.add(element);
+					}
+				}
+				return remaining.isEmpty() ? null : remaining.toArray(new IApiProblemFilter[remaining.size()]);
+			});
+		}
+	}
+
 	/**
 	 * Map used to collect unused {@link IApiProblemFilter}s
 	 */
-	private HashMap<IResource, Set<IApiProblemFilter>> fUnusedFilters = null;
+	private volatile Map<IResource, Set<IApiProblemFilter>> fUnusedFilters = null;
+
+	/**
+	 * Index of the filters by project relative resource path, built once the
+	 * filters are loaded and kept in sync with {@link #fFilterMap}. Only
+	 * modified while holding the lock of the store, <code>null</code> until
+	 * the filters are loaded.
+	 */
+	private volatile Map<IPath, ResourceFilters> fFilterIndex = null;
 
 	/**
 	 * The backing {@link IJavaProject}
@@ -225,7 +269,10 @@ public class ApiFilterStore extends FilterStore implements IResourceChangeListen
 					pTypeNames.put(typeName, pfilters);
 				}
 			}
-			fNeedsSaving |= pfilters.add(filter);
+			if (pfilters.add(filter)) {
+				fNeedsSaving = true;
+				indexFilter(resource, filter);
+			}
 		}
 		persistApiFilters();
 	}
@@ -263,34 +310,45 @@ public class ApiFilterStore extends FilterStore implements IResourceChangeListen
 		return allFilters.toArray(new IApiProblemFilter[allFilters.size()]);
 	}
 
+	/**
+	 * Returns whether the given problem is filtered. The candidate filters are
+	 * looked up in the filter index by resource, problem id, type name and
+	 * message arguments, without locking the store once the filters are
+	 * loaded.
+	 */
 	@Override
-	public synchronized boolean isFiltered(IApiProblem problem) {
-		initializeApiFilters();
+	public boolean isFiltered(IApiProblem problem) {
 		String resourcePath = problem.getResourcePath();
 		if (resourcePath == null) {
 			return false;
 		}
-		IResource resource = fProject.getProject().findMember(new Path(resourcePath));
-		if (resource == null) {
+		Map<IPath, ResourceFilters> index = fFilterIndex;
+		if (index == null) {
+			index = getFilterIndex();
+		}
+		ResourceFilters resourceFilters = index.get(new Path(resourcePath).makeRelative().removeTrailingSeparator());
+		if (resourceFilters == null) {
 			if (ApiPlugin.DEBUG_FILTER_STORE) {
-				System.out.println("no resource exists: [" + resourcePath + "]"); //$NON-NLS-1$ //$NON-NLS-2$
+				System.out.println("no filters defined for [" + resourcePath + "] return not filtered"); //$NON-NLS-1$ //$NON-NLS-2$
 			}
 			return false;
 		}
-		IApiProblemFilter[] filters = this.getFilters(resource);
-		if (filters == null) {
+		if (!resourceFilters.resource.exists()) {
 			if (ApiPlugin.DEBUG_FILTER_STORE) {
-				System.out.println("no filters defined for [" + resourcePath + "] return not filtered"); //$NON-NLS-1$ //$NON-NLS-2$
+				System.out.println("no resource exists: [" + resourcePath + "]"); //$NON-NLS-1$ //$NON-NLS-2$
 			}
 			return false;
 		}
-		for (IApiProblemFilter filter : filters) {
-			if (problemsMatch(filter.getUnderlyingProblem(), problem)) {
-				if (ApiPlugin.DEBUG_FILTER_STORE) {
-					System.out.println("recording filter used: [" + filter.toString() + "]"); //$NON-NLS-1$ //$NON-NLS-2$
+		IApiProblemFilter[] filters = resourceFilters.filters.get(getIndexKey(problem));
+		if (filters != null) {
+			for (IApiProblemFilter filter : filters) {
+				if (problemsMatch(filter.getUnderlyingProblem(), problem)) {
+					if (ApiPlugin.DEBUG_FILTER_STORE) {
+						System.out.println("recording filter used: [" + filter.toString() + "]"); //$NON-NLS-1$ //$NON-NLS-2$
+					}
+					recordFilterUsed(resourceFilters.resource, filter);
+					return true;
 				}
-				recordFilterUsed(resource, filter);
-				return true;
 			}
 		}
 		if (ApiPlugin.DEBUG_FILTER_STORE) {
@@ -299,6 +357,72 @@ public class ApiFilterStore extends FilterStore implements IResourceChangeListen
 		return false;
 	}
 
+	/**
+	 * Loads the filters if needed and returns the filter index
+	 *
+	 * @return the filter index, never <code>null</code>
+	 */
+	private synchronized Map<IPath, ResourceFilters> getFilterIndex() {
+		initializeApiFilters();
+		return fFilterIndex;
+	}
+
+	/**
+	 * Returns the key of the given problem in the filter index. Message
+	 * arguments are reduced to their simple names as filters match qualified
+	 * names against simple names, see
+	 * {@link #problemsMatch(IApiProblem, IApiProblem)}.
+	 *
+	 * @param problem the problem to compute the key for
+	 * @return the index key of the problem
+	 */
+	static String getIndexKey(IApiProblem problem) {
+		StringBuilder key = new StringBuilder();
+		key.append(problem.getId()).append('/').append(problem.getTypeName());
+		String[] arguments = problem.getMessageArguments();
+		if (arguments != null) {
+			for (String argument : arguments) {
+				key.append('/').append(argument.substring(argument.lastIndexOf('.') + 1));
+			}
+		}
+		return key.toString();
+	}
+
+	/**
+	 * Adds the given filter to the filter index, if it is already built.
+	 * Called while holding the lock of the store.
+	 *
+	 * @param resource the resource of the filter
+	 * @param filter the filter to add
+	 */
+	private void indexFilter(IResource resource, IApiProblemFilter filter) {
+		Map<IPath, ResourceFilters> index = fFilterIndex;
+		if (index != null) {
+			index.computeIfAbsent(resource.getProjectRelativePath(), path -> new ResourceFilters(resource)).add(filter);
+		}
+	}
+
+	/**
+	 * Removes the given filter from the filter index. Called while holding the
+	 * lock of the store.
+	 *
+	 * @param resource the resource of the filter
+	 * @param filter the filter to remove
+	 */
+	private void unindexFilter(IResource resource, IApiProblemFilter filter) {
+		Map<IPath, ResourceFilters> index = fFilterIndex;
+		if (index != null) {
+			IPath path = resource.getProjectRelativePath();
+			ResourceFilters resourceFilters = index.get(path);
+			if (resourceFilters != null) {
+				resourceFilters.remove(filter);
+				if (resourceFilters.filters.isEmpty()) {
+					index.remove(path);
+				}
+			}
+		}
+	}
+
 	@Override
 	public void dispose() {
 		// if the store is about to be disposed and has pending changes save
@@ -358,6 +482,7 @@ public class ApiFilterStore extends FilterStore implements IResourceChangeListen
 				if (ApiPlugin.DEBUG_FILTER_STORE) {
 					System.out.println("removed filter: [" + filter + "]"); //$NON-NLS-1$ //$NON-NLS-2$
 				}
+				unindexFilter(resource, filter);
 				fNeedsSaving |= true;
 				success &= true;
 				if (pfilters.isEmpty()) {
@@ -506,6 +631,25 @@ public class ApiFilterStore extends FilterStore implements IResourceChangeListen
 			System.out.println("initializing api filter map for project [" + fProject.getElementName() + "]"); //$NON-NLS-1$ //$NON-NLS-2$
 		}
 		fFilterMap = new LinkedHashMap<>(5);
+		readApiFilters();
+		Map<IPath, ResourceFilters> index = new ConcurrentHashMap<>();
+		for (Entry<IResource, Map<String, Set<IApiProblemFilter>>> entry : fFilterMap.entrySet()) {
+			IResource resource = entry.getKey();
+			ResourceFilters resourceFilters = new ResourceFilters(resource);
+			for (Set<IApiProblemFilter> filters : entry.getValue().values()) {
+				for (IApiProblemFilter filter : filters) {
+					resourceFilters.add(filter);
+				}
+			}
+			index.put(resource.getProjectRelativePath(), resourceFilters);
+		}
+		fFilterIndex = index;
+	}
+
+	/**
+	 * Reads the filters from the filter file into the filter map
+	 */
+	private void readApiFilters() {
 		IPath filepath = getFilterFilePath(true);
 		IResource file = ResourcesPlugin.getWorkspace().getRoot().findMember(filepath, true);
 		if (file == null) {
@@ -569,7 +713,10 @@ public class ApiFilterStore extends FilterStore implements IResourceChangeListen
 					pTypeNames.put(typeName, filters);
 				}
 			}
-			fNeedsSaving |= filters.add(filter);
+			if (filters.add(filter)) {
+				fNeedsSaving = true;
+				indexFilter(resource, filter);
+			}
 		}
 	}
 
@@ -614,35 +761,35 @@ public class ApiFilterStore extends FilterStore implements IResourceChangeListen
 	 */
 	public synchronized void recordFilterUsage() {
 		initializeApiFilters();
-		fUnusedFilters = new LinkedHashMap<>();
+		Map<IResource, Set<IApiProblemFilter>> unusedFilters = new ConcurrentHashMap<>();
 		Map<String, Set<IApiProblemFilter>> types = null;
 		Set<IApiProblemFilter> values = null;
 		for (Entry<IResource, Map<String, Set<IApiProblemFilter>>> filterEntry : fFilterMap.entrySet()) {
 			IResource resource = filterEntry.getKey();
 			types = filterEntry.getValue();
-			values = new LinkedHashSet<>();
-			fUnusedFilters.put(resource, values);
+			values = ConcurrentHashMap.newKeySet();
+			unusedFilters.put(resource, values);
 			for (Entry<String, Set<IApiProblemFilter>> entry : types.entrySet()) {
 				values.addAll(entry.getValue());
 			}
 		}
+		fUnusedFilters = unusedFilters;
 	}
 
 	/**
-	 * records that the following filter has been used
+	 * records that the following filter has been used, can be called
+	 * concurrently
 	 *
 	 * @param resource
 	 * @param filter
 	 */
 	private void recordFilterUsed(IResource resource, IApiProblemFilter filter) {
-		if (fUnusedFilters != null) {
-			Set<IApiProblemFilter> unused = fUnusedFilters.get(resource);
-			if (unused != null) {
+		Map<IResource, Set<IApiProblemFilter>> unusedFilters = fUnusedFilters;
+		if (unusedFilters != null) {
+			unusedFilters.computeIfPresent(resource, (key, unused) -> {
 				unused.remove(filter);
-				if (unused.isEmpty()) {
-					fUnusedFilters.remove(resource);
-				}
-			}
+				return unused.isEmpty() ? null : unused;
+			});
 		}
 	}
 
@@ -659,12 +806,13 @@ public class ApiFilterStore extends FilterStore implements IResourceChangeListen
 	 *         <code>null</code>
 	 */
 	public IApiProblemFilter[] getUnusedFilters(IResource resource, String typeName, int[] categories) {
-		if (fUnusedFilters != null) {
+		Map<IResource, Set<IApiProblemFilter>> unusedFilters = fUnusedFilters;
+		if (unusedFilters != null) {
 			Set<IApiProblemFilter> unused = new HashSet<>();
 			Set<IApiProblemFilter> set = null;
 			if (resource != null) {
 				// add any unused filters for the resource
-				set = fUnusedFilters.get(resource);
+				set = unusedFilters.get(resource);
 				if (set != null) {
 					collectFilterFor(set, typeName, unused, categories);
 				}
@@ -674,17 +822,17 @@ public class ApiFilterStore extends FilterStore implements IResourceChangeListen
 					// deleted types are only ever passed in with the manifest
 					// associated with them
 					IResource res = null;
-					for (Entry<IResource, Set<IApiProblemFilter>> entry : fUnusedFilters.entrySet()) {
+					for (Entry<IResource, Set<IApiProblemFilter>> entry : unusedFilters.entrySet()) {
 						res = entry.getKey();
 						if (res == null || !res.exists() || !res.getProject().equals(resource.getProject())) {
 							continue;
 						}
-						set = fUnusedFilters.get(res);
+						set = unusedFilters.get(res);
 						collectFilterFor(set, typeName, unused, categories);
 					}
 				}
 			} else {
-				for (Entry<IResource, Set<IApiProblemFilter>> entry : fUnusedFilters.entrySet()) {
+				for (Entry<IResource, Set<IApiProblemFilter>> entry : unusedFilters.entrySet()) {
 					set = entry.getValue();
 					if (set != null) {
 						unused.addAll(set);
@@ -777,9 +925,12 @@ public class ApiFilterStore extends FilterStore implements IResourceChangeListen
 				if (ApiPlugin.DEBUG_FILTER_STORE) {
 					System.out.println("processed REMOVED delta"); //$NON-NLS-1$
 				}
-				if (fFilterMap != null) {
-					fFilterMap.clear();
-					needsbuild = fProject.getProject().isAccessible();
+				synchronized (this) {
+					if (fFilterMap != null) {
+						fFilterMap.clear();
+						fFilterIndex = new ConcurrentHashMap<>();
+						needsbuild = fProject.getProject().isAccessible();
+					}
 				}
 			} else if (leafdelta.getKind() == IResourceDelta.ADDED || (leafdelta.getFlags() & IResourceDelta.CONTENT) != 0 || (leafdelta.getFlags() & IResourceDelta.REPLACED) != 0) {
 				if (ApiPlugin.DEBUG_FILTER_STORE) {
@@ -815,5 +966,6 @@ public class ApiFilterStore extends FilterStore implements IResourceChangeListen
 			fFilterMap.clear();
 			fFilterMap = null;
 		}
+		fFilterIndex = null;
 	}
 }
@@ -0,0 +1,351 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse contributors and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Eclipse contributors - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.pde.api.tools.internal;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * A bounded cache that can be used concurrently by many threads.
+ * <p>
+ * The keys are spread over independently locked segments, each segment
+ * evicting its least recently used entries. The eviction order over the whole
+ * cache is thus only approximately LRU. As with JDT's
+ * <code>OverflowingLRUCache</code>, {@link #close(Object, Object)} is asked
+ * before an entry is evicted and an entry that cannot be closed is kept,
+ * letting the segment overflow its limit. Flushing or removing entries does
+ * not close them.
+ * </p>
+ * <p>
+ * The number of hits, misses and evictions are recorded in a
+ * {@link Statistics} that can be shared by several caches.
+ * </p>
+ *
+ * @since 1.2.1200
+ */
+public abstract class ConcurrentLRUCache<K, V> {
+
+	/**
+	 * Maximum number of segments of a cache
+	 */
+	private static final int MAX_SEGMENTS = 16;
+
+	/**
+	 * Minimum number of entries per segment, small caches use fewer segments
+	 * to keep the LRU order meaningful
+	 */
+	private static final int MIN_SEGMENT_SIZE = 16;
+
+	/**
+	 * Hit, miss and eviction counters of one or more caches
+	 */
+	public static final class Statistics {
+		final LongAdder hits = new LongAdder();
+		final LongAdder misses = new LongAdder();
+		final LongAdder evictions = new LongAdder();
+
+		/**
+		 * @return the number of lookups that found an entry
+		 */
+		public long getHitCount() {
+			return hits.sum();
+		}
+
+		/**
+		 * @return the number of lookups that did not find an entry
+		 */
+		public long getMissCount() {
+			return misses.sum();
+		}
+
+		/**
+		 * @return the number of entries evicted to respect the space limit
+		 */
+		public long getEvictionCount() {
+			return evictions.sum();
+		}
+
+		/**
+		 * Resets all counters
+		 */
+		public void reset() {
+			hits.reset();
+			misses.reset();
+			evictions.reset();
+		}
+
+		@Override
+		public String toString() {
+			long hitCount = getHitCount();
+			long lookups = hitCount + getMissCount();
+			return "hits: " + hitCount + ", misses: " + getMissCount() + ", evictions: " + getEvictionCount() //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+					+ ", hit ratio: " + (lookups == 0 ? 0 : hitCount * 100 / lookups) + "%"; //$NON-NLS-1$ //$NON-NLS-2$
+		}
+	}
+
+	/**
+	 * One independently locked part of the cache, entries are kept in access
+	 * order
+	 */
+	private static final class Segment<K, V> {
+		final LinkedHashMap<K, V> entries = new LinkedHashMap<>(16, 0.75f, true);
+		int limit;
+
+		Segment(int limit) {
+			this.limit = limit;
+		}
+	}
+
+	private final Segment<K, V>[] fSegments;
+	private final Statistics fStatistics;
+
+	/**
+	 * Constructor
+	 *
+	 * @param size the maximum number of entries of the cache
+	 */
+	public ConcurrentLRUCache(int size) {
+		this(size, new Statistics());
+	}
+
+	/**
+	 * Constructor
+	 *
+	 * @param size the maximum number of entries of the cache
+	 * @param statistics the statistics to record the cache usage in
+	 */
+	@SuppressWarnings("unchecked")
+	public ConcurrentLRUCache(int size, Statistics statistics) {
+		int count = 1;
+		while (count < MAX_SEGMENTS && count * 2 * MIN_SEGMENT_SIZE <= size) {
+			count *= 2;
+		}
+		fSegments = new Segment[count];
+		for (int i = 0; i < count; i++) {
+			fSegments[i] = new Segment<>(segmentLimit(size, count));
+		}
+		fStatistics = statistics;
+	}
+
+	private static int segmentLimit(int size, int count) {
+		return Math.max(1, (size + count - 1) / count);
+	}
+
+	private Segment<K, V> segmentFor(Object key) {
+		int h = key.hashCode();
+		h ^= (h >>> 16);
+		return fSegments[h & (fSegments.length - 1)];
+	}
+
+	/**
+	 * Returns whether the given entry can be evicted from the cache, releasing
+	 * the resources of the value if needed. Called while the segment of the
+	 * entry is locked.
+	 *
+	 * @param key the key of the entry
+	 * @param value the value of the entry
+	 * @return <code>true</code> if the entry can be evicted, <code>false</code>
+	 *         to keep it in the cache
+	 */
+	protected abstract boolean close(K key, V value);
+
+	/**
+	 * @return the statistics the usage of this cache is recorded in
+	 */
+	public Statistics getStatistics() {
+		return fStatistics;
+	}
+
+	/**
+	 * Returns the value cached for the given key
+	 *
+	 * @param key the key
+	 * @return the value or <code>null</code> if none
+	 */
+	public V get(K key) {
+		Segment<K, V> segment = segmentFor(key);
+		V value;
+		synchronized (segment) {
+			value = segment.entries.get(key);
+		}
+		if (value == null) {
+			fStatistics.misses.increment();
+		} else {
+			fStatistics.hits.increment();
+		}
+		return value;
+	}
+
+	/**
+	 * Returns the value cached for the given key, computing and caching it if
+	 * there is none. The value is computed while the segment of the key is
+	 * locked, the computation must not access this cache.
+	 *
+	 * @param key the key
+	 * @param function the function computing the value of the key
+	 * @return the cached or computed value
+	 */
+	public V computeIfAbsent(K key, Function<? super K, ? extends V> function) {
+		Segment<K, V> segment = segmentFor(key);
+		synchronized (segment) {
+			V value = segment.entries.get(key);
+			if (value != null) {
+				fStatistics.hits.increment();
+				return value;
+			}
+			fStatistics.misses.increment();
+			value = function.apply(key);
+			if (value != null) {
+				segment.entries.put(key, value);
+				evict(segment);
+			}
+			return value;
+		}
+	}
+
+	/**
+	 * Caches the given value
+	 *
+	 * @param key the key
+	 * @param value the value
+	 * @return the value previously cached for the key or <code>null</code>
+	 */
+	public V put(K key, V value) {
+		Segment<K, V> segment = segmentFor(key);
+		synchronized (segment) {
+			V previous = segment.entries.put(key, value);
+			evict(segment);
+			return previous;
+		}
+	}
+
+	/**
+	 * Evicts the least recently used entries of the given segment that can be
+	 * closed until the segment respects its limit
+	 */
+	private void evict(Segment<K, V> segment) {
+		int overflow = segment.entries.size() - segment.limit;
+		if (overflow <= 0) {
+			return;
+		}
+		for (Iterator<Map.Entry<K, V>> iterator = segment.entries.entrySet().iterator(); overflow > 0 && iterator.hasNext();) {
+			Map.Entry<K, V> entry = iterator.next();
+			if (close(entry.getKey(), entry.getValue())) {
+				iterator.remove();
+				overflow--;
+				fStatistics.evictions.increment();
+			}
+		}
+	}
+
+	/**
+	 * Removes the value cached for the given key
+	 *
+	 * @param key the key
+	 * @return the removed value or <code>null</code> if none
+	 */
+	public V remove(K key) {
+		Segment<K, V> segment = segmentFor(key);
+		synchronized (segment) {
+			return segment.entries.remove(key);
+		}
+	}
+
+	/**
+	 * Removes all entries of the cache
+	 */
+	public void flush() {
+		for (Segment<K, V> segment : fSegments) {
+			synchronized (segment) {
+				segment.entries.clear();
+			}
+		}
+	}
+
+	/**
+	 * Returns if the cache has any elements in it or not
+	 *
+	 * @return true if the cache has no entries, false otherwise
+	 */
+	public boolean isEmpty() {
+		for (Segment<K, V> segment : fSegments) {
+			synchronized (segment) {
+				if (!segment.entries.isEmpty()) {
+					return false;
+				}
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * @return the number of entries in the cache
+	 */
+	public int size() {
+		int size = 0;
+		for (Segment<K, V> segment : fSegments) {
+			synchronized (segment) {
+				size += segment.entries.size();
+			}
+		}
+		return size;
+	}
+
+	/**
+	 * Sets the maximum number of entries of the cache, evicting entries if
+	 * needed
+	 *
+	 * @param limit the new maximum number of entries
+	 */
+	public void setSpaceLimit(int limit) {
+		int segmentLimit = segmentLimit(limit, fSegments.length);
+		for (Segment<K, V> segment : fSegments) {
+			synchronized (segment) {
+				segment.limit = segmentLimit;
+				evict(segment);
+			}
+		}
+	}
+
+	/**
+	 * @return snapshot of the keys in the cache
+	 */
+	public List<K> keysSnapshot() {
+		List<K> keys = new ArrayList<>();
+		for (Segment<K, V> segment : fSegments) {
+			synchronized (segment) {
+				keys.addAll(segment.entries.keySet());
+			}
+		}
+		return keys;
+	}
+
+	/**
+	 * @return snapshot of the elements in the cache
+	 */
+	public List<V> elementsSnapshot() {
+		List<V> elements = new ArrayList<>();
+		for (Segment<K, V> segment : fSegments) {
+			synchronized (segment) {
+				elements.addAll(segment.entries.values());
+			}
+		}
+		return elements;
+	}
+}
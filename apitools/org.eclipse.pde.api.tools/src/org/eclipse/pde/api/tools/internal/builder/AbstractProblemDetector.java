@@ -13,6 +13,7 @@
  *******************************************************************************/
 package org.eclipse.pde.api.tools.internal.builder;
 
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Iterator;
 import java.util.LinkedList;
@@ -141,13 +142,57 @@ public abstract class AbstractProblemDetector implements IApiProblemDetector {
 	 */
 	private List<IReference> fPotentialProblems = new LinkedList<>();
 
+	/**
+	 * References retained by the current thread while the references of a
+	 * type root are extracted by a worker of the {@link ReferenceAnalyzer},
+	 * <code>null</code> on other threads
+	 */
+	private final ThreadLocal<List<IReference>> fThreadRetainedReferences = new ThreadLocal<>();
+
 	/**
 	 * Retains the reference for further analysis.
 	 *
 	 * @param reference reference
 	 */
 	protected void retainReference(IReference reference) {
-		fPotentialProblems.add(reference);
+		List<IReference> references = fThreadRetainedReferences.get();
+		if (references != null) {
+			references.add(reference);
+		} else {
+			fPotentialProblems.add(reference);
+		}
+	}
+
+	/**
+	 * Starts collecting the references retained by the current thread in a
+	 * separate list, see {@link #endThreadRetention()}.
+	 */
+	void beginThreadRetention() {
+		fThreadRetainedReferences.set(new ArrayList<>());
+	}
+
+	/**
+	 * Stops collecting the references retained by the current thread in a
+	 * separate list.
+	 *
+	 * @return the references retained by the current thread since
+	 *         {@link #beginThreadRetention()}
+	 */
+	List<IReference> endThreadRetention() {
+		List<IReference> references = fThreadRetainedReferences.get();
+		fThreadRetainedReferences.remove();
+		return references == null ? Collections.emptyList() : references;
+	}
+
+	/**
+	 * Adds references retained by a worker thread, must be called in the
+	 * order in which the references would have been retained by a sequential
+	 * analysis.
+	 *
+	 * @param references the references to add
+	 */
+	void addRetainedReferences(List<IReference> references) {
+		fPotentialProblems.addAll(references);
 	}
 
 	/**
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2007, 2019 IBM Corporation and others.
+ * Copyright (c) 2007, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -138,6 +138,12 @@ public class ApiAnalysisBuilder extends IncrementalProjectBuilder {
 	 */
 	static final IPath FILTER_PATH = SETTINGS_PATH.append(IApiCoreConstants.API_FILTERS_XML_NAME);
 
+	/**
+	 * System property to set the number of threads used to extract the
+	 * references of the analyzed types, defaults to <code>1</code>
+	 */
+	private static final String ANALYSIS_THREADS_PROPERTY = "org.eclipse.pde.api.tools.analysis.threads"; //$NON-NLS-1$
+
 	/**
 	 * Empty listing of projects to be returned by the builder if there is
 	 * nothing to do
@@ -1321,7 +1327,7 @@ public class ApiAnalysisBuilder extends IncrementalProjectBuilder {
 	 */
 	protected synchronized IApiAnalyzer getAnalyzer() {
 		if (this.analyzer == null) {
-			this.analyzer = new BaseApiAnalyzer();
+			this.analyzer = new BaseApiAnalyzer(Integer.getInteger(ANALYSIS_THREADS_PROPERTY, 1).intValue());
 		}
 		return this.analyzer;
 	}
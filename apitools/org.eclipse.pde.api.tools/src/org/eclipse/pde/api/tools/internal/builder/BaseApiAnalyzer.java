@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2008, 2021 IBM Corporation and others.
+ * Copyright (c) 2008, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -176,10 +176,28 @@ public class BaseApiAnalyzer implements IApiAnalyzer {
 	 */
 	private boolean fContinueOnResolutionError = false;
 
+	/**
+	 * Number of threads used to extract the references of the analyzed types
+	 */
+	private final int fThreads;
+
 	/**
 	 * Constructs an API analyzer
 	 */
 	public BaseApiAnalyzer() {
+		this(1);
+	}
+
+	/**
+	 * Constructs an API analyzer that extracts the references of the analyzed
+	 * types using the given number of threads.
+	 *
+	 * @param threads the number of threads, a value lower than 2 means the
+	 *            references are extracted sequentially
+	 * @see ReferenceAnalyzer#ReferenceAnalyzer(int)
+	 */
+	public BaseApiAnalyzer(int threads) {
+		fThreads = threads;
 	}
 
 	@Override
@@ -1288,7 +1306,7 @@ public class BaseApiAnalyzer implements IApiAnalyzer {
 			scope = getSearchScope(component, null); // entire component
 		}
 		SubMonitor localMonitor = SubMonitor.convert(monitor, MessageFormat.format(BuilderMessages.checking_api_usage, component.getSymbolicName()), 2);
-		ReferenceAnalyzer analyzer = new ReferenceAnalyzer();
+		ReferenceAnalyzer analyzer = new ReferenceAnalyzer(fThreads);
 		try {
 			long start = System.currentTimeMillis();
 			IApiProblem[] illegal = analyzer.analyze(component, scope, localMonitor.split(2));
@@ -15,6 +15,7 @@ package org.eclipse.pde.api.tools.internal.builder;
 
 import java.io.BufferedInputStream;
 import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.DataInputStream;
 import java.io.DataOutputStream;
 import java.io.File;
@@ -22,12 +23,13 @@ import java.io.FileInputStream;
 import java.io.FileOutputStream;
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
-import java.util.Iterator;
 import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Set;
@@ -53,16 +55,48 @@ import org.eclipse.pde.core.build.IBuildModel;
 
 /**
  * The API tools build state
+ * <p>
+ * Since version 34 the build state is saved in a compact format: all strings
+ * are stored once in a string table, the deltas are encoded as variable length
+ * integers referencing that table and are indexed by type name. Deltas of a
+ * saved state are only decoded when they are requested, so that incremental
+ * builds only pay for the types they actually touch. Build states saved in
+ * version 33 are still read and migrated on the next save.
+ * </p>
  *
  * @since 1.0.1
  */
 public class BuildState {
 	private static final IDelta[] EMPTY_DELTAS = new IDelta[0];
 	private static final String[] NO_REEXPORTED_COMPONENTS = new String[0];
-	private static final int VERSION = 33;
+	private static final int VERSION = 34;
+	/**
+	 * Last version storing all deltas as a flat list of strings and integers
+	 */
+	private static final int LEGACY_VERSION = 33;
 
 	private Map<String, Set<IDelta>> compatibleChanges;
 	private Map<String, Set<IDelta>> breakingChanges;
+	/**
+	 * Compatible changes read from a saved state that have not been decoded
+	 * yet: type name to the offset of the first encoded delta in
+	 * {@link #deltaData} and the number of deltas
+	 */
+	private Map<String, int[]> lazyCompatibleChanges;
+	/**
+	 * Breaking changes read from a saved state that have not been decoded
+	 * yet, see {@link #lazyCompatibleChanges}
+	 */
+	private Map<String, int[]> lazyBreakingChanges;
+	/**
+	 * The encoded deltas of the saved state or <code>null</code>
+	 */
+	private byte[] deltaData;
+	/**
+	 * The string table of the saved state referenced by {@link #deltaData} or
+	 * <code>null</code>
+	 */
+	private String[] strings;
 	/**
 	 * Map of the last saved state of the manifest file
 	 *
@@ -85,6 +119,8 @@ public class BuildState {
 	BuildState() {
 		this.compatibleChanges = new LinkedHashMap<>();
 		this.breakingChanges = new LinkedHashMap<>();
+		this.lazyCompatibleChanges = new LinkedHashMap<>();
+		this.lazyBreakingChanges = new LinkedHashMap<>();
 		this.manifestChanges = new LinkedHashMap<>();
 		this.buildPropChanges = new LinkedHashMap<>();
 	}
@@ -105,10 +141,60 @@ public class BuildState {
 		if (!kind.equals("STATE")) {//$NON-NLS-1$
 			throw new IOException(BuilderMessages.build_wrongFileFormat);
 		}
-		if (in.readInt() != VERSION) {
+		int version = in.readInt();
+		if (version == LEGACY_VERSION) {
+			return readLegacyState(in);
+		}
+		if (version != VERSION) {
 			// this is an old build state - a full build is required
 			return null;
 		}
+		if (!in.readBoolean()) {
+			return null;
+		}
+		BuildState state = new BuildState();
+		state.buildpathCRC = in.readLong();
+		// read the string table
+		int count = in.readInt();
+		String[] strings = new String[count];
+		for (int i = 0; i < count; i++) {
+			strings[i] = in.readUTF();
+		}
+		state.strings = strings;
+		count = in.readInt();
+		// read all re-exported component names
+		String[] components = new String[count];
+		for (int i = 0; i < count; i++) {
+			components[i] = readString(in, strings);
+		}
+		state.reexportedComponents = components;
+		count = in.readInt();
+		for (int i = 0; i < count; i++) {
+			state.addApiToolingDependentProject(readString(in, strings));
+		}
+		// read the saved headers
+		state.manifestChanges = readMap(in, strings);
+		state.buildPropChanges = readMap(in, strings);
+		// read the encoded deltas and their index, the deltas themselves are
+		// only decoded on demand
+		byte[] data = new byte[in.readInt()];
+		in.readFully(data);
+		state.deltaData = data;
+		count = in.readInt();
+		for (int i = 0; i < count; i++) {
+			String typeName = readString(in, strings);
+			readIndexEntry(in, data, typeName, state.lazyCompatibleChanges);
+			readIndexEntry(in, data, typeName, state.lazyBreakingChanges);
+		}
+		return state;
+	}
+
+	/**
+	 * Reads a build state saved in version {@link #LEGACY_VERSION}. All deltas
+	 * are decoded, the state is written in the current format when it is
+	 * saved again.
+	 */
+	private static BuildState readLegacyState(DataInputStream in) throws IOException {
 		if (in.readBoolean()) {
 			// continue to read
 			BuildState state = new BuildState();
@@ -116,12 +202,12 @@ public class BuildState {
 			int count = in.readInt();
 			// read all compatible deltas
 			for (int i = 0; i < count; i++) {
-				state.addCompatibleChange(readDelta(in));
+				state.addCompatibleChange(readLegacyDelta(in));
 			}
 			count = in.readInt();
 			// read all breaking deltas
 			for (int i = 0; i < count; i++) {
-				state.addBreakingChange(readDelta(in));
+				state.addBreakingChange(readLegacyDelta(in));
 			}
 			count = in.readInt();
 			// read all re-exported component names
@@ -171,61 +257,166 @@ public class BuildState {
 	 * @throws IOException
 	 */
 	public static void write(BuildState state, DataOutputStream out) throws IOException {
+		StringTable table = new StringTable();
+		// encode the deltas first, this collects the strings they reference
+		ByteArrayOutputStream data = new ByteArrayOutputStream();
+		Map<String, int[]> index = new LinkedHashMap<>();
+		int[] remap = state.strings == null ? null : new int[state.strings.length];
+		if (remap != null) {
+			Arrays.fill(remap, -1);
+		}
+		state.encodeChanges(state.compatibleChanges, state.lazyCompatibleChanges, 0, index, table, remap, data);
+		state.encodeChanges(state.breakingChanges, state.lazyBreakingChanges, 2, index, table, remap, data);
+		String[] reexportedComponents = state.getReexportedComponents();
+		Set<String> apiToolingDependentsProjects = state.getApiToolingDependentProjects();
+		Map<String, String> manifestState = state.getManifestState();
+		Map<String, String> buildPropertiesState = state.getBuildPropertiesState();
+		for (String component : reexportedComponents) {
+			table.indexOf(component);
+		}
+		for (String project : apiToolingDependentsProjects) {
+			table.indexOf(project);
+		}
+		for (Entry<String, String> entry : manifestState.entrySet()) {
+			table.indexOf(entry.getKey());
+			table.indexOf(entry.getValue());
+		}
+		for (Entry<String, String> entry : buildPropertiesState.entrySet()) {
+			table.indexOf(entry.getKey());
+			table.indexOf(entry.getValue());
+		}
+
 		out.writeUTF(ApiPlugin.PLUGIN_ID);
 		out.writeUTF("STATE"); //$NON-NLS-1$
 		out.writeInt(VERSION);
 		out.writeBoolean(true);
 		out.writeLong(state.buildpathCRC);
-		IDelta[] compatibleChangesDeltas = state.getCompatibleChanges();
-		int length = compatibleChangesDeltas.length;
-		out.writeInt(length);
-		for (int i = 0; i < length; i++) {
-			writeDelta(compatibleChangesDeltas[i], out);
-		}
-		IDelta[] breakingChangesDeltas = state.getBreakingChanges();
-		length = breakingChangesDeltas.length;
-		out.writeInt(length);
-		for (int i = 0; i < length; i++) {
-			writeDelta(breakingChangesDeltas[i], out);
+		out.writeInt(table.strings.size());
+		for (String string : table.strings) {
+			out.writeUTF(string);
 		}
-		String[] reexportedComponents = state.getReexportedComponents();
-		length = reexportedComponents.length;
-		out.writeInt(length);
-		for (int i = 0; i < length; i++) {
-			out.writeUTF(reexportedComponents[i]);
+		out.writeInt(reexportedComponents.length);
+		for (String component : reexportedComponents) {
+			out.writeInt(table.indexOf(component));
+		}
+		out.writeInt(apiToolingDependentsProjects.size());
+		for (String project : apiToolingDependentsProjects) {
+			out.writeInt(table.indexOf(project));
+		}
+		writeMap(manifestState, table, out);
+		writeMap(buildPropertiesState, table, out);
+		out.writeInt(data.size());
+		data.writeTo(out);
+		out.writeInt(index.size());
+		for (Entry<String, int[]> entry : index.entrySet()) {
+			out.writeInt(table.indexOf(entry.getKey()));
+			int[] offsets = entry.getValue();
+			for (int offset : offsets) {
+				out.writeInt(offset);
+			}
 		}
-		Set<String> apiToolingDependentsProjects = state.getApiToolingDependentProjects();
-		length = apiToolingDependentsProjects.size();
-		out.writeInt(length);
-		for (String string : apiToolingDependentsProjects) {
-			out.writeUTF(string);
+	}
+
+	/**
+	 * Encodes the given changes and appends them to the given data.
+	 *
+	 * @param changes the decoded changes
+	 * @param lazy the changes that have not been decoded, they are copied
+	 *            from {@link #deltaData} without being decoded
+	 * @param slot the slot of the index entries to fill, <code>0</code> for
+	 *            compatible changes and <code>2</code> for breaking changes
+	 * @param index the index to fill: type name to the offsets and counts of
+	 *            the compatible and the breaking changes of the type
+	 * @param table the string table of the state being written
+	 * @param remap the mapping of the indexes of {@link #strings} to the
+	 *            indexes in the given table, <code>-1</code> if not mapped yet
+	 * @param data the encoded deltas
+	 */
+	private void encodeChanges(Map<String, Set<IDelta>> changes, Map<String, int[]> lazy, int slot, Map<String, int[]> index, StringTable table, int[] remap, ByteArrayOutputStream data) {
+		for (Entry<String, Set<IDelta>> entry : changes.entrySet()) {
+			Set<IDelta> deltas = entry.getValue();
+			if (deltas.isEmpty()) {
+				continue;
+			}
+			table.indexOf(entry.getKey());
+			int[] offsets = index.computeIfAbsent(entry.getKey(), k -> new int[4]);
+			offsets[slot] = data.size();
+			offsets[slot + 1] = deltas.size();
+			for (IDelta delta : deltas) {
+				writeDelta(delta, table, data);
+			}
 		}
-		Map<String, String> map = state.getManifestState();
-		out.writeInt(map.size());
-		Entry<String, String> entry = null;
-		for (Iterator<Entry<String, String>> i = map.entrySet().iterator(); i.hasNext();) {
-			entry = i.next();
-			out.writeUTF(entry.getKey());
-			out.writeUTF(entry.getValue());
+		for (Entry<String, int[]> entry : lazy.entrySet()) {
+			int[] lazyEntry = entry.getValue();
+			table.indexOf(entry.getKey());
+			int[] offsets = index.computeIfAbsent(entry.getKey(), k -> new int[4]);
+			offsets[slot] = data.size();
+			offsets[slot + 1] = lazyEntry[1];
+			DeltaDecoder decoder = new DeltaDecoder(this.deltaData, lazyEntry[0], this.strings);
+			for (int i = 0; i < lazyEntry[1]; i++) {
+				decoder.copyDelta(table, remap, data);
+			}
 		}
-		map = state.getBuildPropertiesState();
+	}
+
+	/**
+	 * Reads the index entry of the compatible or breaking changes of the
+	 * given type.
+	 */
+	private static void readIndexEntry(DataInputStream in, byte[] data, String typeName, Map<String, int[]> lazy) throws IOException {
+		int offset = in.readInt();
+		int count = in.readInt();
+		if (count == 0) {
+			return;
+		}
+		if (typeName == null || count < 0 || offset < 0 || offset >= data.length) {
+			throw new IOException(BuilderMessages.build_wrongFileFormat);
+		}
+		lazy.put(typeName, new int[] { offset, count });
+	}
+
+	/**
+	 * Reads a reference to the string table of the build state
+	 */
+	private static String readString(DataInputStream in, String[] strings) throws IOException {
+		int index = in.readInt();
+		if (index == -1) {
+			return null;
+		}
+		if (index < 0 || index >= strings.length) {
+			throw new IOException(BuilderMessages.build_wrongFileFormat);
+		}
+		return strings[index];
+	}
+
+	private static Map<String, String> readMap(DataInputStream in, String[] strings) throws IOException {
+		int count = in.readInt();
+		Map<String, String> map = new LinkedHashMap<>(Math.max(count, 7));
+		for (int i = 0; i < count; i++) {
+			String key = readString(in, strings);
+			String value = readString(in, strings);
+			map.put(key, value);
+		}
+		return map;
+	}
+
+	private static void writeMap(Map<String, String> map, StringTable table, DataOutputStream out) throws IOException {
 		out.writeInt(map.size());
-		entry = null;
-		for (Iterator<Entry<String, String>> i = map.entrySet().iterator(); i.hasNext();) {
-			entry = i.next();
-			out.writeUTF(entry.getKey());
-			out.writeUTF(entry.getValue());
+		for (Entry<String, String> entry : map.entrySet()) {
+			out.writeInt(table.indexOf(entry.getKey()));
+			out.writeInt(table.indexOf(entry.getValue()));
 		}
 	}
 
 	/**
-	 * Read the {@link IDelta} from the build state (input stream)
+	 * Read the {@link IDelta} from a build state saved in version
+	 * {@link #LEGACY_VERSION} (input stream)
 	 *
 	 * @param in the input stream to read the {@link IDelta} from
 	 * @return a reconstructed {@link IDelta} from the build state
 	 * @throws IOException
 	 */
-	private static IDelta readDelta(DataInputStream in) throws IOException {
+	private static IDelta readLegacyDelta(DataInputStream in) throws IOException {
 		// decode the delta from the build state
 		boolean hasComponentID = in.readBoolean();
 		String componentID = null;
@@ -260,35 +451,179 @@ public class BuildState {
 	}
 
 	/**
-	 * Writes a given {@link IDelta} to the build state (the output stream)
+	 * Encodes a given {@link IDelta} for the build state. The type name is
+	 * not encoded, it is the key of the index entry the delta belongs to.
 	 *
 	 * @param delta the delta to write
+	 * @param table the string table of the build state
 	 * @param out the stream to write to
-	 * @throws IOException
 	 */
-	private static void writeDelta(IDelta delta, DataOutputStream out) throws IOException {
-		// encode a delta into the build state
-		// int elementType, int kind, int flags, int restrictions, int
-		// modifiers, String typeName, String key, Object data
-		String apiComponentID = delta.getComponentVersionId();
-		boolean hasComponentID = apiComponentID != null;
-		out.writeBoolean(hasComponentID);
-		if (hasComponentID) {
-			out.writeUTF(apiComponentID);
-		}
-		out.writeInt(delta.getElementType());
-		out.writeInt(delta.getKind());
-		out.writeInt(delta.getFlags());
-		out.writeInt(delta.getCurrentRestrictions());
-		out.writeInt(delta.getOldModifiers());
-		out.writeInt(delta.getNewModifiers());
-		out.writeUTF(delta.getTypeName());
-		out.writeUTF(delta.getKey());
+	private static void writeDelta(IDelta delta, StringTable table, ByteArrayOutputStream out) {
+		writeVarInt(table.indexOf(delta.getComponentVersionId()) + 1, out);
+		writeVarInt(delta.getElementType(), out);
+		writeVarInt(delta.getKind(), out);
+		writeVarInt(delta.getFlags(), out);
+		writeVarInt(delta.getPreviousRestrictions() << Delta.PREVIOUS_RESTRICTIONS_OFFSET | delta.getCurrentRestrictions(), out);
+		writeVarInt(delta.getOldModifiers(), out);
+		writeVarInt(delta.getNewModifiers(), out);
+		writeVarInt(table.indexOf(delta.getKey()) + 1, out);
 		String[] arguments = delta.getArguments();
-		int length = arguments.length;
-		out.writeInt(length);
-		for (int i = 0; i < length; i++) {
-			out.writeUTF(arguments[i]);
+		writeVarInt(arguments.length, out);
+		for (String argument : arguments) {
+			writeVarInt(table.indexOf(argument) + 1, out);
+		}
+	}
+
+	/**
+	 * Writes the given integer using 7 bits per byte, small values take a
+	 * single byte.
+	 */
+	private static void writeVarInt(int value, ByteArrayOutputStream out) {
+		int v = value;
+		while ((v & ~0x7F) != 0) {
+			out.write((v & 0x7F) | 0x80);
+			v >>>= 7;
+		}
+		out.write(v);
+	}
+
+	/**
+	 * The strings of a build state being written, in order of first use
+	 */
+	private static final class StringTable {
+		final Map<String, Integer> indexes = new HashMap<>();
+		final List<String> strings = new ArrayList<>();
+
+		/**
+		 * Returns the index of the given string, adding it to the table if
+		 * needed, or <code>-1</code> for <code>null</code>
+		 */
+		int indexOf(String string) {
+			if (string == null) {
+				return -1;
+			}
+			Integer index = indexes.get(string);
+			if (index == null) {
+				index = Integer.valueOf(strings.size());
+				indexes.put(string, index);
+				strings.add(string);
+			}
+			return index.intValue();
+		}
+	}
+
+	/**
+	 * Decodes the deltas encoded by
+	 * {@link BuildState#writeDelta(IDelta, StringTable, ByteArrayOutputStream)}
+	 */
+	private static final class DeltaDecoder {
+		private final byte[] data;
+		private final String[] strings;
+		private int position;
+
+		DeltaDecoder(byte[] data, int position, String[] strings) {
+			this.data = data;
+			this.position = position;
+			this.strings = strings;
+		}
+
+		int readInt() {
+			int value = 0;
+			int shift = 0;
+			int b;
+			do {
+				b = data[position++];
+				value |= (b & 0x7F) << shift;
+				shift += 7;
+			} while ((b & 0x80) != 0);
+			return value;
+		}
+
+		String readString() {
+			int reference = readInt();
+			return reference == 0 ? null : strings[reference - 1];
+		}
+
+		IDelta readDelta(String typeName) {
+			String componentID = readString();
+			int elementType = readInt();
+			int kind = readInt();
+			int flags = readInt();
+			int restrictions = readInt();
+			int oldModifiers = readInt();
+			int newModifiers = readInt();
+			String key = readString();
+			int length = readInt();
+			String[] datas = null;
+			if (length != 0) {
+				datas = new String[length];
+				for (int i = 0; i < length; i++) {
+					datas[i] = readString();
+				}
+			} else {
+				datas = new String[1];
+				datas[0] = typeName.replace('$', '.');
+			}
+			int previousRestrictions = restrictions >>> Delta.PREVIOUS_RESTRICTIONS_OFFSET;
+			int currentRestrictions = restrictions & Delta.RESTRICTIONS_MASK;
+			return new Delta(componentID, elementType, kind, flags, currentRestrictions, previousRestrictions, oldModifiers, newModifiers, typeName, key, datas);
+		}
+
+		/**
+		 * Copies the next delta to the given output without decoding it,
+		 * only its string references are mapped to the given table.
+		 */
+		void copyDelta(StringTable table, int[] remap, ByteArrayOutputStream out) {
+			copyString(table, remap, out);
+			for (int i = 0; i < 6; i++) {
+				writeVarInt(readInt(), out);
+			}
+			copyString(table, remap, out);
+			int length = readInt();
+			writeVarInt(length, out);
+			for (int i = 0; i < length; i++) {
+				copyString(table, remap, out);
+			}
+		}
+
+		private void copyString(StringTable table, int[] remap, ByteArrayOutputStream out) {
+			int reference = readInt();
+			if (reference != 0) {
+				int index = reference - 1;
+				if (remap[index] == -1) {
+					remap[index] = table.indexOf(strings[index]);
+				}
+				reference = remap[index] + 1;
+			}
+			writeVarInt(reference, out);
+		}
+	}
+
+	/**
+	 * Decodes the changes of the given type that have not been decoded yet.
+	 */
+	private void decodeChanges(Map<String, Set<IDelta>> changes, Map<String, int[]> lazy, String typeName) {
+		int[] entry = lazy.remove(typeName);
+		if (entry != null) {
+			decodeChanges(changes, typeName, entry);
+		}
+	}
+
+	/**
+	 * Decodes all changes that have not been decoded yet.
+	 */
+	private void decodeAllChanges(Map<String, Set<IDelta>> changes, Map<String, int[]> lazy) {
+		for (Entry<String, int[]> entry : lazy.entrySet()) {
+			decodeChanges(changes, entry.getKey(), entry.getValue());
+		}
+		lazy.clear();
+	}
+
+	private void decodeChanges(Map<String, Set<IDelta>> changes, String typeName, int[] entry) {
+		Set<IDelta> deltas = changes.computeIfAbsent(typeName, k -> new HashSet<>());
+		DeltaDecoder decoder = new DeltaDecoder(this.deltaData, entry[0], this.strings);
+		for (int i = 0; i < entry[1]; i++) {
+			deltas.add(decoder.readDelta(typeName));
 		}
 	}
 
@@ -300,6 +635,7 @@ public class BuildState {
 	 */
 	public void addCompatibleChange(IDelta delta) {
 		String typeName = delta.getTypeName();
+		decodeChanges(this.compatibleChanges, this.lazyCompatibleChanges, typeName);
 		Set<IDelta> object = this.compatibleChanges.get(typeName);
 		if (object == null) {
 			Set<IDelta> changes = new HashSet<>();
@@ -318,6 +654,7 @@ public class BuildState {
 	 */
 	public void addBreakingChange(IDelta delta) {
 		String typeName = delta.getTypeName();
+		decodeChanges(this.breakingChanges, this.lazyBreakingChanges, typeName);
 		Set<IDelta> object = this.breakingChanges.get(typeName);
 		if (object == null) {
 			Set<IDelta> changes = new HashSet<>();
@@ -333,6 +670,7 @@ public class BuildState {
 	 *         removed, or an empty array, never <code>null</code>
 	 */
 	public IDelta[] getBreakingChanges() {
+		decodeAllChanges(this.breakingChanges, this.lazyBreakingChanges);
 		if (this.breakingChanges == null || this.breakingChanges.isEmpty()) {
 			return EMPTY_DELTAS;
 		}
@@ -349,6 +687,7 @@ public class BuildState {
 	 *         removed, or an empty array, never <code>null</code>
 	 */
 	public IDelta[] getCompatibleChanges() {
+		decodeAllChanges(this.compatibleChanges, this.lazyCompatibleChanges);
 		if (this.compatibleChanges == null || this.compatibleChanges.isEmpty()) {
 			return EMPTY_DELTAS;
 		}
@@ -371,13 +710,16 @@ public class BuildState {
 	}
 
 	/**
-	 * Remove all entries for the given type name.
+	 * Remove all entries for the given type name. The recorded changes of the
+	 * type are dropped without being decoded.
 	 *
 	 * @param typeName the given type name
 	 */
 	public void cleanup(String typeName) {
 		this.breakingChanges.remove(typeName);
 		this.compatibleChanges.remove(typeName);
+		this.lazyBreakingChanges.remove(typeName);
+		this.lazyCompatibleChanges.remove(typeName);
 		this.reexportedComponents = null;
 	}
 
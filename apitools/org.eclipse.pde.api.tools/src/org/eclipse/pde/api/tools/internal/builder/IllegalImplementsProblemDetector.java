@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2008, 2013 IBM Corporation and others.
+ * Copyright (c) 2008, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -13,7 +13,8 @@
  *******************************************************************************/
 package org.eclipse.pde.api.tools.internal.builder;
 
-import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.IProgressMonitor;
@@ -38,9 +39,10 @@ public class IllegalImplementsProblemDetector extends AbstractIllegalTypeReferen
 
 	/**
 	 * Map of directly implemented interfaces to implement restricted
-	 * super-interfaces
+	 * super-interfaces. The references are considered on worker threads by the
+	 * {@link ReferenceAnalyzer}.
 	 */
-	private HashMap<String, IApiType> fRestrictedInterfaces = new HashMap<>();
+	private final Map<String, IApiType> fRestrictedInterfaces = new ConcurrentHashMap<>();
 
 	@Override
 	public int getReferenceKinds() {
@@ -91,7 +93,7 @@ public class IllegalImplementsProblemDetector extends AbstractIllegalTypeReferen
 			if (isIllegalType(reference)) {
 				return super.isProblem(reference, monitor);
 			}
-			if (fRestrictedInterfaces.size() > 0) {
+			if (!fRestrictedInterfaces.isEmpty()) {
 				IApiMember member = reference.getMember();
 				if (member.getType() == IApiElement.TYPE) {
 					IApiType itype = fRestrictedInterfaces.get(reference.getReferencedTypeName());
@@ -114,7 +116,7 @@ public class IllegalImplementsProblemDetector extends AbstractIllegalTypeReferen
 	@Override
 	protected String[] getMessageArgs(IReference reference) throws CoreException {
 		String[] args = super.getMessageArgs(reference);
-		if (!isIllegalType(reference) && fRestrictedInterfaces.size() > 0) {
+		if (!isIllegalType(reference) && !fRestrictedInterfaces.isEmpty()) {
 			IApiType type = (IApiType) reference.getResolvedReference();
 			IApiType inter = fRestrictedInterfaces.get(type.getName());
 			if (inter != null) {
@@ -130,7 +132,7 @@ public class IllegalImplementsProblemDetector extends AbstractIllegalTypeReferen
 	@Override
 	protected String[] getQualifiedMessageArgs(IReference reference) throws CoreException {
 		String[] args = super.getQualifiedMessageArgs(reference);
-		if (!isIllegalType(reference) && fRestrictedInterfaces.size() > 0) {
+		if (!isIllegalType(reference) && !fRestrictedInterfaces.isEmpty()) {
 			IApiType type = (IApiType) reference.getResolvedReference();
 			IApiType inter = fRestrictedInterfaces.get(type.getName());
 			if (inter != null) {
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2008, 2015 IBM Corporation and others.
+ * Copyright (c) 2008, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -14,11 +14,15 @@
 package org.eclipse.pde.api.tools.internal.builder;
 
 import java.text.MessageFormat;
+import java.util.ArrayList;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
 
 import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
 import org.eclipse.core.runtime.MultiStatus;
 import org.eclipse.core.runtime.OperationCanceledException;
 import org.eclipse.core.runtime.SubMonitor;
@@ -36,6 +40,7 @@ import org.eclipse.pde.api.tools.internal.provisional.model.IApiType;
 import org.eclipse.pde.api.tools.internal.provisional.model.IApiTypeContainer;
 import org.eclipse.pde.api.tools.internal.provisional.model.IApiTypeRoot;
 import org.eclipse.pde.api.tools.internal.provisional.problems.IApiProblem;
+import org.eclipse.pde.internal.core.util.CancellationMonitor;
 
 /**
  * The reference analyzer
@@ -84,40 +89,7 @@ public class ReferenceAnalyzer {
 		public void visit(String packageName, IApiTypeRoot classFile) {
 			if (!fMonitor.isCanceled()) {
 				try {
-					IApiType type = classFile.getStructure();
-					if (type == null) {
-						// do nothing for bad class files
-						return;
-					}
-					// don't process inner/anonymous/local types, this is done
-					// in the extractor
-					if (type.isMemberType() || type.isLocal() || type.isAnonymous()) {
-						return;
-					}
-					List<IReference> references = type.extractReferences(fAllReferenceKinds, null);
-					// keep potential matches
-					for (IReference ref : references) {
-						if (fMonitor.isCanceled()) {
-							break;
-						}
-						// compute index of interested problem detectors
-						int index = getLog2(ref.getReferenceKind());
-						IApiProblemDetector[] detectors = fIndexedDetectors[index];
-						boolean added = false;
-						if (detectors != null) {
-							for (IApiProblemDetector detector : detectors) {
-								if (fMonitor.isCanceled()) {
-									break;
-								}
-								if (detector.considerReference(ref, fMonitor)) {
-									if (!added) {
-										fReferences.add(ref);
-										added = true;
-									}
-								}
-							}
-						}
-					}
+					considerReferences(classFile, fReferences, fMonitor);
 				} catch (CoreException e) {
 					fStatus.add(e.getStatus());
 					AbstractProblemDetector.checkIfDisposed(classFile.getApiComponent(), fMonitor);
@@ -126,6 +98,46 @@ public class ReferenceAnalyzer {
 		}
 	}
 
+	/**
+	 * Collects the type roots to analyze in visit order, used to extract
+	 * references in parallel.
+	 */
+	static class TypeRootCollector extends ApiTypeContainerVisitor {
+
+		final List<String> fPackageNames = new ArrayList<>();
+		final List<IApiTypeRoot> fTypeRoots = new ArrayList<>();
+
+		@Override
+		public void visit(String packageName, IApiTypeRoot classFile) {
+			fPackageNames.add(packageName);
+			fTypeRoots.add(classFile);
+		}
+	}
+
+	/**
+	 * The references of a single type root extracted by a worker thread
+	 */
+	static class TypeRootReferences {
+
+		/**
+		 * The references retained by at least one problem detector
+		 */
+		final List<IReference> fReferences = new ArrayList<>();
+
+		/**
+		 * The references retained by each problem detector, in the order of
+		 * {@link ReferenceAnalyzer#fDetectors}
+		 */
+		final List<List<IReference>> fRetainedReferences = new ArrayList<>();
+
+		IStatus fStatus;
+	}
+
+	/**
+	 * Number of threads used to extract references
+	 */
+	private final int fThreads;
+
 	/**
 	 * Scan status
 	 */
@@ -148,6 +160,30 @@ public class ReferenceAnalyzer {
 	 */
 	IApiProblemDetector[][] fIndexedDetectors;
 
+	/**
+	 * All problem detectors
+	 */
+	IApiProblemDetector[] fDetectors = NO_PROBLEM_DETECTORS;
+
+	/**
+	 * Constructs a reference analyzer that extracts references sequentially
+	 */
+	public ReferenceAnalyzer() {
+		this(1);
+	}
+
+	/**
+	 * Constructs a reference analyzer that extracts the references of the
+	 * analyzed type roots and hands them to the problem detectors using the
+	 * given number of threads.
+	 *
+	 * @param threads the number of threads, a value lower than 2 means the type
+	 *            roots are processed sequentially
+	 */
+	public ReferenceAnalyzer(int threads) {
+		fThreads = Math.max(1, threads);
+	}
+
 	/**
 	 * Indexes the problem detectors by the reference kinds they are interested
 	 * in. For example, a detector interested in a
@@ -158,6 +194,7 @@ public class ReferenceAnalyzer {
 	 * @param detectors problem detectors
 	 */
 	void indexProblemDetectors(IApiProblemDetector[] detectors) {
+		fDetectors = detectors;
 		fIndexedDetectors = new IApiProblemDetector[32][];
 		for (IApiProblemDetector detector : detectors) {
 			int kinds = detector.getReferenceKinds();
@@ -193,6 +230,68 @@ public class ReferenceAnalyzer {
 		return (int) Math.round(pow);
 	}
 
+	/**
+	 * Extracts the references of the given type root and hands them to the
+	 * interested problem detectors. References retained by at least one
+	 * detector are added to the given list.
+	 *
+	 * @param classFile the type root to scan
+	 * @param references the list to add the retained references to
+	 * @param monitor progress monitor, only used for cancellation
+	 * @throws CoreException if the references cannot be extracted
+	 */
+	void considerReferences(IApiTypeRoot classFile, List<IReference> references, IProgressMonitor monitor) throws CoreException {
+		IApiType type = classFile.getStructure();
+		if (type == null) {
+			// do nothing for bad class files
+			return;
+		}
+		// don't process inner/anonymous/local types, this is done
+		// in the extractor
+		if (type.isMemberType() || type.isLocal() || type.isAnonymous()) {
+			return;
+		}
+		List<IReference> extracted = type.extractReferences(fAllReferenceKinds, null);
+		// keep potential matches
+		for (IReference ref : extracted) {
+			if (monitor.isCanceled()) {
+				break;
+			}
+			// compute index of interested problem detectors
+			int index = getLog2(ref.getReferenceKind());
+			IApiProblemDetector[] detectors = fIndexedDetectors[index];
+			boolean added = false;
+			if (detectors != null) {
+				for (IApiProblemDetector detector : detectors) {
+					if (monitor.isCanceled()) {
+						break;
+					}
+					if (detector.considerReference(ref, monitor)) {
+						if (!added) {
+							references.add(ref);
+							added = true;
+						}
+					}
+				}
+			}
+		}
+	}
+
+	/**
+	 * Returns whether the references can be extracted in parallel, which
+	 * requires the problem detectors to collect the references they retain
+	 * per thread. The state the detectors record while considering a reference
+	 * must be thread safe as well.
+	 */
+	private boolean canExtractInParallel() {
+		for (IApiProblemDetector detector : fDetectors) {
+			if (!(detector instanceof AbstractProblemDetector)) {
+				return false;
+			}
+		}
+		return true;
+	}
+
 	/**
 	 * Scans the given scope extracting all reference information.
 	 *
@@ -204,10 +303,13 @@ public class ReferenceAnalyzer {
 		fStatus = new MultiStatus(ApiPlugin.PLUGIN_ID, 0, BuilderMessages.ReferenceAnalyzer_api_analysis_error, null);
 		String[] packageNames = scope.getPackageNames();
 		SubMonitor localMonitor = SubMonitor.convert(monitor, packageNames.length);
-		ApiTypeContainerVisitor visitor = new Visitor(localMonitor);
 		long start = System.currentTimeMillis();
 		try {
-			scope.accept(visitor);
+			if (fThreads > 1 && canExtractInParallel()) {
+				extractReferences(scope, fThreads, localMonitor);
+			} else {
+				scope.accept(new Visitor(localMonitor));
+			}
 		} catch (CoreException e) {
 			fStatus.add(e.getStatus());
 		}
@@ -220,6 +322,87 @@ public class ReferenceAnalyzer {
 		}
 	}
 
+	/**
+	 * Extracts the references of the type roots of the given scope using a
+	 * fork-join pool of the given size.
+	 * <p>
+	 * Each worker processes one type root, the problem detectors retain the
+	 * references in a list of the worker thread. The lists are merged in the
+	 * visit order of the type roots, so the detectors end up with the same
+	 * references in the same order as in a sequential scan and the created
+	 * problems are the same.
+	 * </p>
+	 * <p>
+	 * The detectors may resolve a reference while considering it on a worker,
+	 * e.g. references to default methods or to system packages. Such a
+	 * reference belongs to the type root of the worker, and resolving it only
+	 * looks up types in the baseline, whose type containers and element cache
+	 * can be used concurrently. The bulk resolution of the retained references
+	 * by the {@link ReferenceResolver} and the creation of the problems still
+	 * run on the calling thread.
+	 * </p>
+	 * <p>
+	 * The given monitor is not thread safe, the workers only check and set its
+	 * cancellation through a {@link CancellationMonitor} while the calling
+	 * thread reports the progress.
+	 * </p>
+	 */
+	private void extractReferences(IApiTypeContainer scope, int threads, SubMonitor monitor) throws CoreException {
+		TypeRootCollector collector = new TypeRootCollector();
+		scope.accept(collector);
+		List<IApiTypeRoot> typeRoots = collector.fTypeRoots;
+		monitor.setWorkRemaining(typeRoots.size());
+		final IProgressMonitor workerMonitor = new CancellationMonitor(monitor);
+		ForkJoinPool pool = new ForkJoinPool(threads);
+		try {
+			List<ForkJoinTask<TypeRootReferences>> tasks = new ArrayList<>(typeRoots.size());
+			for (IApiTypeRoot typeRoot : typeRoots) {
+				tasks.add(pool.submit(() -> considerReferences(typeRoot, workerMonitor)));
+			}
+			String packageName = null;
+			for (int i = 0; i < tasks.size(); i++) {
+				if (!collector.fPackageNames.get(i).equals(packageName)) {
+					packageName = collector.fPackageNames.get(i);
+					monitor.subTask(MessageFormat.format(BuilderMessages.ReferenceAnalyzer_checking_api_used_by, packageName));
+				}
+				TypeRootReferences result = tasks.get(i).join();
+				if (result.fStatus != null) {
+					fStatus.add(result.fStatus);
+				}
+				fReferences.addAll(result.fReferences);
+				for (int j = 0; j < fDetectors.length; j++) {
+					((AbstractProblemDetector) fDetectors[j]).addRetainedReferences(result.fRetainedReferences.get(j));
+				}
+				monitor.split(1);
+			}
+		} finally {
+			pool.shutdownNow();
+		}
+	}
+
+	/**
+	 * Extracts the references of the given type root on a worker thread.
+	 */
+	private TypeRootReferences considerReferences(IApiTypeRoot typeRoot, IProgressMonitor monitor) {
+		TypeRootReferences result = new TypeRootReferences();
+		for (IApiProblemDetector detector : fDetectors) {
+			((AbstractProblemDetector) detector).beginThreadRetention();
+		}
+		try {
+			if (!monitor.isCanceled()) {
+				considerReferences(typeRoot, result.fReferences, monitor);
+			}
+		} catch (CoreException e) {
+			result.fStatus = e.getStatus();
+			AbstractProblemDetector.checkIfDisposed(typeRoot.getApiComponent(), monitor);
+		} finally {
+			for (IApiProblemDetector detector : fDetectors) {
+				result.fRetainedReferences.add(((AbstractProblemDetector) detector).endThreadRetention());
+			}
+		}
+		return result;
+	}
+
 	/**
 	 * Analyzes the given {@link IApiComponent} within the given
 	 * {@link IApiTypeContainer} (scope) and returns a collection of detected
@@ -263,6 +446,7 @@ public class ReferenceAnalyzer {
 		} finally {
 			// clean up
 			fIndexedDetectors = null;
+			fDetectors = NO_PROBLEM_DETECTORS;
 			fReferences.clear();
 		}
 	}
@@ -61,6 +61,8 @@ public class ClassFileComparator {
 		if (baseline == null) {
 			return true;
 		}
+		// the delta depends on the hierarchy of the exception type
+		this.cacheable = false;
 		try {
 			if (Util.isJavaLangRuntimeException(exceptionName)) {
 				return false;
@@ -113,6 +115,12 @@ public class ClassFileComparator {
 	private int initialDescriptorRestrictions;
 	private MultiStatus status = null;
 
+	/**
+	 * Whether the delta only depends on the compared types and their
+	 * hierarchies, see {@link #isCacheable()}
+	 */
+	private boolean cacheable = true;
+
 	/**
 	 * Constructor
 	 *
@@ -282,6 +290,15 @@ public class ClassFileComparator {
 		return this.status;
 	}
 
+	/**
+	 * @return whether the delta was computed without errors and only depends
+	 *         on the compared types, their member types and their hierarchies,
+	 *         so that it can be cached in the {@link ClassFileDeltaCache}
+	 */
+	public boolean isCacheable() {
+		return this.cacheable && isStatusOk();
+	}
+
 	/**
 	 * Checks if there are any changes to the super-interface set for the
 	 * current type descriptor context. A change is one of:
@@ -655,6 +672,7 @@ public class ClassFileComparator {
 						IApiTypeRoot memberType2 = this.component2.findTypeRoot(typeMember.getName());
 						ClassFileComparator comparator = new ClassFileComparator(typeMember, memberType2, this.component, this.component2, this.apiBaseline1, this.apiBaseline2, this.visibilityModifiers);
 						IDelta delta2 = comparator.getDelta(null);
+						this.cacheable &= comparator.isCacheable();
 						if (delta2 != null && delta2 != ApiComparator.NO_DELTA) {
 							this.addDelta(delta2);
 						}
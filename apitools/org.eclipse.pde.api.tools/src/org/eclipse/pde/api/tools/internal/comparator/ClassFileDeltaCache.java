@@ -0,0 +1,500 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse contributors and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Eclipse contributors - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.pde.api.tools.internal.comparator;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+import org.eclipse.core.resources.ISaveContext;
+import org.eclipse.core.resources.ISaveParticipant;
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.pde.api.tools.internal.model.AbstractApiTypeRoot;
+import org.eclipse.pde.api.tools.internal.provisional.ApiPlugin;
+import org.eclipse.pde.api.tools.internal.provisional.IApiAnnotations;
+import org.eclipse.pde.api.tools.internal.provisional.IApiDescription;
+import org.eclipse.pde.api.tools.internal.provisional.comparator.ApiComparator;
+import org.eclipse.pde.api.tools.internal.provisional.comparator.IDelta;
+import org.eclipse.pde.api.tools.internal.provisional.model.IApiComponent;
+import org.eclipse.pde.api.tools.internal.provisional.model.IApiMember;
+import org.eclipse.pde.api.tools.internal.provisional.model.IApiType;
+import org.eclipse.pde.api.tools.internal.provisional.model.IApiTypeRoot;
+import org.eclipse.pde.api.tools.internal.util.Util;
+
+/**
+ * Content addressed cache of the deltas computed by the
+ * {@link ClassFileComparator}.
+ * <p>
+ * Entries are keyed by a digest of everything a comparison depends on: the
+ * bytes of both class files and of their member types and super types, the
+ * API annotations of these types and of their members, the versions of both
+ * components, the visibility modifiers and the version of the comparator.
+ * Comparisons that needed to look up other types in the baselines (checked
+ * exceptions) or that failed are not cached. Deltas are copied when they are
+ * added to and taken from the cache, so that callers can add the deltas to
+ * their delta trees.
+ * </p>
+ * <p>
+ * The cache is bounded and evicts the least recently used entries. It is saved
+ * in the state location of the API tools plug-in when the workspace is saved.
+ * The maximum number of entries can be set with the
+ * <code>org.eclipse.pde.api.tools.comparator.cacheSize</code> system property,
+ * a size of <code>0</code> disables the cache.
+ * </p>
+ *
+ * @since 1.2.1200
+ */
+public final class ClassFileDeltaCache implements ISaveParticipant {
+
+	/**
+	 * Version of the comparator, must be incremented whenever the
+	 * {@link ClassFileComparator} reports different deltas for the same input
+	 */
+	private static final int COMPARATOR_VERSION = 1;
+
+	/**
+	 * Version of the cache file format
+	 */
+	private static final int VERSION = 1;
+
+	private static final String CACHE_SIZE_PROPERTY = "org.eclipse.pde.api.tools.comparator.cacheSize"; //$NON-NLS-1$
+	private static final int DEFAULT_CACHE_SIZE = 20000;
+	private static final String CACHE_FILE_NAME = "classfile_deltas.dat"; //$NON-NLS-1$
+
+	/**
+	 * Singleton
+	 */
+	private static ClassFileDeltaCache fgDefault;
+
+	private final int fMaxSize;
+
+	/**
+	 * Cached deltas in access order, {@link ApiComparator#NO_DELTA} is cached
+	 * as is
+	 */
+	private final LinkedHashMap<String, IDelta> fDeltas;
+
+	private boolean fDirty = false;
+
+	/**
+	 * Creates a cache that is neither restored nor saved, the shared cache is
+	 * returned by {@link #getDefault()}.
+	 *
+	 * @param maxSize the maximum number of cached deltas, <code>0</code>
+	 *            disables the cache
+	 */
+	public ClassFileDeltaCache(int maxSize) {
+		fMaxSize = maxSize;
+		fDeltas = new LinkedHashMap<>(16, 0.75f, true) {
+			private static final long serialVersionUID = 1L;
+
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<String, IDelta> eldest) {
+				return size() > fMaxSize;
+			}
+		};
+	}
+
+	/**
+	 * Returns the cache, restored from the state location of the plug-in the
+	 * first time it is accessed.
+	 *
+	 * @return the delta cache
+	 */
+	public static synchronized ClassFileDeltaCache getDefault() {
+		if (fgDefault == null) {
+			fgDefault = new ClassFileDeltaCache(Math.max(0, Integer.getInteger(CACHE_SIZE_PROPERTY, DEFAULT_CACHE_SIZE).intValue()));
+			if (ApiPlugin.isRunningInFramework() && fgDefault.fMaxSize > 0) {
+				fgDefault.restore(getCacheFile());
+				ApiPlugin.getDefault().addSaveParticipant(fgDefault);
+			}
+		}
+		return fgDefault;
+	}
+
+	/**
+	 * Removes the save participant of the cache
+	 */
+	public static synchronized void shutdown() {
+		if (fgDefault != null && ApiPlugin.isRunningInFramework()) {
+			ApiPlugin.getDefault().removeSaveParticipant(fgDefault);
+		}
+	}
+
+	/**
+	 * Returns the cached delta for the given key.
+	 *
+	 * @param key the key computed by
+	 *            {@link #computeKey(IApiType, IApiType, IApiComponent, IApiComponent, int)}
+	 *            or <code>null</code>
+	 * @return a copy of the cached delta or <code>null</code> if none
+	 */
+	public synchronized IDelta get(String key) {
+		if (key == null) {
+			return null;
+		}
+		IDelta delta = fDeltas.get(key);
+		return delta == null ? null : copy(delta);
+	}
+
+	/**
+	 * Caches the delta computed by the given comparator, if it can be reused.
+	 *
+	 * @param key the key computed by
+	 *            {@link #computeKey(IApiType, IApiType, IApiComponent, IApiComponent, int)}
+	 *            or <code>null</code>
+	 * @param comparator the comparator that computed the delta
+	 * @param delta the delta
+	 */
+	public synchronized void put(String key, ClassFileComparator comparator, IDelta delta) {
+		if (key == null || delta == null || !comparator.isCacheable()) {
+			return;
+		}
+		fDeltas.put(key, copy(delta));
+		fDirty = true;
+	}
+
+	/**
+	 * Returns a deep copy of the given delta, {@link ApiComparator#NO_DELTA}
+	 * is returned as is.
+	 */
+	private static IDelta copy(IDelta delta) {
+		if (delta == ApiComparator.NO_DELTA) {
+			return delta;
+		}
+		Delta copy;
+		// only root deltas have no type name
+		if (delta.getTypeName() == null) {
+			copy = new Delta();
+		} else {
+			copy = new Delta(delta.getComponentVersionId(), delta.getElementType(), delta.getKind(), delta.getFlags(), delta.getCurrentRestrictions(), delta.getPreviousRestrictions(), delta.getOldModifiers(), delta.getNewModifiers(), delta.getTypeName(), delta.getKey(), delta.getArguments().clone());
+		}
+		for (IDelta child : delta.getChildren()) {
+			copy.add(copy(child));
+		}
+		return copy;
+	}
+
+	/**
+	 * @return the number of cached deltas
+	 */
+	public synchronized int size() {
+		return fDeltas.size();
+	}
+
+	/**
+	 * Clears the cache
+	 */
+	public synchronized void clear() {
+		fDeltas.clear();
+		fDirty = true;
+	}
+
+	/**
+	 * Computes the key of the comparison of the two given types.
+	 *
+	 * @param type the type from the reference baseline
+	 * @param type2 the type to compare with
+	 * @param component the component of the reference type
+	 * @param component2 the component of the type to compare with
+	 * @param visibilityModifiers the visibility used for the comparison
+	 * @return the key or <code>null</code> if the comparison cannot be cached
+	 */
+	public String computeKey(IApiType type, IApiType type2, IApiComponent component, IApiComponent component2, int visibilityModifiers) {
+		if (fMaxSize == 0 || type == null || type2 == null) {
+			return null;
+		}
+		try {
+			MessageDigest digest = MessageDigest.getInstance("SHA-1"); //$NON-NLS-1$
+			update(digest, COMPARATOR_VERSION);
+			update(digest, visibilityModifiers);
+			update(digest, Util.getComponentVersionsId(component));
+			update(digest, Util.getComponentVersionsId(component2));
+			update(digest, component.hasApiDescription() ? 1 : 0);
+			if (!updateType(digest, type, component, new HashSet<>()) || !updateType(digest, type2, component2, new HashSet<>())) {
+				return null;
+			}
+			byte[] bytes = digest.digest();
+			StringBuilder key = new StringBuilder(bytes.length * 2);
+			for (byte b : bytes) {
+				key.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+			}
+			return key.toString();
+		} catch (CoreException | NoSuchAlgorithmException e) {
+			return null;
+		}
+	}
+
+	/**
+	 * Adds the given type, its members, its member types and its super types
+	 * to the digest.
+	 *
+	 * @return <code>false</code> if the contents of one of the types are not
+	 *         available
+	 */
+	private boolean updateType(MessageDigest digest, IApiType type, IApiComponent component, Set<String> visited) throws CoreException {
+		if (!updateContents(digest, type)) {
+			return false;
+		}
+		visited.add(type.getName());
+		IApiDescription description = component.getApiDescription();
+		update(digest, description.resolveAnnotations(type.getHandle()));
+		for (IApiMember member : type.getFields()) {
+			update(digest, description.resolveAnnotations(member.getHandle()));
+		}
+		for (IApiMember member : type.getMethods()) {
+			update(digest, description.resolveAnnotations(member.getHandle()));
+		}
+		for (IApiType memberType : type.getMemberTypes()) {
+			if (!updateType(digest, memberType, component, visited)) {
+				return false;
+			}
+		}
+		return updateSuperTypes(digest, type, visited);
+	}
+
+	/**
+	 * Adds the super class chain and the super interfaces of the given type to
+	 * the digest.
+	 */
+	private boolean updateSuperTypes(MessageDigest digest, IApiType type, Set<String> visited) throws CoreException {
+		IApiType superclass = type.getSuperclass();
+		if (superclass != null && visited.add(superclass.getName())) {
+			if (!updateSuperType(digest, superclass) || !updateSuperTypes(digest, superclass, visited)) {
+				return false;
+			}
+		}
+		for (IApiType superinterface : type.getSuperInterfaces()) {
+			if (visited.add(superinterface.getName())) {
+				if (!updateSuperType(digest, superinterface) || !updateSuperTypes(digest, superinterface, visited)) {
+					return false;
+				}
+			}
+		}
+		return true;
+	}
+
+	private boolean updateSuperType(MessageDigest digest, IApiType type) throws CoreException {
+		if (!updateContents(digest, type)) {
+			return false;
+		}
+		IApiComponent component = type.getApiComponent();
+		if (component != null) {
+			update(digest, component.getApiDescription().resolveAnnotations(type.getHandle()));
+		}
+		return true;
+	}
+
+	private boolean updateContents(MessageDigest digest, IApiType type) throws CoreException {
+		IApiTypeRoot root = type.getTypeRoot();
+		if (!(root instanceof AbstractApiTypeRoot)) {
+			return false;
+		}
+		byte[] contents = ((AbstractApiTypeRoot) root).getContents();
+		if (contents == null) {
+			return false;
+		}
+		update(digest, contents.length);
+		digest.update(contents);
+		return true;
+	}
+
+	private static void update(MessageDigest digest, IApiAnnotations annotations) {
+		if (annotations == null) {
+			update(digest, -1);
+		} else {
+			update(digest, annotations.getVisibility());
+			update(digest, annotations.getRestrictions());
+		}
+	}
+
+	private static void update(MessageDigest digest, String value) {
+		byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+		update(digest, bytes.length);
+		digest.update(bytes);
+	}
+
+	private static void update(MessageDigest digest, int value) {
+		digest.update((byte) (value >>> 24));
+		digest.update((byte) (value >>> 16));
+		digest.update((byte) (value >>> 8));
+		digest.update((byte) value);
+	}
+
+	private static File getCacheFile() {
+		return ApiPlugin.getDefault().getStateLocation().append(CACHE_FILE_NAME).toFile();
+	}
+
+	/**
+	 * Restores the cache from the given file, an invalid cache file is
+	 * ignored.
+	 *
+	 * @param file the cache file
+	 */
+	public synchronized void restore(File file) {
+		if (!file.isFile()) {
+			return;
+		}
+		try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(file)))) {
+			if (in.readInt() != VERSION) {
+				return;
+			}
+			int count = in.readInt();
+			for (int i = 0; i < count; i++) {
+				String key = in.readUTF();
+				fDeltas.put(key, readDelta(in));
+			}
+		} catch (IOException e) {
+			fDeltas.clear();
+		}
+	}
+
+	private static IDelta readDelta(DataInputStream in) throws IOException {
+		if (!in.readBoolean()) {
+			return ApiComparator.NO_DELTA;
+		}
+		Delta delta;
+		if (in.readBoolean()) {
+			String componentID = in.readBoolean() ? in.readUTF() : null;
+			int elementType = in.readInt();
+			int kind = in.readInt();
+			int flags = in.readInt();
+			int restrictions = in.readInt();
+			int previousRestrictions = in.readInt();
+			int oldModifiers = in.readInt();
+			int newModifiers = in.readInt();
+			String typeName = in.readUTF();
+			String key = in.readBoolean() ? in.readUTF() : null;
+			int length = in.readInt();
+			String[] datas = new String[length];
+			for (int i = 0; i < length; i++) {
+				datas[i] = in.readUTF();
+			}
+			delta = new Delta(componentID, elementType, kind, flags, restrictions, previousRestrictions, oldModifiers, newModifiers, typeName, key, datas);
+		} else {
+			delta = new Delta();
+		}
+		int count = in.readInt();
+		for (int i = 0; i < count; i++) {
+			delta.add(readDelta(in));
+		}
+		return delta;
+	}
+
+	private static void writeDelta(IDelta delta, DataOutputStream out) throws IOException {
+		out.writeBoolean(delta != ApiComparator.NO_DELTA);
+		if (delta == ApiComparator.NO_DELTA) {
+			return;
+		}
+		// only root deltas have no type name
+		boolean isRoot = delta.getTypeName() == null;
+		out.writeBoolean(!isRoot);
+		if (!isRoot) {
+			String componentID = delta.getComponentVersionId();
+			out.writeBoolean(componentID != null);
+			if (componentID != null) {
+				out.writeUTF(componentID);
+			}
+			out.writeInt(delta.getElementType());
+			out.writeInt(delta.getKind());
+			out.writeInt(delta.getFlags());
+			out.writeInt(delta.getCurrentRestrictions());
+			out.writeInt(delta.getPreviousRestrictions());
+			out.writeInt(delta.getOldModifiers());
+			out.writeInt(delta.getNewModifiers());
+			out.writeUTF(delta.getTypeName());
+			String key = delta.getKey();
+			out.writeBoolean(key != null);
+			if (key != null) {
+				out.writeUTF(key);
+			}
+			String[] arguments = delta.getArguments();
+			out.writeInt(arguments.length);
+			for (String argument : arguments) {
+				out.writeUTF(argument);
+			}
+		}
+		IDelta[] children = delta.getChildren();
+		out.writeInt(children.length);
+		for (IDelta child : children) {
+			writeDelta(child, out);
+		}
+	}
+
+	@Override
+	public void doneSaving(ISaveContext context) {
+		//
+	}
+
+	@Override
+	public void prepareToSave(ISaveContext context) throws CoreException {
+		//
+	}
+
+	@Override
+	public void rollback(ISaveContext context) {
+		//
+	}
+
+	@Override
+	public synchronized void saving(ISaveContext context) throws CoreException {
+		if (context.getKind() != ISaveContext.FULL_SAVE || !fDirty) {
+			return;
+		}
+		try {
+			save(getCacheFile());
+		} catch (IOException e) {
+			ApiPlugin.log("Failed to save the class file delta cache", e); //$NON-NLS-1$
+		}
+	}
+
+	/**
+	 * Saves the cache to the given file. The cache is written to a temporary
+	 * file first, so that an existing cache file is only replaced by a
+	 * complete one.
+	 *
+	 * @param file the cache file
+	 * @throws IOException if the cache cannot be written
+	 */
+	public synchronized void save(File file) throws IOException {
+		File temp = new File(file.getParentFile(), file.getName() + ".tmp"); //$NON-NLS-1$
+		try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(temp)))) {
+			out.writeInt(VERSION);
+			out.writeInt(fDeltas.size());
+			for (Map.Entry<String, IDelta> entry : fDeltas.entrySet()) {
+				out.writeUTF(entry.getKey());
+				writeDelta(entry.getValue(), out);
+			}
+		} catch (IOException e) {
+			temp.delete();
+			throw e;
+		}
+		Files.move(temp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+		fDirty = false;
+	}
+}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2007, 2017 IBM Corporation and others.
+ * Copyright (c) 2007, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -122,7 +122,8 @@ public class ArchiveApiTypeContainer extends ApiElement implements IApiTypeConta
 
 	/**
 	 * Cache of package names to a map of class names to class files paths in that
-	 * package, or <code>null</code> if not yet initialized.
+	 * package, or <code>null</code> if not yet initialized. Restored from the
+	 * {@link ArchiveTypeIndex} when the archive did not change.
 	 */
 	private Map<String, Map<String, String>> fPackages;
 
@@ -131,6 +132,12 @@ public class ArchiveApiTypeContainer extends ApiElement implements IApiTypeConta
 	 */
 	private String[] fPackageNames;
 
+	/**
+	 * Whether the package and type tables are persisted in an
+	 * {@link ArchiveTypeIndex}
+	 */
+	private final boolean fIndexed;
+
 	/**
 	 * Constructs an {@link IApiTypeContainer} container for the given jar or zip
 	 * file at the specified location.
@@ -139,8 +146,31 @@ public class ArchiveApiTypeContainer extends ApiElement implements IApiTypeConta
 	 * @param path   location of the file in the local file system
 	 */
 	public ArchiveApiTypeContainer(IApiElement parent, String path) {
+		this(parent, path, true);
+	}
+
+	/**
+	 * Constructs an {@link IApiTypeContainer} container for the given jar or zip
+	 * file at the specified location.
+	 *
+	 * @param parent  the parent {@link IApiElement} or <code>null</code> if none
+	 * @param path    location of the file in the local file system
+	 * @param indexed whether the package and type tables of the archive are
+	 *                persisted in an {@link ArchiveTypeIndex}, which is not
+	 *                worth it for temporary archives
+	 */
+	public ArchiveApiTypeContainer(IApiElement parent, String path, boolean indexed) {
 		super(parent, IApiElement.API_TYPE_CONTAINER, path);
 		this.fLocation = path;
+		this.fIndexed = indexed;
+	}
+
+	/**
+	 * @return whether the location is the one of a JRT file system, whose
+	 *         modules are not stored in the archive itself
+	 */
+	private boolean isJrtFileSystem() {
+		return fLocation.endsWith("jrt-fs.jar"); //$NON-NLS-1$
 	}
 
 	/**
@@ -152,7 +182,7 @@ public class ArchiveApiTypeContainer extends ApiElement implements IApiTypeConta
 	@SuppressWarnings("nls")
 	private Path getLocation() throws IOException {
 		Path path = Path.of(fLocation);
-		if (fLocation.endsWith("jrt-fs.jar")) {
+		if (isJrtFileSystem()) {
 			AtomicReference<IOException> exception = new AtomicReference<>();
 			FileSystem jrtFileSystem = JRTS.computeIfAbsent(path.toRealPath(), it -> {
 				Path jrePath = it.getParent().getParent();
@@ -251,6 +281,13 @@ public class ArchiveApiTypeContainer extends ApiElement implements IApiTypeConta
 	 */
 	private synchronized void init() throws CoreException {
 		if (fPackages == null) {
+			boolean isIndexed = fIndexed && !isJrtFileSystem();
+			if (isIndexed) {
+				fPackages = ArchiveTypeIndex.read(fLocation);
+				if (fPackages != null) {
+					return;
+				}
+			}
 			fPackages = new TreeMap<>();
 			try {
 				Path location = getLocation();
@@ -272,6 +309,9 @@ public class ArchiveApiTypeContainer extends ApiElement implements IApiTypeConta
 			} catch (IOException e) {
 				abort("Failed to process archive: " + fLocation, e); //$NON-NLS-1$
 			}
+			if (isIndexed) {
+				ArchiveTypeIndex.write(fLocation, fPackages);
+			}
 		}
 	}
 
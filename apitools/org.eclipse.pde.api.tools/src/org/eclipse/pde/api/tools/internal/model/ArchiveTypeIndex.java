@@ -0,0 +1,282 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse contributors and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Eclipse contributors - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.pde.api.tools.internal.model;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.eclipse.pde.api.tools.internal.provisional.ApiPlugin;
+
+/**
+ * On-disk index of the packages and types of an archive, so that
+ * {@link ArchiveApiTypeContainer}s do not have to walk the whole archive each
+ * time a baseline is loaded, and {@link MappedArchiveApiTypeContainer}s do not
+ * have to map archives whose types are never read.
+ * <p>
+ * There is one index file per archive, stored in the state location of the API
+ * tools plug-in and named after the SHA-256 digest of the archive location. An
+ * index is only valid if the path, the size and the last modification time of
+ * the archive it was computed from are unchanged. Index files are written to a
+ * temporary file first and then moved in place, so that readers never see a
+ * partially written index. The index files of archives that no longer exist
+ * are deleted once per session, the first time an index is written.
+ * </p>
+ *
+ * @since 1.2.1200
+ */
+public final class ArchiveTypeIndex {
+
+	/**
+	 * Version of the index format, incremented whenever the format changes
+	 */
+	private static final int VERSION = 2;
+
+	/**
+	 * Name of the folder in the state location holding the index files
+	 */
+	private static final String INDEX_FOLDER = ".archive_index"; //$NON-NLS-1$
+
+	private static final String INDEX_EXTENSION = ".index"; //$NON-NLS-1$
+
+	private static final String TEMP_EXTENSION = ".tmp"; //$NON-NLS-1$
+
+	/**
+	 * Age in milliseconds after which a temporary file is considered left over
+	 * by an interrupted write
+	 */
+	private static final long TEMP_FILE_EXPIRY = 60000;
+
+	/**
+	 * Whether the index files of deleted archives have been pruned in this
+	 * session
+	 */
+	private static final AtomicBoolean fPruned = new AtomicBoolean();
+
+	private ArchiveTypeIndex() {
+	}
+
+	/**
+	 * Returns the folder holding the index files or <code>null</code> if
+	 * indexes cannot be persisted, i.e. when not running in a framework.
+	 */
+	private static File getIndexFolder() {
+		if (!ApiPlugin.isRunningInFramework()) {
+			return null;
+		}
+		return ApiPlugin.getDefault().getStateLocation().append(INDEX_FOLDER).toFile();
+	}
+
+	/**
+	 * Returns the index file for the given archive location or
+	 * <code>null</code> if indexes cannot be persisted, i.e. when not running
+	 * in a framework.
+	 *
+	 * @param location location of the archive in the local file system
+	 * @return the index file of the archive, which might not exist
+	 */
+	public static File getIndexFile(String location) {
+		File folder = getIndexFolder();
+		if (folder == null) {
+			return null;
+		}
+		return new File(folder, digest(location) + INDEX_EXTENSION);
+	}
+
+	/**
+	 * Returns the SHA-256 digest of the given location as a hexadecimal string,
+	 * used to name the files kept for the location.
+	 *
+	 * @param location a location in the local file system
+	 * @return the digest of the location
+	 */
+	public static String digest(String location) {
+		try {
+			byte[] digest = MessageDigest.getInstance("SHA-256").digest(location.getBytes(StandardCharsets.UTF_8)); //$NON-NLS-1$
+			StringBuilder name = new StringBuilder(digest.length * 2);
+			for (byte b : digest) {
+				name.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+			}
+			return name.toString();
+		} catch (NoSuchAlgorithmException e) {
+			// every Java platform is required to support SHA-256
+			throw new IllegalStateException(e);
+		}
+	}
+
+	/**
+	 * Returns whether there is a valid index for the given archive, without
+	 * reading the packages and types it contains.
+	 *
+	 * @param location location of the archive in the local file system
+	 * @return whether the archive has a valid index
+	 */
+	public static boolean isValid(String location) {
+		File indexFile = getIndexFile(location);
+		if (indexFile == null || !indexFile.isFile()) {
+			return false;
+		}
+		try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(indexFile)))) {
+			return isValid(in, location);
+		} catch (IOException e) {
+			return false;
+		}
+	}
+
+	private static boolean isValid(DataInputStream in, String location) throws IOException {
+		File archive = new File(location);
+		return in.readInt() == VERSION && location.equals(in.readUTF()) && archive.length() == in.readLong() && archive.lastModified() == in.readLong();
+	}
+
+	/**
+	 * Reads the index of the given archive.
+	 *
+	 * @param location location of the archive in the local file system
+	 * @return the map of package names to the map of class names to class file
+	 *         paths in the package, or <code>null</code> if there is no valid
+	 *         index for the archive
+	 */
+	public static Map<String, Map<String, String>> read(String location) {
+		File indexFile = getIndexFile(location);
+		if (indexFile == null || !indexFile.isFile()) {
+			return null;
+		}
+		try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(indexFile)))) {
+			if (!isValid(in, location)) {
+				return null;
+			}
+			Map<String, Map<String, String>> packages = new TreeMap<>();
+			int packageCount = in.readInt();
+			for (int i = 0; i < packageCount; i++) {
+				String pkg = in.readUTF();
+				Map<String, String> fileNames = new TreeMap<>();
+				int typeCount = in.readInt();
+				for (int j = 0; j < typeCount; j++) {
+					fileNames.put(in.readUTF(), in.readUTF());
+				}
+				packages.put(pkg, fileNames);
+			}
+			return packages;
+		} catch (IOException e) {
+			// a corrupted index is recomputed from the archive
+			return null;
+		}
+	}
+
+	/**
+	 * Writes the index of the given archive.
+	 *
+	 * @param location location of the archive in the local file system
+	 * @param packages the map of package names to the map of class names to
+	 *            class file paths in the package
+	 */
+	public static void write(String location, Map<String, Map<String, String>> packages) {
+		File indexFile = getIndexFile(location);
+		if (indexFile == null) {
+			return;
+		}
+		File archive = new File(location);
+		if (!archive.isFile()) {
+			return;
+		}
+		File folder = indexFile.getParentFile();
+		folder.mkdirs();
+		if (fPruned.compareAndSet(false, true)) {
+			prune(folder);
+		}
+		File temp;
+		try {
+			temp = File.createTempFile(indexFile.getName(), TEMP_EXTENSION, folder);
+		} catch (IOException e) {
+			ApiPlugin.log(e);
+			return;
+		}
+		try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(temp)))) {
+			out.writeInt(VERSION);
+			out.writeUTF(location);
+			out.writeLong(archive.length());
+			out.writeLong(archive.lastModified());
+			out.writeInt(packages.size());
+			for (Map.Entry<String, Map<String, String>> entry : packages.entrySet()) {
+				out.writeUTF(entry.getKey());
+				Map<String, String> fileNames = entry.getValue();
+				out.writeInt(fileNames.size());
+				for (Map.Entry<String, String> fileName : fileNames.entrySet()) {
+					out.writeUTF(fileName.getKey());
+					out.writeUTF(fileName.getValue());
+				}
+			}
+		} catch (IOException e) {
+			ApiPlugin.log(e);
+			temp.delete();
+			return;
+		}
+		try {
+			Files.move(temp.toPath(), indexFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
+		} catch (IOException e) {
+			ApiPlugin.log(e);
+			temp.delete();
+		}
+	}
+
+	/**
+	 * Deletes the index files of archives that no longer exist, the index
+	 * files of an older format and the temporary files left over by
+	 * interrupted writes.
+	 */
+	public static void prune() {
+		File folder = getIndexFolder();
+		if (folder != null) {
+			prune(folder);
+		}
+	}
+
+	private static void prune(File folder) {
+		File[] files = folder.listFiles();
+		if (files == null) {
+			return;
+		}
+		for (File file : files) {
+			String name = file.getName();
+			if (name.endsWith(TEMP_EXTENSION)) {
+				if (System.currentTimeMillis() - file.lastModified() > TEMP_FILE_EXPIRY) {
+					file.delete();
+				}
+			} else if (name.endsWith(INDEX_EXTENSION) && isStale(file)) {
+				file.delete();
+			}
+		}
+	}
+
+	private static boolean isStale(File indexFile) {
+		try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(indexFile)))) {
+			return in.readInt() != VERSION || !new File(in.readUTF()).isFile();
+		} catch (IOException e) {
+			return true;
+		}
+	}
+}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2007, 2021 IBM Corporation and others.
+ * Copyright (c) 2007, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -691,6 +691,11 @@ public class BundleComponent extends Component {
 				ZipFile zip = null;
 				try {
 					if (path.equals(".")) { //$NON-NLS-1$
+						if (MappedArchiveApiTypeContainer.isMappingSupported()) {
+							return new MappedArchiveApiTypeContainer(this, fLocation);
+						}
+						// the bundle must stay deletable once the
+						// container is closed
 						return new ArchiveApiTypeContainer(this, fLocation);
 					} else {
 						// classpath element can be jar or folder
@@ -722,7 +727,9 @@ public class BundleComponent extends Component {
 									} else {
 										FileManager.getManager().recordTempFileRoot(file.getCanonicalPath());
 									}
-									return new ArchiveApiTypeContainer(this, file.getCanonicalPath());
+									// the extracted archive is deleted on
+									// shutdown, do not index it
+									return new ArchiveApiTypeContainer(this, file.getCanonicalPath(), false);
 								}
 							}
 						}
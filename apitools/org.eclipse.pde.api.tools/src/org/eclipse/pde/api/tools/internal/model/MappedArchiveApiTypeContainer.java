@@ -0,0 +1,624 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse contributors and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Eclipse contributors - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.pde.api.tools.internal.model;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+import java.util.zip.ZipEntry;
+
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.pde.api.tools.internal.provisional.model.ApiTypeContainerVisitor;
+import org.eclipse.pde.api.tools.internal.provisional.model.IApiElement;
+import org.eclipse.pde.api.tools.internal.provisional.model.IApiTypeContainer;
+import org.eclipse.pde.api.tools.internal.provisional.model.IApiTypeRoot;
+import org.eclipse.pde.api.tools.internal.util.Signatures;
+import org.eclipse.pde.api.tools.internal.util.Util;
+
+/**
+ * {@link IApiTypeContainer} container for a jar or zip file that is memory
+ * mapped.
+ * <p>
+ * The central directory of the archive is read once into sorted arrays of
+ * class names and entry offsets, class file contents are inflated directly
+ * from the mapped archive. Archives that cannot be mapped (ZIP64 archives or
+ * archives larger than 2GB) are handled by an {@link ArchiveApiTypeContainer},
+ * as are archives that become unreadable through the mapping, e.g. because
+ * they were truncated while mapped.
+ * </p>
+ * <p>
+ * The package names are read from the {@link ArchiveTypeIndex} of the archive
+ * when it is valid, so that the archive is only mapped once its types are
+ * visited or looked up. The index is written when the central directory is
+ * read and there is no valid index.
+ * </p>
+ *
+ * @since 1.2.1200
+ */
+public class MappedArchiveApiTypeContainer extends ApiElement implements IApiTypeContainer {
+
+	private static final int END_OF_CENTRAL_DIRECTORY_SIGNATURE = 0x06054b50;
+	private static final int END_OF_CENTRAL_DIRECTORY_SIZE = 22;
+	private static final int CENTRAL_DIRECTORY_SIGNATURE = 0x02014b50;
+	private static final int CENTRAL_DIRECTORY_HEADER_SIZE = 46;
+	private static final int LOCAL_HEADER_SIGNATURE = 0x04034b50;
+	private static final int LOCAL_HEADER_SIZE = 30;
+	private static final int MAX_COMMENT_SIZE = 0xFFFF;
+
+	/**
+	 * {@link IApiTypeRoot} implementation within a mapped archive
+	 */
+	static class MappedArchiveApiTypeRoot extends AbstractApiTypeRoot implements Comparable<Object> {
+
+		private final String fTypeName;
+		private final int fEntry;
+		private byte[] fContents = null;
+
+		/**
+		 * Constructs a new handle to an {@link IApiTypeRoot} in the archive.
+		 *
+		 * @param container archive
+		 * @param entry index of the entry in the sorted entries of the archive
+		 * @param entryName name of the entry in the archive
+		 * @param typeName name of the type of the entry
+		 */
+		MappedArchiveApiTypeRoot(MappedArchiveApiTypeContainer container, int entry, String entryName, String typeName) {
+			super(container, entryName);
+			this.fTypeName = typeName;
+			this.fEntry = entry;
+		}
+
+		@Override
+		public String getTypeName() {
+			return fTypeName;
+		}
+
+		@Override
+		public int compareTo(Object o) {
+			return getTypeName().compareTo(((MappedArchiveApiTypeRoot) o).getTypeName());
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (obj instanceof MappedArchiveApiTypeRoot) {
+				return this.getName().equals(((MappedArchiveApiTypeRoot) obj).getName());
+			}
+			return false;
+		}
+
+		@Override
+		public int hashCode() {
+			return getName().hashCode();
+		}
+
+		@Override
+		public byte[] getContents() throws CoreException {
+			if (fContents == null) {
+				fContents = ((MappedArchiveApiTypeContainer) getParent()).getContents(fEntry, fTypeName);
+			}
+			return fContents;
+		}
+
+		@Override
+		public String toString() {
+			return getTypeName();
+		}
+	}
+
+	/**
+	 * Location of the archive in the local file system.
+	 */
+	private final String fLocation;
+
+	/**
+	 * The mapped archive, or <code>null</code> if not yet initialized. Only
+	 * absolute reads or reads from duplicates are allowed so that the buffer
+	 * can be shared between threads.
+	 */
+	private ByteBuffer fBuffer;
+
+	/**
+	 * Container used when the archive cannot be mapped or read through the
+	 * mapping, <code>null</code> otherwise.
+	 */
+	private ArchiveApiTypeContainer fDelegate;
+
+	/**
+	 * Class file entries, sorted by package name then by type name
+	 */
+	String[] fTypeNames;
+	String[] fEntryNames;
+	private int[] fLocalHeaderOffsets;
+	private int[] fCompressedSizes;
+	private int[] fSizes;
+	private boolean[] fDeflated;
+
+	/**
+	 * Sorted package names, the types of the package at index <code>i</code>
+	 * are the entries from <code>fPackageStarts[i]</code> (inclusive) to
+	 * <code>fPackageStarts[i + 1]</code> (exclusive).
+	 */
+	private String[] fPackageNames;
+	private int[] fPackageStarts;
+
+	/**
+	 * Package names read from the {@link ArchiveTypeIndex}, <code>null</code>
+	 * if not read yet or if there is no valid index.
+	 */
+	private String[] fIndexedPackageNames;
+	private boolean fIndexRead;
+
+	/**
+	 * Whether archives can be mapped without keeping them from being deleted.
+	 * On Windows a mapped file cannot be deleted or replaced until its mapping
+	 * is garbage collected, which {@link #close()} cannot force.
+	 */
+	private static final boolean MAPPING_SUPPORTED = !System.getProperty("os.name", "").startsWith("Windows"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+
+	/**
+	 * Returns whether archives can be mapped on this platform without keeping
+	 * the archive files from being deleted or replaced while they are mapped.
+	 * Archives that must stay deletable should be handled by an
+	 * {@link ArchiveApiTypeContainer} otherwise.
+	 *
+	 * @return whether archives can be mapped
+	 */
+	public static boolean isMappingSupported() {
+		return MAPPING_SUPPORTED;
+	}
+
+	/**
+	 * Constructs an {@link IApiTypeContainer} container for the given jar or
+	 * zip file at the specified location.
+	 *
+	 * @param parent the parent {@link IApiElement} or <code>null</code> if none
+	 * @param path location of the file in the local file system
+	 */
+	public MappedArchiveApiTypeContainer(IApiElement parent, String path) {
+		super(parent, IApiElement.API_TYPE_CONTAINER, path);
+		this.fLocation = path;
+	}
+
+	@Override
+	public void accept(ApiTypeContainerVisitor visitor) throws CoreException {
+		ArchiveApiTypeContainer delegate;
+		String[] packageNames;
+		int[] packageStarts;
+		String[] entryNames;
+		String[] typeNames;
+		// the tables are released when the container is closed
+		synchronized (this) {
+			init();
+			delegate = fDelegate;
+			packageNames = fPackageNames;
+			packageStarts = fPackageStarts;
+			entryNames = fEntryNames;
+			typeNames = fTypeNames;
+		}
+		if (delegate != null) {
+			delegate.accept(visitor);
+			return;
+		}
+		if (visitor.visit(this)) {
+			for (int i = 0; i < packageNames.length; i++) {
+				String pkg = packageNames[i];
+				if (visitor.visitPackage(pkg)) {
+					for (int entry = packageStarts[i]; entry < packageStarts[i + 1]; entry++) {
+						MappedArchiveApiTypeRoot classfile = new MappedArchiveApiTypeRoot(this, entry, entryNames[entry], typeNames[entry]);
+						visitor.visit(pkg, classfile);
+						visitor.end(pkg, classfile);
+					}
+					visitor.endVisitPackage(pkg);
+				}
+			}
+		}
+		visitor.end(this);
+	}
+
+	@Override
+	public String toString() {
+		return "Mapped Archive Class File Container: " + getName(); //$NON-NLS-1$
+	}
+
+	/**
+	 * Releases the mapped archive and the tables read from its central
+	 * directory, they are read again on the next access. The mapping itself is
+	 * released once the buffer is garbage collected: unmapping it explicitly
+	 * would crash the VM if another thread still reads a type root. See
+	 * {@link #isMappingSupported()}.
+	 */
+	@Override
+	public synchronized void close() throws CoreException {
+		if (fDelegate != null) {
+			fDelegate.close();
+			fDelegate = null;
+		}
+		release();
+		fIndexedPackageNames = null;
+		fIndexRead = false;
+	}
+
+	private void release() {
+		fBuffer = null;
+		fTypeNames = null;
+		fEntryNames = null;
+		fLocalHeaderOffsets = null;
+		fCompressedSizes = null;
+		fSizes = null;
+		fDeflated = null;
+		fPackageNames = null;
+		fPackageStarts = null;
+	}
+
+	/**
+	 * Switches to an {@link ArchiveApiTypeContainer} after the archive could
+	 * not be read through the mapping, and releases the mapping.
+	 */
+	private synchronized ArchiveApiTypeContainer fallBack() {
+		if (fDelegate == null) {
+			release();
+			fDelegate = new ArchiveApiTypeContainer(getParent(), fLocation);
+		}
+		return fDelegate;
+	}
+
+	@Override
+	public IApiTypeRoot findTypeRoot(String qualifiedName) throws CoreException {
+		ArchiveApiTypeContainer delegate;
+		String[] packageNames;
+		int[] packageStarts;
+		String[] entryNames;
+		String[] typeNames;
+		synchronized (this) {
+			init();
+			delegate = fDelegate;
+			packageNames = fPackageNames;
+			packageStarts = fPackageStarts;
+			entryNames = fEntryNames;
+			typeNames = fTypeNames;
+		}
+		if (delegate != null) {
+			return delegate.findTypeRoot(qualifiedName);
+		}
+		int pkg = Arrays.binarySearch(packageNames, Signatures.getPackageName(qualifiedName));
+		if (pkg >= 0) {
+			int entry = Arrays.binarySearch(typeNames, packageStarts[pkg], packageStarts[pkg + 1], qualifiedName);
+			if (entry >= 0) {
+				return new MappedArchiveApiTypeRoot(this, entry, entryNames[entry], typeNames[entry]);
+			}
+		}
+		return null;
+	}
+
+	@Override
+	public IApiTypeRoot findTypeRoot(String qualifiedName, String id) throws CoreException {
+		return findTypeRoot(qualifiedName);
+	}
+
+	@Override
+	public String[] getPackageNames() throws CoreException {
+		ArchiveApiTypeContainer delegate;
+		String[] packageNames;
+		synchronized (this) {
+			if (fPackageNames == null && fDelegate == null) {
+				if (!fIndexRead) {
+					fIndexRead = true;
+					Map<String, Map<String, String>> packages = ArchiveTypeIndex.read(fLocation);
+					if (packages != null) {
+						fIndexedPackageNames = packages.keySet().toArray(String[]::new);
+					}
+				}
+				if (fIndexedPackageNames != null) {
+					return fIndexedPackageNames;
+				}
+			}
+			init();
+			delegate = fDelegate;
+			packageNames = fPackageNames;
+		}
+		if (delegate != null) {
+			return delegate.getPackageNames();
+		}
+		return packageNames;
+	}
+
+	@Override
+	public int getContainerType() {
+		return ARCHIVE;
+	}
+
+	@Override
+	public boolean equals(Object obj) {
+		if (obj instanceof MappedArchiveApiTypeContainer) {
+			return this.fLocation.equals(((MappedArchiveApiTypeContainer) obj).fLocation);
+		}
+		return false;
+	}
+
+	@Override
+	public int hashCode() {
+		return this.fLocation.hashCode();
+	}
+
+	/**
+	 * Returns the contents of the given class file entry.
+	 *
+	 * @param entry index of the entry in the sorted entries
+	 * @param typeName the name of the type of the entry
+	 * @return the contents of the entry
+	 * @throws CoreException if the entry cannot be read
+	 */
+	byte[] getContents(int entry, String typeName) throws CoreException {
+		ArchiveApiTypeContainer delegate;
+		ByteBuffer buffer = null;
+		int offset = 0;
+		int compressedSize = 0;
+		int size = 0;
+		boolean deflated = false;
+		synchronized (this) {
+			init();
+			delegate = fDelegate;
+			if (delegate == null) {
+				int index = entry;
+				if (index >= fTypeNames.length || !fTypeNames[index].equals(typeName)) {
+					// the archive was closed and changed since the type root
+					// was created
+					index = indexOf(typeName);
+					if (index < 0) {
+						abort("Failed to open class file: " + typeName + " in archive: " + fLocation, null); //$NON-NLS-1$ //$NON-NLS-2$
+					}
+				}
+				buffer = fBuffer;
+				offset = fLocalHeaderOffsets[index];
+				compressedSize = fCompressedSizes[index];
+				size = fSizes[index];
+				deflated = fDeflated[index];
+			}
+		}
+		if (delegate != null) {
+			return getContents(delegate, typeName);
+		}
+		try {
+			return getContents(buffer, offset, compressedSize, size, deflated);
+		} catch (InternalError e) {
+			// a fault occurred in a mapped read, the archive was truncated or
+			// is no longer accessible
+			return getContents(fallBack(), typeName);
+		} catch (IOException | DataFormatException | RuntimeException e) {
+			abort("Failed to open class file: " + typeName + " in archive: " + fLocation, e); //$NON-NLS-1$ //$NON-NLS-2$
+		}
+		return null;
+	}
+
+	/**
+	 * Returns the index of the entry of the given type, or a negative value if
+	 * there is no such entry. Must be called with the tables initialized.
+	 */
+	private int indexOf(String typeName) {
+		int pkg = Arrays.binarySearch(fPackageNames, Signatures.getPackageName(typeName));
+		if (pkg < 0) {
+			return -1;
+		}
+		return Arrays.binarySearch(fTypeNames, fPackageStarts[pkg], fPackageStarts[pkg + 1], typeName);
+	}
+
+	private byte[] getContents(ArchiveApiTypeContainer delegate, String typeName) throws CoreException {
+		IApiTypeRoot root = delegate.findTypeRoot(typeName);
+		if (root == null) {
+			abort("Failed to open class file: " + typeName + " in archive: " + fLocation, null); //$NON-NLS-1$ //$NON-NLS-2$
+		}
+		return root.getContents();
+	}
+
+	private static byte[] getContents(ByteBuffer buffer, int offset, int compressedSize, int size, boolean deflated) throws IOException, DataFormatException {
+		if (buffer.getInt(offset) != LOCAL_HEADER_SIGNATURE) {
+			throw new IOException("Invalid local header"); //$NON-NLS-1$
+		}
+		int start = offset + LOCAL_HEADER_SIZE + (buffer.getShort(offset + 26) & 0xFFFF) + (buffer.getShort(offset + 28) & 0xFFFF);
+		ByteBuffer data = buffer.duplicate();
+		data.position(start).limit(start + compressedSize);
+		byte[] contents = new byte[size];
+		if (!deflated) {
+			data.get(contents);
+			return contents;
+		}
+		Inflater inflater = new Inflater(true);
+		try {
+			inflater.setInput(data);
+			int read = 0;
+			while (read < contents.length) {
+				int count = inflater.inflate(contents, read, contents.length - read);
+				if (count == 0 && (inflater.finished() || inflater.needsInput() || inflater.needsDictionary())) {
+					break;
+				}
+				read += count;
+			}
+			if (read != contents.length) {
+				throw new IOException("Unexpected end of entry"); //$NON-NLS-1$
+			}
+		} finally {
+			inflater.end();
+		}
+		return contents;
+	}
+
+	private int getUnsignedShort(int index) {
+		return fBuffer.getShort(index) & 0xFFFF;
+	}
+
+	private long getUnsignedInt(int index) {
+		return fBuffer.getInt(index) & 0xFFFFFFFFL;
+	}
+
+	/**
+	 * Maps the archive and reads its central directory, or initializes the
+	 * delegate container if the archive cannot be mapped.
+	 *
+	 * @throws CoreException
+	 */
+	private synchronized void init() throws CoreException {
+		if (fPackageNames != null || fDelegate != null) {
+			return;
+		}
+		try (FileChannel channel = FileChannel.open(Path.of(fLocation), StandardOpenOption.READ)) {
+			long size = channel.size();
+			if (size > Integer.MAX_VALUE) {
+				fDelegate = new ArchiveApiTypeContainer(getParent(), fLocation);
+				return;
+			}
+			MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+			buffer.order(ByteOrder.LITTLE_ENDIAN);
+			fBuffer = buffer;
+			boolean supported;
+			try {
+				supported = readCentralDirectory();
+			} catch (InternalError e) {
+				// a fault occurred in a mapped read
+				supported = false;
+			}
+			if (!supported) {
+				release();
+				fDelegate = new ArchiveApiTypeContainer(getParent(), fLocation);
+			} else if (!ArchiveTypeIndex.isValid(fLocation)) {
+				ArchiveTypeIndex.write(fLocation, getPackages());
+			}
+		} catch (IOException e) {
+			release();
+			abort("Failed to process archive: " + fLocation, e); //$NON-NLS-1$
+		}
+	}
+
+	/**
+	 * Returns the map of package names to the map of class names to class file
+	 * paths in the package, as persisted in the {@link ArchiveTypeIndex}. Must
+	 * be called with the tables initialized.
+	 */
+	private Map<String, Map<String, String>> getPackages() {
+		Map<String, Map<String, String>> packages = new TreeMap<>();
+		for (int i = 0; i < fPackageNames.length; i++) {
+			Map<String, String> fileNames = new TreeMap<>();
+			for (int entry = fPackageStarts[i]; entry < fPackageStarts[i + 1]; entry++) {
+				fileNames.put(fTypeNames[entry], fEntryNames[entry]);
+			}
+			packages.put(fPackageNames[i], fileNames);
+		}
+		return packages;
+	}
+
+	/**
+	 * Reads the central directory of the mapped archive.
+	 *
+	 * @return <code>false</code> if the archive format is not supported
+	 * @throws IOException if the archive is corrupted
+	 */
+	private boolean readCentralDirectory() throws IOException {
+		int limit = fBuffer.limit();
+		int end = -1;
+		for (int i = limit - END_OF_CENTRAL_DIRECTORY_SIZE; i >= Math.max(0, limit - END_OF_CENTRAL_DIRECTORY_SIZE - MAX_COMMENT_SIZE); i--) {
+			if (fBuffer.getInt(i) == END_OF_CENTRAL_DIRECTORY_SIGNATURE) {
+				end = i;
+				break;
+			}
+		}
+		if (end < 0) {
+			throw new IOException("No end of central directory"); //$NON-NLS-1$
+		}
+		int count = getUnsignedShort(end + 10);
+		long offset = getUnsignedInt(end + 16);
+		if (count == 0xFFFF || offset == 0xFFFFFFFFL) {
+			// ZIP64
+			return false;
+		}
+		List<Integer> headers = new ArrayList<>();
+		List<String> names = new ArrayList<>();
+		int header = (int) offset;
+		for (int i = 0; i < count; i++) {
+			if (fBuffer.getInt(header) != CENTRAL_DIRECTORY_SIGNATURE) {
+				throw new IOException("Invalid central directory"); //$NON-NLS-1$
+			}
+			int nameLength = getUnsignedShort(header + 28);
+			byte[] name = new byte[nameLength];
+			ByteBuffer nameBuffer = fBuffer.duplicate();
+			nameBuffer.position(header + CENTRAL_DIRECTORY_HEADER_SIZE);
+			nameBuffer.get(name);
+			String entryName = new String(name, StandardCharsets.UTF_8);
+			if (entryName.endsWith(Util.DOT_CLASS_SUFFIX)) {
+				headers.add(Integer.valueOf(header));
+				names.add(entryName);
+			}
+			header += CENTRAL_DIRECTORY_HEADER_SIZE + nameLength + getUnsignedShort(header + 30) + getUnsignedShort(header + 32);
+		}
+		int size = names.size();
+		String[] typeNames = new String[size];
+		String[] packageNames = new String[size];
+		Integer[] order = new Integer[size];
+		for (int i = 0; i < size; i++) {
+			String entryName = names.get(i);
+			typeNames[i] = entryName.substring(0, entryName.length() - Util.DOT_CLASS_SUFFIX.length()).replace('/', '.');
+			packageNames[i] = Signatures.getPackageName(typeNames[i]);
+			order[i] = Integer.valueOf(i);
+		}
+		Arrays.sort(order, Comparator.<Integer, String> comparing(i -> packageNames[i]).thenComparing(i -> typeNames[i]));
+		fTypeNames = new String[size];
+		fEntryNames = new String[size];
+		fLocalHeaderOffsets = new int[size];
+		fCompressedSizes = new int[size];
+		fSizes = new int[size];
+		fDeflated = new boolean[size];
+		List<String> packages = new ArrayList<>();
+		List<Integer> packageStarts = new ArrayList<>();
+		for (int i = 0; i < size; i++) {
+			int index = order[i].intValue();
+			int entryHeader = headers.get(index).intValue();
+			int method = getUnsignedShort(entryHeader + 10);
+			if (method != ZipEntry.STORED && method != ZipEntry.DEFLATED) {
+				return false;
+			}
+			long compressedSize = getUnsignedInt(entryHeader + 20);
+			long entrySize = getUnsignedInt(entryHeader + 24);
+			long localHeaderOffset = getUnsignedInt(entryHeader + 42);
+			if (compressedSize > Integer.MAX_VALUE || entrySize > Integer.MAX_VALUE || localHeaderOffset > Integer.MAX_VALUE) {
+				// ZIP64 entry
+				return false;
+			}
+			fTypeNames[i] = typeNames[index];
+			fEntryNames[i] = names.get(index);
+			fDeflated[i] = method == ZipEntry.DEFLATED;
+			fCompressedSizes[i] = (int) compressedSize;
+			fSizes[i] = (int) entrySize;
+			fLocalHeaderOffsets[i] = (int) localHeaderOffset;
+			if (packages.isEmpty() || !packages.get(packages.size() - 1).equals(packageNames[index])) {
+				packages.add(packageNames[index]);
+				packageStarts.add(Integer.valueOf(i));
+			}
+		}
+		packageStarts.add(Integer.valueOf(size));
+		fPackageStarts = packageStarts.stream().mapToInt(Integer::intValue).toArray();
+		fPackageNames = packages.toArray(String[]::new);
+		return true;
+	}
+}
@@ -46,6 +46,7 @@ import org.eclipse.pde.api.tools.internal.ApiDescriptionManager;
 import org.eclipse.pde.api.tools.internal.JavadocTagManager;
 import org.eclipse.pde.api.tools.internal.SessionManager;
 import org.eclipse.pde.api.tools.internal.WorkspaceDeltaProcessor;
+import org.eclipse.pde.api.tools.internal.comparator.ClassFileDeltaCache;
 import org.eclipse.pde.api.tools.internal.provisional.problems.IApiProblemTypes;
 import org.eclipse.pde.api.tools.internal.util.FileManager;
 import org.eclipse.pde.api.tools.internal.util.Util;
@@ -694,6 +695,7 @@ public class ApiPlugin extends Plugin implements ISaveParticipant, DebugOptionsL
 	public void stop(BundleContext context) throws Exception {
 		try {
 			ApiDescriptionManager.shutdown();
+			ClassFileDeltaCache.shutdown();
 			ApiBaselineManager.getManager().stop();
 			ResourcesPlugin.getWorkspace().removeSaveParticipant(PLUGIN_ID);
 			FileManager.getManager().deleteFiles();
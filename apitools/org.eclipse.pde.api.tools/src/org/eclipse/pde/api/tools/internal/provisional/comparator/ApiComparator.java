@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2007, 2019 IBM Corporation and others.
+ * Copyright (c) 2007, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -13,16 +13,22 @@
  *******************************************************************************/
 package org.eclipse.pde.api.tools.internal.provisional.comparator;
 
+import java.util.ArrayList;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
 
 import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.OperationCanceledException;
 import org.eclipse.core.runtime.SubMonitor;
 import org.eclipse.jdt.core.Flags;
 import org.eclipse.pde.api.tools.internal.builder.AbstractProblemDetector;
 import org.eclipse.pde.api.tools.internal.comparator.ClassFileComparator;
+import org.eclipse.pde.api.tools.internal.comparator.ClassFileDeltaCache;
 import org.eclipse.pde.api.tools.internal.comparator.Delta;
 import org.eclipse.pde.api.tools.internal.provisional.ApiPlugin;
 import org.eclipse.pde.api.tools.internal.provisional.IApiAnnotations;
@@ -38,6 +44,7 @@ import org.eclipse.pde.api.tools.internal.provisional.model.IApiType;
 import org.eclipse.pde.api.tools.internal.provisional.model.IApiTypeContainer;
 import org.eclipse.pde.api.tools.internal.provisional.model.IApiTypeRoot;
 import org.eclipse.pde.api.tools.internal.util.Util;
+import org.eclipse.pde.internal.core.util.CancellationMonitor;
 import org.osgi.framework.Version;
 
 /**
@@ -104,10 +111,43 @@ public class ApiComparator {
 	 * @throws IllegalArgumentException if one of the two baselines is null
 	 */
 	public static IDelta compare(final IApiBaseline referenceBaseline, final IApiBaseline baseline, final int visibilityModifiers, final boolean force, final IProgressMonitor monitor) {
+		return compare(referenceBaseline, baseline, visibilityModifiers, force, 1, monitor);
+	}
+
+	/**
+	 * Returns a delta that corresponds to the difference between the given
+	 * baseline and the reference.
+	 * <p>
+	 * If more than one thread is requested, the pairs of components are
+	 * compared in a fork-join pool and the resulting deltas are merged in the
+	 * order of the components of the reference baseline, so the returned delta
+	 * is the same as the one of a sequential comparison.
+	 * </p>
+	 *
+	 * @param referenceBaseline the given API baseline which is used as the
+	 *            reference
+	 * @param baseline the given API baseline to compare with
+	 * @param visibilityModifiers the given visibility that triggers what
+	 *            visibility should be used for the comparison
+	 * @param force a flag to force the comparison of nested API components with
+	 *            the same versions
+	 * @param threads the number of threads used to compare the components, a
+	 *            value lower than 2 means the components are compared
+	 *            sequentially
+	 * @param monitor
+	 *
+	 * @return a delta, an empty delta if no difference is found or null if the
+	 *         delta detection failed
+	 * @throws IllegalArgumentException if one of the two baselines is null
+	 */
+	public static IDelta compare(final IApiBaseline referenceBaseline, final IApiBaseline baseline, final int visibilityModifiers, final boolean force, final int threads, final IProgressMonitor monitor) {
 		SubMonitor localmonitor = SubMonitor.convert(monitor, 2);
 		if (referenceBaseline == null || baseline == null) {
 			throw new IllegalArgumentException("None of the baselines must be null"); //$NON-NLS-1$
 		}
+		if (threads > 1) {
+			return parallelCompare(referenceBaseline, baseline, visibilityModifiers, force, threads, localmonitor);
+		}
 		IApiComponent[] apiComponents = referenceBaseline.getApiComponents();
 		IApiComponent[] apiComponents2 = baseline.getApiComponents();
 		Set<String> apiComponentsIds = new HashSet<>();
@@ -167,6 +207,99 @@ public class ApiComparator {
 		return globalDelta.isEmpty() ? NO_DELTA : globalDelta;
 	}
 
+	/**
+	 * Compares the components of the two given baselines using a fork-join pool
+	 * of the given size. The deltas of the components are merged in the order
+	 * of the components of the reference baseline. The workers only check the
+	 * cancellation of the given monitor through a {@link CancellationMonitor},
+	 * the progress is reported by the calling thread.
+	 */
+	private static IDelta parallelCompare(final IApiBaseline referenceBaseline, final IApiBaseline baseline, final int visibilityModifiers, final boolean force, final int threads, final SubMonitor localmonitor) {
+		IApiComponent[] apiComponents = referenceBaseline.getApiComponents();
+		IApiComponent[] apiComponents2 = baseline.getApiComponents();
+		Set<String> apiComponentsIds = new HashSet<>();
+		final Delta globalDelta = new Delta();
+		SubMonitor apiLoopMonitor = localmonitor.split(1).setWorkRemaining(apiComponents.length);
+		final IProgressMonitor workerMonitor = new CancellationMonitor(localmonitor);
+		ForkJoinPool pool = new ForkJoinPool(threads);
+		try {
+			List<ForkJoinTask<IDelta[]>> tasks = new ArrayList<>(apiComponents.length);
+			for (IApiComponent apiComponent : apiComponents) {
+				if (apiComponent.isSystemComponent()) {
+					tasks.add(null);
+					continue;
+				}
+				final IApiComponent apiComponentBaseline = baseline.getApiComponent(apiComponent.getSymbolicName());
+				if (apiComponentBaseline != null) {
+					apiComponentsIds.add(apiComponent.getSymbolicName());
+				}
+				tasks.add(pool.submit(() -> compareComponents(apiComponent, apiComponentBaseline, referenceBaseline, baseline, visibilityModifiers, force, workerMonitor)));
+			}
+			for (ForkJoinTask<IDelta[]> task : tasks) {
+				if (task != null) {
+					for (IDelta delta : task.join()) {
+						if (delta != null && delta != NO_DELTA) {
+							globalDelta.add(delta);
+						}
+					}
+				}
+				apiLoopMonitor.split(1);
+			}
+		} finally {
+			pool.shutdownNow();
+		}
+		SubMonitor elementLoopMonitor = localmonitor.split(1).setWorkRemaining(apiComponents2.length);
+		for (IApiComponent apiComponent : apiComponents2) {
+			elementLoopMonitor.split(1);
+			if (!apiComponent.isSystemComponent()) {
+				String id = apiComponent.getSymbolicName();
+				if (!apiComponentsIds.contains(id)) {
+					// addition of an API component
+					globalDelta.add(new Delta(null, IDelta.API_BASELINE_ELEMENT_TYPE, IDelta.ADDED,
+							IDelta.API_COMPONENT, null, id, id));
+				}
+			}
+		}
+		return globalDelta.isEmpty() ? NO_DELTA : globalDelta;
+	}
+
+	/**
+	 * Compares a component of the reference baseline with the component of the
+	 * same name in the other baseline.
+	 *
+	 * @return the bundle version delta and the delta of the comparison, in the
+	 *         order they are added to the global delta. Both can be
+	 *         <code>null</code>
+	 */
+	private static IDelta[] compareComponents(final IApiComponent apiComponent, final IApiComponent apiComponentBaseline, final IApiBaseline referenceBaseline, final IApiBaseline baseline, final int visibilityModifiers, final boolean force, final IProgressMonitor monitor) {
+		if (monitor.isCanceled()) {
+			throw new OperationCanceledException();
+		}
+		String id = apiComponent.getSymbolicName();
+		if (apiComponentBaseline == null) {
+			// report removal of an API component
+			return new IDelta[] {
+					null,
+					new Delta(null, IDelta.API_BASELINE_ELEMENT_TYPE, IDelta.REMOVED, IDelta.API_COMPONENT, null, id, id) };
+		}
+		String versionString = apiComponent.getVersion();
+		String versionString2 = apiComponentBaseline.getVersion();
+		IDelta bundleVersionChangesDelta = checkBundleVersionChanges(apiComponentBaseline, id, versionString, versionString2);
+		IDelta delta = null;
+		if (!versionString.equals(versionString2) || force) {
+			long time = System.currentTimeMillis();
+			try {
+				delta = compare(apiComponent, apiComponentBaseline, referenceBaseline, baseline, visibilityModifiers, monitor);
+			} finally {
+				if (ApiPlugin.DEBUG_API_COMPARATOR) {
+					System.out.println("Time spent for " + id + " " + versionString + " : " //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+							+ (System.currentTimeMillis() - time) + "ms"); //$NON-NLS-1$
+				}
+			}
+		}
+		return new IDelta[] { bundleVersionChangesDelta, delta };
+	}
+
 	/**
 	 * Returns a delta that corresponds to the difference between the given
 	 * component and the reference baseline.
@@ -426,20 +559,36 @@ public class ApiComparator {
 				}
 			}
 			localmonitor.split(1);
-			ClassFileComparator comparator = new ClassFileComparator(typeDescriptor, typeRoot2, component, component2, referenceBaseline, baseline, visibilityModifiers);
-			IDelta delta = comparator.getDelta(localmonitor.split(1));
-			if (ApiPlugin.DEBUG_API_COMPARATOR) {
-				IStatus status = comparator.getStatus();
-				if (status != null) {
-					ApiPlugin.log(status);
-				}
-			}
-			return delta;
+			return compareTypes(typeDescriptor, typeRoot2, component, component2, referenceBaseline, baseline, visibilityModifiers, localmonitor.split(1));
 		} catch (CoreException e) {
 			return null;
 		}
 	}
 
+	/**
+	 * Compares the given type with the given class file using the
+	 * {@link ClassFileComparator}. Deltas are looked up in and added to the
+	 * {@link ClassFileDeltaCache}.
+	 */
+	private static IDelta compareTypes(IApiType type, IApiTypeRoot typeRoot2, IApiComponent component, IApiComponent component2, IApiBaseline referenceBaseline, IApiBaseline baseline, int visibilityModifiers, IProgressMonitor monitor) throws CoreException {
+		ClassFileDeltaCache cache = ClassFileDeltaCache.getDefault();
+		String key = cache.computeKey(type, typeRoot2.getStructure(), component, component2, visibilityModifiers);
+		IDelta delta = cache.get(key);
+		if (delta != null) {
+			return delta;
+		}
+		ClassFileComparator comparator = new ClassFileComparator(type, typeRoot2, component, component2, referenceBaseline, baseline, visibilityModifiers);
+		delta = comparator.getDelta(monitor);
+		if (ApiPlugin.DEBUG_API_COMPARATOR) {
+			IStatus status = comparator.getStatus();
+			if (status != null) {
+				ApiPlugin.log(status);
+			}
+		}
+		cache.put(key, comparator, delta);
+		return delta;
+	}
+
 	/**
 	 * Returns a delta that corresponds to the comparison of the given class
 	 * file.
@@ -477,14 +626,7 @@ public class ApiComparator {
 		}
 		IDelta delta = null;
 		try {
-			ClassFileComparator comparator = new ClassFileComparator(typeRoot, typeRoot2, component, component2, referenceBaseline, baseline, visibilityModifiers);
-			delta = comparator.getDelta(SubMonitor.convert(monitor));
-			if (ApiPlugin.DEBUG_API_COMPARATOR) {
-				IStatus status = comparator.getStatus();
-				if (status != null) {
-					ApiPlugin.log(status);
-				}
-			}
+			delta = compareTypes(typeRoot.getStructure(), typeRoot2, component, component2, referenceBaseline, baseline, visibilityModifiers, SubMonitor.convert(monitor));
 		} catch (CoreException e) {
 			ApiPlugin.log(e);
 		}
@@ -542,6 +684,36 @@ public class ApiComparator {
 	 *             visited
 	 */
 	public static IDelta compare(final IApiScope scope, final IApiBaseline baseline, final int visibilityModifiers, final boolean force, final boolean continueOnResolverError, final IProgressMonitor monitor) throws CoreException {
+		return compare(scope, baseline, visibilityModifiers, force, continueOnResolverError, 1, monitor);
+	}
+
+	/**
+	 * Returns a delta that corresponds to the comparison of the given scope
+	 * with the given API baseline. The API baselines of the scope are compared
+	 * using the given number of threads, see
+	 * {@link #compare(IApiBaseline, IApiBaseline, int, boolean, int, IProgressMonitor)}.
+	 *
+	 * @param scope the given scope for the comparison
+	 * @param baseline the given API baseline to compare with
+	 * @param visibilityModifiers the given visibility that triggers what
+	 *            visibility should be used for the comparison
+	 * @param force a flag to force the comparison of nested API components with
+	 *            the same versions
+	 * @param continueOnResolverError if <code>true</code> the comparison will
+	 *            continue even if a component in the scope has a resolver error
+	 * @param threads the number of threads used to compare the components of
+	 *            the API baselines of the scope, a value lower than 2 means the
+	 *            components are compared sequentially
+	 * @param monitor the given progress monitor to report progress
+	 *
+	 * @return a delta, an empty delta if no difference is found or null if the
+	 *         delta detection failed. If set to continue on resolver error a
+	 *         delta, possibly empty, will always be returned
+	 * @throws IllegalArgumentException if one of the two baselines is null
+	 *             CoreException if one of the element in the scope cannot be
+	 *             visited
+	 */
+	public static IDelta compare(final IApiScope scope, final IApiBaseline baseline, final int visibilityModifiers, final boolean force, final boolean continueOnResolverError, final int threads, final IProgressMonitor monitor) throws CoreException {
 
 		if (scope == null || baseline == null) {
 			throw new IllegalArgumentException("None of the scope or the baseline must be null"); //$NON-NLS-1$
@@ -549,7 +721,7 @@ public class ApiComparator {
 		SubMonitor localmonitor = SubMonitor.convert(monitor, 2);
 		final Set<IDelta> deltas = new HashSet<>();
 		final CompareApiScopeVisitor visitor = new CompareApiScopeVisitor(deltas, baseline, force, visibilityModifiers,
-				continueOnResolverError, localmonitor.split(1));
+				continueOnResolverError, threads, localmonitor.split(1));
 		scope.accept(visitor);
 
 		// If set to continue on error, return whatever deltas were
@@ -767,14 +939,7 @@ public class ApiComparator {
 												Util.getComponentVersionsId(component2) }));
 									}
 									typeRootBaseLineNames.add(typeName);
-									ClassFileComparator comparator = new ClassFileComparator(typeDescriptor, typeRoot2, component, provider, referenceBaseline, baseline, visibilityModifiers);
-									IDelta delta = comparator.getDelta(visitMonitor.split(1));
-									if (ApiPlugin.DEBUG_API_COMPARATOR) {
-										IStatus status = comparator.getStatus();
-										if (status != null) {
-											ApiPlugin.log(status);
-										}
-									}
+									IDelta delta = compareTypes(typeDescriptor, typeRoot2, component, provider, referenceBaseline, baseline, visibilityModifiers, visitMonitor.split(1));
 									if (delta != null && delta != NO_DELTA) {
 										globalDelta.add(delta);
 									}
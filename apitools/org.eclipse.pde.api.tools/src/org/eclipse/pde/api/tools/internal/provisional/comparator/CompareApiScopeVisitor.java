@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2008, 2013 IBM Corporation and others.
+ * Copyright (c) 2008, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -39,21 +39,31 @@ public class CompareApiScopeVisitor extends ApiScopeVisitor {
 	boolean force;
 	boolean continueOnResolverError = false;
 	boolean containsErrors = false;
+	int threads = 1;
 	SubMonitor monitor;
 
 	public CompareApiScopeVisitor(final Set<IDelta> deltas, final IApiBaseline baseline, final boolean force, final int visibilityModifiers, final boolean continueOnResolverError, final SubMonitor monitor) {
+		this(deltas, baseline, force, visibilityModifiers, continueOnResolverError, 1, monitor);
+	}
+
+	/**
+	 * @param threads the number of threads used to compare the components of
+	 *            the visited API baselines
+	 */
+	public CompareApiScopeVisitor(final Set<IDelta> deltas, final IApiBaseline baseline, final boolean force, final int visibilityModifiers, final boolean continueOnResolverError, final int threads, final SubMonitor monitor) {
 		this.deltas = deltas;
 		this.referenceBaseline = baseline;
 		this.visibilityModifiers = visibilityModifiers;
 		this.force = force;
 		this.continueOnResolverError = continueOnResolverError;
+		this.threads = threads;
 		this.monitor = monitor;
 	}
 
 	@Override
 	public boolean visit(IApiBaseline baseline) throws CoreException {
 		this.monitor.setWorkRemaining(100).split(1);
-		IDelta delta = ApiComparator.compare(this.referenceBaseline, baseline, this.visibilityModifiers, this.force, null);
+		IDelta delta = ApiComparator.compare(this.referenceBaseline, baseline, this.visibilityModifiers, this.force, this.threads, null);
 		if (delta != null) {
 			delta.accept(new DeltaVisitor() {
 				@Override
@@ -122,27 +122,45 @@ class MissingRefParser extends UseScanParser {
 		// Treat each top level directory as a producer component
 		for (File component : components) {
 			if (component.isDirectory()) {
-				String[] idv = getIdVersion(component.getName());
-				IComponentDescriptor targetComponent = Factory.componentDescriptor(idv[0], idv[1]);
-				if (visitor.visitComponent(targetComponent)) {
-					File[] xmlfiles = Util.getAllFiles(component, filter);
-					if (xmlfiles != null && xmlfiles.length > 0) {
-						xmlfiles = sort(xmlfiles); // sort to visit in
-													// determined order
-						for (File xmlfile : xmlfiles) {
-							try {
-								MissingRefProblemHandler handler = new MissingRefProblemHandler();
-								parser.parse(xmlfile, handler);
-								List<IApiProblem> apiProblems = handler.getProblems();
-								visitor.addToCurrentReport(apiProblems);
-							} catch (SAXException | IOException e) {
-								ApiPlugin.log("Failed to load problems from " + xmlfile, e); //$NON-NLS-1$
-							}
-						}
+				parseComponent(component, parser, visitor);
+			}
+		}
+	}
+
+	/**
+	 * Visits the problems of a single component directory of the report, see
+	 * {@link #getComponentDirectories(String)}. Different components can be
+	 * parsed concurrently using one parser and one visitor per component.
+	 *
+	 * @param component the directory of the component
+	 * @param visitor the visitor
+	 * @throws Exception if no XML parser can be created
+	 */
+	public void parseComponent(File component, MissingRefVisitor visitor) throws Exception {
+		visitor.visitScan();
+		parseComponent(component, getParser(), visitor);
+	}
+
+	private void parseComponent(File component, SAXParser parser, MissingRefVisitor visitor) {
+		String[] idv = getIdVersion(component.getName());
+		IComponentDescriptor targetComponent = Factory.componentDescriptor(idv[0], idv[1]);
+		if (visitor.visitComponent(targetComponent)) {
+			File[] xmlfiles = Util.getAllFiles(component, filter);
+			if (xmlfiles != null && xmlfiles.length > 0) {
+				xmlfiles = sort(xmlfiles); // sort to visit in
+											// determined order
+				for (File xmlfile : xmlfiles) {
+					try {
+						MissingRefProblemHandler handler = new MissingRefProblemHandler();
+						parser.parse(xmlfile, handler);
+						List<IApiProblem> apiProblems = handler.getProblems();
+						visitor.addToCurrentReport(apiProblems);
+					} catch (SAXException | IOException e) {
+						ApiPlugin.log("Failed to load problems from " + xmlfile, e); //$NON-NLS-1$
 					}
-					visitor.endVisitComponent();
 				}
 			}
+			visitor.endVisitComponent();
 		}
 	}
 }
\ No newline at end of file
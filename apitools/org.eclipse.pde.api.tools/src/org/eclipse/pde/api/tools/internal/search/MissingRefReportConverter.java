@@ -25,6 +25,8 @@ import java.util.Comparator;
 import java.util.List;
 import java.util.Map.Entry;
 import java.util.TreeMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
 
 import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.osgi.util.NLS;
@@ -39,6 +41,7 @@ public class MissingRefReportConverter extends UseReportConverter {
 
 	class MissingRefVisitor {
 		public List<Report> reports;
+		Report currentreport = null;
 
 		public void visitScan() {
 			reports = new ArrayList<>();
@@ -73,6 +76,10 @@ public class MissingRefReportConverter extends UseReportConverter {
 				writeIndexFileForComponent(currentreport);
 			} catch (Exception e) {
 				ApiPlugin.log(e);
+			} finally {
+				// the page is written, only the counts are needed for the
+				// index
+				currentreport.apiProblems.clear();
 			}
 		}
 
@@ -234,7 +241,6 @@ public class MissingRefReportConverter extends UseReportConverter {
 	private String htmlLocation = null;
 	private File reportsRoot = null;
 	private File htmlIndex = null;
-	Report currentreport = null;
 
 	static final Comparator<Object> missingcompare = (o1, o2) -> {
 		if (o1 instanceof String && o2 instanceof String) {
@@ -536,11 +542,45 @@ public class MissingRefReportConverter extends UseReportConverter {
 	 */
 	protected List<?> parse() throws Exception {
 		MissingRefParser lparser = new MissingRefParser();
+		if (threadCount > 1) {
+			return parseComponents(lparser.getComponentDirectories(getXmlLocation()));
+		}
 		MissingRefVisitor visitor = new MissingRefVisitor();
 		lparser.parse(getXmlLocation(), visitor);
 		return visitor.reports;
 	}
 
+	/**
+	 * Parses the given component directories using a fork-join pool, each
+	 * component being parsed by its own parser and visitor
+	 *
+	 * @param components the component directories
+	 * @return the list of {@link Report}s in the order of the directories
+	 */
+	private List<Report> parseComponents(File[] components) {
+		List<Report> reports = new ArrayList<>();
+		if (components.length == 0) {
+			return reports;
+		}
+		ForkJoinPool pool = new ForkJoinPool(Math.min(threadCount, components.length));
+		try {
+			List<ForkJoinTask<List<Report>>> tasks = new ArrayList<>(components.length);
+			for (File component : components) {
+				tasks.add(pool.submit(() -> {
+					MissingRefVisitor visitor = new MissingRefVisitor();
+					new MissingRefParser().parseComponent(component, visitor);
+					return visitor.reports;
+				}));
+			}
+			for (ForkJoinTask<List<Report>> task : tasks) {
+				reports.addAll(task.join());
+			}
+		} finally {
+			pool.shutdownNow();
+		}
+		return reports;
+	}
+
 	@Override
 	protected String getHtmlLocation() {
 		return this.htmlLocation;
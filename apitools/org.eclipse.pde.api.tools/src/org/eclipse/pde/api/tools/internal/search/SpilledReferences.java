@@ -0,0 +1,233 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse contributors and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Eclipse contributors - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.pde.api.tools.internal.search;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.TreeMap;
+
+import org.eclipse.pde.api.tools.internal.provisional.Factory;
+import org.eclipse.pde.api.tools.internal.provisional.descriptors.IElementDescriptor;
+import org.eclipse.pde.api.tools.internal.provisional.descriptors.IFieldDescriptor;
+import org.eclipse.pde.api.tools.internal.provisional.descriptors.IMemberDescriptor;
+import org.eclipse.pde.api.tools.internal.provisional.descriptors.IMethodDescriptor;
+import org.eclipse.pde.api.tools.internal.provisional.descriptors.IReferenceTypeDescriptor;
+import org.eclipse.pde.api.tools.internal.search.UseReportConverter.Member;
+import org.eclipse.pde.api.tools.internal.search.UseReportConverter.Reference;
+import org.eclipse.pde.api.tools.internal.search.UseReportConverter.Type;
+
+/**
+ * Temporary files holding the references of a use report that do not fit in
+ * memory. The references are written to one file per referenced type and read
+ * back when the page of the type is written, so only the references of one
+ * type have to be held in memory at a time.
+ *
+ * @since 1.2.1200
+ */
+final class SpilledReferences {
+
+	private final File fDirectory;
+	private final Map<Type, File> fFiles = new IdentityHashMap<>();
+
+	/**
+	 * Constructor
+	 *
+	 * @throws IOException if the temporary directory cannot be created
+	 */
+	SpilledReferences() throws IOException {
+		fDirectory = Files.createTempDirectory("apiusereport").toFile(); //$NON-NLS-1$
+	}
+
+	/**
+	 * Writes the references of the given members to disk and removes them from
+	 * the members. The members are flagged as spilled.
+	 *
+	 * @param children the referenced members by type
+	 * @throws IOException if the references cannot be written
+	 */
+	void spill(Map<Type, TreeMap<IMemberDescriptor, Member>> children) throws IOException {
+		for (Entry<Type, TreeMap<IMemberDescriptor, Member>> entry : children.entrySet()) {
+			DataOutputStream out = null;
+			try {
+				for (Member member : entry.getValue().values()) {
+					for (Entry<String, List<Reference>> refs : member.children.entrySet()) {
+						if (refs.getValue().isEmpty()) {
+							continue;
+						}
+						if (out == null) {
+							File file = fFiles.get(entry.getKey());
+							if (file == null) {
+								file = new File(fDirectory, Integer.toString(fFiles.size()));
+								fFiles.put(entry.getKey(), file);
+							}
+							out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(file, true)));
+						}
+						writeDescriptor(out, member.descriptor);
+						out.writeUTF(refs.getKey());
+						out.writeInt(refs.getValue().size());
+						for (Reference ref : refs.getValue()) {
+							writeDescriptor(out, ref.desc);
+							out.writeInt(ref.line);
+							out.writeInt(ref.vis);
+							writeString(out, ref.message);
+						}
+					}
+					if (!member.children.isEmpty()) {
+						member.children.clear();
+						member.spilled = true;
+					}
+				}
+			} finally {
+				if (out != null) {
+					out.close();
+				}
+			}
+		}
+	}
+
+	/**
+	 * Reads back the spilled references of the given type into its members.
+	 * The spilled references precede the references that are still in memory,
+	 * keeping the order in which they were visited.
+	 *
+	 * @param type the type
+	 * @param members the referenced members of the type
+	 * @throws IOException if the references cannot be read
+	 */
+	void restore(Type type, Map<IMemberDescriptor, Member> members) throws IOException {
+		File file = fFiles.remove(type);
+		if (file == null) {
+			return;
+		}
+		Map<Member, TreeMap<String, List<Reference>>> remaining = new HashMap<>();
+		for (Member member : members.values()) {
+			remaining.put(member, new TreeMap<>(member.children));
+			member.children.clear();
+		}
+		try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(file)))) {
+			while (true) {
+				IElementDescriptor desc;
+				try {
+					desc = readDescriptor(in);
+				} catch (EOFException e) {
+					break;
+				}
+				Member member = members.get(desc);
+				String refname = in.readUTF();
+				int count = in.readInt();
+				List<Reference> refs = null;
+				if (member != null) {
+					refs = member.children.computeIfAbsent(refname, name -> new ArrayList<>(count));
+				}
+				for (int i = 0; i < count; i++) {
+					Reference ref = new Reference(readDescriptor(in), in.readInt(), in.readInt(), readString(in));
+					if (refs != null) {
+						refs.add(ref);
+					}
+				}
+			}
+		} finally {
+			file.delete();
+		}
+		for (Entry<Member, TreeMap<String, List<Reference>>> entry : remaining.entrySet()) {
+			for (Entry<String, List<Reference>> refs : entry.getValue().entrySet()) {
+				entry.getKey().children.computeIfAbsent(refs.getKey(), name -> new ArrayList<>()).addAll(refs.getValue());
+			}
+		}
+	}
+
+	/**
+	 * Deletes all temporary files
+	 */
+	void dispose() {
+		for (File file : fFiles.values()) {
+			file.delete();
+		}
+		fFiles.clear();
+		fDirectory.delete();
+	}
+
+	private static void writeDescriptor(DataOutputStream out, IElementDescriptor desc) throws IOException {
+		out.writeInt(desc.getElementType());
+		switch (desc.getElementType()) {
+			case IElementDescriptor.TYPE:
+				out.writeUTF(((IReferenceTypeDescriptor) desc).getQualifiedName());
+				break;
+			case IElementDescriptor.METHOD: {
+				IMethodDescriptor method = (IMethodDescriptor) desc;
+				out.writeUTF(method.getEnclosingType().getQualifiedName());
+				out.writeUTF(method.getName());
+				out.writeUTF(method.getSignature());
+				break;
+			}
+			case IElementDescriptor.FIELD: {
+				IFieldDescriptor field = (IFieldDescriptor) desc;
+				out.writeUTF(field.getEnclosingType().getQualifiedName());
+				out.writeUTF(field.getName());
+				break;
+			}
+			default:
+				throw new IOException("Unexpected element descriptor: " + desc); //$NON-NLS-1$
+		}
+	}
+
+	private static IElementDescriptor readDescriptor(DataInputStream in) throws IOException {
+		int type = in.readInt();
+		switch (type) {
+			case IElementDescriptor.TYPE:
+				return Factory.typeDescriptor(in.readUTF());
+			case IElementDescriptor.METHOD:
+				return Factory.methodDescriptor(in.readUTF(), in.readUTF(), in.readUTF());
+			case IElementDescriptor.FIELD:
+				return Factory.fieldDescriptor(in.readUTF(), in.readUTF());
+			default:
+				throw new IOException("Unexpected element type: " + type); //$NON-NLS-1$
+		}
+	}
+
+	private static void writeString(DataOutputStream out, String value) throws IOException {
+		if (value == null) {
+			out.writeInt(-1);
+			return;
+		}
+		byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+		out.writeInt(bytes.length);
+		out.write(bytes);
+	}
+
+	private static String readString(DataInputStream in) throws IOException {
+		int length = in.readInt();
+		if (length < 0) {
+			return null;
+		}
+		byte[] bytes = new byte[length];
+		in.readFully(bytes);
+		return new String(bytes, StandardCharsets.UTF_8);
+	}
+}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2009, 2018 IBM Corporation and others.
+ * Copyright (c) 2009, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -14,6 +14,7 @@
 package org.eclipse.pde.api.tools.internal.search;
 
 import java.io.BufferedInputStream;
+import java.io.BufferedWriter;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.FileOutputStream;
@@ -33,6 +34,8 @@ import java.util.Map.Entry;
 import java.util.StringTokenizer;
 import java.util.TreeMap;
 import java.util.TreeSet;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
 import java.util.regex.Pattern;
 import java.util.regex.PatternSyntaxException;
 
@@ -96,6 +99,11 @@ public class UseReportConverter extends HTMLConvertor {
 		HashMap<IReferenceTypeDescriptor, Type> keys = new HashMap<>();
 		ArrayList<Type> referees = new ArrayList<>();
 
+		/**
+		 * Number of references of the current report held in memory
+		 */
+		int buffered = 0;
+
 		/**
 		 * Returns if the reference should be reported or not
 		 *
@@ -157,6 +165,9 @@ public class UseReportConverter extends HTMLConvertor {
 				} else {
 					this.reports.remove(this.currentreport);
 				}
+				if (ApiPlugin.DEBUG_USE_REPORT_CONVERTER && this.currentreport.spill != null) {
+					System.out.println("References spilled to disk for bundle: " + target.getId()); //$NON-NLS-1$
+				}
 				if (ApiPlugin.DEBUG_USE_REPORT_CONVERTER) {
 					System.out.println("done in: " + (System.currentTimeMillis() - start) + " ms"); //$NON-NLS-1$ //$NON-NLS-2$
 				}
@@ -166,8 +177,13 @@ public class UseReportConverter extends HTMLConvertor {
 				// clear any children as we have written them out - keep the
 				// report object to write a sorted index page
 				this.currentreport.children.clear();
+				if (this.currentreport.spill != null) {
+					this.currentreport.spill.dispose();
+					this.currentreport.spill = null;
+				}
 				this.keys.clear();
 				this.referees.clear();
+				this.buffered = 0;
 			}
 		}
 
@@ -210,7 +226,7 @@ public class UseReportConverter extends HTMLConvertor {
 
 		@Override
 		public void endVisitMember(IMemberDescriptor referencedMember) {
-			if (this.currentmember.children.isEmpty()) {
+			if (this.currentmember.children.isEmpty() && !this.currentmember.spilled) {
 				TreeMap<IMemberDescriptor, Member> map = this.currentreport.children.get(this.currenttype);
 				map.remove(referencedMember);
 			}
@@ -223,6 +239,22 @@ public class UseReportConverter extends HTMLConvertor {
 			}
 		}
 
+		/**
+		 * Moves the references of the current report held in memory to disk,
+		 * they are read back one type at a time when the report is written
+		 */
+		private void spillReferences() {
+			try {
+				if (this.currentreport.spill == null) {
+					this.currentreport.spill = new SpilledReferences();
+				}
+				this.currentreport.spill.spill(this.currentreport.children);
+			} catch (IOException e) {
+				ApiPlugin.log(e);
+			}
+			this.buffered = 0;
+		}
+
 		/**
 		 * Formats the arrays of messages
 		 *
@@ -259,6 +291,9 @@ public class UseReportConverter extends HTMLConvertor {
 				this.currentmember.children.put(refname, refs);
 			}
 			refs.add(new Reference(fromMember, lineNumber, visibility, formatMessages(reference.getProblemMessages())));
+			if (++this.buffered >= spillThreshold) {
+				spillReferences();
+			}
 			switch (fromMember.getElementType()) {
 				case IElementDescriptor.TYPE: {
 					switch (visibility) {
@@ -431,6 +466,11 @@ public class UseReportConverter extends HTMLConvertor {
 		String name = null;
 		TreeMap<Type, TreeMap<IMemberDescriptor, Member>> children = new TreeMap<>(compare);
 		CountGroup counts = new CountGroup();
+		/**
+		 * The references moved to disk or <code>null</code> if all
+		 * references are held in memory
+		 */
+		SpilledReferences spill = null;
 	}
 
 	/**
@@ -452,6 +492,10 @@ public class UseReportConverter extends HTMLConvertor {
 		IElementDescriptor descriptor = null;
 		TreeMap<String, List<Reference>> children = new TreeMap<>(compare);
 		CountGroup counts = new CountGroup();
+		/**
+		 * If some references of the member have been moved to disk
+		 */
+		boolean spilled = false;
 
 		public Member(IElementDescriptor desc) {
 			this.descriptor = desc;
@@ -604,6 +648,19 @@ public class UseReportConverter extends HTMLConvertor {
 		REF_SCRIPT = buffer.toString();
 	}
 
+	/**
+	 * System property to set the default number of threads used to convert
+	 * the components of a use scan, defaults to 1, see
+	 * {@link #setThreadCount(int)}
+	 */
+	private static final String THREADS_PROPERTY = "org.eclipse.pde.api.tools.usereport.threads"; //$NON-NLS-1$
+
+	/**
+	 * System property to set the number of references of a component held in
+	 * memory before they are moved to disk
+	 */
+	private static final String SPILL_THRESHOLD_PROPERTY = "org.eclipse.pde.api.tools.usereport.spillThreshold"; //$NON-NLS-1$
+
 	private String xmlLocation = null;
 	private String htmlLocation = null;
 	private File reportsRoot = null;
@@ -615,6 +672,8 @@ public class UseReportConverter extends HTMLConvertor {
 	private int filteredCount = -1;
 	Pattern[] topatterns = null;
 	Pattern[] frompatterns = null;
+	int threadCount = Math.max(1, Integer.getInteger(THREADS_PROPERTY, 1).intValue());
+	int spillThreshold = Math.max(1, Integer.getInteger(SPILL_THRESHOLD_PROPERTY, 100000).intValue());
 
 	/**
 	 * Constructor
@@ -753,12 +812,67 @@ public class UseReportConverter extends HTMLConvertor {
 	}
 
 	protected List<?> parse(IProgressMonitor monitor) throws Exception {
+		if (threadCount > 1) {
+			return parseComponents(monitor);
+		}
 		UseScanParser lparser = new UseScanParser();
 		Visitor convertor = new Visitor();
 		lparser.parse(getXmlLocation(), monitor, convertor);
 		return convertor.reports;
 	}
 
+	/**
+	 * Parses the use scan using a fork-join pool. Each component directory is
+	 * parsed by its own parser and visitor, which write the pages of the
+	 * component. Only the summary of each component is kept, the reports are
+	 * returned in the order of the component directories.
+	 *
+	 * @param monitor the progress monitor
+	 * @return the list of {@link Report}s
+	 * @throws Exception if the use scan cannot be parsed
+	 */
+	private List<Report> parseComponents(IProgressMonitor monitor) throws Exception {
+		File[] referees = new UseScanParser().getComponentDirectories(getXmlLocation());
+		SubMonitor localmonitor = SubMonitor.convert(monitor, SearchMessages.UseScanParser_parsing, referees.length);
+		List<Report> reports = new ArrayList<>();
+		if (referees.length == 0) {
+			return reports;
+		}
+		ForkJoinPool pool = new ForkJoinPool(Math.min(threadCount, referees.length));
+		try {
+			List<ForkJoinTask<List<Report>>> tasks = new ArrayList<>(referees.length);
+			for (File referee : referees) {
+				tasks.add(pool.submit(() -> {
+					Visitor visitor = new Visitor();
+					if (!localmonitor.isCanceled()) {
+						new UseScanParser().parseComponent(referee, visitor);
+					}
+					return visitor.reports;
+				}));
+			}
+			for (int i = 0; i < tasks.size(); i++) {
+				localmonitor.subTask(NLS.bind(SearchMessages.UseScanParser_analyzing_references, new String[] { referees[i].getName() }));
+				reports.addAll(tasks.get(i).join());
+				localmonitor.split(1);
+			}
+		} finally {
+			pool.shutdownNow();
+		}
+		return reports;
+	}
+
+	/**
+	 * Sets the number of threads used to convert the components of the use
+	 * scan. A value lower than 2 means the components are converted
+	 * sequentially, which is the default.
+	 *
+	 * @param count the number of threads to use
+	 * @since 1.2.1200
+	 */
+	public void setThreadCount(int count) {
+		this.threadCount = Math.max(1, count);
+	}
+
 	/**
 	 * Returns the handle to the default parser, caches the handle once it has
 	 * been created
@@ -1172,7 +1286,12 @@ public class UseReportConverter extends HTMLConvertor {
 				}
 				link = extractLinkFrom(htmlroot, typefile.getAbsolutePath());
 				buffer.append(getReferenceTableEntry(counts, link, fqname, false));
+				if (report.spill != null) {
+					report.spill.restore(type, map);
+				}
 				writeTypePage(map, type, typefile, fqname);
+				// the page is written, only the counts are needed from now on
+				map.clear();
 			}
 			buffer.append(CLOSE_TABLE);
 			buffer.append(BR);
@@ -1261,6 +1380,7 @@ public class UseReportConverter extends HTMLConvertor {
 	void writeTypePage(Map<IMemberDescriptor, Member> map, Type type, File typefile, String typename) throws Exception {
 		PrintWriter writer = null;
 		try {
+			writer = new PrintWriter(new BufferedWriter(new OutputStreamWriter(new FileOutputStream(typefile), StandardCharsets.UTF_8)));
 			StringBuilder buffer = new StringBuilder();
 			buffer.append(HTML_HEADER);
 			buffer.append(OPEN_HTML).append(OPEN_HEAD).append(CONTENT_TYPE_META);
@@ -1292,15 +1412,17 @@ public class UseReportConverter extends HTMLConvertor {
 				buffer.append(getReferencesTable(entry.getValue())).append("\n"); //$NON-NLS-1$
 				buffer.append(CLOSE_DIV);
 				buffer.append(CLOSE_TR);
+				// write the page as it is built, the references tables can
+				// be large
+				writer.print(buffer);
+				buffer.setLength(0);
 			}
 			buffer.append(CLOSE_TABLE);
 			buffer.append(CLOSE_DIV);
 			buffer.append(OPEN_P).append("<a href=\"index.html\">").append(SearchMessages.UseReportConverter_back_to_bundle_index).append(CLOSE_A).append(CLOSE_P); //$NON-NLS-1$
 			buffer.append(W3C_FOOTER);
 
-			// write the file
-			writer = new PrintWriter(new OutputStreamWriter(new FileOutputStream(typefile), StandardCharsets.UTF_8));
-			writer.print(buffer.toString());
+			writer.print(buffer);
 			writer.flush();
 		} catch (IOException ioe) {
 			throw new Exception(NLS.bind(SearchMessages.ioexception_writing_html_file, typefile.getAbsolutePath()));
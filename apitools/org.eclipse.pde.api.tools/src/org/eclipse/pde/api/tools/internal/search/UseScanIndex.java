@@ -0,0 +1,588 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse contributors and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Eclipse contributors - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.pde.api.tools.internal.search;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.pde.api.tools.internal.model.ArchiveTypeIndex;
+import org.eclipse.pde.api.tools.internal.provisional.Factory;
+import org.eclipse.pde.api.tools.internal.provisional.descriptors.IComponentDescriptor;
+import org.eclipse.pde.api.tools.internal.provisional.descriptors.IElementDescriptor;
+import org.eclipse.pde.api.tools.internal.provisional.descriptors.IFieldDescriptor;
+import org.eclipse.pde.api.tools.internal.provisional.descriptors.IMemberDescriptor;
+import org.eclipse.pde.api.tools.internal.provisional.descriptors.IMethodDescriptor;
+import org.eclipse.pde.api.tools.internal.provisional.descriptors.IReferenceTypeDescriptor;
+
+/**
+ * A compact binary index of the references of an API use scan location.
+ * <p>
+ * The XML reports of a scan location are parsed once and compiled into a file
+ * made of a sorted string table, a table of the referenced components sorted
+ * by id, the referenced root types of each component sorted by name and fixed
+ * size reference records grouped by root type. The file is memory mapped when
+ * read, collecting the references of a component to some types is a binary
+ * search of the component and of each type.
+ * </p>
+ * <p>
+ * The index records a stamp of the XML files it was compiled from and is
+ * compiled again when the stamp does not match the scan location anymore.
+ * </p>
+ *
+ * @since 1.2.1200
+ */
+public final class UseScanIndex {
+
+	/**
+	 * Magic number of index files: <code>USIX</code>
+	 */
+	private static final int MAGIC = 0x55534958;
+
+	/**
+	 * Version of the index file format
+	 */
+	private static final int VERSION = 1;
+
+	/**
+	 * Number of ints of a component entry: id, version, first type, type count
+	 */
+	private static final int COMPONENT_SIZE = 4;
+
+	/**
+	 * Number of ints of a type entry: root type, first record, record count
+	 */
+	private static final int TYPE_SIZE = 3;
+
+	/**
+	 * Number of ints of a reference record: origin component id and version,
+	 * origin member, line, target member, kind, flags and visibility. Members
+	 * take four ints each: element type, type name, name and signature.
+	 */
+	private static final int RECORD_SIZE = 14;
+
+	/**
+	 * File extension of index files
+	 */
+	private static final String EXTENSION = ".idx"; //$NON-NLS-1$
+
+	private final ByteBuffer fBuffer;
+	private final long fStamp;
+	private final int fStringCount;
+	private final int fStringOffsets;
+	private final int fStringData;
+	private final int fComponentCount;
+	private final int fComponents;
+	private final int fTypes;
+	private final int fRecords;
+
+	/**
+	 * Strings decoded so far, strings are immutable so racing decodes are
+	 * harmless
+	 */
+	private final String[] fStrings;
+
+	private UseScanIndex(ByteBuffer buffer) throws IOException {
+		fBuffer = buffer;
+		if (buffer.limit() < 16 || buffer.getInt(0) != MAGIC || buffer.getInt(4) != VERSION) {
+			throw new IOException("Not a use scan index"); //$NON-NLS-1$
+		}
+		fStamp = buffer.getLong(8);
+		int position = 16;
+		fStringCount = buffer.getInt(position);
+		position += 4;
+		fStringOffsets = position;
+		position += (fStringCount + 1) * 4;
+		fStringData = position;
+		position += buffer.getInt(fStringOffsets + fStringCount * 4);
+		fComponentCount = buffer.getInt(position);
+		position += 4;
+		fComponents = position;
+		position += fComponentCount * COMPONENT_SIZE * 4;
+		int typeCount = buffer.getInt(position);
+		position += 4;
+		fTypes = position;
+		position += typeCount * TYPE_SIZE * 4;
+		int recordCount = buffer.getInt(position);
+		position += 4;
+		fRecords = position;
+		if (position + (long) recordCount * RECORD_SIZE * 4 != buffer.limit()) {
+			throw new IOException("Truncated use scan index"); //$NON-NLS-1$
+		}
+		fStrings = new String[fStringCount];
+	}
+
+	/**
+	 * Returns the index of the given use scan location, compiling it in the
+	 * given directory if there is no index yet or if the index is out of date
+	 *
+	 * @param location the use scan location, as returned by
+	 *            {@link UseScanManager#getExactScanLocation(String)}
+	 * @param directory the directory the index files are kept in
+	 * @param monitor progress monitor
+	 * @return the index of the location
+	 * @throws Exception if the location cannot be parsed or the index cannot
+	 *             be written
+	 */
+	public static UseScanIndex open(String location, File directory, IProgressMonitor monitor) throws Exception {
+		File root = new File(location);
+		long stamp = computeStamp(root);
+		String prefix = ArchiveTypeIndex.digest(root.getAbsolutePath()) + '-';
+		File file = new File(directory, prefix + Long.toHexString(stamp) + EXTENSION);
+		if (file.isFile()) {
+			try {
+				UseScanIndex index = map(file);
+				if (index.fStamp == stamp) {
+					return index;
+				}
+			} catch (IOException e) {
+				// corrupted index, compile it again
+			}
+		}
+		// the index files of older stamps may still be mapped, they are
+		// removed on a best effort basis
+		File[] stale = directory.listFiles((dir, name) -> name.startsWith(prefix) && name.endsWith(EXTENSION));
+		if (stale != null) {
+			for (File old : stale) {
+				old.delete();
+			}
+		}
+		Compiler compiler = new Compiler();
+		new UseScanParser().parse(location, monitor, compiler);
+		if (!directory.exists() && !directory.mkdirs()) {
+			throw new IOException("Unable to create " + directory); //$NON-NLS-1$
+		}
+		File temp = File.createTempFile(prefix, null, directory);
+		try {
+			compiler.write(temp, stamp);
+			Files.move(temp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+		} finally {
+			temp.delete();
+		}
+		return map(file);
+	}
+
+	private static UseScanIndex map(File file) throws IOException {
+		try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+			return new UseScanIndex(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+		}
+	}
+
+	/**
+	 * Computes a stamp of the names, sizes and modification times of all files
+	 * below the given directory. The stamp does not depend on the order the
+	 * files are listed in.
+	 *
+	 * @param root the directory
+	 * @return the stamp
+	 */
+	static long computeStamp(File root) {
+		return computeStamp(root, ""); //$NON-NLS-1$
+	}
+
+	private static long computeStamp(File directory, String path) {
+		long stamp = 0;
+		File[] files = directory.listFiles();
+		if (files == null) {
+			return stamp;
+		}
+		for (File file : files) {
+			String name = path + '/' + file.getName();
+			if (file.isDirectory()) {
+				stamp += computeStamp(file, name);
+			} else {
+				long hash = name.hashCode();
+				hash = hash * 1000003 ^ file.length();
+				hash = hash * 1000003 ^ file.lastModified();
+				stamp += mix(hash);
+			}
+		}
+		return stamp;
+	}
+
+	private static long mix(long value) {
+		long z = value + 0x9E3779B97F4A7C15L;
+		z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+		z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+		return z ^ (z >>> 31);
+	}
+
+	/**
+	 * Adds the references to the given types of the given component to the
+	 * collection, as a {@link UseScanReferenceVisitor} parsing the XML reports
+	 * would.
+	 *
+	 * @param componentId the symbolic name of the referenced component or
+	 *            <code>null</code> for all components
+	 * @param types the referenced root types or <code>null</code> or empty for
+	 *            all types
+	 * @param references the collection to add the references to
+	 */
+	public void collect(String componentId, String[] types, IReferenceCollection references) {
+		int first = 0;
+		int last = fComponentCount;
+		if (componentId != null) {
+			int id = findString(componentId);
+			if (id < 0) {
+				return;
+			}
+			first = findComponent(id, true);
+			last = findComponent(id, false);
+		}
+		int[] typeIds = null;
+		if (types != null && types.length > 0) {
+			typeIds = new int[types.length];
+			for (int i = 0; i < types.length; i++) {
+				typeIds[i] = findString(types[i]);
+			}
+		}
+		for (int c = first; c < last; c++) {
+			int entry = fComponents + c * COMPONENT_SIZE * 4;
+			IComponentDescriptor component = Factory.componentDescriptor(getString(fBuffer.getInt(entry)), getString(fBuffer.getInt(entry + 4)));
+			int firstType = fBuffer.getInt(entry + 8);
+			int typeCount = fBuffer.getInt(entry + 12);
+			if (typeIds == null) {
+				for (int t = firstType; t < firstType + typeCount; t++) {
+					collectType(t, component, references);
+				}
+			} else {
+				for (int typeId : typeIds) {
+					if (typeId >= 0) {
+						int t = findType(firstType, typeCount, typeId);
+						if (t >= 0) {
+							collectType(t, component, references);
+						}
+					}
+				}
+			}
+		}
+	}
+
+	private void collectType(int type, IComponentDescriptor component, IReferenceCollection references) {
+		int entry = fTypes + type * TYPE_SIZE * 4;
+		String rootType = getString(fBuffer.getInt(entry));
+		int firstRecord = fBuffer.getInt(entry + 4);
+		int recordCount = fBuffer.getInt(entry + 8);
+		for (int r = firstRecord; r < firstRecord + recordCount; r++) {
+			int record = fRecords + r * RECORD_SIZE * 4;
+			IComponentDescriptor from = Factory.componentDescriptor(getString(fBuffer.getInt(record)), getString(fBuffer.getInt(record + 4)));
+			IMemberDescriptor origin = getMember(record + 8);
+			int line = fBuffer.getInt(record + 24);
+			IMemberDescriptor target = getMember(record + 28);
+			references.add(rootType, new ReferenceDescriptor(from, origin, line, component, target, fBuffer.getInt(record + 44), fBuffer.getInt(record + 48), fBuffer.getInt(record + 52), null));
+		}
+	}
+
+	private IMemberDescriptor getMember(int position) {
+		String typeName = getString(fBuffer.getInt(position + 4));
+		switch (fBuffer.getInt(position)) {
+			case IElementDescriptor.METHOD:
+				return Factory.methodDescriptor(typeName, getString(fBuffer.getInt(position + 8)), getString(fBuffer.getInt(position + 12)));
+			case IElementDescriptor.FIELD:
+				return Factory.fieldDescriptor(typeName, getString(fBuffer.getInt(position + 8)));
+			default:
+				return Factory.typeDescriptor(typeName);
+		}
+	}
+
+	/**
+	 * Returns the first (or the one past the last) component entry with the
+	 * given id, component entries are sorted by id
+	 */
+	private int findComponent(int id, boolean lower) {
+		int low = 0;
+		int high = fComponentCount;
+		while (low < high) {
+			int mid = (low + high) >>> 1;
+			int value = fBuffer.getInt(fComponents + mid * COMPONENT_SIZE * 4);
+			if (value < id || (!lower && value == id)) {
+				low = mid + 1;
+			} else {
+				high = mid;
+			}
+		}
+		return low;
+	}
+
+	private int findType(int first, int count, int id) {
+		int low = first;
+		int high = first + count - 1;
+		while (low <= high) {
+			int mid = (low + high) >>> 1;
+			int value = fBuffer.getInt(fTypes + mid * TYPE_SIZE * 4);
+			if (value < id) {
+				low = mid + 1;
+			} else if (value > id) {
+				high = mid - 1;
+			} else {
+				return mid;
+			}
+		}
+		return -1;
+	}
+
+	/**
+	 * Returns the index of the given string in the sorted string table or
+	 * <code>-1</code> if it is not in the table
+	 */
+	private int findString(String value) {
+		int low = 0;
+		int high = fStringCount - 1;
+		while (low <= high) {
+			int mid = (low + high) >>> 1;
+			int cmp = getString(mid).compareTo(value);
+			if (cmp < 0) {
+				low = mid + 1;
+			} else if (cmp > 0) {
+				high = mid - 1;
+			} else {
+				return mid;
+			}
+		}
+		return -1;
+	}
+
+	private String getString(int index) {
+		if (index < 0) {
+			return null;
+		}
+		String value = fStrings[index];
+		if (value == null) {
+			int start = fBuffer.getInt(fStringOffsets + index * 4);
+			int end = fBuffer.getInt(fStringOffsets + index * 4 + 4);
+			byte[] bytes = new byte[end - start];
+			ByteBuffer duplicate = fBuffer.duplicate();
+			duplicate.position(fStringData + start);
+			duplicate.get(bytes);
+			value = new String(bytes, StandardCharsets.UTF_8);
+			fStrings[index] = value;
+		}
+		return value;
+	}
+
+	/**
+	 * Visitor recording all references of a scan location and writing them as
+	 * an index
+	 */
+	static final class Compiler extends UseScanVisitor {
+
+		/**
+		 * A referenced component: the records of its root types in visit order
+		 */
+		static final class Component {
+			final int id;
+			final int version;
+			final Map<Integer, List<int[]>> types = new LinkedHashMap<>();
+
+			Component(int id, int version) {
+				this.id = id;
+				this.version = version;
+			}
+		}
+
+		private final Map<String, Integer> fStringIds = new HashMap<>();
+		private final List<String> fStringList = new ArrayList<>();
+		private final List<Component> fComponentList = new ArrayList<>();
+		private Component fCurrentComponent;
+		private int[] fReferencingComponent;
+		private int[] fCurrentMember;
+		private List<int[]> fCurrentRecords;
+
+		private int intern(String value) {
+			if (value == null) {
+				return -1;
+			}
+			Integer id = fStringIds.get(value);
+			if (id == null) {
+				id = Integer.valueOf(fStringList.size());
+				fStringIds.put(value, id);
+				fStringList.add(value);
+			}
+			return id.intValue();
+		}
+
+		private int[] member(IMemberDescriptor member) {
+			switch (member.getElementType()) {
+				case IElementDescriptor.METHOD: {
+					IMethodDescriptor method = (IMethodDescriptor) member;
+					return new int[] { IElementDescriptor.METHOD, intern(method.getEnclosingType().getQualifiedName()), intern(method.getName()), intern(method.getSignature()) };
+				}
+				case IElementDescriptor.FIELD: {
+					IFieldDescriptor field = (IFieldDescriptor) member;
+					return new int[] { IElementDescriptor.FIELD, intern(field.getEnclosingType().getQualifiedName()), intern(field.getName()), -1 };
+				}
+				default:
+					return new int[] { IElementDescriptor.TYPE, intern(((IReferenceTypeDescriptor) member).getQualifiedName()), -1, -1 };
+			}
+		}
+
+		@Override
+		public boolean visitComponent(IComponentDescriptor target) {
+			fCurrentComponent = new Component(intern(target.getId()), intern(target.getVersion()));
+			fComponentList.add(fCurrentComponent);
+			return true;
+		}
+
+		@Override
+		public boolean visitReferencingComponent(IComponentDescriptor component) {
+			fReferencingComponent = new int[] { intern(component.getId()), intern(component.getVersion()) };
+			return true;
+		}
+
+		@Override
+		public boolean visitMember(IMemberDescriptor referencedMember) {
+			String rootType;
+			if (referencedMember instanceof IReferenceTypeDescriptor) {
+				rootType = ((IReferenceTypeDescriptor) referencedMember).getQualifiedName();
+			} else {
+				rootType = referencedMember.getEnclosingType().getQualifiedName();
+			}
+			int index = rootType.indexOf('$');
+			if (index > -1) {
+				rootType = rootType.substring(0, index);
+			}
+			fCurrentMember = member(referencedMember);
+			fCurrentRecords = fCurrentComponent.types.computeIfAbsent(Integer.valueOf(intern(rootType)), id -> new ArrayList<>());
+			return true;
+		}
+
+		@Override
+		public void visitReference(IReferenceDescriptor reference) {
+			int[] record = new int[RECORD_SIZE];
+			record[0] = fReferencingComponent[0];
+			record[1] = fReferencingComponent[1];
+			System.arraycopy(member(reference.getMember()), 0, record, 2, 4);
+			record[6] = reference.getLineNumber();
+			System.arraycopy(fCurrentMember, 0, record, 7, 4);
+			record[11] = reference.getReferenceKind();
+			record[12] = reference.getReferenceFlags();
+			record[13] = reference.getVisibility();
+			fCurrentRecords.add(record);
+		}
+
+		/**
+		 * Writes the recorded references to the given file
+		 *
+		 * @param file the index file
+		 * @param stamp the stamp of the scan location
+		 * @throws IOException if the file cannot be written
+		 */
+		void write(File file, long stamp) throws IOException {
+			// sort the string table so that the order of the ids is the
+			// order of the strings
+			int count = fStringList.size();
+			Integer[] order = new Integer[count];
+			for (int i = 0; i < count; i++) {
+				order[i] = Integer.valueOf(i);
+			}
+			Arrays.sort(order, Comparator.comparing(fStringList::get));
+			int[] remap = new int[count];
+			for (int i = 0; i < count; i++) {
+				remap[order[i].intValue()] = i;
+			}
+			// components are sorted by id, keeping the visit order of the
+			// versions of a component
+			List<Component> components = new ArrayList<>(fComponentList);
+			components.sort(Comparator.comparingInt(component -> remap[component.id]));
+			try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(file)))) {
+				out.writeInt(MAGIC);
+				out.writeInt(VERSION);
+				out.writeLong(stamp);
+				out.writeInt(count);
+				byte[][] bytes = new byte[count][];
+				int offset = 0;
+				for (int i = 0; i < count; i++) {
+					bytes[i] = fStringList.get(order[i].intValue()).getBytes(StandardCharsets.UTF_8);
+					out.writeInt(offset);
+					offset += bytes[i].length;
+				}
+				out.writeInt(offset);
+				for (byte[] value : bytes) {
+					out.write(value);
+				}
+				out.writeInt(components.size());
+				int typeCount = 0;
+				for (Component component : components) {
+					out.writeInt(remap[component.id]);
+					out.writeInt(component.version < 0 ? -1 : remap[component.version]);
+					out.writeInt(typeCount);
+					out.writeInt(component.types.size());
+					typeCount += component.types.size();
+				}
+				out.writeInt(typeCount);
+				List<List<int[]>> records = new ArrayList<>(typeCount);
+				int recordCount = 0;
+				for (Component component : components) {
+					List<Integer> types = new ArrayList<>(component.types.keySet());
+					types.sort(Comparator.comparingInt(id -> remap[id.intValue()]));
+					for (Integer type : types) {
+						List<int[]> typeRecords = component.types.get(type);
+						out.writeInt(remap[type.intValue()]);
+						out.writeInt(recordCount);
+						out.writeInt(typeRecords.size());
+						recordCount += typeRecords.size();
+						records.add(typeRecords);
+					}
+				}
+				out.writeInt(recordCount);
+				for (List<int[]> typeRecords : records) {
+					for (int[] record : typeRecords) {
+						for (int i = 0; i < RECORD_SIZE; i++) {
+							int value = record[i];
+							if (isStringSlot(i) && value >= 0) {
+								value = remap[value];
+							}
+							out.writeInt(value);
+						}
+					}
+				}
+			}
+		}
+
+		/**
+		 * Returns if the given slot of a reference record holds a string id
+		 */
+		private static boolean isStringSlot(int slot) {
+			switch (slot) {
+				case 0:
+				case 1:
+				case 3:
+				case 4:
+				case 5:
+				case 8:
+				case 9:
+				case 10:
+					return true;
+				default:
+					return false;
+			}
+		}
+	}
+}
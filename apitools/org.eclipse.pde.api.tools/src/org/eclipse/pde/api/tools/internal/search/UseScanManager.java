@@ -19,6 +19,8 @@ import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Enumeration;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.jar.JarFile;
 import java.util.regex.Pattern;
 import java.util.zip.ZipEntry;
@@ -33,8 +35,8 @@ import org.eclipse.core.runtime.preferences.InstanceScope;
 import org.eclipse.core.variables.IStringVariableManager;
 import org.eclipse.core.variables.VariablesPlugin;
 import org.eclipse.osgi.util.NLS;
+import org.eclipse.pde.api.tools.internal.ConcurrentLRUCache;
 import org.eclipse.pde.api.tools.internal.IApiCoreConstants;
-import org.eclipse.pde.api.tools.internal.SynchronizedOverflowingLRUCache;
 import org.eclipse.pde.api.tools.internal.provisional.ApiPlugin;
 import org.eclipse.pde.api.tools.internal.provisional.model.IApiComponent;
 import org.eclipse.pde.api.tools.internal.util.FileManager;
@@ -64,32 +66,28 @@ public class UseScanManager {
 	 * Cache to maintain the list of least recently used
 	 * <code>UseScanReferences</code>
 	 */
-	private static class UseScanCache extends SynchronizedOverflowingLRUCache<IApiComponent, IReferenceCollection> {
+	private static class UseScanCache extends ConcurrentLRUCache<IApiComponent, IReferenceCollection> {
 
 		public UseScanCache(int size) {
 			super(size);
 		}
 
-		public UseScanCache(int size, int overflow) {
-			super(size, overflow);
-		}
-
 		@Override
-		protected boolean close(LRUCacheEntry<IApiComponent, IReferenceCollection> entry) {
-			IReferenceCollection references = entry.value;
+		protected boolean close(IApiComponent key, IReferenceCollection references) {
 			references.clear();
 			return true;
 		}
 
-		@Override
-		protected UseScanCache newInstance(int size, int newOverflow) {
-			return new UseScanCache(size, newOverflow);
-		}
-
 	}
 
 	private String[] fLocations = null;
 
+	/**
+	 * The binary indexes of the scan locations that have been looked up since
+	 * the locations were set or the cache was cleared
+	 */
+	private final Map<String, UseScanIndex> fIndexes = new ConcurrentHashMap<>();
+
 	/**
 	 * {@link FileFilter} for finding use scan directories
 	 */
@@ -165,8 +163,8 @@ public class UseScanManager {
 	 * @param monitor
 	 */
 	private void fetch(IApiComponent apiComponent, String[] types, IReferenceCollection references, IProgressMonitor monitor) {
-		UseScanParser parser = new UseScanParser();
-		UseScanReferenceVisitor visitor = new UseScanReferenceVisitor(apiComponent, types, references);
+		UseScanParser parser = null;
+		UseScanReferenceVisitor visitor = null;
 		SubMonitor localmonitor = SubMonitor.convert(monitor, SearchMessages.load_external_dependencies, 10);
 		try {
 			String[] locations;
@@ -218,7 +216,16 @@ public class UseScanManager {
 							}
 							throw new Exception(message);
 						}
-						parser.parse(locations[i], iterationMonitor, visitor);
+						UseScanIndex index = getIndex(locations[i], iterationMonitor);
+						if (index != null) {
+							index.collect(apiComponent == null ? null : apiComponent.getSymbolicName(), types, references);
+						} else {
+							if (parser == null) {
+								parser = new UseScanParser();
+								visitor = new UseScanReferenceVisitor(apiComponent, types, references);
+							}
+							parser.parse(locations[i], iterationMonitor, visitor);
+						}
 					} catch (Exception e) {
 						ApiPlugin.log(e); // log the exception and continue with
 											// next location
@@ -236,6 +243,31 @@ public class UseScanManager {
 		}
 	}
 
+	/**
+	 * Returns the binary index of the given scan location, compiling it if
+	 * needed. Indexes are validated against the scan location the first time
+	 * they are looked up after the locations were set or the cache was
+	 * cleared.
+	 *
+	 * @param location the exact scan location
+	 * @param monitor progress monitor
+	 * @return the index or <code>null</code> if the location cannot be indexed
+	 *         and has to be parsed
+	 */
+	private UseScanIndex getIndex(String location, IProgressMonitor monitor) {
+		UseScanIndex index = fIndexes.get(location);
+		if (index == null) {
+			try {
+				String directory = VariablesPlugin.getDefault().getStringVariableManager().performStringSubstitution(tempLocation + "index"); //$NON-NLS-1$
+				index = UseScanIndex.open(location, new File(directory), monitor);
+				fIndexes.put(location, index);
+			} catch (Exception e) {
+				ApiPlugin.log(e); // fall back to parsing the reports
+			}
+		}
+		return index;
+	}
+
 	/**
 	 * Returns the scan
 	 *
@@ -385,6 +417,7 @@ public class UseScanManager {
 	 */
 	public void setReportLocations(String[] locations) {
 		fLocations = locations;
+		fIndexes.clear();
 	}
 
 	/**
@@ -405,5 +438,6 @@ public class UseScanManager {
 			reference.clear();
 		}
 		fApiComponentCache.flush();
+		fIndexes.clear();
 	}
 }
@@ -248,8 +248,6 @@ public class UseScanParser {
 		localmonitor.subTask(SearchMessages.UseReportConverter_collecting_dir_info);
 		File[] referees = getDirectories(reportsRoot);
 		localmonitor.split(1);
-		File[] origins = null;
-		File[] xmlfiles = null;
 		localmonitor.setWorkRemaining(referees.length);
 		visitor.visitScan();
 		try {
@@ -257,48 +255,7 @@ public class UseScanParser {
 			// Treat each top level directory as a producer component
 			for (File referee : referees) {
 				if (referee.isDirectory()) {
-					String[] idv = getIdVersion(referee.getName());
-					IComponentDescriptor tcomp = Factory.componentDescriptor(idv[0], idv[1]);
-					enterTargetComponent(tcomp);
-					if (visitReferencingComponent) {
-
-						// If the visitor returned true, treat sub-directories
-						// as consumer components
-						origins = getDirectories(referee);
-						origins = sort(origins); // sort to visit in determined
-													// order
-						for (File origin : origins) {
-							if (origin.isDirectory()) {
-								idv = getIdVersion(origin.getName());
-								IComponentDescriptor rcomp = Factory.componentDescriptor(idv[0], idv[1]);
-								enterReferencingComponent(rcomp);
-								if (visitMembers) {
-
-									// If the visitor returned true, open all
-									// xml files in the directory and process
-									// them to find members
-									localmonitor.subTask(NLS.bind(SearchMessages.UseScanParser_analyzing_references, new String[] { origin.getName() }));
-									xmlfiles = Util.getAllFiles(origin, pathname -> pathname.isDirectory() || pathname.getName().endsWith(".xml")); //$NON-NLS-1$
-									if (xmlfiles != null && xmlfiles.length > 0) {
-										xmlfiles = sort(xmlfiles); // sort to
-																	// visit in
-																	// determined
-																	// order
-										for (File xmlfile : xmlfiles) {
-											ReferenceHandler handler = new ReferenceHandler(getTypeFromFileName(xmlfile));
-											try (InputStream inputFile = new FileInputStream(xmlfile.getAbsoluteFile());) {
-												parser.parse(inputFile, handler);
-											} catch (SAXException | IOException e) {
-												ApiPlugin.log(e);
-											}
-										}
-									}
-									endMember();
-								}
-								endReferencingComponent();
-							}
-						}
-					}
+					parseComponent(referee, parser, localmonitor);
 					localmonitor.split(1);
 					endComponent();
 				}
@@ -308,6 +265,108 @@ public class UseScanParser {
 		}
 	}
 
+	/**
+	 * Resolves the references to a single component from an API use scan. The
+	 * given directory is one of the top level directories of the scan, see
+	 * {@link #getComponentDirectories(String)}.
+	 * <p>
+	 * The parser and the visitor only hold the state of the given component,
+	 * so different components can be parsed concurrently using one parser and
+	 * one visitor per component.
+	 * </p>
+	 *
+	 * @param referee the directory of the referenced component
+	 * @param usv the visitor to visit the references with
+	 * @throws Exception if no XML parser can be created
+	 * @since 1.2.1200
+	 */
+	public void parseComponent(File referee, UseScanVisitor usv) throws Exception {
+		visitor = usv;
+		visitor.visitScan();
+		try {
+			parseComponent(referee, getParser(), null);
+			endComponent();
+		} finally {
+			visitor.endVisitScan();
+		}
+	}
+
+	/**
+	 * Returns the top level directories of the API use scan at the given
+	 * location, one for each referenced component, sorted by name
+	 *
+	 * @param xmlLocation root of API use scan (XML directory)
+	 * @return the component directories
+	 * @throws Exception if the location is not a directory
+	 * @since 1.2.1200
+	 */
+	public File[] getComponentDirectories(String xmlLocation) throws Exception {
+		if (xmlLocation == null) {
+			throw new Exception(SearchMessages.missing_xml_files_location);
+		}
+		File reportsRoot = new File(xmlLocation);
+		if (!reportsRoot.exists() || !reportsRoot.isDirectory()) {
+			throw new Exception(NLS.bind(SearchMessages.invalid_directory_name, xmlLocation));
+		}
+		return sort(getDirectories(reportsRoot));
+	}
+
+	/**
+	 * Visits the references to the component of the given directory, the
+	 * visit of the component is left open
+	 *
+	 * @param referee the directory of the referenced component
+	 * @param parser the parser to use
+	 * @param monitor the monitor to report the analyzed referencing
+	 *            components to or <code>null</code>
+	 */
+	private void parseComponent(File referee, SAXParser parser, SubMonitor monitor) {
+		String[] idv = getIdVersion(referee.getName());
+		IComponentDescriptor tcomp = Factory.componentDescriptor(idv[0], idv[1]);
+		enterTargetComponent(tcomp);
+		if (visitReferencingComponent) {
+
+			// If the visitor returned true, treat sub-directories
+			// as consumer components
+			File[] origins = getDirectories(referee);
+			origins = sort(origins); // sort to visit in determined
+										// order
+			for (File origin : origins) {
+				if (origin.isDirectory()) {
+					idv = getIdVersion(origin.getName());
+					IComponentDescriptor rcomp = Factory.componentDescriptor(idv[0], idv[1]);
+					enterReferencingComponent(rcomp);
+					if (visitMembers) {
+
+						// If the visitor returned true, open all
+						// xml files in the directory and process
+						// them to find members
+						if (monitor != null) {
+							monitor.subTask(NLS.bind(SearchMessages.UseScanParser_analyzing_references, new String[] { origin.getName() }));
+						}
+						File[] xmlfiles = Util.getAllFiles(origin, pathname -> pathname.isDirectory() || pathname.getName().endsWith(".xml")); //$NON-NLS-1$
+						if (xmlfiles != null && xmlfiles.length > 0) {
+							xmlfiles = sort(xmlfiles); // sort to
+														// visit in
+														// determined
+														// order
+							for (File xmlfile : xmlfiles) {
+								ReferenceHandler handler = new ReferenceHandler(getTypeFromFileName(xmlfile));
+								try (InputStream inputFile = new FileInputStream(xmlfile.getAbsoluteFile());) {
+									parser.parse(inputFile, handler);
+								} catch (SAXException | IOException e) {
+									ApiPlugin.log(e);
+								}
+							}
+						}
+						endMember();
+					}
+					endReferencingComponent();
+				}
+			}
+		}
+	}
+
 	/**
 	 * Returns a parser
 	 *
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2010 IBM Corporation and others.
+ * Copyright (c) 2010, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -44,6 +44,12 @@ public class APIDeprecationTask extends CommonUtilsTask {
 	private String includeListLocation;
 	private static final String REPORT_XML_FILE_NAME = "apiDeprecation.xml"; //$NON-NLS-1$
 
+	/**
+	 * Number of threads used to compare the components of the baselines. Set
+	 * to <code>1</code> by default.
+	 */
+	private int threads = 1;
+
 	@Override
 	public void execute() throws BuildException {
 		if (this.referenceBaselineLocation == null || this.currentBaselineLocation == null || this.reportLocation == null) {
@@ -110,7 +116,7 @@ public class APIDeprecationTask extends CommonUtilsTask {
 			time = System.currentTimeMillis();
 		}
 		try {
-			delta = ApiComparator.compare(referenceBaseline, currentBaseline, VisibilityModifiers.API, true, null);
+			delta = ApiComparator.compare(referenceBaseline, currentBaseline, VisibilityModifiers.API, true, this.threads, null);
 		} finally {
 			if (this.debug) {
 				System.out.println("API deprecation check : " + (System.currentTimeMillis() - time) + "ms"); //$NON-NLS-1$ //$NON-NLS-2$
@@ -305,4 +311,22 @@ public class APIDeprecationTask extends CommonUtilsTask {
 	public void setReport(String reportLocation) {
 		this.reportLocation = reportLocation;
 	}
+
+	/**
+	 * Set the number of threads used to compare the components of the
+	 * baselines. Values lower than <code>2</code> keep the sequential
+	 * comparison.
+	 * <p>
+	 * Default is <code>1</code>.
+	 * </p>
+	 *
+	 * @param threads the given number of threads
+	 */
+	public void setThreads(String threads) {
+		try {
+			this.threads = Integer.parseInt(threads);
+		} catch (NumberFormatException e) {
+			throw new BuildException(e);
+		}
+	}
 }
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2008, 2017 IBM Corporation and others.
+ * Copyright (c) 2008, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -59,6 +59,12 @@ public class APIFreezeTask extends CommonUtilsTask {
 	 * will be included in the output xml. Set to <code>true</code> by default.
 	 */
 	private boolean processUnresolvedBundles = true;
+
+	/**
+	 * Number of threads used to compare the components of the baselines. Set
+	 * to <code>1</code> by default.
+	 */
+	private int threads = 1;
 	/**
 	 * If {@link #continueOnResolverError} is <code>true</code> this map will
 	 * store the resolver errors of components. Maps String component IDs to an
@@ -150,7 +156,7 @@ public class APIFreezeTask extends CommonUtilsTask {
 			time = System.currentTimeMillis();
 		}
 		try {
-			delta = ApiComparator.compare(getScope(currentBaseline), referenceBaseline, VisibilityModifiers.API, true, processUnresolvedBundles, null);
+			delta = ApiComparator.compare(getScope(currentBaseline), referenceBaseline, VisibilityModifiers.API, true, processUnresolvedBundles, this.threads, null);
 		} catch (CoreException e) {
 			// ignore
 		} finally {
@@ -451,4 +457,22 @@ public class APIFreezeTask extends CommonUtilsTask {
 			}
 		}
 	}
+
+	/**
+	 * Set the number of threads used to compare the components of the
+	 * baselines. Values lower than <code>2</code> keep the sequential
+	 * comparison.
+	 * <p>
+	 * Default is <code>1</code>.
+	 * </p>
+	 *
+	 * @param threads the given number of threads
+	 */
+	public void setThreads(String threads) {
+		try {
+			this.threads = Integer.parseInt(threads);
+		} catch (NumberFormatException e) {
+			throw new BuildException(e);
+		}
+	}
 }
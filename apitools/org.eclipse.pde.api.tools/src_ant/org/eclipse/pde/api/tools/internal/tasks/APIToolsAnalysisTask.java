@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2008, 2018 IBM Corporation and others.
+ * Copyright (c) 2008, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -169,6 +169,12 @@ public class APIToolsAnalysisTask extends CommonUtilsTask {
 	 */
 	private boolean processUnresolvedBundles = true;
 
+	/**
+	 * Number of threads used to extract the references of the analyzed types.
+	 * Set to <code>1</code> by default.
+	 */
+	private int threads = 1;
+
 	private Summary[] createAllSummaries(Map<String, IApiProblem[]> allProblems) {
 		Set<Map.Entry<String, IApiProblem[]>> entrySet = allProblems.entrySet();
 		int size = entrySet.size();
@@ -417,7 +423,7 @@ public class APIToolsAnalysisTask extends CommonUtilsTask {
 				}
 
 				allApiBundles.add(name);
-				BaseApiAnalyzer analyzer = new BaseApiAnalyzer();
+				BaseApiAnalyzer analyzer = new BaseApiAnalyzer(this.threads);
 				try {
 					analyzer.setContinueOnResolverError(true);
 					analyzer.analyzeComponent(null, getFilterStore(name), this.properties, referenceBaseline, apiComponent, new BuildContext(), new NullProgressMonitor());
@@ -907,4 +913,22 @@ public class APIToolsAnalysisTask extends CommonUtilsTask {
 		this.processUnresolvedBundles = processUnresolvedBundles;
 	}
 
+	/**
+	 * Set the number of threads used to extract the references of the types of
+	 * the analyzed components. Values lower than <code>2</code> keep the
+	 * sequential analysis.
+	 * <p>
+	 * Default is <code>1</code>.
+	 * </p>
+	 *
+	 * @param threads the given number of threads
+	 */
+	public void setThreads(String threads) {
+		try {
+			this.threads = Integer.parseInt(threads);
+		} catch (NumberFormatException e) {
+			throw new BuildException(e);
+		}
+	}
+
 }
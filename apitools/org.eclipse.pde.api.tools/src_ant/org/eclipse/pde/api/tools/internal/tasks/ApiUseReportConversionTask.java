@@ -32,6 +32,11 @@ public final class ApiUseReportConversionTask extends CommonUtilsTask {
 
 	private String xmlReportsLocation = null;
 	private String htmlReportsLocation = null;
+	/**
+	 * Number of threads used to convert the components of the report, the
+	 * converter default is used if not set
+	 */
+	private int threads = 0;
 	private String xsltFileLocation = null;
 	private String[] filterPatterns = null;
 	private String[] toPatterns = null;
@@ -122,6 +127,24 @@ public final class ApiUseReportConversionTask extends CommonUtilsTask {
 		this.xsltFileLocation = xsltFileLocation;
 	}
 
+	/**
+	 * Set the number of threads used to convert the report, each thread
+	 * converting the references to one component at a time. A value of
+	 * <code>1</code> converts the components sequentially.
+	 * <p>
+	 * Default is the number of available processors.
+	 * </p>
+	 *
+	 * @param threads the given number of threads
+	 */
+	public void setThreads(String threads) {
+		try {
+			this.threads = Integer.parseInt(threads);
+		} catch (NumberFormatException e) {
+			throw new BuildException(e);
+		}
+	}
+
 	@Override
 	public void execute() throws BuildException {
 		if (this.debug) {
@@ -136,6 +159,9 @@ public final class ApiUseReportConversionTask extends CommonUtilsTask {
 		try {
 			Util.delete(new File(this.htmlReportsLocation));
 			UseReportConverter converter = new UseReportConverter(this.htmlReportsLocation, this.xmlReportsLocation, this.toPatterns, this.filterPatterns);
+			if (this.threads > 0) {
+				converter.setThreadCount(this.threads);
+			}
 			ApiPlugin.DEBUG_USE_REPORT_CONVERTER = this.debug;
 			converter.convert(this.xsltFileLocation, null);
 			File index = converter.getReportIndex();
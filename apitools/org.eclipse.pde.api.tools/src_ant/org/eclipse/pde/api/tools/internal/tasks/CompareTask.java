@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2007, 2010 IBM Corporation and others.
+ * Copyright (c) 2007, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -52,6 +52,12 @@ public class CompareTask extends CommonUtilsTask {
 	private String excludeListLocation;
 	private String includeListLocation;
 
+	/**
+	 * Number of threads used to compare the components of the baselines. Set
+	 * to <code>1</code> by default.
+	 */
+	private int threads = 1;
+
 	@Override
 	public void execute() throws BuildException {
 		if (this.referenceBaselineLocation == null || this.currentBaselineLocation == null || this.reportLocation == null) {
@@ -146,7 +152,7 @@ public class CompareTask extends CommonUtilsTask {
 			scope.addElement(currentBaseline);
 		}
 		try {
-			delta = ApiComparator.compare(scope, referenceBaseline, this.visibilityModifiers, false, null);
+			delta = ApiComparator.compare(scope, referenceBaseline, this.visibilityModifiers, false, false, this.threads, null);
 		} catch (CoreException e) {
 			// an error occurred during the comparison
 			throw new BuildException(NLS.bind(Messages.illegalElementInScope, e.getMessage()));
@@ -392,4 +398,22 @@ public class CompareTask extends CommonUtilsTask {
 	public void setincludeList(String includeListLocation) {
 		this.includeListLocation = includeListLocation;
 	}
+
+	/**
+	 * Set the number of threads used to compare the components of the
+	 * baselines. Values lower than <code>2</code> keep the sequential
+	 * comparison.
+	 * <p>
+	 * Default is <code>1</code>.
+	 * </p>
+	 *
+	 * @param threads the given number of threads
+	 */
+	public void setThreads(String threads) {
+		try {
+			this.threads = Integer.parseInt(threads);
+		} catch (NumberFormatException e) {
+			throw new BuildException(e);
+		}
+	}
 }
@@ -32,6 +32,11 @@ public final class MissingRefProblemsReportConversionTask extends CommonUtilsTas
 
 	private String xmlReportsLocation = null;
 	private String htmlReportsLocation = null;
+	/**
+	 * Number of threads used to convert the components of the report, the
+	 * converter default is used if not set
+	 */
+	private int threads = 0;
 
 	/**
 	 * Set the debug value.
@@ -79,6 +84,24 @@ public final class MissingRefProblemsReportConversionTask extends CommonUtilsTas
 		this.xmlReportsLocation = xmlFilesLocation;
 	}
 
+	/**
+	 * Set the number of threads used to convert the report, each thread
+	 * converting the references to one component at a time. A value of
+	 * <code>1</code> converts the components sequentially.
+	 * <p>
+	 * Default is the number of available processors.
+	 * </p>
+	 *
+	 * @param threads the given number of threads
+	 */
+	public void setThreads(String threads) {
+		try {
+			this.threads = Integer.parseInt(threads);
+		} catch (NumberFormatException e) {
+			throw new BuildException(e);
+		}
+	}
+
 	@Override
 	public void execute() throws BuildException {
 		if (this.xmlReportsLocation == null) {
@@ -94,6 +117,9 @@ public final class MissingRefProblemsReportConversionTask extends CommonUtilsTas
 		try {
 			Util.delete(new File(this.htmlReportsLocation));
 			MissingRefReportConverter converter = new MissingRefReportConverter(this.htmlReportsLocation, this.xmlReportsLocation);
+			if (this.threads > 0) {
+				converter.setThreadCount(this.threads);
+			}
 			ApiPlugin.DEBUG_USE_REPORT_CONVERTER = this.debug;
 			converter.convert(null, new NullProgressMonitor());
 			File index = converter.getReportIndex();
@@ -0,0 +1,158 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse contributors and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Eclipse contributors - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.pde.internal.core;
+
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+import org.eclipse.osgi.service.resolver.BundleDescription;
+
+/**
+ * An immutable set of bundle descriptions computed by the
+ * {@link DependencyManager}, backed by a bit set of their bundle ids for fast
+ * union and containment checks. Closures that are combined or compared must
+ * contain bundle descriptions of the same state.
+ *
+ * @see DependencyManager#getRequirementsClosure(Collection,
+ *      DependencyManager.Options...)
+ */
+public final class DependencyClosure {
+
+	private final Set<BundleDescription> fBundles;
+	/**
+	 * Ids of the bundles, or <code>null</code> if a bundle id does not fit
+	 * into a bit set
+	 */
+	private final BitSet fIds;
+
+	DependencyClosure(Set<BundleDescription> bundles) {
+		this(bundles, toBitSet(bundles));
+	}
+
+	private DependencyClosure(Set<BundleDescription> bundles, BitSet ids) {
+		fBundles = Collections.unmodifiableSet(bundles);
+		fIds = ids;
+	}
+
+	/**
+	 * Returns a bit set of the ids of the given bundle descriptions, ignoring
+	 * <code>null</code> elements, or <code>null</code> if a bundle id is
+	 * negative or larger than {@link Integer#MAX_VALUE}
+	 */
+	static BitSet toBitSet(Collection<BundleDescription> bundles) {
+		BitSet ids = new BitSet();
+		for (BundleDescription bundle : bundles) {
+			if (bundle != null) {
+				long id = bundle.getBundleId();
+				if (id < 0 || id > Integer.MAX_VALUE) {
+					return null;
+				}
+				ids.set((int) id);
+			}
+		}
+		return ids;
+	}
+
+	/**
+	 * @return the bit set of the bundle ids, not to be modified, or
+	 *         <code>null</code>
+	 */
+	BitSet getIds() {
+		return fIds;
+	}
+
+	/**
+	 * @return the unmodifiable set of the bundle descriptions in this closure
+	 */
+	public Set<BundleDescription> getBundles() {
+		return fBundles;
+	}
+
+	/**
+	 * @return the number of bundle descriptions in this closure
+	 */
+	public int size() {
+		return fBundles.size();
+	}
+
+	/**
+	 * Returns whether this closure contains the given bundle description
+	 *
+	 * @param bundle the bundle description, may be <code>null</code>
+	 * @return <code>true</code> if the bundle is in this closure
+	 */
+	public boolean contains(BundleDescription bundle) {
+		return bundle != null && fBundles.contains(bundle);
+	}
+
+	/**
+	 * Returns whether this closure contains all bundle descriptions of the
+	 * given closure
+	 *
+	 * @param other a closure in the same state
+	 * @return <code>true</code> if the other closure is a subset of this one
+	 */
+	public boolean containsAll(DependencyClosure other) {
+		if (fIds == null || other.fIds == null) {
+			return fBundles.containsAll(other.fBundles);
+		}
+		BitSet missing = (BitSet) other.fIds.clone();
+		missing.andNot(fIds);
+		return missing.isEmpty();
+	}
+
+	/**
+	 * Returns whether this closure and the given closure have a bundle
+	 * description in common
+	 *
+	 * @param other a closure in the same state
+	 * @return <code>true</code> if the closures intersect
+	 */
+	public boolean intersects(DependencyClosure other) {
+		if (fIds == null || other.fIds == null) {
+			return !Collections.disjoint(fBundles, other.fBundles);
+		}
+		return fIds.intersects(other.fIds);
+	}
+
+	/**
+	 * Returns the union of this closure and the given closure
+	 *
+	 * @param other a closure in the same state
+	 * @return a closure with the bundle descriptions of both closures
+	 */
+	public DependencyClosure union(DependencyClosure other) {
+		if (containsAll(other)) {
+			return this;
+		}
+		if (other.containsAll(this)) {
+			return other;
+		}
+		Set<BundleDescription> bundles = new HashSet<>(fBundles);
+		bundles.addAll(other.fBundles);
+		if (fIds == null || other.fIds == null) {
+			return new DependencyClosure(bundles, null);
+		}
+		BitSet ids = (BitSet) fIds.clone();
+		ids.or(other.fIds);
+		return new DependencyClosure(bundles, ids);
+	}
+
+	@Override
+	public String toString() {
+		return fBundles.toString();
+	}
+}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- *  Copyright (c) 2005, 2022 IBM Corporation and others.
+ *  Copyright (c) 2005, 2026 IBM Corporation and others.
  *
  *  This program and the accompanying materials
  *  are made available under the terms of the Eclipse Public License 2.0
@@ -18,16 +18,25 @@ package org.eclipse.pde.internal.core;
 import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.BitSet;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.EnumSet;
 import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Queue;
 import java.util.Set;
 import org.eclipse.core.resources.IResource;
 import org.eclipse.core.runtime.CoreException;
+import org.eclipse.osgi.service.resolver.BundleDelta;
 import org.eclipse.osgi.service.resolver.BundleDescription;
+import org.eclipse.osgi.service.resolver.HostSpecification;
 import org.eclipse.osgi.service.resolver.State;
+import org.eclipse.osgi.service.resolver.StateDelta;
 import org.eclipse.pde.core.plugin.IPluginModelBase;
 import org.eclipse.pde.core.plugin.PluginRegistry;
 import org.eclipse.pde.core.target.ITargetPlatformService;
@@ -159,14 +168,77 @@ public class DependencyManager {
 	 */
 	public static Set<BundleDescription> findRequirementsClosure(Collection<BundleDescription> bundles,
 			Options... options) {
+		return new HashSet<>(getRequirementsClosure(bundles, options).getBundles());
+	}
 
-		Set<Options> optionSet = Set.of(options);
+	/**
+	 * Returns the closure of the given bundle descriptions and all of their
+	 * required dependencies, like
+	 * {@link #findRequirementsClosure(Collection, Options...)}.
+	 * <p>
+	 * Closures of bundles of the state of the plug-in models are cached per
+	 * set of bundles and options until a bundle they contain, or a fragment of
+	 * such a bundle, is resolved again or removed from the state. Closures
+	 * including non-test fragments are not cached since they depend on the
+	 * classpath of workspace projects.
+	 * </p>
+	 *
+	 * @param bundles
+	 *            the group of {@link BundleDescription}s to compute
+	 *            dependencies for.
+	 * @param options
+	 *            the specified {@link Options} for computing the closure
+	 * @return the closure of the bundle descriptions
+	 */
+	public static DependencyClosure getRequirementsClosure(Collection<BundleDescription> bundles, Options... options) {
+		Set<Options> optionSet = EnumSet.noneOf(Options.class);
+		optionSet.addAll(Arrays.asList(options));
+		if (optionSet.contains(Options.INCLUDE_ALL_FRAGMENTS)
+				&& optionSet.contains(Options.INCLUDE_NON_TEST_FRAGMENTS)) {
+			throw new AssertionError("Cannot combine INCLUDE_ALL_FRAGMENTS and INCLUDE_NON_TEST_FRAGMENTS"); //$NON-NLS-1$
+		}
+		State state = getCachedState(bundles, optionSet);
+		if (state == null) {
+			return new DependencyClosure(computeRequirementsClosure(bundles, optionSet));
+		}
+		ClosureCache.Key key = new ClosureCache.Key(DependencyClosure.toBitSet(bundles), optionSet);
+		long generation = ClosureCache.INSTANCE.getGeneration();
+		DependencyClosure closure = ClosureCache.INSTANCE.get(state, key);
+		if (closure == null) {
+			closure = new DependencyClosure(computeRequirementsClosure(bundles, optionSet));
+			ClosureCache.INSTANCE.put(state, key, closure, generation);
+		}
+		return closure;
+	}
+
+	/**
+	 * Returns the state of the plug-in models if the closure of the given
+	 * bundles can be cached, <code>null</code> otherwise
+	 */
+	private static State getCachedState(Collection<BundleDescription> bundles, Set<Options> options) {
+		if (options.contains(Options.INCLUDE_NON_TEST_FRAGMENTS) || PDECore.getDefault() == null) {
+			return null;
+		}
+		PluginModelManager manager = PDECore.getDefault().getModelManager();
+		if (!manager.isInitialized()) {
+			return null;
+		}
+		State state = manager.getState().getState();
+		for (BundleDescription bundle : bundles) {
+			if (bundle != null && (bundle.getContainingState() != state || bundle.getBundleId() < 0
+					|| bundle.getBundleId() > Integer.MAX_VALUE)) {
+				return null;
+			}
+		}
+		ClosureCache.INSTANCE.connect(manager);
+		return state;
+	}
+
+	private static Set<BundleDescription> computeRequirementsClosure(Collection<BundleDescription> bundles,
+			Set<Options> optionSet) {
 		boolean includeOptional = optionSet.contains(Options.INCLUDE_OPTIONAL_DEPENDENCIES);
 		boolean includeAllFragments = optionSet.contains(Options.INCLUDE_ALL_FRAGMENTS);
 		boolean includeNonTestFragments = optionSet.contains(Options.INCLUDE_NON_TEST_FRAGMENTS);
-		if (includeAllFragments && includeNonTestFragments) {
-			throw new AssertionError("Cannot combine INCLUDE_ALL_FRAGMENTS and INCLUDE_NON_TEST_FRAGMENTS"); //$NON-NLS-1$
-		}
 
 		Set<BundleDescription> closure = new HashSet<>(bundles.size() * 4 / 3 + 1);
 		Queue<BundleDescription> pending = new ArrayDeque<>(bundles.size());
@@ -214,6 +286,127 @@ public class DependencyManager {
 		return closure;
 	}
 
+	/**
+	 * Cache of the requirements closures of bundles of the state of the plug-in
+	 * models, invalidated by the deltas of the state
+	 */
+	private static final class ClosureCache implements IStateDeltaListener {
+
+		static final ClosureCache INSTANCE = new ClosureCache();
+
+		private static final int MAX_ENTRIES = 64;
+
+		static final class Key {
+			final BitSet roots;
+			final Set<Options> options;
+
+			Key(BitSet roots, Set<Options> options) {
+				this.roots = roots;
+				this.options = options;
+			}
+
+			@Override
+			public int hashCode() {
+				return Objects.hash(roots, options);
+			}
+
+			@Override
+			public boolean equals(Object obj) {
+				return obj instanceof Key && roots.equals(((Key) obj).roots) && options.equals(((Key) obj).options);
+			}
+		}
+
+		private final Map<Key, DependencyClosure> fClosures = new LinkedHashMap<>(16, 0.75f, true) {
+			private static final long serialVersionUID = 1L;
+
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<Key, DependencyClosure> eldest) {
+				return size() > MAX_ENTRIES;
+			}
+		};
+		private State fState;
+		/**
+		 * Incremented on every invalidation so that closures computed
+		 * concurrently with a state change are not cached
+		 */
+		private long fGeneration;
+		private boolean fConnected;
+
+		synchronized void connect(PluginModelManager manager) {
+			if (!fConnected) {
+				fConnected = true;
+				manager.addStateDeltaListener(this);
+			}
+		}
+
+		synchronized long getGeneration() {
+			return fGeneration;
+		}
+
+		synchronized DependencyClosure get(State state, Key key) {
+			if (state != fState) {
+				fClosures.clear();
+				fState = state;
+				fGeneration++;
+				return null;
+			}
+			return fClosures.get(key);
+		}
+
+		synchronized void put(State state, Key key, DependencyClosure closure, long generation) {
+			if (state == fState && generation == fGeneration) {
+				fClosures.put(key, closure);
+			}
+		}
+
+		@Override
+		public synchronized void stateResolved(StateDelta delta) {
+			fGeneration++;
+			if (delta == null) {
+				fClosures.clear();
+				return;
+			}
+			BitSet affected = new BitSet();
+			for (BundleDelta bundleDelta : delta.getChanges()) {
+				BundleDescription bundle = bundleDelta.getBundle();
+				addId(affected, bundle);
+				HostSpecification host = bundle.getHost();
+				if (host != null) {
+					// the fragments of a host are part of its closure
+					for (BundleDescription hostBundle : host.getHosts()) {
+						addId(affected, hostBundle);
+					}
+					if (delta.getState() != null) {
+						for (BundleDescription hostBundle : delta.getState().getBundles(host.getName())) {
+							addId(affected, hostBundle);
+						}
+					}
+				}
+			}
+			for (Iterator<Map.Entry<Key, DependencyClosure>> iterator = fClosures.entrySet().iterator(); iterator
+					.hasNext();) {
+				Map.Entry<Key, DependencyClosure> entry = iterator.next();
+				BitSet ids = entry.getValue().getIds();
+				if (ids == null || ids.intersects(affected) || entry.getKey().roots.intersects(affected)) {
+					iterator.remove();
+				}
+			}
+		}
+
+		@Override
+		public synchronized void stateChanged(State newState) {
+			fGeneration++;
+			fClosures.clear();
+			fState = null;
+		}
+
+		private static void addId(BitSet ids, BundleDescription bundle) {
+			if (bundle != null && bundle.getBundleId() >= 0 && bundle.getBundleId() <= Integer.MAX_VALUE) {
+				ids.set((int) bundle.getBundleId());
+			}
+		}
+	}
+
 	private static void addNewRequiredBundle(BundleDescription bundle, Set<BundleDescription> requiredBundles,
 			Queue<BundleDescription> pending) {
 		if (bundle != null && bundle.isResolved() && !bundle.isRemovalPending() && requiredBundles.add(bundle)) {
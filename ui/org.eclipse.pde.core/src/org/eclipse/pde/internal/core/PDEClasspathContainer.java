@@ -1,5 +1,5 @@
 /*******************************************************************************
- *  Copyright (c) 2005, 2012 IBM Corporation and others.
+ *  Copyright (c) 2005, 2026 IBM Corporation and others.
  *
  *  This program and the accompanying materials
  *  are made available under the terms of the Eclipse Public License 2.0
@@ -15,8 +15,10 @@ package org.eclipse.pde.internal.core;
 
 import java.io.File;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import org.eclipse.core.resources.IProject;
 import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.IPath;
@@ -45,6 +47,11 @@ public class PDEClasspathContainer {
 			return discouraged == ((Rule) other).discouraged && path.equals(((Rule) other).path);
 		}
 
+		@Override
+		public int hashCode() {
+			return path.hashCode() * 31 + Boolean.hashCode(discouraged);
+		}
+
 		@Override
 		public String toString() {
 			return discouraged ? path.toString() + " [discouraged]" : path.toString(); //$NON-NLS-1$
@@ -54,6 +61,13 @@ public class PDEClasspathContainer {
 	private static HashMap<IPath, IAccessRule> ACCESSIBLE_RULES = new HashMap<>();
 	private static HashMap<IPath, IAccessRule> DISCOURAGED_RULES = new HashMap<>();
 
+	/**
+	 * Interned access rule arrays by their rules, so that classpath entries
+	 * with the same rules share one array
+	 */
+	private static final Map<List<Rule>, IAccessRule[]> ACCESS_RULES = new HashMap<>();
+	private static final int MAX_ACCESS_RULES = 10000;
+
 	private static final IAccessRule EXCLUDE_ALL_RULE = JavaCore.newAccessRule(new Path("**/*"), IAccessRule.K_NON_ACCESSIBLE | IAccessRule.IGNORE_IF_BETTER); //$NON-NLS-1$
 
 	protected void addProjectEntry(IProject project, Rule[] rules, boolean exportsExternalAnnotations,
@@ -145,6 +159,21 @@ public class PDEClasspathContainer {
 	}
 
 	protected static IAccessRule[] getAccessRules(Rule[] rules) {
+		List<Rule> key = Arrays.asList(rules);
+		synchronized (ACCESS_RULES) {
+			IAccessRule[] accessRules = ACCESS_RULES.get(key);
+			if (accessRules == null) {
+				if (ACCESS_RULES.size() >= MAX_ACCESS_RULES) {
+					ACCESS_RULES.clear();
+				}
+				accessRules = createAccessRules(rules);
+				ACCESS_RULES.put(List.of(rules), accessRules);
+			}
+			return accessRules;
+		}
+	}
+
+	private static IAccessRule[] createAccessRules(Rule[] rules) {
 		IAccessRule[] accessRules = new IAccessRule[rules.length + 1];
 		for (int i = 0; i < rules.length; i++) {
 			Rule rule = rules[i];
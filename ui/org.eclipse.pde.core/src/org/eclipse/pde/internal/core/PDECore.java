@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2018 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -45,6 +45,7 @@ import org.eclipse.pde.internal.core.project.BundleProjectService;
 import org.eclipse.pde.internal.core.schema.SchemaRegistry;
 import org.eclipse.pde.internal.core.target.P2TargetUtils;
 import org.eclipse.pde.internal.core.target.TargetPlatformService;
+import org.eclipse.pde.internal.core.util.WorkerPool;
 import org.osgi.framework.BundleContext;
 import org.osgi.framework.ServiceReference;
 import org.osgi.framework.ServiceRegistration;
@@ -307,6 +308,9 @@ public class PDECore extends Plugin implements DebugOptionsListener {
 		fPluginRebuilder.start();
 		fFeatureRebuilder = new FeatureRebuilder();
 		fFeatureRebuilder.start();
+		if (SchemaRegistry.PRELOAD) {
+			getSchemaRegistry().schedulePreload();
+		}
 
 		fTargetPlatformService = context.registerService(ITargetPlatformService.class,
 				TargetPlatformService.getDefault(), new Hashtable<String, Object>());
@@ -378,6 +382,7 @@ public class PDECore extends Plugin implements DebugOptionsListener {
 		}
 
 		PluginModelManager.shutdownInstance();
+		WorkerPool.shutdown();
 
 		if (fTargetPlatformService != null) {
 			fTargetPlatformService.unregister();
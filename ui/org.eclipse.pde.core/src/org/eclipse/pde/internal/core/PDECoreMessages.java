@@ -114,6 +114,8 @@ public class PDECoreMessages extends NLS {
 	public static String SchemaCompositor_group;
 	public static String SchemaCompositor_sequence;
 
+	public static String SchemaRegistry_preloadingSchemas;
+
 	static {
 		// load message values from bundle file
 		NLS.initializeMessages(BUNDLE_NAME, PDECoreMessages.class);
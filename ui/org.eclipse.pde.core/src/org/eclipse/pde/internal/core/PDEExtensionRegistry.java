@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2006, 2012 IBM Corporation and others.
+ * Copyright (c) 2006, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -15,14 +15,20 @@ package org.eclipse.pde.internal.core;
 
 import java.io.File;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.List;
 import java.util.ListIterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import org.eclipse.core.runtime.IContributor;
 import org.eclipse.core.runtime.IExtension;
 import org.eclipse.core.runtime.IExtensionPoint;
 import org.eclipse.core.runtime.IExtensionRegistry;
 import org.eclipse.core.runtime.IRegistryChangeListener;
 import org.eclipse.core.runtime.RegistryFactory;
+import org.eclipse.core.runtime.spi.IDynamicExtensionRegistry;
 import org.eclipse.core.runtime.spi.RegistryContributor;
 import org.eclipse.osgi.service.resolver.BundleDescription;
 import org.eclipse.pde.core.plugin.IPluginExtension;
@@ -46,6 +52,23 @@ public class PDEExtensionRegistry {
 	private IPluginModelBase[] fModels = null;
 	private final ArrayList<IRegistryChangeListener> fListeners = new ArrayList<>();
 
+	/**
+	 * Extensions of all contributions by extension point id, including the
+	 * extensions of extension points that do not exist, or <code>null</code>
+	 * if the index has not been built yet. Guarded by fIndexLock.
+	 */
+	private Map<String, List<IExtension>> fExtensionsByPoint = null;
+	/**
+	 * Indexed extensions by contributor id. Guarded by fIndexLock.
+	 */
+	private final Map<String, IExtension[]> fExtensionsByContributor = new HashMap<>();
+	private final Object fIndexLock = new Object();
+
+	/**
+	 * Models of the contributors found in the state, by contributor id
+	 */
+	private final Map<String, IPluginModelBase> fContributorModels = new ConcurrentHashMap<>();
+
 	private static final String EXTENSION_DIR = ".extensions"; //$NON-NLS-1$
 
 	public PDEExtensionRegistry() {
@@ -110,12 +133,100 @@ public class PDEExtensionRegistry {
 		}
 		CoreUtility.deleteContent(new File(PDECore.getDefault().getStateLocation().toFile(), EXTENSION_DIR));
 		fRegistry = null;
+		resetIndex();
 	}
 
 	// dispose of registry without writing contents.
 	public void dispose() {
 		fStrategy.dispose();
 		fRegistry = null;
+		resetIndex();
+	}
+
+	// Methods to maintain the extension index
+
+	private void resetIndex() {
+		synchronized (fIndexLock) {
+			fExtensionsByPoint = null;
+			fExtensionsByContributor.clear();
+		}
+		fContributorModels.clear();
+	}
+
+	/**
+	 * Forgets the models found for contributors, called when the models
+	 * change.
+	 */
+	void modelsChanged() {
+		fContributorModels.clear();
+	}
+
+	/**
+	 * Adds the extensions of a contribution to the index, called after the
+	 * contribution was added to the registry.
+	 */
+	void contributionAdded(IExtensionRegistry registry, IContributor contributor) {
+		synchronized (fIndexLock) {
+			if (fExtensionsByPoint != null) {
+				indexContribution(registry, contributor);
+			}
+		}
+	}
+
+	/**
+	 * Removes the extensions of a contribution from the index, called before
+	 * the contribution is removed from the registry.
+	 */
+	void contributionRemoving(IContributor contributor) {
+		if (!(contributor instanceof RegistryContributor)) {
+			return;
+		}
+		String id = ((RegistryContributor) contributor).getActualId();
+		fContributorModels.remove(id);
+		synchronized (fIndexLock) {
+			IExtension[] extensions = fExtensionsByContributor.remove(id);
+			if (fExtensionsByPoint == null || extensions == null) {
+				return;
+			}
+			for (IExtension extension : extensions) {
+				List<IExtension> list = fExtensionsByPoint.get(extension.getExtensionPointUniqueIdentifier());
+				if (list != null) {
+					list.remove(extension);
+				}
+			}
+		}
+	}
+
+	private void indexContribution(IExtensionRegistry registry, IContributor contributor) {
+		if (!(contributor instanceof RegistryContributor)) {
+			return;
+		}
+		IExtension[] extensions = registry.getExtensions(contributor);
+		fExtensionsByContributor.put(((RegistryContributor) contributor).getActualId(), extensions);
+		for (IExtension extension : extensions) {
+			fExtensionsByPoint.computeIfAbsent(extension.getExtensionPointUniqueIdentifier(), id -> new ArrayList<>())
+					.add(extension);
+		}
+	}
+
+	/**
+	 * Returns the extensions of all contributions to the given extension point
+	 * id, building the index on first use
+	 */
+	private List<IExtension> getIndexedExtensions(String extensionPointId) {
+		IExtensionRegistry registry = getRegistry();
+		synchronized (fIndexLock) {
+			if (fExtensionsByPoint == null) {
+				fExtensionsByPoint = new HashMap<>();
+				if (registry instanceof IDynamicExtensionRegistry) {
+					for (IContributor contributor : ((IDynamicExtensionRegistry) registry).getAllContributors()) {
+						indexContribution(registry, contributor);
+					}
+				}
+			}
+			List<IExtension> extensions = fExtensionsByPoint.get(extensionPointId);
+			return extensions == null ? Collections.emptyList() : new ArrayList<>(extensions);
+		}
 	}
 
 	// Methods to access data in Extension Registry
@@ -187,7 +298,7 @@ public class PDEExtensionRegistry {
 		if (contributor == null) {
 			return new IPluginExtension[0];
 		}
-		IExtension[] extensions = getRegistry().getExtensions(fStrategy.createContributor(base));
+		IExtension[] extensions = getRegistry().getExtensions(contributor);
 		ArrayList<PluginExtension> list = new ArrayList<>();
 		for (IExtension ext : extensions) {
 			PluginExtension extension = new PluginExtension(ext);
@@ -203,7 +314,7 @@ public class PDEExtensionRegistry {
 		if (contributor == null) {
 			return new IPluginExtensionPoint[0];
 		}
-		IExtensionPoint[] extensions = getRegistry().getExtensionPoints(fStrategy.createContributor(base));
+		IExtensionPoint[] extensions = getRegistry().getExtensionPoints(contributor);
 		ArrayList<PluginExtensionPoint> list = new ArrayList<>();
 		for (IExtensionPoint extension : extensions) {
 			PluginExtensionPoint point = new PluginExtensionPoint(extension);
@@ -236,16 +347,26 @@ public class PDEExtensionRegistry {
 				}
 			}
 		} else {
+			// the extension point does not exist, look up the extensions of
+			// the contributions of the models, in the order of the models
+			Map<String, List<IExtension>> byContributor = new HashMap<>();
+			for (IExtension extension : getIndexedExtensions(extensionPointId)) {
+				IContributor contributor = extension.getContributor();
+				if (contributor instanceof RegistryContributor) {
+					String id = ((RegistryContributor) contributor).getActualId();
+					byContributor.computeIfAbsent(id, key -> new ArrayList<>()).add(extension);
+				}
+			}
+			if (byContributor.isEmpty()) {
+				return new IExtension[0];
+			}
 			IPluginModelBase[] bases = activeOnly ? PluginRegistry.getActiveModels() : PluginRegistry.getAllModels();
 			for (IPluginModelBase base : bases) {
 				IContributor contributor = fStrategy.createContributor(base);
-				if (contributor == null) {
-					continue;
-				}
-				IExtension[] extensions = getRegistry().getExtensions(contributor);
-				for (IExtension extension : extensions) {
-					if (extension.getExtensionPointUniqueIdentifier().equals(extensionPointId)) {
-						list.add(extension);
+				if (contributor instanceof RegistryContributor) {
+					List<IExtension> extensions = byContributor.get(((RegistryContributor) contributor).getActualId());
+					if (extensions != null) {
+						list.addAll(extensions);
 					}
 				}
 			}
@@ -259,10 +380,19 @@ public class PDEExtensionRegistry {
 			return null;
 		}
 		RegistryContributor contributor = (RegistryContributor) icontributor;
-		long bundleId = Long.parseLong(contributor.getActualId());
-		BundleDescription desc = PDECore.getDefault().getModelManager().getState().getState().getBundle(Long.parseLong(contributor.getActualId()));
+		String actualId = contributor.getActualId();
+		IPluginModelBase model = fContributorModels.get(actualId);
+		if (model != null) {
+			return model;
+		}
+		long bundleId = Long.parseLong(actualId);
+		BundleDescription desc = PDECore.getDefault().getModelManager().getState().getState().getBundle(bundleId);
 		if (desc != null) {
-			return PluginRegistry.findModel(desc);
+			model = PluginRegistry.findModel(desc);
+			if (model != null) {
+				fContributorModels.put(actualId, model);
+			}
+			return model;
 		}
 		// desc might be null if the workspace contains a plug-in with the same Bundle-SymbolicName
 		ModelEntry entry = PluginRegistry.findEntry(contributor.getActualName());
@@ -271,10 +401,10 @@ public class PDEExtensionRegistry {
 				return null;
 			}
 			IPluginModelBase externalModels[] = entry.getExternalModels();
-			for (IPluginModelBase model : externalModels) {
-				BundleDescription extDesc = model.getBundleDescription();
+			for (IPluginModelBase externalModel : externalModels) {
+				BundleDescription extDesc = externalModel.getBundleDescription();
 				if (extDesc != null && extDesc.getBundleId() == bundleId) {
-					return model;
+					return externalModel;
 				}
 			}
 		}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2007, 2017 IBM Corporation and others.
+ * Copyright (c) 2007, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -72,6 +72,7 @@ public class PDERegistryStrategy extends RegistryStrategy {
 			if (fRegistry == null) {
 				createRegistry();
 			}
+			fPDERegistry.modelsChanged();
 			// can ignore removed models since the ModelEntries is empty
 			ModelEntry[] entries = delta.getChangedEntries();
 			for (int i = 0; i < entries.length; i++) {
@@ -95,6 +96,7 @@ public class PDERegistryStrategy extends RegistryStrategy {
 						IContributor[] contributors = registry.getAllContributors();
 						for (IContributor contributor : contributors) {
 							if (entry.getId().equals(contributor.getName())) {
+								fPDERegistry.contributionRemoving(contributor);
 								registry.removeContributor(contributor, fKey);
 								break;
 							}
@@ -116,6 +118,7 @@ public class PDERegistryStrategy extends RegistryStrategy {
 			if (fRegistry == null) {
 				createRegistry();
 			}
+			fPDERegistry.modelsChanged();
 			IPluginModelBase[] bases = event.getRemovedModels();
 			removeModels(bases, false);
 			removeModels(event.getChangedModels(), false);
@@ -231,7 +234,9 @@ public class PDERegistryStrategy extends RegistryStrategy {
 				}
 			}
 			if (is != null) {
-				registry.addContribution(new BufferedInputStream(is), contributor, true, input.getPath(), null, fKey);
+				if (registry.addContribution(new BufferedInputStream(is), contributor, true, input.getPath(), null, fKey)) {
+					fPDERegistry.contributionAdded(registry, contributor);
+				}
 			}
 		} catch (IOException e) {
 		} finally {
@@ -248,7 +253,8 @@ public class PDERegistryStrategy extends RegistryStrategy {
 		if (registry instanceof IDynamicExtensionRegistry) {
 			IContributor contributor = createContributor(base);
 			if (contributor != null && ((IDynamicExtensionRegistry) registry).hasContributor(contributor)) {
-				((IDynamicExtensionRegistry) registry).removeContributor(createContributor(base), fKey);
+				fPDERegistry.contributionRemoving(contributor);
+				((IDynamicExtensionRegistry) registry).removeContributor(contributor, fKey);
 			}
 		}
 	}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2005, 2016 IBM Corporation and others.
+ * Copyright (c) 2005, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -20,13 +20,18 @@ import java.util.ArrayList;
 import java.util.Comparator;
 import java.util.HashMap;
 import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Function;
 import org.eclipse.core.filesystem.URIUtil;
 import org.eclipse.core.resources.IWorkspaceRoot;
 import org.eclipse.core.resources.ResourcesPlugin;
 import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.IPath;
 import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.OperationCanceledException;
 import org.eclipse.core.runtime.Path;
 import org.eclipse.core.runtime.SubMonitor;
 import org.eclipse.osgi.service.resolver.BaseDescription;
@@ -39,6 +44,7 @@ import org.eclipse.pde.internal.core.plugin.ExternalPluginModel;
 import org.eclipse.pde.internal.core.plugin.ExternalPluginModelBase;
 import org.eclipse.pde.internal.core.util.CoreUtility;
 import org.eclipse.pde.internal.core.util.ManifestUtils;
+import org.eclipse.pde.internal.core.util.WorkerPool;
 import org.osgi.framework.Version;
 
 public class PDEState extends MinimalState {
@@ -46,6 +52,12 @@ public class PDEState extends MinimalState {
 	private final PDEAuxiliaryState fAuxiliaryState;
 	private final ArrayList<IPluginModelBase> fTargetModels = new ArrayList<>();
 
+	/**
+	 * Stamps of the target bundle locations, see
+	 * {@link TargetStateSnapshot#getStamp(File)}
+	 */
+	private final Map<String, Long> fTargetStamps = new HashMap<>();
+
 	/**
 	 * Creates a new PDE State containing bundles from the given URLs.
 	 *
@@ -58,7 +70,7 @@ public class PDEState extends MinimalState {
 		long start = System.currentTimeMillis();
 		fAuxiliaryState = new PDEAuxiliaryState();
 
-		// We no longer try and restore from a cached state as it had no performance benefit
+		// The state is created again, from the manifests of the snapshot when they are up to date
 		createNewTargetState(addResolver, target, monitor);
 
 		if (removeDuplicates) {
@@ -156,15 +168,27 @@ public class PDEState extends MinimalState {
 			});
 		}
 		SubMonitor subMonitor = SubMonitor.convert(monitor, PDECoreMessages.PDEState_CreatingTargetModelState,
-				uris.length);
+				uris.length * 2);
+		List<File> files = new ArrayList<>(uris.length);
 		for (URI uri : uris) {
 			File file = toFile(uri);
-			if (file == null) {
-				continue;
+			if (file != null) {
+				files.add(file);
 			}
+		}
+		TargetStateSnapshot snapshot = TargetStateSnapshot.getDefault();
+		// the manifests are read in parallel, the bundles are then added in
+		// the order of the URIs so that their ids do not depend on the timing
+		LoadedManifest[] manifests = loadManifests(files, snapshot, subMonitor.split(uris.length));
+		subMonitor.setWorkRemaining(manifests.length);
+		for (LoadedManifest loaded : manifests) {
 			try {
-				subMonitor.subTask(file.getName());
-				addBundle(file, -1);
+				subMonitor.subTask(loaded.file.getName());
+				if (loaded.error != null) {
+					throw loaded.error;
+				}
+				addBundle(loaded.file, -1, loaded.manifest);
+				fTargetStamps.put(loaded.file.getAbsolutePath(), Long.valueOf(TargetStateSnapshot.getStamp(loaded.file)));
 			} catch (CoreException e) {
 				if (e.getStatus().getCode() != ManifestUtils.STATUS_CODE_NOT_A_BUNDLE_MANIFEST) {
 					PDECore.log(e);
@@ -172,6 +196,67 @@ public class PDEState extends MinimalState {
 			}
 			subMonitor.split(1);
 		}
+		snapshot.save();
+		if (PDECore.DEBUG_MODEL) {
+			System.out.println("Target state snapshot: " + snapshot); //$NON-NLS-1$
+		}
+	}
+
+	/**
+	 * The manifest headers of a bundle location or the error reading them
+	 */
+	private static final class LoadedManifest {
+		final File file;
+		final Map<String, String> manifest;
+		final CoreException error;
+
+		LoadedManifest(File file, Map<String, String> manifest, CoreException error) {
+			this.file = file;
+			this.manifest = manifest;
+			this.error = error;
+		}
+	}
+
+	/**
+	 * Reads the manifests of the given bundle locations on the
+	 * {@link WorkerPool}.
+	 *
+	 * @param files bundle locations
+	 * @param snapshot the snapshot to take the manifests from
+	 * @param monitor progress monitor, checked for cancellation
+	 * @return the manifests in the order of the locations
+	 */
+	private static LoadedManifest[] loadManifests(List<File> files, TargetStateSnapshot snapshot, IProgressMonitor monitor) {
+		SubMonitor subMonitor = SubMonitor.convert(monitor, 1);
+		Function<File, LoadedManifest> loader = file -> {
+			if (subMonitor.isCanceled()) {
+				throw new OperationCanceledException();
+			}
+			try {
+				return new LoadedManifest(file, snapshot.loadManifest(file), null);
+			} catch (CoreException e) {
+				return new LoadedManifest(file, null, e);
+			}
+		};
+		ForkJoinPool pool = WorkerPool.getPool();
+		if (pool == null || files.size() <= 1) {
+			LoadedManifest[] manifests = files.stream().map(loader).toArray(LoadedManifest[]::new);
+			subMonitor.split(1);
+			return manifests;
+		}
+		try {
+			LoadedManifest[] manifests = pool.submit(() -> files.parallelStream().map(loader).toArray(LoadedManifest[]::new)).get();
+			subMonitor.split(1);
+			return manifests;
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new OperationCanceledException();
+		} catch (ExecutionException e) {
+			if (e.getCause() instanceof RuntimeException) {
+				throw (RuntimeException) e.getCause();
+			}
+			throw new IllegalStateException(e.getCause());
+		}
 	}
 
 	/**
@@ -242,6 +327,61 @@ public class PDEState extends MinimalState {
 		return model;
 	}
 
+	/**
+	 * Adds the bundle at the given location to the state and to the target
+	 * models, when the target is reloaded incrementally. A bundle with the
+	 * same symbolic name and version as a target model is not added, as
+	 * duplicates are removed when the state is created.
+	 *
+	 * @param location the bundle archive or directory
+	 * @return the model of the bundle or <code>null</code> if it was not added
+	 * @throws CoreException if the manifest cannot be read
+	 */
+	IPluginModelBase addTargetBundle(File location) throws CoreException {
+		BundleDescription desc = addBundle(location, -1, TargetStateSnapshot.getDefault().loadManifest(location));
+		if (desc == null) {
+			return null;
+		}
+		fTargetStamps.put(location.getAbsolutePath(), Long.valueOf(TargetStateSnapshot.getStamp(location)));
+		for (IPluginModelBase model : fTargetModels) {
+			BundleDescription other = model.getBundleDescription();
+			if (other != null && desc.getSymbolicName() != null && desc.getSymbolicName().equals(other.getSymbolicName())
+					&& desc.getVersion().equals(other.getVersion())) {
+				fState.removeBundle(desc);
+				return null;
+			}
+		}
+		IPluginModelBase model = createExternalModel(desc);
+		fTargetModels.add(model);
+		return model;
+	}
+
+	/**
+	 * Removes the given model from the target models, the caller removes its
+	 * bundle description from the state
+	 *
+	 * @param model a target model
+	 */
+	void removeTargetModel(IPluginModelBase model) {
+		fTargetModels.remove(model);
+		BundleDescription desc = model.getBundleDescription();
+		if (desc != null) {
+			fTargetStamps.remove(desc.getLocation());
+		}
+	}
+
+	/**
+	 * Returns whether the target bundle at the given location did not change
+	 * since it was added to this state
+	 *
+	 * @param location the bundle archive or directory
+	 * @return <code>true</code> if the bundle is unchanged
+	 */
+	boolean isTargetBundleUpToDate(File location) {
+		Long stamp = fTargetStamps.get(location.getAbsolutePath());
+		return stamp != null && stamp.longValue() == TargetStateSnapshot.getStamp(location);
+	}
+
 	public IPluginModelBase[] getTargetModels() {
 		return fTargetModels.toArray(new IPluginModelBase[fTargetModels.size()]);
 	}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2022 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -21,10 +21,13 @@ import java.io.FileWriter;
 import java.io.IOException;
 import java.net.URI;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.ListIterator;
@@ -32,10 +35,13 @@ import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Set;
 import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicLong;
+import org.eclipse.core.filesystem.URIUtil;
 import org.eclipse.core.resources.IProject;
 import org.eclipse.core.resources.IResource;
 import org.eclipse.core.resources.ResourcesPlugin;
 import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IPath;
 import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.core.runtime.IStatus;
 import org.eclipse.core.runtime.MultiStatus;
@@ -64,20 +70,51 @@ import org.eclipse.pde.core.target.ITargetDefinition;
 import org.eclipse.pde.core.target.LoadTargetDefinitionJob;
 import org.eclipse.pde.core.target.TargetBundle;
 import org.eclipse.pde.internal.core.target.P2TargetUtils;
+import org.eclipse.pde.internal.core.util.ManifestUtils;
 
 public class PluginModelManager implements IModelProviderListener {
 	private static final String fExternalPluginListFile = "SavedExternalPluginList.txt"; //$NON-NLS-1$
 	private static PluginModelManager fModelManager;
 
+	/**
+	 * Whether an incremental target reload only applies the changed target
+	 * bundles to the state, set the <code>pde.incrementalTargetReload</code>
+	 * system property to <code>false</code> to always recreate the models
+	 */
+	private static final boolean INCREMENTAL_RELOAD = Boolean
+			.parseBoolean(System.getProperty("pde.incrementalTargetReload", "true")); //$NON-NLS-1$ //$NON-NLS-2$
+
+	/**
+	 * Delay in milliseconds after the last classpath update request before the
+	 * containers are updated, so that bursts of model changes are coalesced
+	 */
+	private static final long CLASSPATH_UPDATE_DELAY = Long.getLong("pde.classpathUpdateDelay", 200).longValue(); //$NON-NLS-1$
+
+	/**
+	 * Maximum time in milliseconds a classpath update request is deferred
+	 * while more requests arrive
+	 */
+	private static final long CLASSPATH_UPDATE_MAX_DELAY = 2000;
+
 	/**
 	 * Job to update class path containers asynchronously. Avoids blocking the UI thread
 	 * while saving the manifest editor. The job is given a workspace lock so other jobs can't
 	 * run on a stale classpath.
+	 * <p>
+	 * Requests are coalesced per project, keeping the latest model. The job
+	 * runs once no request arrived for {@link #CLASSPATH_UPDATE_DELAY}, but at
+	 * the latest {@link #CLASSPATH_UPDATE_MAX_DELAY} after the first pending
+	 * request, and updates the containers of all pending projects in one
+	 * operation.
+	 * </p>
 	 */
 	class UpdateClasspathsJob extends Job {
 
-		private final List<IJavaProject> fProjects = new ArrayList<>();
-		private final List<IClasspathContainer> fContainers = new ArrayList<>();
+		/**
+		 * Models of the projects to update, guarded by itself
+		 */
+		private final Map<IJavaProject, IPluginModelBase> fPending = new LinkedHashMap<>();
+		private long fFirstRequest;
 
 		/**
 		 * Constructs a new job.
@@ -93,17 +130,14 @@ public class PluginModelManager implements IModelProviderListener {
 			try {
 				boolean more = false;
 				do {
-					IJavaProject[] projects = null;
-					IClasspathContainer[] containers = null;
-					synchronized (fProjects) {
-						projects = fProjects.toArray(new IJavaProject[fProjects.size()]);
-						containers = fContainers.toArray(new IClasspathContainer[fContainers.size()]);
-						fProjects.clear();
-						fContainers.clear();
+					Map<IJavaProject, IPluginModelBase> pending;
+					synchronized (fPending) {
+						pending = new LinkedHashMap<>(fPending);
+						fPending.clear();
 					}
-					JavaCore.setClasspathContainer(PDECore.REQUIRED_PLUGINS_CONTAINER_PATH, projects, containers, monitor);
-					synchronized (fProjects) {
-						more = !fProjects.isEmpty();
+					setClasspathContainers(pending, monitor);
+					synchronized (fPending) {
+						more = !fPending.isEmpty();
 					}
 				} while (more);
 
@@ -114,17 +148,32 @@ public class PluginModelManager implements IModelProviderListener {
 		}
 
 		/**
-		 * Queues more projects/containers.
+		 * Queues more projects and schedules the job.
 		 *
-		 * @param projects
-		 * @param containers
+		 * @param projects the projects to update with their models
 		 */
-		void add(IJavaProject[] projects, IClasspathContainer[] containers) {
-			synchronized (fProjects) {
-				for (int i = 0; i < containers.length; i++) {
-					fProjects.add(projects[i]);
-					fContainers.add(containers[i]);
+		void add(Map<IJavaProject, IPluginModelBase> projects) {
+			long delay;
+			synchronized (fPending) {
+				long now = System.currentTimeMillis();
+				if (fPending.isEmpty()) {
+					fFirstRequest = now;
 				}
+				fPending.putAll(projects);
+				delay = Math.max(0, Math.min(CLASSPATH_UPDATE_DELAY, fFirstRequest + CLASSPATH_UPDATE_MAX_DELAY - now));
+			}
+			// rescheduling a sleeping job postpones it
+			schedule(delay);
+		}
+
+		/**
+		 * Removes projects whose containers are updated synchronously.
+		 *
+		 * @param projects the projects
+		 */
+		void remove(Collection<IJavaProject> projects) {
+			synchronized (fPending) {
+				fPending.keySet().removeAll(projects);
 			}
 		}
 
@@ -135,6 +184,11 @@ public class PluginModelManager implements IModelProviderListener {
 	 */
 	private final UpdateClasspathsJob fUpdateJob = new UpdateClasspathsJob();
 
+	/**
+	 * Number of times the classpath containers of workspace plug-ins were set
+	 */
+	private final AtomicLong fClasspathUpdates = new AtomicLong();
+
 	/**
 	 * Subclass of ModelEntry
 	 * It adds methods that add/remove model from the entry.
@@ -203,6 +257,12 @@ public class PluginModelManager implements IModelProviderListener {
 	private ArrayList<IPluginModelListener> fListeners; // a list of listeners interested in changes to the plug-in models
 	private ArrayList<IStateDeltaListener> fStateListeners; // a list of listeners interested in changes to the PDE/resolver State
 	private boolean fCancelled = false;
+	/**
+	 * Whether workspace bundles replaced their target counterparts when the
+	 * models were last created, only access synchronized with
+	 * fEntriesSynchronizer
+	 */
+	private boolean fWorkspaceOverridesTarget;
 
 	/**
 	 * Initialize the workspace and external (target) model manager
@@ -320,86 +380,133 @@ public class PluginModelManager implements IModelProviderListener {
 	 * @param runAsynch whether classpath updates should be done in an asynchronous job
 	 */
 	private void updateAffectedEntries(StateDelta delta, boolean runAsynch) {
-		Map<IJavaProject, RequiredPluginsClasspathContainer> map = new HashMap<>();
+		Map<IJavaProject, IPluginModelBase> projects = getAffectedProjects(delta);
+		if (projects.isEmpty()) {
+			return;
+		}
+		// TODO Consider always running in a job - better reporting and cancellation options
+		if (runAsynch) {
+			// We may be in the UI thread, so the classpath is updated in a job to avoid blocking (bug 376135)
+			fUpdateJob.add(projects);
+		} else {
+			// else update synchronously
+			fUpdateJob.remove(projects.keySet());
+			try {
+				setClasspathContainers(projects, null);
+			} catch (JavaModelException e) {
+			}
+		}
+	}
+
+	/**
+	 * Returns the Java projects of the workspace plug-ins affected by the
+	 * given state delta with their models
+	 *
+	 * @param delta a state delta, may be <code>null</code> to indicate the
+	 *            entire target has changed
+	 * @return the affected projects with their models
+	 */
+	private Map<IJavaProject, IPluginModelBase> getAffectedProjects(StateDelta delta) {
+		Map<IJavaProject, IPluginModelBase> projects = new LinkedHashMap<>();
 		if (delta == null) {
 			// if the delta is null, then the entire target changed.
 			// Therefore, we should update the classpath for all workspace plug-ins.
-			IPluginModelBase[] models = getWorkspaceModels();
-			for (IPluginModelBase model : models) {
-				IProject project = model.getUnderlyingResource().getProject();
-				try {
-					if (project.hasNature(JavaCore.NATURE_ID)) {
-						map.put(JavaCore.create(project), new RequiredPluginsClasspathContainer(model));
-					}
-				} catch (CoreException e) {
-				}
+			for (IPluginModelBase model : getWorkspaceModels()) {
+				addJavaProject(projects, model);
 			}
-		} else {
-			BundleDelta[] deltas = delta.getChanges();
-			for (BundleDelta bundleDelta : deltas) {
-				try {
-					// update classpath for workspace plug-ins that are housed in a
-					// Java project hand have been affected by the processd model changes.
-					IPluginModelBase model = findModel(bundleDelta.getBundle());
-					IResource resource = model == null ? null : model.getUnderlyingResource();
-					if (resource != null) {
-						IProject project = resource.getProject();
-						if (project.hasNature(JavaCore.NATURE_ID)) {
-							IJavaProject jProject = JavaCore.create(project);
-							if (!map.containsKey(jProject)) {
-								map.put(jProject, new RequiredPluginsClasspathContainer(model));
-							}
-						}
-					}
-				} catch (CoreException e) {
-				}
+			return projects;
+		}
+		// update classpath for workspace plug-ins that are housed in a
+		// Java project and have been affected by the processed model changes.
+		// The resolver delta contains the bundles that depend on a changed bundle.
+		Set<String> changedNames = new HashSet<>();
+		for (BundleDelta bundleDelta : delta.getChanges()) {
+			BundleDescription bundle = bundleDelta.getBundle();
+			if (bundle.getSymbolicName() != null) {
+				changedNames.add(bundle.getSymbolicName());
 			}
-			// do secondary dependencies
-			IPluginModelBase[] models = getWorkspaceModels();
-			for (IPluginModelBase model : models) {
-				IProject project = model.getUnderlyingResource().getProject();
-				try {
-					if (!project.hasNature(JavaCore.NATURE_ID)) {
-						continue;
-					}
-					IJavaProject jProject = JavaCore.create(project);
-					if (map.containsKey(jProject)) {
-						continue;
-					}
-					IBuild build = ClasspathUtilCore.getBuild(model);
-					if (build != null && build.getEntry(IBuildEntry.SECONDARY_DEPENDENCIES) != null) {
-						map.put(jProject, new RequiredPluginsClasspathContainer(model, build));
-					}
-				} catch (CoreException e) {
-				}
+			addJavaProject(projects, findModel(bundle));
+		}
+		if (changedNames.isEmpty()) {
+			return projects;
+		}
+		// do secondary dependencies, which are not wired in the state
+		for (IPluginModelBase model : getWorkspaceModels()) {
+			IBuild build = ClasspathUtilCore.getBuild(model);
+			IBuildEntry entry = build == null ? null : build.getEntry(IBuildEntry.SECONDARY_DEPENDENCIES);
+			if (entry != null && dependsOnAny(entry.getTokens(), changedNames)) {
+				addJavaProject(projects, model);
 			}
 		}
+		return projects;
+	}
 
-		if (!map.isEmpty()) {
-			// update class path for all affected workspace plug-ins in one operation
-			Iterator<Entry<IJavaProject, RequiredPluginsClasspathContainer>> iterator = map.entrySet().iterator();
-			IJavaProject[] projects = new IJavaProject[map.size()];
-			IClasspathContainer[] containers = new IClasspathContainer[projects.length];
-			int index = 0;
-			while (iterator.hasNext()) {
-				Entry<IJavaProject, RequiredPluginsClasspathContainer> entry = iterator.next();
-				projects[index] = entry.getKey();
-				containers[index] = entry.getValue();
-				index++;
+	/**
+	 * Returns whether the given secondary dependencies or their requirements
+	 * include a bundle with one of the given symbolic names
+	 */
+	private boolean dependsOnAny(String[] secondaryDependencies, Set<String> names) {
+		List<BundleDescription> bundles = new ArrayList<>();
+		for (String dependency : secondaryDependencies) {
+			if (names.contains(dependency)) {
+				return true;
 			}
-			// TODO Consider always running in a job - better reporting and cancellation options
-			if (runAsynch) {
-				// We may be in the UI thread, so the classpath is updated in a job to avoid blocking (bug 376135)
-				fUpdateJob.add(projects, containers);
-				fUpdateJob.schedule();
-			} else {
-				// else update synchronously
-				try {
-					JavaCore.setClasspathContainer(PDECore.REQUIRED_PLUGINS_CONTAINER_PATH, projects, containers, null);
-				} catch (JavaModelException e) {
-				}
+			bundles.addAll(Arrays.asList(fState.getState().getBundles(dependency)));
+		}
+		for (BundleDescription bundle : DependencyManager.getRequirementsClosure(bundles).getBundles()) {
+			if (names.contains(bundle.getSymbolicName())) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private void addJavaProject(Map<IJavaProject, IPluginModelBase> projects, IPluginModelBase model) {
+		IResource resource = model == null ? null : model.getUnderlyingResource();
+		if (resource == null) {
+			return;
+		}
+		IProject project = resource.getProject();
+		try {
+			if (project.hasNature(JavaCore.NATURE_ID)) {
+				projects.putIfAbsent(JavaCore.create(project), model);
 			}
+		} catch (CoreException e) {
+		}
+	}
+
+	/**
+	 * Sets new required plug-ins classpath containers for the given projects
+	 * in one operation
+	 *
+	 * @param projects the projects with their models
+	 * @param monitor progress monitor, may be <code>null</code>
+	 * @throws JavaModelException if the containers cannot be set
+	 */
+	private void setClasspathContainers(Map<IJavaProject, IPluginModelBase> projects, IProgressMonitor monitor)
+			throws JavaModelException {
+		if (projects.isEmpty()) {
+			return;
+		}
+		IJavaProject[] javaProjects = new IJavaProject[projects.size()];
+		IClasspathContainer[] containers = new IClasspathContainer[javaProjects.length];
+		int index = 0;
+		for (Entry<IJavaProject, IPluginModelBase> entry : projects.entrySet()) {
+			javaProjects[index] = entry.getKey();
+			containers[index] = new RequiredPluginsClasspathContainer(entry.getValue());
+			index++;
 		}
+		fClasspathUpdates.incrementAndGet();
+		JavaCore.setClasspathContainer(PDECore.REQUIRED_PLUGINS_CONTAINER_PATH, javaProjects, containers, monitor);
+	}
+
+	/**
+	 * @return the number of times the required plug-ins classpath containers
+	 *         of workspace plug-ins were set, each time for one or more
+	 *         projects
+	 */
+	public long getClasspathUpdateCount() {
+		return fClasspathUpdates.get();
 	}
 
 	/**
@@ -533,13 +640,164 @@ public class PluginModelManager implements IModelProviderListener {
 	}
 
 	/**
-	 * Clears all existing models and recreates them
+	 * Updates the models after the target changed. All existing models are
+	 * cleared and recreated.
 	 */
 	public void targetReloaded(IProgressMonitor monitor) {
+		targetReloaded(monitor, false);
+	}
+
+	/**
+	 * Updates the models after the target changed. When an incremental reload
+	 * is requested, the models are initialized and few target bundles were
+	 * added, removed or changed, only those bundles are updated in the state
+	 * and a precise delta is fired. Otherwise all existing models are cleared
+	 * and recreated.
+	 *
+	 * @param monitor progress monitor
+	 * @param incremental whether only the changed target bundles may be
+	 *            updated, only when the content of the target changed
+	 */
+	public void targetReloaded(IProgressMonitor monitor, boolean incremental) {
 		synchronized (fEntriesSynchronizer) {
+			SubMonitor subMon = SubMonitor.convert(monitor, 2);
+			if (incremental && INCREMENTAL_RELOAD && fEntries != null && fState != null
+					&& reloadTargetIncrementally(subMon.split(1))) {
+				return;
+			}
 			fEntries = null;
-			initializeTable(monitor);
+			initializeTable(subMon.split(1));
+		}
+	}
+
+	/**
+	 * Applies the differences between the bundles of the current target and
+	 * the target models to the existing state. Has to be called synchronized
+	 * with fEntriesSynchronizer.
+	 *
+	 * @param monitor progress monitor
+	 * @return <code>true</code> if the target was reloaded or the reload was
+	 *         cancelled, <code>false</code> if the models have to be recreated
+	 */
+	private boolean reloadTargetIncrementally(IProgressMonitor monitor) {
+		SubMonitor subMon = SubMonitor.convert(monitor, PDECoreMessages.PluginModelManager_InitializingPluginModels, 100);
+		boolean preferWorkspaceBundle = PDECore.getDefault().getPreferencesManager()
+				.getBoolean(ICoreConstants.WORKSPACE_PLUGINS_OVERRIDE_TARGET);
+		if (preferWorkspaceBundle != fWorkspaceOverridesTarget) {
+			// the workspace bundles of every entry have to be added again
+			return false;
+		}
+		try {
+			ITargetDefinition unresolvedRepoBasedtarget = TargetPlatformHelper.getUnresolvedRepositoryBasedWorkspaceTarget();
+			if (unresolvedRepoBasedtarget != null && !P2TargetUtils.isProfileValid(unresolvedRepoBasedtarget)) {
+				return false;
+			}
+		} catch (CoreException e) {
+			return false;
+		}
+		long startTime = System.currentTimeMillis();
+		URI[] externalUris = getExternalBundles(subMon.split(60));
+		if (subMon.isCanceled()) {
+			// keep the current models, as when the initialization is cancelled
+			if (PDECore.DEBUG_MODEL) {
+				System.out.println("Target platform reload cancelled by user"); //$NON-NLS-1$
+			}
+			PDECore.log(Status.warning(PDECoreMessages.PluginModelManager_TargetInitCancelledLog));
+			fCancelled = true;
+			return true;
+		}
+
+		// diff the target bundles against the target models by location
+		IPluginModelBase[] targetModels = fExternalManager.getAllModels();
+		Map<String, IPluginModelBase> oldModels = new HashMap<>();
+		for (IPluginModelBase model : targetModels) {
+			BundleDescription desc = model.getBundleDescription();
+			if (desc != null) {
+				oldModels.put(desc.getLocation(), model);
+			}
+		}
+		List<File> added = new ArrayList<>();
+		List<IPluginModelBase> removed = new ArrayList<>();
+		for (URI uri : externalUris) {
+			IPath path = URIUtil.toPath(uri);
+			if (path == null) {
+				continue;
+			}
+			File file = path.toFile();
+			IPluginModelBase model = oldModels.remove(file.getAbsolutePath());
+			if (model == null) {
+				added.add(file);
+			} else if (!fState.isTargetBundleUpToDate(file)) {
+				removed.add(model);
+				added.add(file);
+			}
+		}
+		removed.addAll(oldModels.values());
+		if (targetModels.length == 0 || (added.size() + removed.size()) * 4 > targetModels.length) {
+			// recreating the state is cheaper
+			return false;
+		}
+		fCancelled = false;
+
+		PluginModelDelta delta = new PluginModelDelta();
+		for (IPluginModelBase model : removed) {
+			fState.removeTargetModel(model);
+			String id = model.getPluginBase().getId();
+			if (id != null) {
+				handleRemove(id, model, delta);
+			} else {
+				fState.removeBundleDescription(model.getBundleDescription());
+			}
+		}
+		Set<String> addedBSNs = new HashSet<>();
+		SubMonitor addMonitor = subMon.split(20).setWorkRemaining(added.size());
+		for (File file : added) {
+			addMonitor.split(1);
+			IPluginModelBase model;
+			try {
+				model = fState.addTargetBundle(file);
+			} catch (CoreException e) {
+				if (e.getStatus().getCode() != ManifestUtils.STATUS_CODE_NOT_A_BUNDLE_MANIFEST) {
+					PDECore.log(e);
+				}
+				continue;
+			}
+			String id = model == null ? null : model.getPluginBase().getId();
+			if (id == null) {
+				continue;
+			}
+			LocalModelEntry entry = fEntries.get(id);
+			boolean overridden = preferWorkspaceBundle && entry != null && entry.hasWorkspaceModels();
+			handleAdd(id, model, delta);
+			if (overridden) {
+				// the workspace bundle replaces its target counterparts in the state
+				fState.removeBundleDescription(model.getBundleDescription());
+			}
+			addedBSNs.add(id);
+		}
+		fExternalManager.setModels(fState.getTargetModels());
+		TargetStateSnapshot.getDefault().save();
+		saveExternalPluginList(externalUris);
+
+		StateDelta stateDelta;
+		if (addedBSNs.isEmpty()) {
+			stateDelta = fState.resolveState(true);
+		} else {
+			stateDelta = fState.resolveState(addedBSNs.toArray(new String[addedBSNs.size()]));
+		}
+		subMon.split(10);
+
+		// flush the extension registry cache since bundle descriptions have changed
+		PDECore.getDefault().getExtensionsRegistry().targetReloaded();
+		updateAffectedEntries(stateDelta, true);
+		fireStateDelta(stateDelta);
+		fireDelta(delta);
+		subMon.split(10);
+		if (PDECore.DEBUG_MODEL) {
+			System.out.println("Target reloaded incrementally, " + added.size() + " bundles added and " //$NON-NLS-1$ //$NON-NLS-2$
+					+ removed.size() + " removed in " + (System.currentTimeMillis() - startTime) + " ms"); //$NON-NLS-1$ //$NON-NLS-2$
 		}
+		return true;
 	}
 
 	/**
@@ -583,6 +841,8 @@ public class PluginModelManager implements IModelProviderListener {
 		// Cannot assign to fEntries here - will create a race condition with isInitialized()
 		Map<String, LocalModelEntry> entries = new TreeMap<>();
 		fCancelled = false;
+		fWorkspaceOverridesTarget = PDECore.getDefault().getPreferencesManager()
+				.getBoolean(ICoreConstants.WORKSPACE_PLUGINS_OVERRIDE_TARGET);
 
 		ITargetDefinition unresolvedRepoBasedtarget = null;
 		try {
@@ -1,5 +1,5 @@
 /*******************************************************************************
- *  Copyright (c) 2000, 2018 IBM Corporation and others.
+ *  Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  *  This program and the accompanying materials
  *  are made available under the terms of the Eclipse Public License 2.0
@@ -45,7 +45,6 @@ import org.eclipse.osgi.service.resolver.BundleSpecification;
 import org.eclipse.osgi.service.resolver.ExportPackageDescription;
 import org.eclipse.osgi.service.resolver.HostSpecification;
 import org.eclipse.osgi.service.resolver.ImportPackageSpecification;
-import org.eclipse.osgi.service.resolver.StateHelper;
 import org.eclipse.pde.core.IClasspathContributor;
 import org.eclipse.pde.core.build.IBuild;
 import org.eclipse.pde.core.build.IBuildEntry;
@@ -128,7 +127,7 @@ public class RequiredPluginsClasspathContainer extends PDEClasspathContainer imp
 				return new IClasspathEntry[0];
 			}
 
-			Map<BundleDescription, ArrayList<Rule>> map = retrieveVisiblePackagesFromState(desc);
+			Map<BundleDescription, List<Rule>> map = retrieveVisiblePackagesFromState(desc);
 
 			// Add any library entries contributed via classpath contributor extension (Bug 363733)
 			for (IClasspathContributor cc : getClasspathContributors()) {
@@ -219,47 +218,27 @@ public class RequiredPluginsClasspathContainer extends PDEClasspathContainer imp
 		return fClasspathContributors;
 	}
 
-	private Map<BundleDescription, ArrayList<Rule>> retrieveVisiblePackagesFromState(BundleDescription desc) {
-		Map<BundleDescription, ArrayList<Rule>> visiblePackages = new HashMap<>();
-		StateHelper helper = Platform.getPlatformAdmin().getStateHelper();
-		addVisiblePackagesFromState(helper, desc, visiblePackages);
-		if (desc.getHost() != null) {
-			addVisiblePackagesFromState(helper, (BundleDescription) desc.getHost().getSupplier(), visiblePackages);
+	private Map<BundleDescription, List<Rule>> retrieveVisiblePackagesFromState(BundleDescription desc) {
+		Map<BundleDescription, List<Rule>> visiblePackages = VisiblePackagesCache.getVisiblePackages(desc);
+		if (desc.getHost() != null && desc.getHost().getSupplier() instanceof BundleDescription) {
+			// add the packages visible to the host after the ones of the fragment
+			Map<BundleDescription, List<Rule>> merged = new HashMap<>(visiblePackages);
+			BundleDescription host = (BundleDescription) desc.getHost().getSupplier();
+			VisiblePackagesCache.getVisiblePackages(host).forEach((exporter, rules) -> merged.merge(exporter, rules, (fragmentRules, hostRules) -> {
+				List<Rule> list = new ArrayList<>(fragmentRules);
+				for (Rule rule : hostRules) {
+					if (!list.contains(rule)) {
+						list.add(rule);
+					}
+				}
+				return list;
+			}));
+			return merged;
 		}
 		return visiblePackages;
 	}
 
-	private void addVisiblePackagesFromState(StateHelper helper, BundleDescription desc, Map<BundleDescription, ArrayList<Rule>> visiblePackages) {
-		if (desc == null) {
-			return;
-		}
-		ExportPackageDescription[] exports = helper.getVisiblePackages(desc);
-		for (ExportPackageDescription export : exports) {
-			BundleDescription exporter = export.getExporter();
-			if (exporter == null) {
-				continue;
-			}
-			ArrayList<Rule> list = visiblePackages.get(exporter);
-			if (list == null) {
-				list = new ArrayList<>();
-				visiblePackages.put(exporter, list);
-			}
-			Rule rule = getRule(helper, desc, export);
-			if (!list.contains(rule)) {
-				list.add(rule);
-			}
-		}
-	}
-
-	private Rule getRule(StateHelper helper, BundleDescription desc, ExportPackageDescription export) {
-		Rule rule = new Rule();
-		rule.discouraged = helper.getAccessCode(desc, export) == StateHelper.ACCESS_DISCOURAGED;
-		String name = export.getName();
-		rule.path = (name.equals(".")) ? new Path("*") : new Path(name.replace('.', '/') + "/*"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
-		return rule;
-	}
-
-	protected void addDependencyViaImportPackage(BundleDescription desc, HashSet<BundleDescription> added, Map<BundleDescription, ArrayList<Rule>> map, ArrayList<IClasspathEntry> entries) throws CoreException {
+	protected void addDependencyViaImportPackage(BundleDescription desc, HashSet<BundleDescription> added, Map<BundleDescription, List<Rule>> map, ArrayList<IClasspathEntry> entries) throws CoreException {
 		if (desc == null || !added.add(desc)) {
 			return;
 		}
@@ -276,11 +255,11 @@ public class RequiredPluginsClasspathContainer extends PDEClasspathContainer imp
 		}
 	}
 
-	private void addDependency(BundleDescription desc, HashSet<BundleDescription> added, Map<BundleDescription, ArrayList<Rule>> map, ArrayList<IClasspathEntry> entries) throws CoreException {
+	private void addDependency(BundleDescription desc, HashSet<BundleDescription> added, Map<BundleDescription, List<Rule>> map, ArrayList<IClasspathEntry> entries) throws CoreException {
 		addDependency(desc, added, map, entries, true);
 	}
 
-	private void addDependency(BundleDescription desc, HashSet<BundleDescription> added, Map<BundleDescription, ArrayList<Rule>> map, ArrayList<IClasspathEntry> entries, boolean useInclusion) throws CoreException {
+	private void addDependency(BundleDescription desc, HashSet<BundleDescription> added, Map<BundleDescription, List<Rule>> map, ArrayList<IClasspathEntry> entries, boolean useInclusion) throws CoreException {
 		if (desc == null || !added.add(desc)) {
 			return;
 		}
@@ -323,7 +302,7 @@ public class RequiredPluginsClasspathContainer extends PDEClasspathContainer imp
 		}
 	}
 
-	private boolean addPlugin(BundleDescription desc, boolean useInclusions, Map<BundleDescription, ArrayList<Rule>> map, ArrayList<IClasspathEntry> entries) throws CoreException {
+	private boolean addPlugin(BundleDescription desc, boolean useInclusions, Map<BundleDescription, List<Rule>> map, ArrayList<IClasspathEntry> entries) throws CoreException {
 		IPluginModelBase model = PluginRegistry.findModel(desc);
 		if (model == null || !model.isEnabled()) {
 			return false;
@@ -354,7 +333,7 @@ public class RequiredPluginsClasspathContainer extends PDEClasspathContainer imp
 		return true;
 	}
 
-	private Rule[] getInclusions(Map<BundleDescription, ArrayList<Rule>> map, IPluginModelBase model) {
+	private Rule[] getInclusions(Map<BundleDescription, List<Rule>> map, IPluginModelBase model) {
 		BundleDescription desc = model.getBundleDescription();
 		if (desc == null || "false".equals(System.getProperty("pde.restriction")) //$NON-NLS-1$ //$NON-NLS-2$
 				|| !(fModel instanceof IBundlePluginModelBase) || TargetPlatformHelper.getTargetVersion() < 3.1) {
@@ -372,12 +351,12 @@ public class RequiredPluginsClasspathContainer extends PDEClasspathContainer imp
 		return (rules.length == 0 && !ClasspathUtilCore.hasBundleStructure(model)) ? null : rules;
 	}
 
-	private Rule[] getInclusions(Map<BundleDescription, ArrayList<Rule>> map, BundleDescription desc) {
+	private Rule[] getInclusions(Map<BundleDescription, List<Rule>> map, BundleDescription desc) {
 		List<Rule> list = map.get(desc);
 		return list != null ? list.toArray(new Rule[list.size()]) : new Rule[0];
 	}
 
-	private void addHostPlugin(HostSpecification hostSpec, HashSet<BundleDescription> added, Map<BundleDescription, ArrayList<Rule>> map, ArrayList<IClasspathEntry> entries) throws CoreException {
+	private void addHostPlugin(HostSpecification hostSpec, HashSet<BundleDescription> added, Map<BundleDescription, List<Rule>> map, ArrayList<IClasspathEntry> entries) throws CoreException {
 		BaseDescription desc = hostSpec.getSupplier();
 
 		if (desc instanceof BundleDescription) {
@@ -493,7 +472,7 @@ public class RequiredPluginsClasspathContainer extends PDEClasspathContainer imp
 			}
 
 			// add dependency with exclude all rule
-			Map<BundleDescription, ArrayList<Rule>> rules = singletonMap(desc, new ArrayList<>());
+			Map<BundleDescription, List<Rule>> rules = singletonMap(desc, List.of());
 			addPlugin(desc, true, rules, entries);
 		}
 
@@ -516,7 +495,7 @@ public class RequiredPluginsClasspathContainer extends PDEClasspathContainer imp
 						if (added.contains(bundleDesc)) {
 							continue;
 						}
-						Map<BundleDescription, ArrayList<Rule>> rules = new HashMap<>();
+						Map<BundleDescription, List<Rule>> rules = new HashMap<>();
 						findExportedPackages(bundleDesc, desc, rules);
 						addDependency(bundleDesc, added, rules, entries, true);
 					}
@@ -527,14 +506,14 @@ public class RequiredPluginsClasspathContainer extends PDEClasspathContainer imp
 		}
 	}
 
-	protected final void findExportedPackages(BundleDescription desc, BundleDescription projectDesc, Map<BundleDescription, ArrayList<Rule>> map) {
+	protected final void findExportedPackages(BundleDescription desc, BundleDescription projectDesc, Map<BundleDescription, List<Rule>> map) {
 		if (desc != null) {
 			ArrayDeque<BaseDescription> stack = new ArrayDeque<>();
 			stack.add(desc);
 			while (!stack.isEmpty()) {
 				BundleDescription bdesc = (BundleDescription) stack.pop();
 				ExportPackageDescription[] expkgs = bdesc.getExportPackages();
-				ArrayList<Rule> rules = new ArrayList<>();
+				List<Rule> rules = new ArrayList<>();
 				for (ExportPackageDescription expkg : expkgs) {
 					Rule rule = new Rule();
 					rule.discouraged = restrictPackage(projectDesc, expkg);
@@ -0,0 +1,380 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse contributors and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Eclipse contributors - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.pde.internal.core;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.jar.JarFile;
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.osgi.util.NLS;
+import org.eclipse.pde.internal.core.util.ManifestCache;
+import org.eclipse.pde.internal.core.util.ManifestUtils;
+import org.eclipse.pde.internal.core.util.UtilMessages;
+
+/**
+ * Snapshot of the manifests of the target bundles, saved in the PDE state
+ * location so that a {@link PDEState} can be created on the next start without
+ * reading the manifest of every target bundle again.
+ * <p>
+ * The snapshot records the headers of each bundle manifest, which the
+ * bundle descriptions of the state and the {@link PDEAuxiliaryState} data are
+ * both created from, or that the location is not a bundle. An entry is only
+ * used while the path, size and modification time of the bundle archive, or of
+ * the manifest file of a bundle directory, are the ones recorded; otherwise
+ * the manifest is parsed again.
+ * </p>
+ * <p>
+ * The entries are only kept in memory until they are saved, the saved entries
+ * are read from the file again on the next lookup. Saving merges the bundles
+ * looked up since the last save into the saved ones, the bundles whose
+ * location no longer exists are dropped.
+ * </p>
+ * <p>
+ * This class is thread safe.
+ * </p>
+ */
+public class TargetStateSnapshot {
+
+	private static final String SNAPSHOT_FILE = "targetState.snapshot"; //$NON-NLS-1$
+
+	/**
+	 * Magic number of snapshot files: <code>PDES</code>
+	 */
+	private static final int MAGIC = 0x50444553;
+
+	private static final int VERSION = 1;
+
+	private static TargetStateSnapshot fDefault;
+
+	/**
+	 * A bundle location with its stamp and its manifest headers, the headers
+	 * are <code>null</code> if the location is not a bundle
+	 */
+	private static final class Entry {
+		final long length;
+		final long lastModified;
+		final Map<String, String> manifest;
+
+		Entry(long length, long lastModified, Map<String, String> manifest) {
+			this.length = length;
+			this.lastModified = lastModified;
+			this.manifest = manifest;
+		}
+
+		boolean matches(File stampFile) {
+			return stampFile.lastModified() == lastModified && stampFile.length() == length;
+		}
+	}
+
+	private final File fFile;
+
+	/**
+	 * Entries read from the snapshot file, <code>null</code> if not read yet or
+	 * released after a save
+	 */
+	private volatile Map<String, Entry> fSaved;
+
+	/**
+	 * Entries of the bundles looked up since the snapshot was last saved
+	 */
+	private final Map<String, Entry> fUsed = new ConcurrentHashMap<>();
+
+	private final AtomicInteger fHits = new AtomicInteger();
+	private final AtomicInteger fMisses = new AtomicInteger();
+	private volatile boolean fDirty;
+
+	private TargetStateSnapshot(File file) {
+		fFile = file;
+	}
+
+	/**
+	 * Returns the snapshot saved in the PDE state location, reading it the
+	 * first time
+	 *
+	 * @return the snapshot
+	 */
+	public static synchronized TargetStateSnapshot getDefault() {
+		if (fDefault == null) {
+			fDefault = new TargetStateSnapshot(new File(PDECore.getDefault().getStateLocation().toFile(), SNAPSHOT_FILE));
+		}
+		return fDefault;
+	}
+
+	/**
+	 * Forgets the snapshot in memory, the next {@link #getDefault()} reads it
+	 * from disk again
+	 */
+	public static synchronized void reset() {
+		fDefault = null;
+	}
+
+	/**
+	 * Discards the snapshot, in memory and on disk. The next {@link PDEState}
+	 * reads the manifests of all target bundles.
+	 */
+	public static synchronized void discard() {
+		fDefault = null;
+		new File(PDECore.getDefault().getStateLocation().toFile(), SNAPSHOT_FILE).delete();
+	}
+
+	/**
+	 * Returns the entries read from the snapshot file, reading them if they
+	 * are not in memory
+	 */
+	private Map<String, Entry> getSaved() {
+		Map<String, Entry> saved = fSaved;
+		if (saved == null) {
+			synchronized (this) {
+				saved = fSaved;
+				if (saved == null) {
+					saved = read(fFile);
+					fSaved = saved;
+				}
+			}
+		}
+		return saved;
+	}
+
+	/**
+	 * Returns the file whose size and modification time are recorded for the
+	 * given bundle location
+	 */
+	private static File getStampFile(File bundleLocation) {
+		return bundleLocation.isFile() ? bundleLocation : new File(bundleLocation, JarFile.MANIFEST_NAME);
+	}
+
+	/**
+	 * Returns the manifest headers of the bundle at the given location, from
+	 * the snapshot if its entry is up to date or by parsing the manifest
+	 * otherwise. The returned map can be modified by the caller, its keys are
+	 * case insensitive like the ones of {@link ManifestUtils#loadManifest(File)}.
+	 *
+	 * @param bundleLocation the bundle archive or directory
+	 * @return the manifest headers
+	 * @throws CoreException if the manifest cannot be read, with the
+	 *             {@link ManifestUtils#STATUS_CODE_NOT_A_BUNDLE_MANIFEST}
+	 *             code if the location is not a bundle
+	 * @see ManifestUtils#loadManifest(File)
+	 */
+	public Map<String, String> loadManifest(File bundleLocation) throws CoreException {
+		String path = bundleLocation.getAbsolutePath();
+		File stampFile = getStampFile(bundleLocation);
+		Entry entry = fUsed.get(path);
+		if (entry == null) {
+			entry = getSaved().get(path);
+		}
+		if (entry != null && entry.matches(stampFile)) {
+			fHits.incrementAndGet();
+			fUsed.put(path, entry);
+			if (entry.manifest == null) {
+				throw new CoreException(new Status(IStatus.ERROR, PDECore.PLUGIN_ID, ManifestUtils.STATUS_CODE_NOT_A_BUNDLE_MANIFEST, NLS.bind(UtilMessages.ErrorReadingManifest, path), null));
+			}
+			Map<String, String> manifest = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+			manifest.putAll(entry.manifest);
+			return manifest;
+		}
+		fMisses.incrementAndGet();
+		// stamp before parsing so that a concurrent change is detected next time
+		long length = stampFile.length();
+		long lastModified = stampFile.lastModified();
+		try {
+			Map<String, String> manifest = ManifestUtils.loadManifest(bundleLocation);
+			fUsed.put(path, new Entry(length, lastModified, new HashMap<>(manifest)));
+			fDirty = true;
+			return manifest;
+		} catch (CoreException e) {
+			if (e.getStatus().getCode() == ManifestUtils.STATUS_CODE_NOT_A_BUNDLE_MANIFEST) {
+				fUsed.put(path, new Entry(length, lastModified, null));
+				fDirty = true;
+			} else {
+				fUsed.remove(path);
+			}
+			throw e;
+		}
+	}
+
+	/**
+	 * Returns a stamp of the size and modification time of the bundle archive,
+	 * or of the manifest file of a bundle directory, at the given location
+	 *
+	 * @param bundleLocation the bundle archive or directory
+	 * @return the stamp
+	 */
+	public static long getStamp(File bundleLocation) {
+		File stampFile = getStampFile(bundleLocation);
+		return stampFile.lastModified() * 31 + stampFile.length();
+	}
+
+	/**
+	 * @return the number of manifests taken from the snapshot
+	 */
+	public int getHitCount() {
+		return fHits.get();
+	}
+
+	/**
+	 * @return the number of manifests that had to be parsed
+	 */
+	public int getMissCount() {
+		return fMisses.get();
+	}
+
+	/**
+	 * Saves the entries of the bundles looked up since the last save if any of
+	 * them changed, and releases the entries from memory
+	 */
+	public synchronized void save() {
+		try {
+			if (fDirty) {
+				fDirty = false;
+				Map<String, Entry> entries = new HashMap<>();
+				for (Map.Entry<String, Entry> saved : getSaved().entrySet()) {
+					if (new File(saved.getKey()).exists()) {
+						entries.put(saved.getKey(), saved.getValue());
+					}
+				}
+				entries.putAll(fUsed);
+				write(entries);
+			}
+		} finally {
+			fSaved = null;
+			fUsed.clear();
+		}
+	}
+
+	private void write(Map<String, Entry> entries) {
+		File temp = new File(fFile.getParentFile(), fFile.getName() + ".tmp"); //$NON-NLS-1$
+		try {
+			try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(temp)))) {
+				out.writeInt(MAGIC);
+				out.writeInt(VERSION);
+				out.writeInt(entries.size());
+				Map<String, Integer> strings = new HashMap<>();
+				for (Map.Entry<String, Entry> entry : entries.entrySet()) {
+					Entry value = entry.getValue();
+					writeString(out, entry.getKey(), strings);
+					out.writeLong(value.length);
+					out.writeLong(value.lastModified);
+					if (value.manifest == null) {
+						out.writeInt(-1);
+						continue;
+					}
+					out.writeInt(value.manifest.size());
+					for (Map.Entry<String, String> header : value.manifest.entrySet()) {
+						writeString(out, header.getKey(), strings);
+						writeString(out, header.getValue(), strings);
+					}
+				}
+			}
+			Files.move(temp.toPath(), fFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
+		} catch (IOException e) {
+			PDECore.log(e);
+			temp.delete();
+		}
+	}
+
+	private static Map<String, Entry> read(File file) {
+		Map<String, Entry> entries = new HashMap<>();
+		if (!file.isFile()) {
+			return entries;
+		}
+		try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(file)))) {
+			if (in.readInt() != MAGIC || in.readInt() != VERSION) {
+				return entries;
+			}
+			int count = in.readInt();
+			List<String> strings = new ArrayList<>();
+			for (int i = 0; i < count; i++) {
+				String path = readString(in, strings);
+				long length = in.readLong();
+				long lastModified = in.readLong();
+				int headers = in.readInt();
+				Map<String, String> manifest = null;
+				if (headers >= 0) {
+					manifest = new HashMap<>(headers * 4 / 3 + 1);
+					for (int j = 0; j < headers; j++) {
+						manifest.put(readString(in, strings), readString(in, strings));
+					}
+				}
+				entries.put(path, new Entry(length, lastModified, manifest));
+			}
+		} catch (IOException e) {
+			// a damaged snapshot is ignored, the manifests are parsed again
+			entries.clear();
+		}
+		return entries;
+	}
+
+	/**
+	 * Writes a string, or the index of the string if it was already written
+	 */
+	private static void writeString(DataOutputStream out, String value, Map<String, Integer> strings) throws IOException {
+		if (value == null) {
+			out.writeInt(-2);
+			return;
+		}
+		Integer index = strings.get(value);
+		if (index != null) {
+			out.writeInt(index.intValue());
+			return;
+		}
+		strings.put(value, Integer.valueOf(strings.size()));
+		byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+		out.writeInt(-1);
+		out.writeInt(bytes.length);
+		out.write(bytes);
+	}
+
+	private static String readString(DataInputStream in, List<String> strings) throws IOException {
+		int index = in.readInt();
+		if (index == -2) {
+			return null;
+		}
+		if (index >= 0) {
+			if (index >= strings.size()) {
+				throw new IOException("Invalid string index: " + index); //$NON-NLS-1$
+			}
+			return strings.get(index);
+		}
+		byte[] bytes = new byte[in.readInt()];
+		in.readFully(bytes);
+		// share the strings with the parsed manifests
+		String value = ManifestCache.getDefault().intern(new String(bytes, StandardCharsets.UTF_8));
+		strings.add(value);
+		return value;
+	}
+
+	@Override
+	public String toString() {
+		return "TargetStateSnapshot[hits: " + getHitCount() + ", misses: " + getMissCount() + "]"; //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+	}
+}
@@ -0,0 +1,189 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse contributors and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Eclipse contributors - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.pde.internal.core;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.eclipse.core.runtime.Path;
+import org.eclipse.core.runtime.Platform;
+import org.eclipse.osgi.service.resolver.BundleDelta;
+import org.eclipse.osgi.service.resolver.BundleDescription;
+import org.eclipse.osgi.service.resolver.ExportPackageDescription;
+import org.eclipse.osgi.service.resolver.HostSpecification;
+import org.eclipse.osgi.service.resolver.State;
+import org.eclipse.osgi.service.resolver.StateDelta;
+import org.eclipse.osgi.service.resolver.StateHelper;
+import org.eclipse.pde.internal.core.PDEClasspathContainer.Rule;
+
+/**
+ * Cache of the packages visible to the bundles of a state, as access rules
+ * by exporting bundle, shared by all required plug-ins classpath containers.
+ * <p>
+ * The rules of a bundle are computed once per state and reused until the
+ * bundle, or one of the bundles exporting packages to it, appears in a state
+ * delta. Equal rule lists are interned, so that bundles importing the same
+ * packages of an exporter share one list.
+ * </p>
+ */
+final class VisiblePackagesCache implements IStateDeltaListener {
+
+	private static final VisiblePackagesCache INSTANCE = new VisiblePackagesCache();
+
+	/**
+	 * Maximum number of interned rule lists before the interned lists are
+	 * forgotten
+	 */
+	private static final int MAX_INTERNED = 10000;
+
+	/**
+	 * Visible packages by importing bundle, guarded by this
+	 */
+	private final Map<BundleDescription, Map<BundleDescription, List<Rule>>> fVisiblePackages = new HashMap<>();
+	/**
+	 * Interned rule lists, guarded by this
+	 */
+	private final Map<List<Rule>, List<Rule>> fInterned = new HashMap<>();
+	private State fState;
+	/**
+	 * Incremented on every invalidation so that rules computed concurrently
+	 * with a state change are not cached
+	 */
+	private long fGeneration;
+	private final AtomicBoolean fConnected = new AtomicBoolean();
+
+	private VisiblePackagesCache() {
+	}
+
+	/**
+	 * Returns the packages visible to the given bundle as access rules by
+	 * exporting bundle. The returned map and lists must not be modified.
+	 *
+	 * @param importer the bundle
+	 * @return the unmodifiable access rules by exporting bundle
+	 */
+	static Map<BundleDescription, List<Rule>> getVisiblePackages(BundleDescription importer) {
+		return INSTANCE.get(importer);
+	}
+
+	private Map<BundleDescription, List<Rule>> get(BundleDescription importer) {
+		connect();
+		State state = importer.getContainingState();
+		long generation;
+		synchronized (this) {
+			if (state != fState) {
+				clear();
+				fState = state;
+			}
+			Map<BundleDescription, List<Rule>> visiblePackages = fVisiblePackages.get(importer);
+			if (visiblePackages != null) {
+				return visiblePackages;
+			}
+			generation = fGeneration;
+		}
+		Map<BundleDescription, List<Rule>> visiblePackages = compute(importer);
+		synchronized (this) {
+			if (fInterned.size() > MAX_INTERNED) {
+				fInterned.clear();
+			}
+			visiblePackages.replaceAll((exporter, rules) -> fInterned.computeIfAbsent(rules, Collections::unmodifiableList));
+			visiblePackages = Collections.unmodifiableMap(visiblePackages);
+			if (state != null && state == fState && generation == fGeneration) {
+				fVisiblePackages.put(importer, visiblePackages);
+			}
+		}
+		return visiblePackages;
+	}
+
+	private static Map<BundleDescription, List<Rule>> compute(BundleDescription importer) {
+		Map<BundleDescription, List<Rule>> visiblePackages = new HashMap<>();
+		StateHelper helper = Platform.getPlatformAdmin().getStateHelper();
+		ExportPackageDescription[] exports = helper.getVisiblePackages(importer);
+		for (ExportPackageDescription export : exports) {
+			BundleDescription exporter = export.getExporter();
+			if (exporter == null) {
+				continue;
+			}
+			List<Rule> list = visiblePackages.computeIfAbsent(exporter, e -> new ArrayList<>());
+			Rule rule = getRule(helper, importer, export);
+			if (!list.contains(rule)) {
+				list.add(rule);
+			}
+		}
+		return visiblePackages;
+	}
+
+	private static Rule getRule(StateHelper helper, BundleDescription desc, ExportPackageDescription export) {
+		Rule rule = new Rule();
+		rule.discouraged = helper.getAccessCode(desc, export) == StateHelper.ACCESS_DISCOURAGED;
+		String name = export.getName();
+		rule.path = (name.equals(".")) ? new Path("*") : new Path(name.replace('.', '/') + "/*"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+		return rule;
+	}
+
+	private void connect() {
+		PDECore core = PDECore.getDefault();
+		if (core != null && fConnected.compareAndSet(false, true)) {
+			core.getModelManager().addStateDeltaListener(this);
+		}
+	}
+
+	private void clear() {
+		fVisiblePackages.clear();
+		fInterned.clear();
+		fGeneration++;
+	}
+
+	@Override
+	public synchronized void stateResolved(StateDelta delta) {
+		if (delta == null) {
+			clear();
+			return;
+		}
+		fGeneration++;
+		Set<BundleDescription> affected = new HashSet<>();
+		for (BundleDelta bundleDelta : delta.getChanges()) {
+			BundleDescription bundle = bundleDelta.getBundle();
+			affected.add(bundle);
+			HostSpecification host = bundle.getHost();
+			if (host != null) {
+				// fragments contribute packages to their hosts
+				Collections.addAll(affected, host.getHosts());
+				if (delta.getState() != null) {
+					Collections.addAll(affected, delta.getState().getBundles(host.getName()));
+				}
+			}
+		}
+		for (Iterator<Map.Entry<BundleDescription, Map<BundleDescription, List<Rule>>>> iterator = fVisiblePackages
+				.entrySet().iterator(); iterator.hasNext();) {
+			Map.Entry<BundleDescription, Map<BundleDescription, List<Rule>>> entry = iterator.next();
+			if (affected.contains(entry.getKey()) || !Collections.disjoint(affected, entry.getValue().keySet())) {
+				iterator.remove();
+			}
+		}
+	}
+
+	@Override
+	public synchronized void stateChanged(State newState) {
+		clear();
+		fState = null;
+	}
+
+}
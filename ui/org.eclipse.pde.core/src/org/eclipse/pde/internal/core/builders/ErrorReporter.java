@@ -1,5 +1,5 @@
 /*******************************************************************************
- *  Copyright (c) 2005, 2020 IBM Corporation and others.
+ *  Copyright (c) 2005, 2026 IBM Corporation and others.
  *
  *  This program and the accompanying materials
  *  are made available under the terms of the Eclipse Public License 2.0
@@ -115,5 +115,19 @@ public abstract class ErrorReporter {
 		fErrorReporter.applyMarkers();
 	}
 
+	/**
+	 * Validates the content without updating the markers of the file. Unlike
+	 * {@link #validateContent(IProgressMonitor)} this does not modify the
+	 * workspace and can run outside of the build thread.
+	 *
+	 * @param monitor progress monitor
+	 * @return the reported problems, whose markers are to be applied by the
+	 *         build
+	 */
+	IncrementalErrorReporter analyzeContent(IProgressMonitor monitor) {
+		validate(monitor);
+		return fErrorReporter;
+	}
+
 	protected abstract void validate(IProgressMonitor monitor);
 }
@@ -1,5 +1,5 @@
 /*******************************************************************************
- *  Copyright (c) 2018 Julian Honnen
+ *  Copyright (c) 2018, 2026 Julian Honnen
  *
  *  This program and the accompanying materials
  *  are made available under the terms of the Eclipse Public License 2.0
@@ -14,12 +14,16 @@
 package org.eclipse.pde.internal.core.builders;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.HashMap;
-import java.util.Iterator;
+import java.util.LinkedList;
+import java.util.List;
 import java.util.Map;
 import org.eclipse.core.resources.IMarker;
 import org.eclipse.core.resources.IResource;
+import org.eclipse.core.resources.IWorkspace;
+import org.eclipse.core.resources.IWorkspaceRunnable;
 import org.eclipse.core.runtime.CoreException;
 import org.eclipse.pde.internal.core.PDECore;
 
@@ -55,69 +59,117 @@ public class IncrementalErrorReporter {
 		return marker;
 	}
 
+	/**
+	 * Updates the PDE markers of the resource to the reported problems.
+	 * Existing markers are matched to the reported markers by problem id, line
+	 * and message; only the markers that are not reported anymore are
+	 * deleted, only the attributes of matched markers that differ are updated
+	 * and only the reported markers without an existing one are created. The
+	 * changes are applied in one workspace operation, nothing is changed if
+	 * the markers are up to date.
+	 */
 	public void applyMarkers() {
 		IMarker[] existingMarkers;
+		IMarker[] legacyMarkers;
 		try {
 			// This seem to be for compatibility with some legacy code,
 			// PDE builders don't create markers with this type anymore
-			fResource.deleteMarkers(IMarker.PROBLEM, false, IResource.DEPTH_ZERO);
+			legacyMarkers = fResource.findMarkers(IMarker.PROBLEM, false, IResource.DEPTH_ZERO);
 			existingMarkers = fResource.findMarkers(PDEMarkerFactory.MARKER_ID, false, IResource.DEPTH_ZERO);
 		} catch (CoreException e) {
 			PDECore.logException(e);
 			// If we can't read existing, let delete them before we create new
+			legacyMarkers = new IMarker[0];
 			existingMarkers = new IMarker[0];
 			try {
+				fResource.deleteMarkers(IMarker.PROBLEM, false, IResource.DEPTH_ZERO);
 				fResource.deleteMarkers(PDEMarkerFactory.MARKER_ID, false, IResource.DEPTH_ZERO);
 			} catch (CoreException e1) {
 				PDECore.logException(e1);
 			}
 		}
 
+		Map<List<Object>, List<VirtualMarker>> reportedByKey = new HashMap<>();
+		for (VirtualMarker reportedMarker : fReportedMarkers) {
+			reportedByKey.computeIfAbsent(getKey(reportedMarker.getAttributes()), k -> new LinkedList<>())
+					.add(reportedMarker);
+		}
+
+		List<IMarker> resolvedMarkers = new ArrayList<>(Arrays.asList(legacyMarkers));
+		Map<IMarker, Map<String, Object>> changedMarkers = new HashMap<>();
 		// iterate over existing markers to check which are resolved now
 		for (IMarker marker : existingMarkers) {
-			boolean resolved = true;
-			Map<String, Object> existingAttributes = null;
-
-			// Iterate over new markers to filter out all we already know
-			for (Iterator<VirtualMarker> it = fReportedMarkers.iterator(); it.hasNext();) {
-				VirtualMarker reportedMarker = it.next();
-				if (existingAttributes == null) {
-					try {
-						existingAttributes = marker.getAttributes();
-					} catch (Exception e) {
-						PDECore.logException(e);
-						// assume the marker is not accessible, can be deleted
-						break;
-					}
-				}
-				// Same marker is found, no need to create again
-				if (reportedMarker.getAttributes().equals(existingAttributes)) {
-					resolved = false;
-					it.remove();
-					break;
-				}
+			Map<String, Object> existingAttributes;
+			try {
+				existingAttributes = marker.getAttributes();
+			} catch (Exception e) {
+				PDECore.logException(e);
+				// assume the marker is not accessible, can be deleted
+				resolvedMarkers.add(marker);
+				continue;
+			}
+			List<VirtualMarker> candidates = reportedByKey.get(getKey(existingAttributes));
+			if (candidates == null || candidates.isEmpty()) {
+				// The marker was not reported again, the old one can be deleted
+				resolvedMarkers.add(marker);
+				continue;
+			}
+			// Same marker is found, no need to create again
+			VirtualMarker reportedMarker = candidates.stream()
+					.filter(m -> m.getAttributes().equals(existingAttributes)).findFirst().orElse(candidates.get(0));
+			candidates.remove(reportedMarker);
+			if (!reportedMarker.getAttributes().equals(existingAttributes)) {
+				changedMarkers.put(marker, reportedMarker.getAttributes());
 			}
+		}
+
+		// Create only new markers
+		List<VirtualMarker> newMarkers = new ArrayList<>();
+		reportedByKey.values().forEach(newMarkers::addAll);
+		if (resolvedMarkers.isEmpty() && changedMarkers.isEmpty() && newMarkers.isEmpty()) {
+			return;
+		}
 
-			// The marker was not reported again, the old one can be deleted
-			if (resolved) {
+		IWorkspaceRunnable runnable = monitor -> {
+			for (IMarker marker : resolvedMarkers) {
 				try {
 					marker.delete();
 				} catch (CoreException e) {
 					PDECore.logException(e);
 				}
 			}
-		}
-
-		// Create only new markers
-		for (VirtualMarker reportedMarker : fReportedMarkers) {
-			try {
-				fResource.createMarker(PDEMarkerFactory.MARKER_ID, reportedMarker.getAttributes());
-			} catch (CoreException e) {
-				PDECore.logException(e);
+			for (Map.Entry<IMarker, Map<String, Object>> entry : changedMarkers.entrySet()) {
+				try {
+					entry.getKey().setAttributes(entry.getValue());
+				} catch (CoreException e) {
+					PDECore.logException(e);
+				}
+			}
+			for (VirtualMarker reportedMarker : newMarkers) {
+				try {
+					fResource.createMarker(PDEMarkerFactory.MARKER_ID, reportedMarker.getAttributes());
+				} catch (CoreException e) {
+					PDECore.logException(e);
+				}
 			}
+		};
+		IWorkspace workspace = fResource.getWorkspace();
+		try {
+			workspace.run(runnable, workspace.getRuleFactory().markerRule(fResource), IWorkspace.AVOID_UPDATE, null);
+		} catch (CoreException e) {
+			PDECore.logException(e);
 		}
 	}
 
+	/**
+	 * Returns the key that existing and reported markers are matched by: the
+	 * problem id, the line and the message
+	 */
+	private static List<Object> getKey(Map<String, Object> attributes) {
+		return Arrays.asList(attributes.get(PDEMarkerFactory.PROBLEM_ID), attributes.get(IMarker.LINE_NUMBER),
+				attributes.get(IMarker.MESSAGE));
+	}
+
 	public int getErrorCount() {
 		return fErrorCount;
 	}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2019 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -18,9 +18,14 @@ package org.eclipse.pde.internal.core.builders;
 
 import java.io.File;
 import java.io.FilenameFilter;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
 import org.eclipse.core.resources.IFile;
 import org.eclipse.core.resources.IFolder;
 import org.eclipse.core.resources.IMarker;
@@ -32,6 +37,7 @@ import org.eclipse.core.resources.IncrementalProjectBuilder;
 import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.IPath;
 import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.OperationCanceledException;
 import org.eclipse.core.runtime.Path;
 import org.eclipse.core.runtime.SubMonitor;
 import org.eclipse.core.runtime.jobs.ISchedulingRule;
@@ -42,14 +48,16 @@ import org.eclipse.pde.internal.core.PDECore;
 import org.eclipse.pde.internal.core.PDECoreMessages;
 import org.eclipse.pde.internal.core.WorkspaceModelManager;
 import org.eclipse.pde.internal.core.project.PDEProject;
+import org.eclipse.pde.internal.core.util.CancellationMonitor;
+import org.eclipse.pde.internal.core.util.WorkerPool;
 import org.osgi.framework.Bundle;
 
 public class ManifestConsistencyChecker extends IncrementalProjectBuilder {
 
-	private final int MANIFEST = 0x1;
-	private final int EXTENSIONS = 0x2;
-	private final int BUILD = 0x4;
-	private final int STRUCTURE = 0x8;
+	private static final int MANIFEST = 0x1;
+	private static final int EXTENSIONS = 0x2;
+	private static final int BUILD = 0x4;
+	private static final int STRUCTURE = 0x8;
 	static final IPath SETTINGS_PATH = new Path(".settings"); //$NON-NLS-1$
 
 	private static IProject[] EMPTY_LIST = new IProject[0];
@@ -245,43 +253,131 @@ public class ManifestConsistencyChecker extends IncrementalProjectBuilder {
 	}
 
 	private void validateProject(int type, IProgressMonitor monitor) {
-		SubMonitor subMonitor = SubMonitor.convert(monitor, PDECoreMessages.ManifestConsistencyChecker_builderTaskName, getWorkAmount(type));
+		ProjectValidation validation = new ProjectValidation(getProject(), type, monitor);
+		SubMonitor subMonitor = SubMonitor.convert(monitor, PDECoreMessages.ManifestConsistencyChecker_builderTaskName, validation.getWorkAmount() + 1);
 		if ((type & STRUCTURE) != 0) {
 			validateProjectStructure(type, subMonitor.split(1));
 		}
+		validation.apply(subMonitor);
+	}
 
-		if ((type & (MANIFEST | EXTENSIONS)) != 0) {
-			IProject project = getProject();
-			IFile file = PDEProject.getPluginXml(project);
-			if (!file.exists()) {
-				file = PDEProject.getFragmentXml(project);
+	/**
+	 * The validation of the plug-in files of a project. The files are analyzed
+	 * concurrently on the {@link WorkerPool}, outside of the build thread;
+	 * only the markers are applied in the build.
+	 * <p>
+	 * Only the files of the project being built are analyzed concurrently; the
+	 * projects are still validated one after the other, in the build order.
+	 * The files and models of a project may still change through the build of
+	 * the projects before it, so analyzing them before the build of their
+	 * project starts could report problems of stale content.
+	 * </p>
+	 */
+	static final class ProjectValidation {
+
+		private final List<Callable<IncrementalErrorReporter>> fAnalyses = new ArrayList<>();
+		private final List<String> fSubTasks = new ArrayList<>();
+		private final List<ForkJoinTask<IncrementalErrorReporter>> fTasks = new ArrayList<>();
+
+		/**
+		 * Creates the validation of the given files of the project and starts
+		 * analyzing them
+		 *
+		 * @param monitor the monitor of the build, whose cancellation cancels
+		 *            the analysis
+		 */
+		ProjectValidation(IProject project, int type, IProgressMonitor monitor) {
+			IProgressMonitor workerMonitor = new CancellationMonitor(monitor);
+			if ((type & (MANIFEST | EXTENSIONS)) != 0) {
+				IFile file = PDEProject.getPluginXml(project);
+				if (!file.exists()) {
+					file = PDEProject.getFragmentXml(project);
+				}
+				IFile bundleManifest = PDEProject.getManifest(project);
+				if (file.exists()) {
+					IFile xmlFile = file;
+					if (bundleManifest.exists()) {
+						if ((type & EXTENSIONS) != 0) {
+							add(xmlFile, () -> analyzeXml(new ExtensionsErrorReporter(xmlFile), workerMonitor));
+						}
+						if ((type & MANIFEST) != 0) {
+							add(bundleManifest, () -> new BundleErrorReporter(bundleManifest).analyzeContent(workerMonitor));
+						}
+					} else if (file.equals(PDEProject.getPluginXml(project))) {
+						add(xmlFile, () -> analyzeXml(new PluginErrorReporter(xmlFile), workerMonitor));
+					} else {
+						add(xmlFile, () -> analyzeXml(new FragmentErrorReporter(xmlFile), workerMonitor));
+					}
+				} else if ((type & MANIFEST) != 0 && bundleManifest.exists()) {
+					add(bundleManifest, () -> new BundleErrorReporter(bundleManifest).analyzeContent(workerMonitor));
+				}
 			}
-
-			if (file.exists()) {
-				validateFiles(file, type, monitor);
-			} else if ((type & MANIFEST) != 0) {
-				IFile manifestFile = PDEProject.getManifest(project);
-				if (manifestFile.exists()) {
-					validateManifestFile(manifestFile, subMonitor.split(1));
+			if ((type & BUILD) != 0) {
+				IFile file = PDEProject.getBuildProperties(project);
+				if (file.exists()) {
+					fAnalyses.add(() -> new BuildErrorReporter(file).analyzeContent(workerMonitor));
+					fSubTasks.add(PDECoreMessages.ManifestConsistencyChecker_buildPropertiesSubtask);
+				}
+			}
+			ForkJoinPool pool = fAnalyses.size() > 1 ? WorkerPool.getPool() : null;
+			if (pool != null) {
+				for (Callable<IncrementalErrorReporter> analysis : fAnalyses) {
+					fTasks.add(pool.submit(() -> {
+						if (monitor.isCanceled()) {
+							throw new OperationCanceledException();
+						}
+						return analysis.call();
+					}));
 				}
 			}
 		}
-		if ((type & BUILD) != 0) {
-			validateBuildProperties(subMonitor.split(1));
+
+		private void add(IFile file, Callable<IncrementalErrorReporter> analysis) {
+			fAnalyses.add(analysis);
+			fSubTasks.add(NLS.bind(PDECoreMessages.Builders_verifying, file.getFullPath().toString()));
 		}
-	}
 
-	private int getWorkAmount(int type) {
-		int work = 1;
-		if ((type & (MANIFEST | EXTENSIONS)) != 0) {
-			++work;
+		private static IncrementalErrorReporter analyzeXml(XMLErrorReporter reporter, IProgressMonitor monitor) {
+			DefaultSAXParser.parse(reporter.getFile(), reporter);
+			return reporter.analyzeContent(monitor);
 		}
-		if ((type & BUILD) != 0) {
-			++work;
+
+		int getWorkAmount() {
+			return fAnalyses.size();
 		}
-		return work;
-	}
 
+		/**
+		 * Waits for the analysis of the files and applies their markers, in
+		 * the build thread
+		 */
+		void apply(SubMonitor monitor) {
+			try {
+				for (int i = 0; i < fAnalyses.size(); i++) {
+					IProgressMonitor split = monitor.split(1);
+					split.subTask(fSubTasks.get(i));
+					IncrementalErrorReporter reporter;
+					if (fTasks.isEmpty()) {
+						try {
+							reporter = fAnalyses.get(i).call();
+						} catch (RuntimeException e) {
+							throw e;
+						} catch (Exception e) {
+							throw new IllegalStateException(e);
+						}
+					} else {
+						reporter = fTasks.get(i).join();
+					}
+					split.subTask(PDECoreMessages.Builders_updating);
+					reporter.applyMarkers();
+				}
+			} finally {
+				// on cancellation, do not run the analyses that did not start
+				for (ForkJoinTask<IncrementalErrorReporter> task : fTasks) {
+					task.cancel(false);
+				}
+			}
+		}
+	}
 	private void validateProjectStructure(int type, IProgressMonitor monitor) {
 		if (monitor.isCanceled()) {
 			return;
@@ -300,68 +396,6 @@ public class ManifestConsistencyChecker extends IncrementalProjectBuilder {
 		validateManifestCasing(project);
 	}
 
-	private void validateManifestFile(IFile file, IProgressMonitor monitor) {
-		if (monitor.isCanceled()) {
-			return;
-		}
-		String message = NLS.bind(PDECoreMessages.Builders_verifying, file.getFullPath().toString());
-		monitor.subTask(message);
-
-		BundleErrorReporter reporter = new BundleErrorReporter(file);
-		reporter.validateContent(monitor);
-		monitor.subTask(PDECoreMessages.Builders_updating);
-		monitor.done();
-	}
-
-	private void validateFiles(IFile file, int type, IProgressMonitor monitor) {
-		if (monitor.isCanceled()) {
-			return;
-		}
-		String message = NLS.bind(PDECoreMessages.Builders_verifying, file.getFullPath().toString());
-		monitor.subTask(message);
-
-		IFile bundleManifest = PDEProject.getManifest(getProject());
-		XMLErrorReporter reporter = null;
-		BundleErrorReporter bundleReporter = null;
-		if (bundleManifest.exists()) {
-			if ((type & EXTENSIONS) != 0) {
-				reporter = new ExtensionsErrorReporter(file);
-			}
-			if ((type & MANIFEST) != 0) {
-				bundleReporter = new BundleErrorReporter(bundleManifest);
-			}
-		} else if ((type & MANIFEST) != 0 || (type & EXTENSIONS) != 0) {
-			if (file.equals(PDEProject.getPluginXml(getProject()))) {
-				reporter = new PluginErrorReporter(file);
-			} else if (file.equals(PDEProject.getFragmentXml(getProject()))) {
-				reporter = new FragmentErrorReporter(file);
-			}
-		}
-		if (reporter != null) {
-			DefaultSAXParser.parse(file, reporter);
-			reporter.validateContent(monitor);
-			monitor.subTask(PDECoreMessages.Builders_updating);
-		}
-		if (bundleReporter != null) {
-			bundleReporter.validateContent(monitor);
-			monitor.subTask(PDECoreMessages.Builders_updating);
-		}
-		monitor.done();
-	}
-
-	private void validateBuildProperties(IProgressMonitor monitor) {
-		if (monitor.isCanceled()) {
-			return;
-		}
-		IProject project = getProject();
-		IFile file = PDEProject.getBuildProperties(project);
-		if (file.exists()) {
-			monitor.subTask(PDECoreMessages.ManifestConsistencyChecker_buildPropertiesSubtask);
-			BuildErrorReporter ber = new BuildErrorReporter(file);
-			ber.validateContent(monitor);
-		}
-	}
-
 	// Will place a marker on the project if the build.properties does not exist
 	private void validateBuildPropertiesExists(IProject project) {
 		IFile file = PDEProject.getBuildProperties(project);
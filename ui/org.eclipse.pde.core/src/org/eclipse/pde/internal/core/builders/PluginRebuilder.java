@@ -1,5 +1,5 @@
 /*******************************************************************************
- *  Copyright (c) 2000, 2012 IBM Corporation and others.
+ *  Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  *  This program and the accompanying materials
  *  are made available under the terms of the Eclipse Public License 2.0
@@ -13,8 +13,12 @@
  *******************************************************************************/
 package org.eclipse.pde.internal.core.builders;
 
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.Map;
 import java.util.Set;
 import org.eclipse.core.resources.IProject;
 import org.eclipse.core.resources.IResource;
@@ -25,8 +29,13 @@ import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.NullProgressMonitor;
 import org.eclipse.jdt.core.JavaCore;
 import org.eclipse.osgi.service.resolver.BundleDelta;
+import org.eclipse.osgi.service.resolver.BundleDescription;
+import org.eclipse.osgi.service.resolver.BundleSpecification;
+import org.eclipse.osgi.service.resolver.ExportPackageDescription;
+import org.eclipse.osgi.service.resolver.HostSpecification;
 import org.eclipse.osgi.service.resolver.State;
 import org.eclipse.osgi.service.resolver.StateDelta;
+import org.eclipse.pde.core.plugin.IPluginExtensionPoint;
 import org.eclipse.pde.core.plugin.IPluginModelBase;
 import org.eclipse.pde.core.plugin.PluginRegistry;
 import org.eclipse.pde.internal.core.IStateDeltaListener;
@@ -39,6 +48,18 @@ public class PluginRebuilder implements IStateDeltaListener, IResourceChangeList
 
 	private boolean fTouchWorkspace = false;
 
+	/**
+	 * Signatures of the resolution of the workspace bundles, by bundle id, as
+	 * of the last state delta they appeared in
+	 */
+	private final Map<Long, String> fWirings = new HashMap<>();
+
+	/**
+	 * Signatures of the packages and extension points provided by the bundles
+	 * added or updated in a state delta, by bundle id
+	 */
+	private final Map<Long, String> fProvisions = new HashMap<>();
+
 	public void start() {
 		PDECore.getDefault().getModelManager().addStateDeltaListener(this);
 		JavaCore.addPreProcessingResourceChangedListener(this, IResourceChangeEvent.PRE_BUILD);
@@ -49,6 +70,17 @@ public class PluginRebuilder implements IStateDeltaListener, IResourceChangeList
 		JavaCore.removePreProcessingResourceChangedListener(this);
 	}
 
+	/**
+	 * Returns the names of the projects to touch at the start of the next
+	 * build because of the state deltas received since the last build
+	 *
+	 * @return the project names, or <code>null</code> if all projects are to
+	 *         be touched
+	 */
+	public Set<String> getProjectsToTouch() {
+		return fTouchWorkspace ? null : new HashSet<>(fProjectNames);
+	}
+
 	@Override
 	public void resourceChanged(IResourceChangeEvent event) {
 		if (event.getType() == IResourceChangeEvent.PRE_BUILD) {
@@ -87,6 +119,8 @@ public class PluginRebuilder implements IStateDeltaListener, IResourceChangeList
 	public void stateChanged(State newState) {
 		fTouchWorkspace = true;
 		fProjectNames.clear();
+		fWirings.clear();
+		fProvisions.clear();
 	}
 
 	@Override
@@ -96,23 +130,133 @@ public class PluginRebuilder implements IStateDeltaListener, IResourceChangeList
 			// prepare all projects for "touching"
 			fTouchWorkspace = true;
 			fProjectNames.clear();
-		} else {
-			BundleDelta[] deltas = delta.getChanges();
-			for (BundleDelta bundleDelta : deltas) {
-				// only interested in workspace plug-ins that are affected by delta
-				// but not those who have caused it.
-				int type = bundleDelta.getType();
-				if ((type & BundleDelta.UPDATED) == BundleDelta.UPDATED || (type & BundleDelta.ADDED) == BundleDelta.ADDED || (type & BundleDelta.REMOVED) == BundleDelta.REMOVED) {
-					continue;
+			fWirings.clear();
+			fProvisions.clear();
+			return;
+		}
+		// bundles whose packages or extension points changed, and the bundles
+		// whose resolution may have changed because of the delta
+		Set<Long> changedProviders = new HashSet<>();
+		Set<BundleDescription> candidates = new LinkedHashSet<>();
+		for (BundleDelta bundleDelta : delta.getChanges()) {
+			BundleDescription bundle = bundleDelta.getBundle();
+			Long id = Long.valueOf(bundle.getBundleId());
+			int type = bundleDelta.getType();
+			if ((type & BundleDelta.REMOVED) == BundleDelta.REMOVED) {
+				changedProviders.add(id);
+				fWirings.remove(id);
+				fProvisions.remove(id);
+				continue;
+			}
+			// only interested in workspace plug-ins that are affected by delta
+			// but not those who have caused it.
+			if ((type & BundleDelta.UPDATED) == BundleDelta.UPDATED || (type & BundleDelta.ADDED) == BundleDelta.ADDED) {
+				String provision = getProvisionSignature(bundle);
+				if (!provision.equals(fProvisions.put(id, provision))) {
+					changedProviders.add(id);
+					Collections.addAll(candidates, bundle.getDependents());
+					// fragments provide their packages through their hosts
+					for (BundleDescription host : getHosts(bundle)) {
+						changedProviders.add(Long.valueOf(host.getBundleId()));
+						Collections.addAll(candidates, host.getDependents());
+					}
 				}
+				continue;
+			}
+			candidates.add(bundle);
+		}
+		for (BundleDescription bundle : candidates) {
+			IPluginModelBase model = PluginRegistry.findModel(bundle);
+			IResource resource = model == null ? null : model.getUnderlyingResource();
+			if (resource == null) {
+				continue;
+			}
+			// a re-resolved bundle only needs to be validated again if its
+			// wiring changed or it is wired to a provider that changed
+			String wiring = getWiringSignature(bundle);
+			boolean wiringChanged = !wiring.equals(fWirings.put(Long.valueOf(bundle.getBundleId()), wiring));
+			if (wiringChanged || isWiredToAny(bundle, changedProviders)) {
+				fProjectNames.add(resource.getProject().getName());
+			}
+		}
+	}
 
-				IPluginModelBase model = PluginRegistry.findModel(bundleDelta.getBundle());
-				IResource resource = model == null ? null : model.getUnderlyingResource();
-				if (resource != null) {
-					fProjectNames.add(resource.getProject().getName());
-				}
+	/**
+	 * Returns a signature of what the given bundle provides to the bundles
+	 * wired to it: its identity, its exported packages, the bundles it
+	 * re-exports and its extension points
+	 */
+	private static String getProvisionSignature(BundleDescription bundle) {
+		StringBuilder signature = new StringBuilder();
+		signature.append(bundle.getSymbolicName()).append('_').append(bundle.getVersion());
+		signature.append(bundle.isSingleton());
+		for (ExportPackageDescription export : bundle.getExportPackages()) {
+			signature.append(';').append(export.getName()).append('_').append(export.getVersion());
+			signature.append(export.getDirectives()).append(export.getAttributes());
+		}
+		for (BundleSpecification required : bundle.getRequiredBundles()) {
+			if (required.isExported()) {
+				signature.append('+').append(required.getName()).append('_').append(required.getVersionRange());
+			}
+		}
+		IPluginModelBase model = PluginRegistry.findModel(bundle);
+		if (model != null) {
+			for (IPluginExtensionPoint point : model.getPluginBase().getExtensionPoints()) {
+				signature.append('#').append(point.getFullId()).append('=').append(point.getSchema());
 			}
 		}
+		return signature.toString();
+	}
+
+	/**
+	 * Returns a signature of the resolution of the given bundle: the bundles
+	 * and the exact packages it is wired to
+	 */
+	private static String getWiringSignature(BundleDescription bundle) {
+		if (!bundle.isResolved()) {
+			return "unresolved"; //$NON-NLS-1$
+		}
+		StringBuilder signature = new StringBuilder();
+		for (BundleDescription host : getHosts(bundle)) {
+			signature.append("host:").append(host.getBundleId()).append(';'); //$NON-NLS-1$
+		}
+		for (BundleDescription required : bundle.getResolvedRequires()) {
+			signature.append("require:").append(required.getBundleId()).append(';'); //$NON-NLS-1$
+		}
+		for (ExportPackageDescription imported : bundle.getResolvedImports()) {
+			BundleDescription exporter = imported.getExporter();
+			signature.append("import:").append(imported.getName()).append('_').append(imported.getVersion()); //$NON-NLS-1$
+			signature.append('@').append(exporter == null ? -1 : exporter.getBundleId()).append(';');
+		}
+		return signature.toString();
+	}
+
+	private static boolean isWiredToAny(BundleDescription bundle, Set<Long> providers) {
+		if (providers.isEmpty() || !bundle.isResolved()) {
+			return false;
+		}
+		for (BundleDescription host : getHosts(bundle)) {
+			if (providers.contains(Long.valueOf(host.getBundleId()))) {
+				return true;
+			}
+		}
+		for (BundleDescription required : bundle.getResolvedRequires()) {
+			if (providers.contains(Long.valueOf(required.getBundleId()))) {
+				return true;
+			}
+		}
+		for (ExportPackageDescription imported : bundle.getResolvedImports()) {
+			BundleDescription exporter = imported.getExporter();
+			if (exporter != null && providers.contains(Long.valueOf(exporter.getBundleId()))) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private static BundleDescription[] getHosts(BundleDescription bundle) {
+		HostSpecification host = bundle.getHost();
+		return host == null ? new BundleDescription[0] : host.getHosts();
 	}
 
 }
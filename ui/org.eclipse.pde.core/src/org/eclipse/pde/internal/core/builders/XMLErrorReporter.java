@@ -1,5 +1,5 @@
 /*******************************************************************************
- *  Copyright (c) 2000, 2021 IBM Corporation and others.
+ *  Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  *  This program and the accompanying materials
  *  are made available under the terms of the Eclipse Public License 2.0
@@ -16,6 +16,7 @@ package org.eclipse.pde.internal.core.builders;
 
 import java.io.StringReader;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.Stack;
 import javax.xml.parsers.DocumentBuilderFactory;
@@ -54,9 +55,35 @@ public abstract class XMLErrorReporter extends DefaultHandler {
 	public static final char F_ATT_VALUE_PREFIX = '!';
 	public static final char F_CHILD_SEP = '>';
 
+	private static final int[] NO_ATTRIBUTES = new int[0];
+
+	/**
+	 * Positions of an element in the text document. The end offsets and the
+	 * attribute positions are taken from the parser locator as the element is
+	 * parsed; they are <code>-1</code> and <code>null</code> if the text
+	 * document does not match the parsed content.
+	 */
 	static class ElementData {
 		int offset;
 		boolean fErrorNode;
+		/**
+		 * Offset following the start tag
+		 */
+		int startTagEnd = -1;
+		/**
+		 * Offset of the end tag, <code>-1</code> for an empty element
+		 */
+		int endTagOffset = -1;
+		/**
+		 * Whether the element is an empty element tag, which has no content
+		 */
+		boolean emptyElement;
+		/**
+		 * Offset and length of the name, and offset and length of the value of
+		 * each attribute of the start tag, in document order, or
+		 * <code>null</code> if the start tag was not scanned
+		 */
+		int[] attributes;
 
 		public ElementData(int offset) {
 			this.offset = offset;
@@ -226,7 +253,7 @@ public abstract class XMLErrorReporter extends DefaultHandler {
 		fElementStack.push(element);
 		try {
 			if (fTextDocument != null) {
-				fOffsetTable.put(element, new ElementData(getStartOffset(qName)));
+				fOffsetTable.put(element, createElementData(qName));
 			}
 		} catch (BadLocationException e) {
 		}
@@ -234,7 +261,157 @@ public abstract class XMLErrorReporter extends DefaultHandler {
 
 	@Override
 	public void endElement(String uri, String localName, String qName) throws SAXException {
-		fElementStack.pop();
+		Element element = fElementStack.pop();
+		ElementData data = fOffsetTable.get(element);
+		if (data == null || data.startTagEnd == -1) {
+			return;
+		}
+		try {
+			int end = getLocatorOffset();
+			if (end == data.startTagEnd && fTextDocument.getChar(end - 2) == '/') {
+				data.emptyElement = true;
+			} else if (end > data.startTagEnd && fTextDocument.getChar(end - 1) == '>') {
+				int offset = lastIndexOf('<', end - 1, data.startTagEnd);
+				if (offset != -1 && fTextDocument.getChar(offset + 1) == '/') {
+					data.endTagOffset = offset;
+				}
+			}
+		} catch (BadLocationException e) {
+		}
+	}
+
+	/**
+	 * Creates the positions of the element whose start tag has just been
+	 * parsed. The start tag ends at the locator position; its start and its
+	 * attributes are found by scanning the tag backwards and forwards, which
+	 * takes time proportional to the length of the tag. If the text document
+	 * does not match the parsed content, the start tag is searched from the
+	 * end of the previous start tag instead.
+	 */
+	private ElementData createElementData(String elementName) throws BadLocationException {
+		int end = getLocatorOffset();
+		if (end > fHighestOffset && fTextDocument.getChar(end - 1) == '>') {
+			int offset = lastIndexOf('<', end - 1, fHighestOffset);
+			if (offset != -1 && matches(offset + 1, elementName)) {
+				fHighestOffset = offset;
+				ElementData data = new ElementData(offset);
+				data.startTagEnd = end;
+				data.attributes = parseAttributes(offset + 1 + elementName.length(), end - 1);
+				return data;
+			}
+		}
+		return new ElementData(getStartOffset(elementName));
+	}
+
+	/**
+	 * Returns the document offset of the current locator position, or
+	 * <code>-1</code> if it is unknown
+	 */
+	private int getLocatorOffset() throws BadLocationException {
+		int line = fLocator.getLineNumber();
+		int col = fLocator.getColumnNumber();
+		if (line < 1 || col < 1 || line > fTextDocument.getNumberOfLines()) {
+			return -1;
+		}
+		int offset = fTextDocument.getLineOffset(line - 1) + col - 1;
+		return offset <= fTextDocument.getLength() ? offset : -1;
+	}
+
+	private int lastIndexOf(char c, int from, int limit) throws BadLocationException {
+		for (int i = from; i >= limit && i >= 0; i--) {
+			if (fTextDocument.getChar(i) == c) {
+				return i;
+			}
+		}
+		return -1;
+	}
+
+	private boolean matches(int offset, String text) throws BadLocationException {
+		if (offset + text.length() > fTextDocument.getLength()) {
+			return false;
+		}
+		for (int i = 0; i < text.length(); i++) {
+			if (fTextDocument.getChar(offset + i) != text.charAt(i)) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Returns the name and value positions of the attributes between the
+	 * given offsets of a start tag, or <code>null</code> if the tag cannot be
+	 * scanned
+	 */
+	private int[] parseAttributes(int start, int end) throws BadLocationException {
+		int[] attributes = null;
+		int count = 0;
+		int i = start;
+		while (true) {
+			while (i < end && Character.isWhitespace(fTextDocument.getChar(i))) {
+				i++;
+			}
+			char c = i < end ? fTextDocument.getChar(i) : '>';
+			if (c == '/' || c == '>') {
+				break;
+			}
+			int nameOffset = i;
+			while (i < end && fTextDocument.getChar(i) != '=' && !Character.isWhitespace(fTextDocument.getChar(i))) {
+				i++;
+			}
+			int nameLength = i - nameOffset;
+			while (i < end && Character.isWhitespace(fTextDocument.getChar(i))) {
+				i++;
+			}
+			if (i >= end || fTextDocument.getChar(i) != '=') {
+				return null;
+			}
+			i++;
+			while (i < end && Character.isWhitespace(fTextDocument.getChar(i))) {
+				i++;
+			}
+			char quote = i < end ? fTextDocument.getChar(i) : 0;
+			if (quote != '"' && quote != '\'') {
+				return null;
+			}
+			int valueOffset = ++i;
+			while (i < end && fTextDocument.getChar(i) != quote) {
+				i++;
+			}
+			if (i >= end) {
+				return null;
+			}
+			if (attributes == null) {
+				attributes = new int[8];
+			} else if (count + 4 > attributes.length) {
+				attributes = Arrays.copyOf(attributes, attributes.length * 2);
+			}
+			attributes[count++] = nameOffset;
+			attributes[count++] = nameLength;
+			attributes[count++] = valueOffset;
+			attributes[count++] = i - valueOffset;
+			i++;
+		}
+		if (attributes == null) {
+			return NO_ATTRIBUTES;
+		}
+		return count == attributes.length ? attributes : Arrays.copyOf(attributes, count);
+	}
+
+	/**
+	 * Returns the index of the name offset of the given attribute in the
+	 * attribute positions of the element, or <code>-1</code> if unknown
+	 */
+	private int indexOfAttribute(ElementData data, String name) throws BadLocationException {
+		if (data.attributes == null) {
+			return -1;
+		}
+		for (int i = 0; i < data.attributes.length; i += 4) {
+			if (data.attributes[i + 1] == name.length() && matches(data.attributes[i], name)) {
+				return i;
+			}
+		}
+		return -1;
 	}
 
 	private void generateErrorElementHierarchy() {
@@ -312,7 +489,16 @@ public abstract class XMLErrorReporter extends DefaultHandler {
 		return fHighestOffset;
 	}
 
-	private int getAttributeOffset(String name, String value, int offset) throws BadLocationException {
+	private int getAttributeOffset(String name, String value, ElementData data) throws BadLocationException {
+		int index = indexOfAttribute(data, name);
+		if (index != -1) {
+			return data.attributes[index];
+		}
+		if (data.attributes != null) {
+			// the start tag was scanned, the attribute is not in the document
+			return -1;
+		}
+		int offset = data.offset;
 		IRegion nameRegion = fFindReplaceAdapter.find(offset, name + "=\"" + getWritableString(value), true, false, false, false); //$NON-NLS-1$
 		if (nameRegion != null) {
 			return nameRegion.getOffset();
@@ -365,6 +551,12 @@ public abstract class XMLErrorReporter extends DefaultHandler {
 			if (element.hasChildNodes()) {
 				return null;
 			}
+			if (data.emptyElement) {
+				return ""; //$NON-NLS-1$
+			}
+			if (data.endTagOffset != -1) {
+				return fTextDocument.get(data.startTagEnd, data.endTagOffset - data.startTagEnd).trim();
+			}
 			IRegion openElement = fFindReplaceAdapter.find(data.offset, ">", true, true, false, false); //$NON-NLS-1$
 			IRegion closeElement = fFindReplaceAdapter.find(data.offset, "</" + element.getNodeName() + ">", true, true, false, false); //$NON-NLS-1$ //$NON-NLS-2$
 			if (openElement != null && closeElement != null) {
@@ -389,7 +581,7 @@ public abstract class XMLErrorReporter extends DefaultHandler {
 		ElementData data = fOffsetTable.get(element);
 		if (data != null) {
 			try {
-				int offset = getAttributeOffset(attName, element.getAttribute(attName), data.offset);
+				int offset = getAttributeOffset(attName, element.getAttribute(attName), data);
 				if (offset != -1) {
 					return fTextDocument.getLineOfOffset(offset) + 1;
 				}
@@ -404,6 +596,20 @@ public abstract class XMLErrorReporter extends DefaultHandler {
 		fErrorReporter.applyMarkers();
 	}
 
+	/**
+	 * Validates the content without updating the markers of the file. Unlike
+	 * {@link #validateContent(IProgressMonitor)} this does not modify the
+	 * workspace and can run outside of the build thread.
+	 *
+	 * @param monitor progress monitor
+	 * @return the reported problems, whose markers are to be applied by the
+	 *         build
+	 */
+	IncrementalErrorReporter analyzeContent(IProgressMonitor monitor) {
+		validate(monitor);
+		return fErrorReporter;
+	}
+
 	protected abstract void validate(IProgressMonitor monitor);
 
 	public Element getDocumentRoot() {
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2005, 2013 IBM Corporation and others.
+ * Copyright (c) 2005, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -15,50 +15,164 @@ package org.eclipse.pde.internal.core.schema;
 
 import java.io.File;
 import java.net.MalformedURLException;
+import java.net.URISyntaxException;
 import java.net.URL;
-import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
 import org.eclipse.core.runtime.IPath;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.OperationCanceledException;
 import org.eclipse.core.runtime.Path;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.core.runtime.SubMonitor;
+import org.eclipse.core.runtime.jobs.Job;
+import org.eclipse.osgi.service.resolver.State;
+import org.eclipse.osgi.service.resolver.StateDelta;
 import org.eclipse.pde.core.plugin.IFragment;
 import org.eclipse.pde.core.plugin.IFragmentModel;
 import org.eclipse.pde.core.plugin.IPluginBase;
+import org.eclipse.pde.core.plugin.IPluginExtension;
 import org.eclipse.pde.core.plugin.IPluginExtensionPoint;
 import org.eclipse.pde.core.plugin.IPluginModelBase;
 import org.eclipse.pde.core.plugin.ModelEntry;
 import org.eclipse.pde.core.plugin.PluginRegistry;
+import org.eclipse.pde.internal.core.IExtensionDeltaEvent;
+import org.eclipse.pde.internal.core.IExtensionDeltaListener;
+import org.eclipse.pde.internal.core.IPluginModelListener;
+import org.eclipse.pde.internal.core.IStateDeltaListener;
 import org.eclipse.pde.internal.core.PDECore;
+import org.eclipse.pde.internal.core.PDECoreMessages;
+import org.eclipse.pde.internal.core.PluginModelDelta;
+import org.eclipse.pde.internal.core.PluginModelManager;
 import org.eclipse.pde.internal.core.SourceLocationManager;
 import org.eclipse.pde.internal.core.ischema.ISchema;
 import org.eclipse.pde.internal.core.ischema.ISchemaDescriptor;
+import org.eclipse.pde.internal.core.ischema.ISchemaElement;
 import org.eclipse.pde.internal.core.text.plugin.PluginExtensionPointNode;
 import org.eclipse.pde.internal.core.util.CoreUtility;
 
+/**
+ * Loads and caches the schemas of extension points.
+ * <p>
+ * Schemas are cached by URL. A cached schema is loaded again when the size or
+ * modification time of its file, or of the archive containing it, changed. The
+ * least recently used schemas are evicted once the total weight of the cached
+ * schemas, the number of their elements and attributes, exceeds the
+ * <code>pde.schemaCache.maxWeight</code> system property. The schema URLs of
+ * extension points are kept until the plug-in models change.
+ * </p>
+ * <p>
+ * This class is thread safe.
+ * </p>
+ */
 public class SchemaRegistry {
 
-	private final HashMap<String, ISchemaDescriptor> fRegistry = new HashMap<>();
+	private static final int MAX_WEIGHT = Integer.getInteger("pde.schemaCache.maxWeight", 100000).intValue(); //$NON-NLS-1$
 
-	public ISchema getSchema(String extPointID) {
-		IPluginExtensionPoint point = PDECore.getDefault().getExtensionsRegistry().findExtensionPoint(extPointID);
-		if (point == null) {
-			// if there is an old schema associated with this extension point, release it.
-			if (fRegistry.containsKey(extPointID)) {
-				fRegistry.remove(extPointID);
-			}
-			return null;
+	/**
+	 * Whether the schemas of the extension points used by the workspace
+	 * plug-ins are loaded in the background after startup, set by the
+	 * <code>pde.schemaCache.preload</code> system property
+	 */
+	public static final boolean PRELOAD = Boolean.getBoolean("pde.schemaCache.preload"); //$NON-NLS-1$
+
+	private static final long PRELOAD_DELAY = 5000;
+
+	private static final class CacheEntry {
+		final ISchemaDescriptor descriptor;
+		final long stamp;
+		final int weight;
+
+		CacheEntry(ISchemaDescriptor descriptor, long stamp, int weight) {
+			this.descriptor = descriptor;
+			this.stamp = stamp;
+			this.weight = weight;
 		}
+	}
 
-		URL url = getSchemaURL(point);
-		if (url == null) {
-			return null;
+	/**
+	 * Clears the schema URLs of the extension points when the models change
+	 */
+	private class ModelListener implements IPluginModelListener, IExtensionDeltaListener, IStateDeltaListener {
+
+		@Override
+		public void modelsChanged(PluginModelDelta delta) {
+			fSchemaURLs.clear();
 		}
 
-		ISchemaDescriptor desc = getExistingDescriptor(extPointID, url);
-		if (desc == null) {
-			desc = new SchemaDescriptor(extPointID, url);
-			fRegistry.put(extPointID, desc);
+		@Override
+		public void extensionsChanged(IExtensionDeltaEvent event) {
+			fSchemaURLs.clear();
 		}
 
-		return desc.getSchema(true);
+		@Override
+		public void stateResolved(StateDelta delta) {
+		}
+
+		@Override
+		public void stateChanged(State newState) {
+			fSchemaURLs.clear();
+		}
+	}
+
+	/**
+	 * Cached schemas by URL in access order, guarded by itself
+	 */
+	private final LinkedHashMap<String, CacheEntry> fCache = new LinkedHashMap<>(64, 0.75f, true);
+	private int fWeight;
+
+	/**
+	 * Schema URLs by extension point id
+	 */
+	private final Map<String, URL> fSchemaURLs = new ConcurrentHashMap<>();
+
+	private final AtomicLong fHits = new AtomicLong();
+	private final AtomicLong fMisses = new AtomicLong();
+	private final AtomicLong fEvictions = new AtomicLong();
+
+	private final ModelListener fModelListener = new ModelListener();
+	private final int fMaxWeight;
+	private Job fPreloadJob;
+
+	public SchemaRegistry() {
+		this(MAX_WEIGHT);
+	}
+
+	/**
+	 * Creates a schema registry evicting schemas above the given weight
+	 *
+	 * @param maxWeight the maximum total weight of the cached schemas
+	 */
+	public SchemaRegistry(int maxWeight) {
+		fMaxWeight = maxWeight;
+		PluginModelManager manager = PDECore.getDefault().getModelManager();
+		manager.addPluginModelListener(fModelListener);
+		manager.addExtensionDeltaListener(fModelListener);
+		manager.addStateDeltaListener(fModelListener);
+	}
+
+	public ISchema getSchema(String extPointID) {
+		URL url = fSchemaURLs.get(extPointID);
+		if (url == null || !exists(url)) {
+			fSchemaURLs.remove(extPointID);
+			IPluginExtensionPoint point = PDECore.getDefault().getExtensionsRegistry().findExtensionPoint(extPointID);
+			if (point == null) {
+				return null;
+			}
+			url = getSchemaURL(point);
+			if (url == null) {
+				return null;
+			}
+			fSchemaURLs.put(extPointID, url);
+		}
+		return getCachedSchema(url, schemaURL -> new SchemaDescriptor(extPointID, schemaURL));
 	}
 
 	public ISchema getIncludedSchema(ISchemaDescriptor parent, String schemaLocation) {
@@ -67,27 +181,182 @@ public class SchemaRegistry {
 			if (url == null) {
 				return null;
 			}
+			return getCachedSchema(url, IncludedSchemaDescriptor::new);
+		} catch (MalformedURLException e) {
+		}
+		return null;
+	}
 
-			ISchemaDescriptor desc = getExistingDescriptor(url.toString(), url);
-			if (desc == null) {
-				desc = new IncludedSchemaDescriptor(url);
-				fRegistry.put(url.toString(), desc);
+	/**
+	 * Returns the cached schema at the given URL if it is up to date,
+	 * otherwise loads the schema from a new descriptor and caches it
+	 */
+	private ISchema getCachedSchema(URL url, Function<URL, ISchemaDescriptor> descriptorFactory) {
+		String key = url.toExternalForm();
+		long stamp = getStamp(url);
+		CacheEntry entry;
+		synchronized (fCache) {
+			entry = fCache.get(key);
+			if (entry != null && entry.stamp != stamp) {
+				remove(key);
+				entry = null;
+			}
+		}
+		if (entry != null) {
+			fHits.incrementAndGet();
+			return entry.descriptor.getSchema(true);
+		}
+		fMisses.incrementAndGet();
+		// load outside of the lock, included schemas are looked up while loading
+		ISchemaDescriptor descriptor = descriptorFactory.apply(url);
+		ISchema schema = descriptor.getSchema(true);
+		if (schema == null) {
+			return null;
+		}
+		synchronized (fCache) {
+			CacheEntry existing = fCache.get(key);
+			if (existing != null && existing.stamp == stamp) {
+				// loaded concurrently by another thread
+				return existing.descriptor.getSchema(true);
+			}
+			remove(key);
+			entry = new CacheEntry(descriptor, stamp, getWeight(schema));
+			fCache.put(key, entry);
+			fWeight += entry.weight;
+			for (Iterator<CacheEntry> iterator = fCache.values().iterator(); fWeight > fMaxWeight && fCache.size() > 1;) {
+				fWeight -= iterator.next().weight;
+				iterator.remove();
+				fEvictions.incrementAndGet();
+			}
+		}
+		return schema;
+	}
+
+	private void remove(String key) {
+		CacheEntry entry = fCache.remove(key);
+		if (entry != null) {
+			fWeight -= entry.weight;
+		}
+	}
+
+	private static int getWeight(ISchema schema) {
+		int weight = 1;
+		for (ISchemaElement element : schema.getElements()) {
+			weight += 1 + element.getAttributeCount();
+		}
+		return weight;
+	}
+
+	/**
+	 * Returns the file whose size and modification time are the stamp of the
+	 * schema at the given URL, or <code>null</code> if it is not a file or in
+	 * an archive
+	 */
+	private static File getStampFile(URL url) {
+		if ("file".equals(url.getProtocol())) { //$NON-NLS-1$
+			try {
+				return new File(url.toURI());
+			} catch (URISyntaxException | IllegalArgumentException e) {
+				return new File(url.getFile());
+			}
+		}
+		if ("jar".equals(url.getProtocol())) { //$NON-NLS-1$
+			String path = url.getPath();
+			int separator = path.indexOf("!/"); //$NON-NLS-1$
+			if (path.startsWith("file:") && separator != -1) { //$NON-NLS-1$
+				return new File(path.substring("file:".length(), separator)); //$NON-NLS-1$
 			}
-			return desc.getSchema(true);
-		} catch (MalformedURLException e) {
 		}
 		return null;
 	}
 
-	private ISchemaDescriptor getExistingDescriptor(String key, URL url) {
-		ISchemaDescriptor desc = null;
-		if (fRegistry.containsKey(key)) {
-			desc = fRegistry.get(key);
-			if (hasSchemaChanged(desc, url)) {
-				desc = null;
+	private static long getStamp(URL url) {
+		File file = getStampFile(url);
+		return file == null ? 0 : file.lastModified() * 31 + file.length();
+	}
+
+	private static boolean exists(URL url) {
+		File file = getStampFile(url);
+		return file == null || file.exists();
+	}
+
+	/**
+	 * Schedules a job loading the schemas of the extension points used by the
+	 * workspace plug-ins, so that they are cached before the first build.
+	 *
+	 * @return the preload job, scheduled once per registry
+	 */
+	public synchronized Job schedulePreload() {
+		if (fPreloadJob != null) {
+			return fPreloadJob;
+		}
+		fPreloadJob = new Job(PDECoreMessages.SchemaRegistry_preloadingSchemas) {
+			@Override
+			protected IStatus run(IProgressMonitor monitor) {
+				try {
+					preload(monitor);
+				} catch (OperationCanceledException e) {
+					return Status.CANCEL_STATUS;
+				}
+				return Status.OK_STATUS;
+			}
+		};
+		fPreloadJob.setSystem(true);
+		fPreloadJob.setPriority(Job.DECORATE);
+		fPreloadJob.schedule(PRELOAD_DELAY);
+		return fPreloadJob;
+	}
+
+	/**
+	 * Loads the schemas of the extension points used by the workspace
+	 * plug-ins.
+	 *
+	 * @param monitor progress monitor, may be <code>null</code>
+	 */
+	public void preload(IProgressMonitor monitor) {
+		Set<String> pointIds = new LinkedHashSet<>();
+		for (IPluginModelBase model : PluginRegistry.getWorkspaceModels()) {
+			for (IPluginExtension extension : model.getPluginBase().getExtensions()) {
+				if (extension.getPoint() != null) {
+					pointIds.add(extension.getPoint());
+				}
 			}
 		}
-		return desc;
+		SubMonitor subMon = SubMonitor.convert(monitor, PDECoreMessages.SchemaRegistry_preloadingSchemas, pointIds.size());
+		for (String pointId : pointIds) {
+			subMon.split(1);
+			getSchema(pointId);
+		}
+	}
+
+	/**
+	 * @return the number of schemas found in the cache
+	 */
+	public long getHitCount() {
+		return fHits.get();
+	}
+
+	/**
+	 * @return the number of schemas that had to be loaded
+	 */
+	public long getMissCount() {
+		return fMisses.get();
+	}
+
+	/**
+	 * @return the number of schemas evicted from the cache
+	 */
+	public long getEvictionCount() {
+		return fEvictions.get();
+	}
+
+	/**
+	 * @return the total weight of the cached schemas
+	 */
+	public int getCachedWeight() {
+		synchronized (fCache) {
+			return fWeight;
+		}
 	}
 
 	public static URL getSchemaURL(IPluginExtensionPoint point, IPluginModelBase base) {
@@ -174,16 +443,22 @@ public class SchemaRegistry {
 		return null;
 	}
 
-	private boolean hasSchemaChanged(ISchemaDescriptor desc, URL url) {
-		if (!desc.getSchemaURL().toExternalForm().equals(url.toExternalForm())) {
-			return true;
-		}
-		File file = new File(url.getFile());
-		return (desc.getLastModified() != file.lastModified());
-	}
-
 	public void shutdown() {
-		fRegistry.clear();
+		synchronized (this) {
+			if (fPreloadJob != null) {
+				fPreloadJob.cancel();
+				fPreloadJob = null;
+			}
+		}
+		PluginModelManager manager = PDECore.getDefault().getModelManager();
+		manager.removePluginModelListener(fModelListener);
+		manager.removeExtensionDeltaListener(fModelListener);
+		manager.removeStateDeltaListener(fModelListener);
+		synchronized (fCache) {
+			fCache.clear();
+			fWeight = 0;
+		}
+		fSchemaURLs.clear();
 	}
 
 	private static String getId(IPluginExtensionPoint point, IPluginModelBase base) {
@@ -202,4 +477,10 @@ public class SchemaRegistry {
 		return id;
 	}
 
+	@Override
+	public String toString() {
+		return "SchemaRegistry[hits: " + getHitCount() + ", misses: " + getMissCount() + ", evictions: " //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+				+ getEvictionCount() + ", weight: " + getCachedWeight() + "]"; //$NON-NLS-1$ //$NON-NLS-2$
+	}
+
 }
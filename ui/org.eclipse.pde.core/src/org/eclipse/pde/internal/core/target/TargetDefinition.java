@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2008, 2018 IBM Corporation and others.
+ * Copyright (c) 2008, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -32,6 +32,9 @@ import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
 import javax.xml.parsers.DocumentBuilder;
 import javax.xml.parsers.DocumentBuilderFactory;
 import javax.xml.parsers.ParserConfigurationException;
@@ -61,6 +64,8 @@ import org.eclipse.pde.internal.core.ExternalFeatureModelManager;
 import org.eclipse.pde.internal.core.ICoreConstants;
 import org.eclipse.pde.internal.core.PDECore;
 import org.eclipse.pde.internal.core.TargetPlatformHelper;
+import org.eclipse.pde.internal.core.util.CancellationMonitor;
+import org.eclipse.pde.internal.core.util.WorkerPool;
 import org.w3c.dom.DOMException;
 import org.w3c.dom.Document;
 import org.w3c.dom.Element;
@@ -116,7 +121,7 @@ public class TargetDefinition implements ITargetDefinition {
 	public static final int MODE_FEATURE = 1;
 
 	// cache of features found for a given location, maps a string path location to a array of IFeatureModels (IFeatureModel[])
-	private static Map<String, TargetFeature[]> fFeaturesInLocation = new HashMap<>();
+	private static Map<String, TargetFeature[]> fFeaturesInLocation = new ConcurrentHashMap<>();
 
 	// internal cache for features.  A target managed by features will contain a set of features as well as a set of plug-ins that don't belong to a feature
 	private TargetFeature[] fFeatures;
@@ -418,19 +423,7 @@ public class TargetDefinition implements ITargetDefinition {
 					fResolutionStatus = status;
 					return fResolutionStatus;
 				}
-				for (ITargetLocation container : containers) {
-					subMonitor.checkCanceled();
-					subMonitor.subTask(Messages.TargetDefinition_4);
-					P2TargetUtils synchronizer = container.getAdapter(P2TargetUtils.class);
-					int totalWork = 5;
-					if (synchronizer == null) {
-						totalWork = 100;
-					}
-					IStatus s = container.resolve(this, subMonitor.split(totalWork));
-					if (!s.isOK()) {
-						status.add(s);
-					}
-				}
+				resolveLocations(containers, status, subMonitor);
 			}
 			if (status.isOK()) {
 				fResolutionStatus = Status.OK_STATUS;
@@ -452,6 +445,77 @@ public class TargetDefinition implements ITargetDefinition {
 		}
 	}
 
+	/**
+	 * Resolves the given locations, after their synchronizers were run, adding
+	 * the problems to the given status in the order of the locations.
+	 * Directory, installation and feature locations only read the file system
+	 * and do not depend on each other, they are resolved concurrently on the
+	 * {@link WorkerPool}. Other locations, such as the ones synchronized by p2
+	 * or contributed by other plug-ins, are resolved on the calling thread.
+	 * The concurrent locations only see and set the cancellation of the given
+	 * monitor through a {@link CancellationMonitor}, their progress is
+	 * reported by the calling thread.
+	 *
+	 * @param containers the locations to resolve
+	 * @param status the status to add the problems to
+	 * @param subMonitor progress monitor, only used from the calling thread
+	 */
+	private void resolveLocations(ITargetLocation[] containers, MultiStatus status, SubMonitor subMonitor) {
+		int[] work = new int[containers.length];
+		int concurrent = 0;
+		for (int i = 0; i < containers.length; i++) {
+			work[i] = containers[i].getAdapter(P2TargetUtils.class) == null ? 100 : 5;
+			if (isConcurrent(containers[i])) {
+				concurrent++;
+			}
+		}
+		@SuppressWarnings("unchecked")
+		ForkJoinTask<IStatus>[] tasks = new ForkJoinTask[containers.length];
+		ForkJoinPool pool = concurrent > 1 ? WorkerPool.getPool() : null;
+		try {
+			if (pool != null) {
+				IProgressMonitor workerMonitor = new CancellationMonitor(subMonitor);
+				for (int i = 0; i < containers.length; i++) {
+					if (isConcurrent(containers[i])) {
+						ITargetLocation container = containers[i];
+						tasks[i] = pool.submit(() -> container.resolve(this, workerMonitor));
+					}
+				}
+			}
+			for (int i = 0; i < containers.length; i++) {
+				subMonitor.checkCanceled();
+				subMonitor.subTask(Messages.TargetDefinition_4);
+				IStatus s;
+				if (tasks[i] != null) {
+					s = tasks[i].join();
+					subMonitor.worked(work[i]);
+				} else {
+					s = containers[i].resolve(this, subMonitor.split(work[i]));
+				}
+				if (!s.isOK()) {
+					status.add(s);
+				}
+			}
+		} finally {
+			// locations still resolving when canceled stop at their next check
+			for (ForkJoinTask<IStatus> task : tasks) {
+				if (task != null) {
+					task.cancel(false);
+				}
+			}
+		}
+	}
+
+	/**
+	 * @param container a location of the target
+	 * @return whether the location can be resolved concurrently with the
+	 *         other locations of the target
+	 */
+	private static boolean isConcurrent(ITargetLocation container) {
+		return container instanceof DirectoryBundleContainer || container instanceof ProfileBundleContainer
+				|| container instanceof FeatureBundleContainer;
+	}
+
 	@Override
 	public boolean isResolved() {
 		ITargetLocation[] containers = getTargetLocations();
@@ -0,0 +1,45 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse contributors and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Eclipse contributors - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.pde.internal.core.util;
+
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.NullProgressMonitor;
+
+/**
+ * A progress monitor for the tasks running on worker threads on behalf of a
+ * caller. Monitors like {@link org.eclipse.core.runtime.SubMonitor} are not
+ * thread safe: the workers only get to see and set the cancellation of the
+ * caller's monitor, their progress is ignored and reported by the caller.
+ */
+public class CancellationMonitor extends NullProgressMonitor {
+
+	private final IProgressMonitor fMonitor;
+
+	/**
+	 * @param monitor the monitor of the caller
+	 */
+	public CancellationMonitor(IProgressMonitor monitor) {
+		fMonitor = monitor;
+	}
+
+	@Override
+	public boolean isCanceled() {
+		return fMonitor.isCanceled();
+	}
+
+	@Override
+	public void setCanceled(boolean cancelled) {
+		fMonitor.setCanceled(cancelled);
+	}
+}
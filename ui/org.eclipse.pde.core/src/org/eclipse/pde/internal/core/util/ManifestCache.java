@@ -0,0 +1,207 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse contributors and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Eclipse contributors - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.pde.internal.core.util;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import org.eclipse.osgi.util.ManifestElement;
+import org.osgi.framework.BundleException;
+
+/**
+ * Process wide cache of parsed bundle manifests, keyed by the SHA-256 digest of
+ * the manifest content.
+ * <p>
+ * The same manifest is parsed many times: whenever a workspace model is added
+ * or updated, when the target state is created, and by the API tools. A
+ * manifest whose content did not change is only parsed once; its headers are
+ * kept as an immutable map whose keys and values are interned, so that the
+ * header names and the values repeated across bundles, such as versions,
+ * vendors and execution environments, are shared by all bundles. A header
+ * value is interned as a whole: an <code>Import-Package</code> or
+ * <code>Export-Package</code> header is only shared with bundles that have the
+ * same header, the package names listed in it are not shared.
+ * </p>
+ * <p>
+ * The manifests restored from the {@link org.eclipse.pde.internal.core.TargetStateSnapshot
+ * TargetStateSnapshot} are not parsed and do not go through this cache, only
+ * their strings are interned with {@link #intern(String)}.
+ * </p>
+ * <p>
+ * This class is thread safe.
+ * </p>
+ *
+ * @see ManifestUtils#loadManifest(java.io.File)
+ */
+public final class ManifestCache {
+
+	/**
+	 * Maximum number of cached manifests, defaults to 4096
+	 */
+	private static final int MAX_ENTRIES = Integer.getInteger("pde.manifestCache.size", 4096).intValue(); //$NON-NLS-1$
+
+	/**
+	 * Maximum number of interned strings, the least recently used strings are
+	 * forgotten first
+	 */
+	private static final int MAX_INTERNED = 100000;
+
+	private static final ManifestCache INSTANCE = new ManifestCache();
+
+	/**
+	 * Parsed headers by content digest, in access order, guarded by this
+	 */
+	private final Map<ByteBuffer, Map<String, String>> fManifests = new LinkedHashMap<>(64, 0.75f, true);
+
+	/**
+	 * Interned strings, in access order, guarded by itself
+	 */
+	private final Map<String, String> fStrings = new LinkedHashMap<>(1024, 0.75f, true) {
+		private static final long serialVersionUID = 1L;
+
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<String, String> eldest) {
+			return size() > MAX_INTERNED;
+		}
+	};
+
+	private final AtomicLong fHits = new AtomicLong();
+	private final AtomicLong fMisses = new AtomicLong();
+
+	private ManifestCache() {
+	}
+
+	/**
+	 * @return the manifest cache
+	 */
+	public static ManifestCache getDefault() {
+		return INSTANCE;
+	}
+
+	/**
+	 * Returns the headers of the given manifest content, parsing it only if no
+	 * manifest with the same content has been parsed before. The returned map
+	 * is immutable and must be copied by callers that modify the headers.
+	 *
+	 * @param content the content of a manifest file
+	 * @return the immutable headers of the manifest
+	 * @throws BundleException if the manifest has invalid syntax
+	 * @throws IOException if the manifest cannot be read
+	 */
+	public Map<String, String> parse(byte[] content) throws BundleException, IOException {
+		ByteBuffer key = ByteBuffer.wrap(digest(content));
+		Map<String, String> headers;
+		synchronized (this) {
+			headers = fManifests.get(key);
+		}
+		if (headers != null) {
+			fHits.incrementAndGet();
+			return headers;
+		}
+		fMisses.incrementAndGet();
+		Map<String, String> parsed = ManifestElement.parseBundleManifest(new ByteArrayInputStream(content),
+				new HashMap<>());
+		Map<String, String> interned = new HashMap<>(parsed.size() * 4 / 3 + 1);
+		for (Map.Entry<String, String> header : parsed.entrySet()) {
+			interned.put(intern(header.getKey()), intern(header.getValue()));
+		}
+		headers = Collections.unmodifiableMap(interned);
+		synchronized (this) {
+			fManifests.put(key, headers);
+			if (fManifests.size() > MAX_ENTRIES) {
+				fManifests.remove(fManifests.keySet().iterator().next());
+			}
+		}
+		return headers;
+	}
+
+	/**
+	 * Returns the instance of the given string shared by the cached manifests
+	 *
+	 * @param value a header name or value, may be <code>null</code>
+	 * @return an equal string, shared with the cached manifests
+	 */
+	public String intern(String value) {
+		if (value == null) {
+			return null;
+		}
+		synchronized (fStrings) {
+			String interned = fStrings.putIfAbsent(value, value);
+			return interned != null ? interned : value;
+		}
+	}
+
+	private static byte[] digest(byte[] content) {
+		try {
+			return MessageDigest.getInstance("SHA-256").digest(content); //$NON-NLS-1$
+		} catch (NoSuchAlgorithmException e) {
+			// every Java platform is required to support SHA-256
+			throw new IllegalStateException(e);
+		}
+	}
+
+	/**
+	 * Discards all cached manifests and interned strings
+	 */
+	public void clear() {
+		synchronized (this) {
+			fManifests.clear();
+		}
+		synchronized (fStrings) {
+			fStrings.clear();
+		}
+	}
+
+	/**
+	 * @return the number of manifests taken from the cache
+	 */
+	public long getHitCount() {
+		return fHits.get();
+	}
+
+	/**
+	 * @return the number of manifests that had to be parsed
+	 */
+	public long getMissCount() {
+		return fMisses.get();
+	}
+
+	/**
+	 * @return the ratio of manifests taken from the cache, between 0 and 1
+	 */
+	public double getHitRate() {
+		long hits = getHitCount();
+		long total = hits + getMissCount();
+		return total == 0 ? 0 : (double) hits / total;
+	}
+
+	/**
+	 * @return the number of cached manifests
+	 */
+	public synchronized int size() {
+		return fManifests.size();
+	}
+
+	@Override
+	public String toString() {
+		return "ManifestCache[size: " + size() + ", hits: " + getHitCount() + ", misses: " + getMissCount() + "]"; //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$
+	}
+}
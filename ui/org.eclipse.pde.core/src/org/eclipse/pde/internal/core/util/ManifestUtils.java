@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2006, 2018 IBM Corporation and others.
+ * Copyright (c) 2006, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -14,16 +14,17 @@
 package org.eclipse.pde.internal.core.util;
 
 import java.io.File;
-import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.Writer;
+import java.nio.file.Files;
 import java.util.HashMap;
 import java.util.Hashtable;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.TreeMap;
 import java.util.jar.JarFile;
 import java.util.zip.ZipEntry;
 import java.util.zip.ZipFile;
@@ -84,10 +85,9 @@ public class ManifestUtils {
 	 * OSGi is not running to load manifest information for a bundle.
 	 * </p>
 	 * <p>
-	 * TODO This method may be removed in favour of one that caches manifest
-	 * contents. Currently caching is not worthwhile as calling
-	 * <code>ManifestElement.parseManifest()</code> takes trivial time (under 1ms)
-	 * on repeat calls to the same file.
+	 * Manifests are parsed through the {@link ManifestCache}, a manifest whose
+	 * content has been parsed before is not parsed again. The returned map is a
+	 * copy that can be modified by the caller.
 	 * </p>
 	 *
 	 * @param bundleLocation
@@ -110,9 +110,11 @@ public class ManifestUtils {
 					if (manifestEntry != null) {
 						stream = jarFile.getInputStream(manifestEntry);
 						if (stream != null) {
-							Map<String, String> map = ManifestElement.parseBundleManifest(stream, null);
+							// header names of archives are case insensitive
+							Map<String, String> map = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+							map.putAll(ManifestCache.getDefault().parse(stream.readAllBytes()));
 							// Symbolic name is the only required manifest entry, this is an ok bundle
-							if (map != null && map.containsKey(Constants.BUNDLE_SYMBOLICNAME)) {
+							if (map.containsKey(Constants.BUNDLE_SYMBOLICNAME)) {
 								return map;
 							}
 						}
@@ -124,11 +126,9 @@ public class ManifestUtils {
 				// Check the manifest.MF
 				File file = new File(bundleLocation, JarFile.MANIFEST_NAME);
 				if (file.exists()) {
-					try (InputStream stream = new FileInputStream(file);) {
-						Map<String, String> map = ManifestElement.parseBundleManifest(stream, new HashMap<String, String>(10));
-						if (map != null && map.containsKey(Constants.BUNDLE_SYMBOLICNAME)) {
-							return map;
-						}
+					Map<String, String> map = new HashMap<>(ManifestCache.getDefault().parse(Files.readAllBytes(file.toPath())));
+					if (map.containsKey(Constants.BUNDLE_SYMBOLICNAME)) {
+						return map;
 					}
 				}else {
 					throw new CoreException(new Status(IStatus.ERROR, PDECore.PLUGIN_ID, STATUS_CODE_NOT_A_BUNDLE_MANIFEST, NLS.bind(UtilMessages.ErrorManifestFileAbsent, bundleLocation.getAbsolutePath()), null));
@@ -0,0 +1,72 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse contributors and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Eclipse contributors - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.pde.internal.core.util;
+
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * The pool of threads shared by the work PDE does concurrently: reading the
+ * manifests of the target bundles, resolving target locations and validating
+ * plug-in files.
+ * <p>
+ * The number of threads is set by the {@value #THREADS_PROPERTY} system
+ * property and defaults to the number of processors. It is read when the pool
+ * is created, after the first use or after {@link #shutdown()}. A value of 1
+ * disables the pool, the work is then done one task after another in the
+ * calling thread.
+ * </p>
+ * <p>
+ * This class is thread safe.
+ * </p>
+ */
+public final class WorkerPool {
+
+	/**
+	 * System property setting the number of threads of the pool
+	 */
+	public static final String THREADS_PROPERTY = "pde.workerThreads"; //$NON-NLS-1$
+
+	private static ForkJoinPool fPool;
+
+	private WorkerPool() {
+	}
+
+	/**
+	 * Returns the shared pool, creating it on first use.
+	 *
+	 * @return the pool, or <code>null</code> if the work is to be done in the
+	 *         calling thread
+	 */
+	public static synchronized ForkJoinPool getPool() {
+		if (fPool == null) {
+			int threads = Integer.getInteger(THREADS_PROPERTY, Runtime.getRuntime().availableProcessors()).intValue();
+			if (threads <= 1) {
+				return null;
+			}
+			fPool = new ForkJoinPool(threads);
+		}
+		return fPool;
+	}
+
+	/**
+	 * Stops the threads of the pool, the tasks that did not start yet are not
+	 * run. A later call to {@link #getPool()} creates a new pool.
+	 */
+	public static synchronized void shutdown() {
+		if (fPool != null) {
+			fPool.shutdownNow();
+			fPool = null;
+		}
+	}
+}
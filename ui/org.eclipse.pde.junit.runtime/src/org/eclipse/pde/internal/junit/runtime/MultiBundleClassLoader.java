@@ -1,5 +1,5 @@
 /*******************************************************************************
- *  Copyright (c) 2018 IBM Corporation and others.
+ *  Copyright (c) 2018, 2026 IBM Corporation and others.
  *
  *  This program and the accompanying materials
  *  are made available under the terms of the Eclipse Public License 2.0
@@ -16,11 +16,40 @@ package org.eclipse.pde.internal.junit.runtime;
 import java.io.IOException;
 import java.net.URL;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 import org.eclipse.core.runtime.FileLocator;
 import org.osgi.framework.Bundle;
+import org.osgi.framework.namespace.BundleNamespace;
+import org.osgi.framework.namespace.PackageNamespace;
+import org.osgi.framework.wiring.*;
 
-class MultiBundleClassLoader extends ClassLoader {
-	private List<Bundle> bundleList;
+/**
+ * Class loader that loads classes and resources through a list of bundles,
+ * the first bundle that can load a class or find a resource wins.
+ * <p>
+ * An index of the packages each bundle exports, imports or contains is built
+ * from the bundle wirings on the first lookup. It is only used to skip the
+ * bundles that cannot see the package of a class; bundles that require other
+ * bundles or import packages dynamically are never skipped. Loaded classes,
+ * classes that no bundle can load and resolved resource URLs are cached, so
+ * that repeated lookups do not go through the bundles again.
+ * </p>
+ */
+public class MultiBundleClassLoader extends ClassLoader {
+
+	/**
+	 * Maximum number of remembered classes or resources that cannot be found
+	 */
+	private static final int MAX_MISSING = 10000;
+
+	private final List<Bundle> bundleList;
+	/**
+	 * Index of the packages visible to the bundles, created on first use
+	 */
+	private volatile PackageIndex packageIndex;
+	private final Map<String, Class<?>> loadedClasses = new ConcurrentHashMap<>();
+	private final Set<String> missingClasses = ConcurrentHashMap.newKeySet();
+	private final Map<String, Optional<URL>> resolvedResources = new ConcurrentHashMap<>();
 
 	public MultiBundleClassLoader(List<Bundle> platformEngineBundles) {
 		super(null); // never delegate to system classloader, only load classes via given Bundles
@@ -29,19 +58,140 @@ class MultiBundleClassLoader extends ClassLoader {
 
 	@Override
 	protected Class<?> findClass(String name) throws ClassNotFoundException {
-		for (Bundle temp : bundleList) {
-			try {
-				Class<?> c = temp.loadClass(name);
-				if (c != null)
+		Class<?> c = loadedClasses.get(name);
+		if (c != null) {
+			return c;
+		}
+		if (missingClasses.contains(name)) {
+			throw new ClassNotFoundException(name);
+		}
+		PackageIndex index = getPackageIndex();
+		Set<Bundle> providers = index.getBundles(getPackageName(name));
+		for (Bundle bundle : bundleList) {
+			if (providers.contains(bundle) || index.unindexedBundles.contains(bundle)) {
+				c = loadClass(bundle, name);
+				if (c != null) {
+					return c;
+				}
+			}
+		}
+		// classes of boot delegated packages can be loaded by any bundle
+		for (Bundle bundle : bundleList) {
+			if (!providers.contains(bundle) && !index.unindexedBundles.contains(bundle)) {
+				c = loadClass(bundle, name);
+				if (c != null) {
 					return c;
-			} catch (ClassNotFoundException e) {
+				}
 			}
 		}
+		if (missingClasses.size() < MAX_MISSING) {
+			missingClasses.add(name);
+		}
 		throw new ClassNotFoundException(name);
 	}
 
+	private Class<?> loadClass(Bundle bundle, String name) {
+		try {
+			Class<?> c = bundle.loadClass(name);
+			if (c != null) {
+				loadedClasses.put(name, c);
+			}
+			return c;
+		} catch (ClassNotFoundException e) {
+			return null;
+		}
+	}
+
+	private static String getPackageName(String className) {
+		int index = className.lastIndexOf('.');
+		return index == -1 ? "" : className.substring(0, index); //$NON-NLS-1$
+	}
+
+	private PackageIndex getPackageIndex() {
+		PackageIndex index = packageIndex;
+		if (index == null) {
+			index = new PackageIndex(bundleList);
+			packageIndex = index;
+		}
+		return index;
+	}
+
+	/**
+	 * The bundles that can see each package through their wiring
+	 */
+	private static final class PackageIndex {
+
+		/**
+		 * Bundles by the packages they export, import or contain
+		 */
+		final Map<String, Set<Bundle>> bundlesByPackage = new HashMap<>();
+		/**
+		 * Bundles that may see packages not in the index: unresolved bundles,
+		 * and bundles requiring other bundles or importing packages
+		 * dynamically
+		 */
+		final Set<Bundle> unindexedBundles = new HashSet<>();
+
+		PackageIndex(List<Bundle> bundles) {
+			for (Bundle bundle : bundles) {
+				BundleWiring wiring = bundle.adapt(BundleWiring.class);
+				if (wiring == null || !wiring.getRequiredWires(BundleNamespace.BUNDLE_NAMESPACE).isEmpty()
+						|| hasDynamicImports(wiring)) {
+					unindexedBundles.add(bundle);
+					continue;
+				}
+				Set<String> packages = new HashSet<>();
+				for (BundleCapability capability : wiring.getCapabilities(PackageNamespace.PACKAGE_NAMESPACE)) {
+					packages.add((String) capability.getAttributes().get(PackageNamespace.PACKAGE_NAMESPACE));
+				}
+				for (BundleWire wire : wiring.getRequiredWires(PackageNamespace.PACKAGE_NAMESPACE)) {
+					packages.add((String) wire.getCapability().getAttributes().get(PackageNamespace.PACKAGE_NAMESPACE));
+				}
+				Collection<String> classFiles = wiring.listResources("/", "*.class", //$NON-NLS-1$ //$NON-NLS-2$
+						BundleWiring.LISTRESOURCES_LOCAL | BundleWiring.LISTRESOURCES_RECURSE);
+				if (classFiles != null) {
+					for (String classFile : classFiles) {
+						int slash = classFile.lastIndexOf('/');
+						packages.add(slash == -1 ? "" : classFile.substring(0, slash).replace('/', '.')); //$NON-NLS-1$
+					}
+				}
+				for (String packageName : packages) {
+					if (packageName != null) {
+						bundlesByPackage.computeIfAbsent(packageName, p -> new HashSet<>()).add(bundle);
+					}
+				}
+			}
+		}
+
+		private static boolean hasDynamicImports(BundleWiring wiring) {
+			for (BundleRequirement requirement : wiring.getRevision()
+					.getDeclaredRequirements(PackageNamespace.PACKAGE_NAMESPACE)) {
+				String resolution = requirement.getDirectives().get(PackageNamespace.REQUIREMENT_RESOLUTION_DIRECTIVE);
+				if (PackageNamespace.RESOLUTION_DYNAMIC.equals(resolution)) {
+					return true;
+				}
+			}
+			return false;
+		}
+
+		Set<Bundle> getBundles(String packageName) {
+			return bundlesByPackage.getOrDefault(packageName, Collections.emptySet());
+		}
+	}
+
 	@Override
 	protected URL findResource(String name) {
+		Optional<URL> resolved = resolvedResources.get(name);
+		if (resolved == null) {
+			resolved = Optional.ofNullable(resolveResource(name));
+			if (resolved.isPresent() || resolvedResources.size() < MAX_MISSING) {
+				resolvedResources.put(name, resolved);
+			}
+		}
+		return resolved.orElse(null);
+	}
+
+	private URL resolveResource(String name) {
 		URL url = null;
 		for (Bundle temp : bundleList) {
 			url = temp.getResource(name);
@@ -67,4 +217,4 @@ class MultiBundleClassLoader extends ClassLoader {
 		}
 		return Collections.enumeration(merged);
 	}
-}
\ No newline at end of file
+}
@@ -1,5 +1,6 @@
 package org.eclipse.pde.core.tests.internal;
 
+import org.eclipse.pde.core.tests.internal.schema.SchemaRegistryTest;
 import org.junit.runner.RunWith;
 import org.junit.runners.Suite;
 import org.junit.runners.Suite.SuiteClasses;
@@ -9,6 +10,8 @@ import org.junit.runners.Suite.SuiteClasses;
 	DependencyManagerTest.class, //
 	WorkspaceModelManagerTest.class, //
 	WorkspaceProductModelManagerTest.class, //
+	PDEExtensionRegistryTest.class, //
+	SchemaRegistryTest.class, //
 })
 public class AllPDECoreTests {
 }
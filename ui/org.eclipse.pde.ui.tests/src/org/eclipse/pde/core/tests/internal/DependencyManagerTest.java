@@ -1,5 +1,5 @@
 /*******************************************************************************
- *  Copyright (c) 2021, 2022 Hannes Wellmann and others.
+ *  Copyright (c) 2021, 2026 Hannes Wellmann and others.
  *
  *  This program and the accompanying materials
  *  are made available under the terms of the Eclipse Public License 2.0
@@ -18,6 +18,7 @@ package org.eclipse.pde.core.tests.internal;
 import static java.util.Map.entry;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.eclipse.pde.internal.core.DependencyManager.findRequirementsClosure;
+import static org.eclipse.pde.internal.core.DependencyManager.getRequirementsClosure;
 import static org.eclipse.pde.internal.core.DependencyManager.Options.INCLUDE_ALL_FRAGMENTS;
 import static org.eclipse.pde.internal.core.DependencyManager.Options.INCLUDE_NON_TEST_FRAGMENTS;
 import static org.eclipse.pde.internal.core.DependencyManager.Options.INCLUDE_OPTIONAL_DEPENDENCIES;
@@ -43,10 +44,14 @@ import org.eclipse.osgi.service.resolver.BundleDescription;
 import org.eclipse.osgi.service.resolver.VersionRange;
 import org.eclipse.pde.core.plugin.IPluginModelBase;
 import org.eclipse.pde.core.plugin.PluginRegistry;
+import org.eclipse.pde.core.project.IBundleProjectDescription;
+import org.eclipse.pde.core.project.IRequiredBundleDescription;
 import org.eclipse.pde.core.target.NameVersionDescriptor;
 import org.eclipse.pde.internal.core.ClasspathComputer;
+import org.eclipse.pde.internal.core.DependencyClosure;
 import org.eclipse.pde.internal.core.PluginModelManager;
 import org.eclipse.pde.ui.tests.launcher.AbstractLaunchTest;
+import org.eclipse.pde.ui.tests.project.ProjectCreationTests;
 import org.eclipse.pde.ui.tests.util.ProjectUtils;
 import org.eclipse.pde.ui.tests.util.TargetPlatformUtil;
 import org.junit.*;
@@ -333,6 +338,90 @@ public class DependencyManagerTest {
 		assertThat(optionalClosure).isEqualTo(Set.of(bundleOptional, bundleA1, bundleA2, bundleProvider));
 	}
 
+	@Test
+	public void testGetRequirementsClosure_cachedAndCombined() throws Exception {
+
+		setTargetPlatform( //
+				bundle("bundle.a1", "1.0.0"),
+
+				bundle("bundle.a2", "1.0.0", //
+						entry(REQUIRE_BUNDLE, "bundle.a1")),
+
+				bundle("bundle.b", "1.0.0"));
+
+		BundleDescription bundleA1 = bundleDescription("bundle.a1", "1.0.0");
+		BundleDescription bundleA2 = bundleDescription("bundle.a2", "1.0.0");
+		BundleDescription bundleB = bundleDescription("bundle.b", "1.0.0");
+
+		DependencyClosure closureA = getRequirementsClosure(Set.of(bundleA2));
+		assertThat(closureA.getBundles()).isEqualTo(Set.of(bundleA1, bundleA2));
+		assertThat(getRequirementsClosure(List.of(bundleA2))).isSameAs(closureA);
+		assertThat(getRequirementsClosure(Set.of(bundleA2), INCLUDE_OPTIONAL_DEPENDENCIES)).isNotSameAs(closureA);
+
+		DependencyClosure closureA1 = getRequirementsClosure(Set.of(bundleA1));
+		DependencyClosure closureB = getRequirementsClosure(Set.of(bundleB));
+		assertThat(closureA.containsAll(closureA1)).isTrue();
+		assertThat(closureA.intersects(closureB)).isFalse();
+		assertThat(closureA.contains(bundleB)).isFalse();
+
+		DependencyClosure union = closureA.union(closureB);
+		assertThat(union.getBundles()).isEqualTo(Set.of(bundleA1, bundleA2, bundleB));
+		assertThat(union.containsAll(closureA)).isTrue();
+		assertThat(union.containsAll(closureB)).isTrue();
+		assertThat(closureA.containsAll(union)).isFalse();
+
+		// the returned sets can be modified without affecting the cache
+		findRequirementsClosure(Set.of(bundleA2)).remove(bundleA1);
+		assertThat(findRequirementsClosure(Set.of(bundleA2))).isEqualTo(Set.of(bundleA1, bundleA2));
+	}
+
+	@Test
+	public void testGetRequirementsClosure_recomputedOnChange() throws Exception {
+
+		setTargetPlatform( //
+				bundle("bundle.b", "1.0.0"),
+
+				bundle("bundle.host", "1.0.0"));
+
+		IProject projectA1 = ProjectUtils.createPluginProject("bundle.a1", "bundle.a1", "1.0.0");
+		IProject projectA2 = ProjectUtils.createPluginProject("bundle.a2", "bundle.a2", "1.0.0", (d, s) -> {
+			d.setRequiredBundles(new IRequiredBundleDescription[] { //
+					s.newRequiredBundle("bundle.a1", null, false, false),
+					s.newRequiredBundle("bundle.host", null, false, false) });
+		});
+		BundleDescription bundleA2 = PluginRegistry.findModel(projectA2).getBundleDescription();
+		BundleDescription bundleB = bundleDescription("bundle.b", "1.0.0");
+		BundleDescription bundleHost = bundleDescription("bundle.host", "1.0.0");
+
+		DependencyClosure closure = getRequirementsClosure(Set.of(bundleA2));
+		DependencyClosure fragmentsClosure = getRequirementsClosure(Set.of(bundleA2), INCLUDE_ALL_FRAGMENTS);
+		assertThat(closure.getBundles()).doesNotContain(bundleB);
+		assertThat(getRequirementsClosure(Set.of(bundleA2))).isSameAs(closure);
+
+		// a bundle in the closure changes its requirements
+		IBundleProjectDescription description = ProjectCreationTests.getBundleProjectService()
+				.getDescription(projectA1);
+		description.setRequiredBundles(new IRequiredBundleDescription[] {
+				ProjectCreationTests.getBundleProjectService().newRequiredBundle("bundle.b", null, false, false) });
+		description.apply(null);
+		bundleA2 = PluginRegistry.findModel(projectA2).getBundleDescription();
+		BundleDescription bundleA1 = PluginRegistry.findModel(projectA1).getBundleDescription();
+
+		DependencyClosure changed = getRequirementsClosure(Set.of(bundleA2));
+		assertThat(changed).isNotSameAs(closure);
+		assertThat(changed.getBundles()).isEqualTo(Set.of(bundleA2, bundleA1, bundleB, bundleHost));
+
+		// a fragment is added to a host in the closure
+		DependencyClosure beforeFragment = getRequirementsClosure(Set.of(bundleA2), INCLUDE_ALL_FRAGMENTS);
+		assertThat(beforeFragment).isNotSameAs(fragmentsClosure);
+		BundleDescription fragment = createFragmentProject("bundle.host.fragment", "bundle.host", false);
+		bundleA2 = PluginRegistry.findModel(projectA2).getBundleDescription();
+
+		DependencyClosure withFragment = getRequirementsClosure(Set.of(bundleA2), INCLUDE_ALL_FRAGMENTS);
+		assertThat(withFragment).isNotSameAs(beforeFragment);
+		assertThat(withFragment.getBundles()).contains(fragment);
+	}
+
 	// --- utility methods ---
 
 	@SafeVarargs
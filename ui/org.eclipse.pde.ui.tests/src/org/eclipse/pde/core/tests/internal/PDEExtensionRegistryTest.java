@@ -0,0 +1,163 @@
+/*******************************************************************************
+ *  Copyright (c) 2026 Eclipse contributors and others.
+ *
+ *  This program and the accompanying materials
+ *  are made available under the terms of the Eclipse Public License 2.0
+ *  which accompanies this distribution, and is available at
+ *  https://www.eclipse.org/legal/epl-2.0/
+ *
+ *  SPDX-License-Identifier: EPL-2.0
+ *
+ *  Contributors:
+ *     Eclipse contributors - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.pde.core.tests.internal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import org.eclipse.core.resources.IFile;
+import org.eclipse.core.resources.IProject;
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IExtension;
+import org.eclipse.pde.core.plugin.IPluginExtension;
+import org.eclipse.pde.core.plugin.IPluginModelBase;
+import org.eclipse.pde.core.plugin.PluginRegistry;
+import org.eclipse.pde.internal.core.PDECore;
+import org.eclipse.pde.internal.core.PDEExtensionRegistry;
+import org.eclipse.pde.internal.core.project.PDEProject;
+import org.eclipse.pde.ui.tests.runtime.TestUtils;
+import org.eclipse.pde.ui.tests.util.ProjectUtils;
+import org.junit.ClassRule;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TestRule;
+
+/**
+ * Tests the lookup of the extensions to an extension point that does not
+ * exist, which uses an index of the extensions by extension point
+ */
+public class PDEExtensionRegistryTest {
+
+	@ClassRule
+	public static final TestRule CLEAR_WORKSPACE = ProjectUtils.DELETE_ALL_WORKSPACE_PROJECTS_BEFORE_AND_AFTER;
+	@Rule
+	public final TestRule deleteCreatedTestProjectsAfter = ProjectUtils.DELETE_CREATED_WORKSPACE_PROJECTS_AFTER;
+
+	private static final String MISSING_POINT = "pde.registry.missing.point";
+	private static final String OTHER_MISSING_POINT = "pde.registry.other.point";
+
+	private static PDEExtensionRegistry getRegistry() {
+		return PDECore.getDefault().getExtensionsRegistry();
+	}
+
+	/**
+	 * Creates a singleton plug-in project contributing an extension to each of
+	 * the given extension points
+	 */
+	private static IProject createContributor(String name, String... points) throws CoreException {
+		IProject project = ProjectUtils.createPluginProject(name, name, "1.0.0",
+				(description, service) -> description.setSingleton(true));
+		setExtensions(project, points);
+		return project;
+	}
+
+	private static void setExtensions(IProject project, String... points) throws CoreException {
+		StringBuilder xml = new StringBuilder();
+		xml.append("<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n<?eclipse version=\"3.4\"?>\n<plugin>\n");
+		for (String point : points) {
+			xml.append("   <extension point=\"").append(point).append("\"/>\n");
+		}
+		xml.append("</plugin>\n");
+		IFile file = PDEProject.getPluginXml(project);
+		ByteArrayInputStream contents = new ByteArrayInputStream(xml.toString().getBytes(StandardCharsets.UTF_8));
+		if (file.exists()) {
+			file.setContents(contents, true, false, null);
+		} else {
+			file.create(contents, true, null);
+		}
+		TestUtils.waitForJobs("PDEExtensionRegistryTest", 100, 10000);
+	}
+
+	/**
+	 * @return the symbolic names of the contributors of the extensions to the
+	 *         given extension point, in the order they are found
+	 */
+	private static List<String> findContributors(String point, boolean activeOnly) {
+		IExtension[] extensions = getRegistry().findExtensions(point, activeOnly);
+		return Arrays.stream(extensions).map(e -> e.getContributor().getName()).toList();
+	}
+
+	/**
+	 * @return the symbolic names of the contributors of the extensions to the
+	 *         given extension point, looked up model by model like before the
+	 *         index
+	 */
+	private static List<String> findContributorsByModel(String point, boolean activeOnly) {
+		IPluginModelBase[] models = activeOnly ? PluginRegistry.getActiveModels() : PluginRegistry.getAllModels();
+		List<String> contributors = new ArrayList<>();
+		for (IPluginModelBase model : models) {
+			for (IPluginExtension extension : getRegistry().findExtensionsForPlugin(model)) {
+				if (point.equals(extension.getPoint())) {
+					contributors.add(model.getPluginBase().getId());
+				}
+			}
+		}
+		return contributors;
+	}
+
+	@Test
+	public void testMissingExtensionPoint() throws Exception {
+		createContributor("registry.unrelated", OTHER_MISSING_POINT);
+
+		assertThat(getRegistry().findExtensions(MISSING_POINT, false)).isEmpty();
+		assertThat(getRegistry().findExtensions(MISSING_POINT, true)).isEmpty();
+		assertThat(findContributors(OTHER_MISSING_POINT, false)).containsExactly("registry.unrelated");
+	}
+
+	@Test
+	public void testModelOrder() throws Exception {
+		createContributor("registry.c", MISSING_POINT);
+		createContributor("registry.a", MISSING_POINT, OTHER_MISSING_POINT);
+		createContributor("registry.b", OTHER_MISSING_POINT);
+		createContributor("registry.d", MISSING_POINT, MISSING_POINT);
+
+		for (boolean activeOnly : new boolean[] { false, true }) {
+			List<String> contributors = findContributors(MISSING_POINT, activeOnly);
+			assertThat(contributors).containsExactlyInAnyOrder("registry.a", "registry.c", "registry.d",
+					"registry.d");
+			assertThat(contributors).isEqualTo(findContributorsByModel(MISSING_POINT, activeOnly));
+		}
+	}
+
+	@Test
+	public void testIndexUpdated() throws Exception {
+		IProject first = createContributor("registry.first", MISSING_POINT);
+		assertThat(findContributors(MISSING_POINT, false)).containsExactly("registry.first");
+
+		// a project is added
+		IProject second = createContributor("registry.second", MISSING_POINT);
+		assertThat(findContributors(MISSING_POINT, false)).containsExactlyInAnyOrder("registry.first",
+				"registry.second");
+
+		// an extension is removed and another one added
+		setExtensions(first, OTHER_MISSING_POINT);
+		assertThat(findContributors(MISSING_POINT, false)).containsExactly("registry.second");
+		assertThat(findContributors(OTHER_MISSING_POINT, false)).containsExactly("registry.first");
+
+		// an extension is added
+		setExtensions(second, MISSING_POINT, OTHER_MISSING_POINT);
+		assertThat(findContributors(OTHER_MISSING_POINT, false)).containsExactlyInAnyOrder("registry.first",
+				"registry.second");
+
+		// a project is removed
+		second.delete(true, null);
+		TestUtils.waitForJobs("PDEExtensionRegistryTest", 100, 10000);
+		assertThat(findContributors(MISSING_POINT, false)).isEmpty();
+		assertThat(findContributors(OTHER_MISSING_POINT, false)).containsExactly("registry.first");
+	}
+}
@@ -0,0 +1,97 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse contributors and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Eclipse contributors - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.pde.core.tests.internal.classpath;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.HashMap;
+import java.util.Map;
+import org.eclipse.core.resources.IProject;
+import org.eclipse.jdt.core.IAccessRule;
+import org.eclipse.jdt.core.IClasspathEntry;
+import org.eclipse.pde.core.plugin.PluginRegistry;
+import org.eclipse.pde.internal.core.RequiredPluginsClasspathContainer;
+import org.eclipse.pde.ui.tests.util.ProjectUtils;
+import org.junit.ClassRule;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TestRule;
+
+/**
+ * Tests that the access rules of the required plug-ins container follow the
+ * changes of the bundles exporting the packages, which are cached between
+ * classpath computations
+ */
+public class AccessRulesUpdateTest {
+
+	@ClassRule
+	public static final TestRule CLEAR_WORKSPACE = ProjectUtils.DELETE_ALL_WORKSPACE_PROJECTS_BEFORE_AND_AFTER;
+	@Rule
+	public final TestRule deleteCreatedTestProjectsAfter = ProjectUtils.DELETE_CREATED_WORKSPACE_PROJECTS_AFTER;
+
+	/**
+	 * @return the kinds of the access rules of the required plug-ins
+	 *         container of the given project by pattern
+	 */
+	private static Map<String, Integer> getAccessRules(IProject project) {
+		RequiredPluginsClasspathContainer container = new RequiredPluginsClasspathContainer(
+				PluginRegistry.findModel(project));
+		Map<String, Integer> rules = new HashMap<>();
+		for (IClasspathEntry entry : container.getClasspathEntries()) {
+			for (IAccessRule rule : entry.getAccessRules()) {
+				rules.putIfAbsent(rule.getPattern().toString(), rule.getKind());
+			}
+		}
+		return rules;
+	}
+
+	@Test
+	public void testExporterChanged() throws Exception {
+		IProject exporter = ProjectUtils.createPluginProjectWithHeaders("rules.exporter", "Export-Package: rules.a,rules.b;x-friends:=\"rules.other\"\n");
+		IProject importer = ProjectUtils.createPluginProjectWithHeaders("rules.importer", "Require-Bundle: rules.exporter\n");
+
+		Map<String, Integer> rules = getAccessRules(importer);
+		assertThat(rules).containsEntry("rules/a/*", IAccessRule.K_ACCESSIBLE);
+		assertThat(rules).containsEntry("rules/b/*", IAccessRule.K_DISCOURAGED);
+		assertThat(rules).doesNotContainKey("rules/c/*");
+
+		// the importer becomes a friend
+		ProjectUtils.setManifest(exporter, "Export-Package: rules.a,rules.b;x-friends:=\"rules.other,rules.importer\"\n");
+		rules = getAccessRules(importer);
+		assertThat(rules).containsEntry("rules/b/*", IAccessRule.K_ACCESSIBLE);
+
+		// a package is exported
+		ProjectUtils.setManifest(exporter, "Export-Package: rules.a,rules.b;x-friends:=\"rules.other,rules.importer\",rules.c\n");
+		rules = getAccessRules(importer);
+		assertThat(rules).containsEntry("rules/c/*", IAccessRule.K_ACCESSIBLE);
+	}
+
+	@Test
+	public void testFragmentChanged() throws Exception {
+		ProjectUtils.createPluginProjectWithHeaders("rules.host", "Export-Package: rules.h\n");
+		IProject fragment = ProjectUtils.createPluginProjectWithHeaders("rules.host.fragment",
+				"Fragment-Host: rules.host\nExport-Package: rules.f\n");
+		IProject importer = ProjectUtils.createPluginProjectWithHeaders("rules.host.importer", "Require-Bundle: rules.host\n");
+
+		Map<String, Integer> rules = getAccessRules(importer);
+		assertThat(rules).containsEntry("rules/h/*", IAccessRule.K_ACCESSIBLE);
+		assertThat(rules).containsEntry("rules/f/*", IAccessRule.K_ACCESSIBLE);
+		assertThat(rules).doesNotContainKey("rules/g/*");
+
+		// the fragment exports one more package of the host
+		ProjectUtils.setManifest(fragment, "Fragment-Host: rules.host\nExport-Package: rules.f,rules.g\n");
+		rules = getAccessRules(importer);
+		assertThat(rules).containsEntry("rules/g/*", IAccessRule.K_ACCESSIBLE);
+	}
+}
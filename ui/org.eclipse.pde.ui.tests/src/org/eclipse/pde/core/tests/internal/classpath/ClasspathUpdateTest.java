@@ -0,0 +1,101 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse contributors and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Eclipse contributors - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.pde.core.tests.internal.classpath;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import org.eclipse.core.resources.IFile;
+import org.eclipse.core.resources.IWorkspaceRoot;
+import org.eclipse.core.resources.ResourcesPlugin;
+import org.eclipse.core.runtime.jobs.Job;
+import org.eclipse.jdt.core.IClasspathContainer;
+import org.eclipse.jdt.core.IJavaProject;
+import org.eclipse.jdt.core.JavaCore;
+import org.eclipse.jdt.launching.environments.IExecutionEnvironment;
+import org.eclipse.pde.core.project.IRequiredBundleDescription;
+import org.eclipse.pde.internal.core.PDECore;
+import org.eclipse.pde.internal.core.PluginModelManager;
+import org.eclipse.pde.ui.tests.runtime.TestUtils;
+import org.eclipse.pde.ui.tests.util.ProjectUtils;
+import org.junit.ClassRule;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TestRule;
+
+/**
+ * Tests that the classpath containers of the plug-ins affected by a burst of
+ * model changes are updated once
+ */
+public class ClasspathUpdateTest {
+
+	@ClassRule
+	public static final TestRule CLEAR_WORKSPACE = ProjectUtils.DELETE_ALL_WORKSPACE_PROJECTS_BEFORE_AND_AFTER;
+	@Rule
+	public final TestRule deleteCreatedTestProjectsAfter = ProjectUtils.DELETE_CREATED_WORKSPACE_PROJECTS_AFTER;
+
+	private static void write(IFile file, String content) throws Exception {
+		file.setContents(new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8)), true, false, null);
+	}
+
+	private static String manifest(String symbolicName, String version, String requiredBundle) {
+		return "Manifest-Version: 1.0\n" //
+				+ "Bundle-ManifestVersion: 2\n" //
+				+ "Bundle-SymbolicName: " + symbolicName + "\n" //
+				+ "Bundle-Version: " + version + "\n" //
+				+ (requiredBundle != null ? "Require-Bundle: " + requiredBundle + "\n" : "");
+	}
+
+	private static IClasspathContainer getContainer(IJavaProject project) throws Exception {
+		return JavaCore.getClasspathContainer(PDECore.REQUIRED_PLUGINS_CONTAINER_PATH, project);
+	}
+
+	@Test
+	public void testBurstOfChangesCoalesced() throws Exception {
+		IFile libManifest = ProjectUtils.createPluginProject("cp.lib", "cp.lib", "1.0.0").getFile("META-INF/MANIFEST.MF");
+		ProjectUtils.createPluginProject("cp.mid", "cp.mid", "1.0.0", (d, s) -> {
+			d.setRequiredBundles(new IRequiredBundleDescription[] { s.newRequiredBundle("cp.lib", null, false, false) });
+		});
+		IJavaProject user = ProjectUtils.createPluginProject("cp.user", (IExecutionEnvironment) null);
+		write(user.getProject().getFile("META-INF/MANIFEST.MF"), manifest("cp.user", "1.0.0", "cp.lib"));
+		// depends on cp.lib only through the requirements of a secondary dependency
+		IJavaProject secondary = ProjectUtils.createPluginProject("cp.secondary", (IExecutionEnvironment) null);
+		IFile buildProperties = secondary.getProject().getFile("build.properties");
+		String properties = new String(buildProperties.getContents().readAllBytes(), StandardCharsets.UTF_8);
+		write(buildProperties, properties + "\nadditional.bundles = cp.mid\n");
+		TestUtils.waitForJobs("ClasspathUpdateTest", 500, 10000);
+
+		PluginModelManager manager = PDECore.getDefault().getModelManager();
+		long updates = manager.getClasspathUpdateCount();
+		IClasspathContainer userContainer = getContainer(user);
+		IClasspathContainer secondaryContainer = getContainer(secondary);
+
+		// the update job cannot run before the end of the burst
+		IWorkspaceRoot root = ResourcesPlugin.getWorkspace().getRoot();
+		Job.getJobManager().beginRule(root, null);
+		try {
+			for (int i = 1; i <= 5; i++) {
+				write(libManifest, manifest("cp.lib", "1.0." + i, null));
+			}
+		} finally {
+			Job.getJobManager().endRule(root);
+		}
+		TestUtils.waitForJobs("ClasspathUpdateTest", 500, 10000);
+
+		assertThat(manager.getClasspathUpdateCount()).isEqualTo(updates + 1);
+		assertThat(getContainer(user)).isNotSameAs(userContainer);
+		assertThat(getContainer(secondary)).isNotSameAs(secondaryContainer);
+	}
+}
@@ -0,0 +1,106 @@
+/*******************************************************************************
+ *  Copyright (c) 2026 Eclipse contributors and others.
+ *
+ *  This program and the accompanying materials
+ *  are made available under the terms of the Eclipse Public License 2.0
+ *  which accompanies this distribution, and is available at
+ *  https://www.eclipse.org/legal/epl-2.0/
+ *
+ *  SPDX-License-Identifier: EPL-2.0
+ *
+ *  Contributors:
+ *     Eclipse contributors - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.pde.core.tests.internal.core.builders;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.ByteArrayInputStream;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import org.eclipse.core.resources.IFile;
+import org.eclipse.core.resources.IMarker;
+import org.eclipse.core.resources.IProject;
+import org.eclipse.core.resources.ResourcesPlugin;
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.pde.internal.core.builders.IncrementalErrorReporter;
+import org.eclipse.pde.internal.core.builders.PDEMarkerFactory;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class IncrementalErrorReporterTest {
+
+	private IFile file;
+
+	@Before
+	public void setup() throws Exception {
+		IProject project = ResourcesPlugin.getWorkspace().getRoot().getProject(getClass().getName());
+		project.create(null);
+		project.open(null);
+		file = project.getFile("plugin.xml");
+		file.create(new ByteArrayInputStream(new byte[0]), true, null);
+	}
+
+	@After
+	public void tearDown() throws Exception {
+		if (file.getProject().exists()) {
+			file.getProject().delete(true, null);
+		}
+	}
+
+	private void report(int severityOfSecond, boolean second) {
+		IncrementalErrorReporter reporter = new IncrementalErrorReporter(file);
+		reporter.addMarker("first", 1, IMarker.SEVERITY_ERROR, PDEMarkerFactory.NO_RESOLUTION,
+				PDEMarkerFactory.CAT_OTHER);
+		if (second) {
+			reporter.addMarker("second", 2, severityOfSecond, PDEMarkerFactory.NO_RESOLUTION,
+					PDEMarkerFactory.CAT_OTHER);
+		}
+		reporter.applyMarkers();
+	}
+
+	private Map<String, IMarker> findMarkers() throws CoreException {
+		return Arrays.stream(file.findMarkers(PDEMarkerFactory.MARKER_ID, false, 0))
+				.collect(Collectors.toMap(m -> m.getAttribute(IMarker.MESSAGE, ""), m -> m));
+	}
+
+	@Test
+	public void testUnchangedMarkersKept() throws Exception {
+		report(IMarker.SEVERITY_WARNING, true);
+		Map<String, IMarker> before = findMarkers();
+		assertThat(before).containsOnlyKeys("first", "second");
+
+		report(IMarker.SEVERITY_WARNING, true);
+
+		Map<String, IMarker> after = findMarkers();
+		assertThat(after.get("first").getId()).isEqualTo(before.get("first").getId());
+		assertThat(after.get("second").getId()).isEqualTo(before.get("second").getId());
+	}
+
+	@Test
+	public void testChangedMarkerUpdated() throws Exception {
+		report(IMarker.SEVERITY_WARNING, true);
+		long id = findMarkers().get("second").getId();
+
+		report(IMarker.SEVERITY_ERROR, true);
+
+		IMarker marker = findMarkers().get("second");
+		assertThat(marker.getId()).isEqualTo(id);
+		assertThat(marker.getAttribute(IMarker.SEVERITY, -1)).isEqualTo(IMarker.SEVERITY_ERROR);
+	}
+
+	@Test
+	public void testResolvedMarkerDeleted() throws Exception {
+		report(IMarker.SEVERITY_WARNING, true);
+		long id = findMarkers().get("first").getId();
+
+		report(IMarker.SEVERITY_WARNING, false);
+
+		Map<String, IMarker> after = findMarkers();
+		assertThat(after).containsOnlyKeys("first");
+		assertThat(after.get("first").getId()).isEqualTo(id);
+	}
+}
@@ -0,0 +1,138 @@
+/*******************************************************************************
+ *  Copyright (c) 2026 Eclipse contributors and others.
+ *
+ *  This program and the accompanying materials
+ *  are made available under the terms of the Eclipse Public License 2.0
+ *  which accompanies this distribution, and is available at
+ *  https://www.eclipse.org/legal/epl-2.0/
+ *
+ *  SPDX-License-Identifier: EPL-2.0
+ *
+ *  Contributors:
+ *     Eclipse contributors - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.pde.core.tests.internal.core.builders;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.eclipse.core.resources.IFile;
+import org.eclipse.core.resources.IMarker;
+import org.eclipse.core.resources.IProject;
+import org.eclipse.core.resources.IResource;
+import org.eclipse.core.resources.IncrementalProjectBuilder;
+import org.eclipse.jdt.launching.environments.IExecutionEnvironment;
+import org.eclipse.pde.internal.core.builders.PDEMarkerFactory;
+import org.eclipse.pde.internal.core.util.WorkerPool;
+import org.eclipse.pde.ui.tests.runtime.TestUtils;
+import org.eclipse.pde.ui.tests.util.ProjectUtils;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.ClassRule;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TestRule;
+
+/**
+ * Tests that the markers of the plug-in files validated by the
+ * ManifestConsistencyChecker do not depend on the number of threads
+ * analyzing them, and that an incremental build only updates the markers of
+ * the changed files
+ */
+public class ManifestConsistencyCheckerTest {
+
+	@ClassRule
+	public static final TestRule CLEAR_WORKSPACE = ProjectUtils.DELETE_ALL_WORKSPACE_PROJECTS_BEFORE_AND_AFTER;
+	@Rule
+	public final TestRule deleteCreatedTestProjectsAfter = ProjectUtils.DELETE_CREATED_WORKSPACE_PROJECTS_AFTER;
+
+	private static final String MANIFEST = "Manifest-Version: 1.0\n" //
+			+ "Bundle-ManifestVersion: 2\n" //
+			+ "Bundle-SymbolicName: checker.test;singleton:=true\n" //
+			+ "Bundle-Version: 1.0.0\n" //
+			+ "Require-Bundle: checker.missing.bundle\n" //
+			+ "Import-Package: checker.missing.pkg\n";
+
+	private static final String PLUGIN_XML = "<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n" //
+			+ "<?eclipse version=\"3.4\"?>\n" //
+			+ "<plugin>\n" //
+			+ "   <extension point=\"checker.missing.point\">\n" //
+			+ "   </extension>\n" //
+			+ "</plugin>\n";
+
+	private static final String BUILD_PROPERTIES = "source.. = src/\n" //
+			+ "output.. = bin/\n" //
+			+ "bin.includes = META-INF/,\\\n" //
+			+ "               .\n";
+
+	private IProject project;
+
+	@Before
+	public void setUp() throws Exception {
+		project = ProjectUtils.createPluginProject("checker.test", (IExecutionEnvironment) null).getProject();
+		write("META-INF/MANIFEST.MF", MANIFEST);
+		write("plugin.xml", PLUGIN_XML);
+		write("build.properties", BUILD_PROPERTIES);
+	}
+
+	@After
+	public void tearDown() {
+		System.clearProperty(WorkerPool.THREADS_PROPERTY);
+		WorkerPool.shutdown();
+	}
+
+	private void write(String path, String content) throws Exception {
+		IFile file = project.getFile(path);
+		ByteArrayInputStream stream = new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+		if (file.exists()) {
+			file.setContents(stream, true, false, null);
+		} else {
+			file.create(stream, true, null);
+		}
+		TestUtils.waitForJobs("ManifestConsistencyCheckerTest", 100, 10000);
+	}
+
+	/**
+	 * Builds the project, analyzing the files with the given number of
+	 * threads
+	 *
+	 * @return a description of the PDE markers of the given file, in a stable
+	 *         order
+	 */
+	private List<String> build(int kind, int threads, String path) throws Exception {
+		System.setProperty(WorkerPool.THREADS_PROPERTY, Integer.toString(threads));
+		WorkerPool.shutdown();
+		project.build(kind, null);
+		IMarker[] markers = project.getFile(path).findMarkers(PDEMarkerFactory.MARKER_ID, false, IResource.DEPTH_ZERO);
+		return Stream.of(markers)
+				.map(m -> m.getAttribute(IMarker.LINE_NUMBER, -1) + " " + m.getAttribute(IMarker.SEVERITY, -1) + " "
+						+ m.getAttribute(IMarker.MESSAGE, ""))
+				.sorted().toList();
+	}
+
+	@Test
+	public void testConcurrentValidation() throws Exception {
+		for (String path : new String[] { "META-INF/MANIFEST.MF", "plugin.xml", "build.properties" }) {
+			List<String> sequential = build(IncrementalProjectBuilder.FULL_BUILD, 1, path);
+			List<String> concurrent = build(IncrementalProjectBuilder.FULL_BUILD, 4, path);
+			assertThat(sequential).as(path).isNotEmpty();
+			assertThat(concurrent).as(path).isEqualTo(sequential);
+		}
+	}
+
+	@Test
+	public void testIncrementalValidation() throws Exception {
+		List<String> manifestMarkers = build(IncrementalProjectBuilder.FULL_BUILD, 4, "META-INF/MANIFEST.MF");
+		assertThat(build(IncrementalProjectBuilder.FULL_BUILD, 4, "build.properties")).isNotEmpty();
+
+		// only build.properties is validated again
+		write("build.properties", BUILD_PROPERTIES.replace("META-INF/,", "META-INF/,plugin.xml,"));
+		assertThat(build(IncrementalProjectBuilder.INCREMENTAL_BUILD, 4, "build.properties")).isEmpty();
+		assertThat(build(IncrementalProjectBuilder.INCREMENTAL_BUILD, 4, "META-INF/MANIFEST.MF"))
+				.isEqualTo(manifestMarkers);
+	}
+}
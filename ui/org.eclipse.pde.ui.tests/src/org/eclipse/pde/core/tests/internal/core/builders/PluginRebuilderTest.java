@@ -0,0 +1,124 @@
+/*******************************************************************************
+ *  Copyright (c) 2026 Eclipse contributors and others.
+ *
+ *  This program and the accompanying materials
+ *  are made available under the terms of the Eclipse Public License 2.0
+ *  which accompanies this distribution, and is available at
+ *  https://www.eclipse.org/legal/epl-2.0/
+ *
+ *  SPDX-License-Identifier: EPL-2.0
+ *
+ *  Contributors:
+ *     Eclipse contributors - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.pde.core.tests.internal.core.builders;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.eclipse.core.resources.IProject;
+import org.eclipse.core.resources.IWorkspace;
+import org.eclipse.core.resources.IWorkspaceDescription;
+import org.eclipse.core.resources.IncrementalProjectBuilder;
+import org.eclipse.core.resources.ResourcesPlugin;
+import org.eclipse.pde.internal.core.builders.PluginRebuilder;
+import org.eclipse.pde.ui.tests.runtime.TestUtils;
+import org.eclipse.pde.ui.tests.util.ProjectUtils;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.ClassRule;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TestRule;
+
+/**
+ * Tests which plug-in projects the PluginRebuilder touches, for their
+ * ManifestConsistencyChecker to validate them again, when a bundle of the
+ * workspace changes
+ */
+public class PluginRebuilderTest {
+
+	@ClassRule
+	public static final TestRule CLEAR_WORKSPACE = ProjectUtils.DELETE_ALL_WORKSPACE_PROJECTS_BEFORE_AND_AFTER;
+	@Rule
+	public final TestRule deleteCreatedTestProjectsAfter = ProjectUtils.DELETE_CREATED_WORKSPACE_PROJECTS_AFTER;
+
+	private static final String LIB = "rebuilder.lib";
+	private static final String REQUIRER = "rebuilder.requirer";
+	private static final String IMPORTER = "rebuilder.importer";
+	private static final String UNRELATED = "rebuilder.unrelated";
+
+	private PluginRebuilder rebuilder;
+	private boolean autoBuilding;
+	private IProject lib;
+	private IProject requirer;
+
+	@Before
+	public void setUp() throws Exception {
+		// the projects to touch are only known until the next build
+		setAutoBuilding(false);
+		lib = ProjectUtils.createPluginProjectWithHeaders(LIB, "Export-Package: rebuilder.lib.a\n");
+		requirer = ProjectUtils.createPluginProjectWithHeaders(REQUIRER, "Require-Bundle: " + LIB + "\n");
+		ProjectUtils.createPluginProjectWithHeaders(IMPORTER, "Import-Package: rebuilder.lib.a\n");
+		ProjectUtils.createPluginProjectWithHeaders(UNRELATED, "");
+		build();
+
+		rebuilder = new PluginRebuilder();
+		rebuilder.start();
+		// record what the library provides and how its dependents are wired
+		ProjectUtils.setManifest(lib, "Bundle-Name: Library\nExport-Package: rebuilder.lib.a\n");
+		ProjectUtils.setManifest(requirer, "Bundle-Name: Requirer\nRequire-Bundle: " + LIB + "\n");
+		build();
+	}
+
+	@After
+	public void tearDown() throws Exception {
+		if (rebuilder != null) {
+			rebuilder.stop();
+		}
+		setAutoBuilding(autoBuilding);
+	}
+
+	private void setAutoBuilding(boolean enabled) throws Exception {
+		IWorkspace workspace = ResourcesPlugin.getWorkspace();
+		IWorkspaceDescription description = workspace.getDescription();
+		if (rebuilder == null) {
+			autoBuilding = description.isAutoBuilding();
+		}
+		description.setAutoBuilding(enabled);
+		workspace.setDescription(description);
+	}
+
+	/**
+	 * Builds the workspace, which touches the projects and resets the projects
+	 * to touch
+	 */
+	private static void build() throws Exception {
+		ResourcesPlugin.getWorkspace().build(IncrementalProjectBuilder.INCREMENTAL_BUILD, null);
+		TestUtils.waitForJobs("PluginRebuilderTest", 100, 10000);
+	}
+
+	@Test
+	public void testLeafChange() throws Exception {
+		// nothing depends on the requirer
+		ProjectUtils.setManifest(requirer, "Bundle-Name: Changed\nRequire-Bundle: " + LIB + "\n");
+		assertThat(rebuilder.getProjectsToTouch()).isEmpty();
+		build();
+
+		// what the library provides does not change
+		ProjectUtils.setManifest(lib, "Bundle-Name: Changed\nExport-Package: rebuilder.lib.a\n");
+		assertThat(rebuilder.getProjectsToTouch()).isEmpty();
+	}
+
+	@Test
+	public void testExportChange() throws Exception {
+		ProjectUtils.setManifest(lib, "Bundle-Name: Library\nExport-Package: rebuilder.lib.a,rebuilder.lib.b\n");
+		assertThat(rebuilder.getProjectsToTouch()).containsExactlyInAnyOrder(REQUIRER, IMPORTER);
+	}
+
+	@Test
+	public void testRemoval() throws Exception {
+		lib.delete(true, null);
+		TestUtils.waitForJobs("PluginRebuilderTest", 100, 10000);
+		assertThat(rebuilder.getProjectsToTouch()).containsExactlyInAnyOrder(REQUIRER, IMPORTER);
+	}
+}
@@ -0,0 +1,139 @@
+/*******************************************************************************
+ *  Copyright (c) 2026 Eclipse contributors and others.
+ *
+ *  This program and the accompanying materials
+ *  are made available under the terms of the Eclipse Public License 2.0
+ *  which accompanies this distribution, and is available at
+ *  https://www.eclipse.org/legal/epl-2.0/
+ *
+ *  SPDX-License-Identifier: EPL-2.0
+ *
+ *  Contributors:
+ *     Eclipse contributors - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.pde.core.tests.internal.core.builders;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+
+import org.eclipse.core.filebuffers.FileBuffers;
+import org.eclipse.core.filebuffers.ITextFileBufferManager;
+import org.eclipse.core.filebuffers.LocationKind;
+import org.eclipse.core.resources.IFile;
+import org.eclipse.core.resources.IProject;
+import org.eclipse.core.resources.ResourcesPlugin;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.pde.internal.core.builders.DefaultSAXParser;
+import org.eclipse.pde.internal.core.builders.XMLErrorReporter;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.w3c.dom.Element;
+
+/**
+ * Tests the lines and text contents that XMLErrorReporter computes from the
+ * positions recorded while parsing, and from the text document when it does
+ * not match the parsed content
+ */
+public class XMLErrorReporterTest {
+
+	private static final String CONTENT = "<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n" //
+			+ "<plugin>\n" //
+			+ "   <extension point=\"a.b\" id=\"ext\">\n" //
+			+ "      <sample name=\"x\"\n" //
+			+ "            value=\"a &amp; b\">  text </sample>\n" //
+			+ "      <empty name=\"z\"/>\n" //
+			+ "      <blank name=\"w\"></blank>\n" //
+			+ "   </extension>\n" //
+			+ "</plugin>\n";
+
+	private IFile file;
+
+	private static class TestReporter extends XMLErrorReporter {
+
+		TestReporter(IFile file) {
+			super(file);
+		}
+
+		@Override
+		protected void validate(IProgressMonitor monitor) {
+		}
+
+		Element getElement(String name) {
+			return (Element) getDocumentRoot().getElementsByTagName(name).item(0);
+		}
+
+		int line(String element, String attribute) {
+			return getLine(getElement(element), attribute);
+		}
+
+		String text(String element) {
+			return getTextContent(getElement(element));
+		}
+	}
+
+	@Before
+	public void setup() throws Exception {
+		IProject project = ResourcesPlugin.getWorkspace().getRoot().getProject(getClass().getName());
+		project.create(null);
+		project.open(null);
+		file = project.getFile("plugin.xml");
+		file.create(new ByteArrayInputStream(CONTENT.getBytes(StandardCharsets.UTF_8)), true, null);
+	}
+
+	@After
+	public void tearDown() throws Exception {
+		if (file.getProject().exists()) {
+			file.getProject().delete(true, null);
+		}
+	}
+
+	private TestReporter parse() {
+		TestReporter reporter = new TestReporter(file);
+		DefaultSAXParser.parse(file, reporter);
+		return reporter;
+	}
+
+	@Test
+	public void testRecordedPositions() {
+		TestReporter reporter = parse();
+
+		assertThat(reporter.line("extension", "point")).isEqualTo(3);
+		assertThat(reporter.line("extension", "id")).isEqualTo(3);
+		assertThat(reporter.line("sample", "name")).isEqualTo(4);
+		assertThat(reporter.line("sample", "value")).isEqualTo(5);
+		assertThat(reporter.line("empty", "name")).isEqualTo(6);
+		// not in the document, the line of the element is used
+		assertThat(reporter.line("sample", "missing")).isEqualTo(4);
+
+		assertThat(reporter.text("sample")).isEqualTo("text");
+		assertThat(reporter.text("empty")).isEmpty();
+		assertThat(reporter.text("blank")).isEmpty();
+		// has children
+		assertThat(reporter.text("extension")).isNull();
+	}
+
+	@Test
+	public void testDocumentMismatch() throws Exception {
+		ITextFileBufferManager manager = FileBuffers.getTextFileBufferManager();
+		manager.connect(file.getFullPath(), LocationKind.IFILE, null);
+		try {
+			// unsaved changes shift the columns of the parsed content
+			String indented = CONTENT.replace("\n<", "\n  <").replace("\n ", "\n   ");
+			manager.getTextFileBuffer(file.getFullPath(), LocationKind.IFILE).getDocument().set(indented);
+
+			TestReporter reporter = parse();
+
+			assertThat(reporter.line("extension", "id")).isEqualTo(3);
+			assertThat(reporter.line("sample", "name")).isEqualTo(4);
+			assertThat(reporter.line("sample", "value")).isEqualTo(5);
+			assertThat(reporter.text("sample")).isEqualTo("text");
+			assertThat(reporter.text("blank")).isEmpty();
+		} finally {
+			manager.getTextFileBuffer(file.getFullPath(), LocationKind.IFILE).revert(null);
+			manager.disconnect(file.getFullPath(), LocationKind.IFILE, null);
+		}
+	}
+}
@@ -0,0 +1,167 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse contributors and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Eclipse contributors - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.pde.core.tests.internal.schema;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import org.eclipse.core.resources.IFolder;
+import org.eclipse.core.resources.IProject;
+import org.eclipse.pde.internal.core.ischema.ISchema;
+import org.eclipse.pde.internal.core.ischema.ISchemaDescriptor;
+import org.eclipse.pde.internal.core.schema.IncludedSchemaDescriptor;
+import org.eclipse.pde.internal.core.schema.SchemaRegistry;
+import org.eclipse.pde.ui.tests.util.ProjectUtils;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.ClassRule;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.junit.rules.TestRule;
+
+public class SchemaRegistryTest {
+
+	@ClassRule
+	public static final TestRule CLEAR_WORKSPACE = ProjectUtils.DELETE_ALL_WORKSPACE_PROJECTS_BEFORE_AND_AFTER;
+
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+	private final List<SchemaRegistry> registries = new ArrayList<>();
+	private ISchemaDescriptor parent;
+
+	@Before
+	public void setUp() throws Exception {
+		parent = new IncludedSchemaDescriptor(new File(folder.getRoot(), "parent.exsd").toURI().toURL());
+	}
+
+	@After
+	public void tearDown() {
+		registries.forEach(SchemaRegistry::shutdown);
+	}
+
+	private SchemaRegistry createRegistry(int maxWeight) {
+		SchemaRegistry registry = new SchemaRegistry(maxWeight);
+		registries.add(registry);
+		return registry;
+	}
+
+	/**
+	 * Returns a schema with the given number of elements, each with one
+	 * attribute, whose weight is 1 + 2 * elements
+	 */
+	private static String schema(String id, int elements) {
+		StringBuilder buffer = new StringBuilder();
+		buffer.append("<?xml version='1.0' encoding='UTF-8'?>\n");
+		buffer.append("<schema targetNamespace=\"test\" xmlns=\"http://www.w3.org/2001/XMLSchema\">\n");
+		buffer.append("<annotation><appInfo><meta.schema plugin=\"test\" id=\"").append(id)
+				.append("\" name=\"").append(id).append("\"/></appInfo></annotation>\n");
+		for (int i = 0; i < elements; i++) {
+			buffer.append("<element name=\"element").append(i).append("\"><complexType>");
+			buffer.append("<attribute name=\"attribute\" type=\"string\"/>");
+			buffer.append("</complexType></element>\n");
+		}
+		buffer.append("</schema>\n");
+		return buffer.toString();
+	}
+
+	private File writeSchema(String name, int elements) throws Exception {
+		File file = new File(folder.getRoot(), name);
+		Files.writeString(file.toPath(), schema(name, elements));
+		return file;
+	}
+
+	@Test
+	public void testStampInvalidation() throws Exception {
+		SchemaRegistry registry = createRegistry(100000);
+		File file = writeSchema("a.exsd", 1);
+
+		ISchema first = registry.getIncludedSchema(parent, "a.exsd");
+		assertNotNull(first);
+		assertEquals(1, first.getElements().length);
+		assertSame(first, registry.getIncludedSchema(parent, "a.exsd"));
+		assertEquals(1, registry.getMissCount());
+		assertEquals(1, registry.getHitCount());
+
+		writeSchema("a.exsd", 2);
+		file.setLastModified(file.lastModified() + 10000);
+
+		ISchema second = registry.getIncludedSchema(parent, "a.exsd");
+		assertNotSame(first, second);
+		assertEquals(2, second.getElements().length);
+		assertEquals(2, registry.getMissCount());
+		assertEquals(5, registry.getCachedWeight());
+	}
+
+	@Test
+	public void testEviction() throws Exception {
+		SchemaRegistry registry = createRegistry(10);
+		writeSchema("a.exsd", 2);
+		writeSchema("b.exsd", 2);
+		writeSchema("c.exsd", 2);
+
+		registry.getIncludedSchema(parent, "a.exsd");
+		registry.getIncludedSchema(parent, "b.exsd");
+		assertEquals(0, registry.getEvictionCount());
+		assertEquals(10, registry.getCachedWeight());
+
+		// the least recently used schema is evicted
+		registry.getIncludedSchema(parent, "a.exsd");
+		registry.getIncludedSchema(parent, "c.exsd");
+		assertEquals(1, registry.getEvictionCount());
+		assertEquals(10, registry.getCachedWeight());
+		assertEquals(3, registry.getMissCount());
+
+		registry.getIncludedSchema(parent, "a.exsd");
+		assertEquals(3, registry.getMissCount());
+		registry.getIncludedSchema(parent, "b.exsd");
+		assertEquals(4, registry.getMissCount());
+	}
+
+	@Test
+	public void testPreload() throws Exception {
+		IProject project = ProjectUtils.createPluginProject("schema.registry.test", "schema.registry.test", "1.0.0",
+				(description, service) -> description.setSingleton(true));
+		IFolder schemaFolder = project.getFolder("schema");
+		schemaFolder.create(true, true, null);
+		schemaFolder.getFile("point.exsd").create(
+				new ByteArrayInputStream(schema("point", 1).getBytes(StandardCharsets.UTF_8)), true, null);
+		String pluginXml = "<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n" //
+				+ "<?eclipse version=\"3.4\"?>\n" //
+				+ "<plugin>\n" //
+				+ "   <extension-point id=\"point\" name=\"Point\" schema=\"schema/point.exsd\"/>\n" //
+				+ "   <extension point=\"schema.registry.test.point\"/>\n" //
+				+ "</plugin>\n";
+		project.getFile("plugin.xml").create(new ByteArrayInputStream(pluginXml.getBytes(StandardCharsets.UTF_8)),
+				true, null);
+
+		SchemaRegistry registry = createRegistry(100000);
+		registry.schedulePreload().join();
+		assertEquals(1, registry.getMissCount());
+
+		ISchema schema = registry.getSchema("schema.registry.test.point");
+		assertNotNull(schema);
+		assertEquals(1, registry.getMissCount());
+		assertEquals(1, registry.getHitCount());
+	}
+}
@@ -0,0 +1,97 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse contributors and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Eclipse contributors - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.pde.core.tests.internal.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertThrows;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import org.eclipse.pde.internal.core.util.ManifestCache;
+import org.eclipse.pde.internal.core.util.ManifestUtils;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class ManifestCacheTest {
+
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+	private static byte[] manifest(String symbolicName) {
+		String content = "Manifest-Version: 1.0\n" //
+				+ "Bundle-ManifestVersion: 2\n" //
+				+ "Bundle-SymbolicName: " + symbolicName + "\n" //
+				+ "Bundle-Version: 1.0.0.qualifier\n" //
+				+ "Import-Package: org.osgi.framework\n";
+		return content.getBytes(StandardCharsets.UTF_8);
+	}
+
+	@Test
+	public void testParseSameContentOnce() throws Exception {
+		ManifestCache cache = ManifestCache.getDefault();
+		long misses = cache.getMissCount();
+		long hits = cache.getHitCount();
+
+		Map<String, String> first = cache.parse(manifest("manifest.cache.test.a"));
+		Map<String, String> second = cache.parse(manifest("manifest.cache.test.a"));
+
+		assertSame(first, second);
+		assertEquals("manifest.cache.test.a", first.get("Bundle-SymbolicName"));
+		assertEquals(misses + 1, cache.getMissCount());
+		assertEquals(hits + 1, cache.getHitCount());
+		assertThrows(UnsupportedOperationException.class, () -> first.put("Bundle-Version", "2.0.0"));
+	}
+
+	@Test
+	public void testHeadersInterned() throws Exception {
+		ManifestCache cache = ManifestCache.getDefault();
+		Map<String, String> a = cache.parse(manifest("manifest.cache.test.b"));
+		Map<String, String> b = cache.parse(manifest("manifest.cache.test.c"));
+
+		assertNotSame(a, b);
+		assertSame(a.get("Import-Package"), b.get("Import-Package"));
+		assertSame(a.get("Bundle-Version"), b.get("Bundle-Version"));
+	}
+
+	@Test
+	public void testInternSharesParsedStrings() throws Exception {
+		ManifestCache cache = ManifestCache.getDefault();
+		Map<String, String> parsed = cache.parse(manifest("manifest.cache.test.e"));
+
+		String symbolicName = new String("manifest.cache.test.e");
+		assertSame(parsed.get("Bundle-SymbolicName"), cache.intern(symbolicName));
+		assertNull(cache.intern(null));
+	}
+
+	@Test
+	public void testLoadManifestReturnsCopy() throws Exception {
+		File bundle = folder.newFolder("bundle");
+		Path manifest = bundle.toPath().resolve("META-INF/MANIFEST.MF");
+		Files.createDirectories(manifest.getParent());
+		Files.write(manifest, manifest("manifest.cache.test.d"));
+
+		Map<String, String> first = ManifestUtils.loadManifest(bundle);
+		first.put("Bundle-Version", "2.0.0");
+		Map<String, String> second = ManifestUtils.loadManifest(bundle);
+
+		assertEquals("1.0.0.qualifier", second.get("Bundle-Version"));
+	}
+}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2005 IBM Corporation and others.
+ * Copyright (c) 2005, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -14,8 +14,15 @@
 package org.eclipse.pde.ui.tests;
 
 import org.eclipse.pde.core.tests.internal.AllPDECoreTests;
+import org.eclipse.pde.core.tests.internal.classpath.AccessRulesUpdateTest;
 import org.eclipse.pde.core.tests.internal.classpath.ClasspathResolutionTest;
+import org.eclipse.pde.core.tests.internal.classpath.ClasspathUpdateTest;
 import org.eclipse.pde.core.tests.internal.core.builders.BundleErrorReporterTest;
+import org.eclipse.pde.core.tests.internal.core.builders.IncrementalErrorReporterTest;
+import org.eclipse.pde.core.tests.internal.core.builders.ManifestConsistencyCheckerTest;
+import org.eclipse.pde.core.tests.internal.core.builders.PluginRebuilderTest;
+import org.eclipse.pde.core.tests.internal.core.builders.XMLErrorReporterTest;
+import org.eclipse.pde.core.tests.internal.util.ManifestCacheTest;
 import org.eclipse.pde.core.tests.internal.util.PDESchemaHelperTest;
 import org.eclipse.pde.ui.tests.build.properties.AllValidatorTests;
 import org.eclipse.pde.ui.tests.classpathresolver.ClasspathResolverTest;
@@ -47,10 +54,17 @@ import org.junit.runners.Suite.SuiteClasses;
 	// ExportBundleTests.class,
 	AllLauncherTests.class, AllLogViewTests.class, ProjectCreationTests.class, BundleRootTests.class,
 	PluginRegistryTestsMinimal.class, ClasspathResolverTest.class, PDESchemaHelperTest.class,
+	ManifestCacheTest.class,
 	DynamicPluginProjectReferencesTest.class,
 	// ClasspathContributorTest.class
 	ClasspathResolutionTest.class,
+	ClasspathUpdateTest.class,
+	AccessRulesUpdateTest.class,
 	BundleErrorReporterTest.class,
+	IncrementalErrorReporterTest.class,
+	XMLErrorReporterTest.class,
+	ManifestConsistencyCheckerTest.class,
+	PluginRebuilderTest.class,
 		AllPDECoreTests.class
 })
 public class AllPDEMinimalTests {
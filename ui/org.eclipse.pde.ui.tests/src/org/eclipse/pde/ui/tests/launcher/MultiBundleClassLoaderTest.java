@@ -0,0 +1,190 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse contributors and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Eclipse contributors - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.pde.ui.tests.launcher;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.InputStream;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.jar.Attributes;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
+import java.util.jar.Manifest;
+import org.eclipse.pde.internal.junit.runtime.MultiBundleClassLoader;
+import org.junit.After;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.osgi.framework.Bundle;
+import org.osgi.framework.BundleContext;
+import org.osgi.framework.Constants;
+import org.osgi.framework.FrameworkUtil;
+import org.osgi.framework.wiring.FrameworkWiring;
+
+/**
+ * Tests that the class loader of JUnit 5 plug-in tests loads classes and
+ * resources from the first bundle of its list that can load them, and that
+ * it caches what it loaded or could not find.
+ */
+public class MultiBundleClassLoaderTest {
+
+	/**
+	 * Class copied into the bundles installed by the tests
+	 */
+	public static class Probe {
+	}
+
+	private static final String PACKAGE = Probe.class.getPackageName();
+	private static final String PROBE_CLASS = Probe.class.getName();
+	private static final String PROBE_ENTRY = PROBE_CLASS.replace('.', '/') + ".class";
+	private static final String RESOURCE = PACKAGE.replace('.', '/') + "/probe.txt";
+
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+	private final List<Bundle> installed = new ArrayList<>();
+
+	@After
+	public void tearDown() throws Exception {
+		for (Bundle bundle : installed) {
+			if (bundle.getState() != Bundle.UNINSTALLED) {
+				bundle.uninstall();
+			}
+		}
+		getFrameworkWiring().refreshBundles(null);
+	}
+
+	private static BundleContext getContext() {
+		return FrameworkUtil.getBundle(MultiBundleClassLoaderTest.class).getBundleContext();
+	}
+
+	private static FrameworkWiring getFrameworkWiring() {
+		return getContext().getBundle(Constants.SYSTEM_BUNDLE_LOCATION).adapt(FrameworkWiring.class);
+	}
+
+	/**
+	 * Installs a bundle with the given headers, containing the probe class if
+	 * asked to and the probe resource if its content is not <code>null</code>
+	 */
+	private Bundle install(String symbolicName, String headers, boolean probe, String resource) throws Exception {
+		Manifest manifest = new Manifest();
+		Attributes attributes = manifest.getMainAttributes();
+		attributes.put(Attributes.Name.MANIFEST_VERSION, "1.0");
+		attributes.putValue(Constants.BUNDLE_MANIFESTVERSION, "2");
+		attributes.putValue(Constants.BUNDLE_SYMBOLICNAME, symbolicName);
+		attributes.putValue(Constants.BUNDLE_VERSION, "1.0.0");
+		for (String header : headers.split("\n")) {
+			int colon = header.indexOf(':');
+			if (colon != -1) {
+				attributes.putValue(header.substring(0, colon), header.substring(colon + 1).trim());
+			}
+		}
+		File jar = new File(folder.getRoot(), symbolicName + ".jar");
+		try (JarOutputStream out = new JarOutputStream(new FileOutputStream(jar), manifest)) {
+			if (probe) {
+				out.putNextEntry(new JarEntry(PROBE_ENTRY));
+				try (InputStream in = Probe.class.getClassLoader().getResourceAsStream(PROBE_ENTRY)) {
+					in.transferTo(out);
+				}
+			}
+			if (resource != null) {
+				out.putNextEntry(new JarEntry(RESOURCE));
+				out.write(resource.getBytes(StandardCharsets.UTF_8));
+			}
+		}
+		Bundle bundle = getContext().installBundle(jar.toURI().toString());
+		installed.add(bundle);
+		return bundle;
+	}
+
+	private static void resolve(Bundle... bundles) {
+		assertTrue("Test bundles should resolve", getFrameworkWiring().resolveBundles(List.of(bundles)));
+	}
+
+	private static String read(URL url) throws Exception {
+		try (InputStream in = url.openStream()) {
+			return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+		}
+	}
+
+	@Test
+	public void testFirstBundleWins() throws Exception {
+		Bundle provider = install("mbcl.provider", "Export-Package: " + PACKAGE, true, "provider");
+		// sees the package only through the bundle it requires
+		Bundle requirer = install("mbcl.requirer", "Require-Bundle: mbcl.provider", false, null);
+		Bundle other = install("mbcl.other", "Export-Package: " + PACKAGE, true, "other");
+		resolve(provider, requirer, other);
+
+		MultiBundleClassLoader loader = new MultiBundleClassLoader(List.of(requirer, other));
+		Class<?> probe = loader.loadClass(PROBE_CLASS);
+		assertSame(provider.loadClass(PROBE_CLASS), probe);
+		assertNotSame(other.loadClass(PROBE_CLASS), probe);
+		assertSame(probe, loader.loadClass(PROBE_CLASS));
+
+		loader = new MultiBundleClassLoader(List.of(other, requirer));
+		assertSame(other.loadClass(PROBE_CLASS), loader.loadClass(PROBE_CLASS));
+		assertEquals("other", read(loader.getResource(RESOURCE)));
+	}
+
+	@Test
+	public void testMissingClassesAndResourcesCached() throws Exception {
+		Bundle dynamic = install("mbcl.dynamic", "DynamicImport-Package: " + PACKAGE, false, null);
+		resolve(dynamic);
+
+		MultiBundleClassLoader loader = new MultiBundleClassLoader(List.of(dynamic));
+		assertThrows(ClassNotFoundException.class, () -> loader.loadClass(PROBE_CLASS));
+		assertNull(loader.getResource(RESOURCE));
+
+		// the package can now be imported dynamically, the misses are cached
+		Bundle provider = install("mbcl.provider", "Export-Package: " + PACKAGE, true, "provider");
+		resolve(provider);
+		assertNotNull(dynamic.loadClass(PROBE_CLASS));
+		assertNotNull(dynamic.getResource(RESOURCE));
+		assertThrows(ClassNotFoundException.class, () -> loader.loadClass(PROBE_CLASS));
+		assertNull(loader.getResource(RESOURCE));
+
+		// a new loader sees them
+		MultiBundleClassLoader newLoader = new MultiBundleClassLoader(List.of(dynamic));
+		assertSame(provider.loadClass(PROBE_CLASS), newLoader.loadClass(PROBE_CLASS));
+		assertEquals("provider", read(newLoader.getResource(RESOURCE)));
+	}
+
+	@Test
+	public void testResourcesCached() throws Exception {
+		Bundle first = install("mbcl.first", "", false, "first");
+		Bundle second = install("mbcl.second", "", false, "second");
+		resolve(first, second);
+
+		MultiBundleClassLoader loader = new MultiBundleClassLoader(List.of(first, second));
+		URL url = loader.getResource(RESOURCE);
+		assertEquals("first", read(url));
+		assertEquals(2, Collections.list(loader.getResources(RESOURCE)).size());
+
+		// the resolved URL is kept, the bundle is not asked again
+		first.uninstall();
+		assertEquals(url, loader.getResource(RESOURCE));
+	}
+}
@@ -0,0 +1,89 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse contributors and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Eclipse contributors - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.pde.ui.tests.performance.parts;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import org.eclipse.core.runtime.Platform;
+import org.eclipse.pde.internal.junit.runtime.MultiBundleClassLoader;
+import org.eclipse.test.performance.Dimension;
+import org.eclipse.test.performance.PerformanceTestCase;
+import org.osgi.framework.Bundle;
+import org.osgi.framework.wiring.BundleWiring;
+
+/**
+ * Tests the time it takes the class loader of JUnit 5 plug-in tests to load
+ * classes through the test engine bundles, the way test discovery does: every
+ * class is loaded several times and some classes do not exist.
+ */
+public class MultiBundleClassLoaderPerfTest extends PerformanceTestCase {
+
+	private static final String[] BUNDLES = {"org.junit", "org.eclipse.core.runtime", "org.eclipse.jdt.core", //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+			"org.eclipse.pde.core", "org.eclipse.pde.ui.tests"}; //$NON-NLS-1$ //$NON-NLS-2$
+
+	private List<Bundle> fBundles;
+	private List<String> fClassNames;
+
+	@Override
+	protected void setUp() throws Exception {
+		super.setUp();
+		fBundles = Stream.of(BUNDLES).map(Platform::getBundle).filter(Objects::nonNull).collect(Collectors.toList());
+		Bundle pdeCore = Platform.getBundle("org.eclipse.pde.core"); //$NON-NLS-1$
+		Collection<String> classFiles = pdeCore.adapt(BundleWiring.class).listResources("/org/eclipse/pde/internal/core", //$NON-NLS-1$
+				"*.class", BundleWiring.LISTRESOURCES_LOCAL); //$NON-NLS-1$
+		fClassNames = new ArrayList<>();
+		for (String classFile : classFiles) {
+			String className = classFile.substring(0, classFile.length() - ".class".length()).replace('/', '.'); //$NON-NLS-1$
+			fClassNames.add(className);
+			// discovery probes for classes that do not exist
+			fClassNames.add(className + "Missing"); //$NON-NLS-1$
+		}
+	}
+
+	public void testLoadClasses() throws Exception {
+		tagAsSummary("Load classes through test engine bundles", Dimension.ELAPSED_PROCESS); //$NON-NLS-1$
+		// Warm-up Iterations
+		for (int i = 0; i < 3; i++) {
+			loadClasses();
+		}
+		// Test Iterations
+		for (int i = 0; i < 20; i++) {
+			startMeasuring();
+			loadClasses();
+			stopMeasuring();
+		}
+		commitMeasurements();
+		assertPerformance();
+	}
+
+	private void loadClasses() {
+		ClassLoader loader = new MultiBundleClassLoader(fBundles);
+		Bundle pdeCore = Platform.getBundle("org.eclipse.pde.core"); //$NON-NLS-1$
+		for (int round = 0; round < 5; round++) {
+			for (String className : fClassNames) {
+				try {
+					Class<?> c = loader.loadClass(className);
+					assertSame(pdeCore.loadClass(className), c);
+				} catch (ClassNotFoundException e) {
+					assertTrue(className, className.endsWith("Missing")); //$NON-NLS-1$
+				}
+			}
+		}
+	}
+
+}
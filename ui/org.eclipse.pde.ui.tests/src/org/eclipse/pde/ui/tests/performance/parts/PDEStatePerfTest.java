@@ -0,0 +1,106 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse contributors and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Eclipse contributors - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.pde.ui.tests.performance.parts;
+
+import java.net.URI;
+import java.util.Arrays;
+import org.eclipse.core.runtime.IPath;
+import org.eclipse.core.runtime.NullProgressMonitor;
+import org.eclipse.pde.core.target.*;
+import org.eclipse.pde.internal.core.*;
+import org.eclipse.test.performance.Dimension;
+import org.eclipse.test.performance.PerformanceTestCase;
+
+/**
+ * Tests the time it takes to create the target platform state on startup,
+ * without (cold) and with (warm) an up to date {@link TargetStateSnapshot}.
+ *
+ * The example target is the one of {@link TargetPlatformPerfTest}.
+ */
+public class PDEStatePerfTest extends PerformanceTestCase {
+
+	private URI[] fBundles;
+
+	@Override
+	protected void setUp() throws Exception {
+		super.setUp();
+		IPath testBundles = TargetPlatformPerfTest.extractTargetPerfTestPlugins();
+		ITargetPlatformService tps = PDECore.getDefault().acquireService(ITargetPlatformService.class);
+		ITargetDefinition target = tps.newTarget();
+		target.setTargetLocations(new ITargetLocation[] {tps.newDirectoryLocation(testBundles.toPortableString())});
+		assertTrue(target.resolve(new NullProgressMonitor()).isOK());
+		fBundles = Arrays.stream(target.getBundles()).map(b -> b.getBundleInfo().getLocation()).toArray(URI[]::new);
+		TargetPlatformHelper.getKnownExecutionEnvironments();
+	}
+
+	/**
+	 * Creates the state reading every manifest
+	 */
+	public void testColdStartup() throws Exception {
+		tagAsSummary("Create target state (cold)", Dimension.ELAPSED_PROCESS); //$NON-NLS-1$
+		// Warm-up Iterations
+		for (int i = 0; i < 3; i++) {
+			TargetStateSnapshot.discard();
+			createState();
+		}
+		// Test Iterations
+		for (int i = 0; i < 20; i++) {
+			TargetStateSnapshot.discard();
+			startMeasuring();
+			createState();
+			stopMeasuring();
+		}
+		commitMeasurements();
+		assertPerformance();
+	}
+
+	/**
+	 * Creates the state from an up to date snapshot
+	 */
+	public void testWarmStartup() throws Exception {
+		tagAsSummary("Create target state (warm)", Dimension.ELAPSED_PROCESS); //$NON-NLS-1$
+		TargetStateSnapshot.discard();
+		createState();
+		// Warm-up Iterations
+		for (int i = 0; i < 3; i++) {
+			TargetStateSnapshot.reset();
+			createState();
+		}
+		// Test Iterations
+		for (int i = 0; i < 20; i++) {
+			// the snapshot is read from disk like on startup
+			TargetStateSnapshot.reset();
+			startMeasuring();
+			createState();
+			stopMeasuring();
+			assertEquals("All manifests should be read from the snapshot", 0, //$NON-NLS-1$
+					TargetStateSnapshot.getDefault().getMissCount());
+		}
+		commitMeasurements();
+		assertPerformance();
+	}
+
+	private void createState() {
+		PDEState state = new PDEState(fBundles, true, true, new NullProgressMonitor());
+		state.resolveState(false);
+		assertEquals(fBundles.length, state.getTargetModels().length);
+	}
+
+	@Override
+	protected void tearDown() throws Exception {
+		TargetStateSnapshot.discard();
+		super.tearDown();
+	}
+
+}
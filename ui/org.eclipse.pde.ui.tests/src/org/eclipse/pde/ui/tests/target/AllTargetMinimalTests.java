@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2016, 2017 IBM Corporation and others.
+ * Copyright (c) 2016, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -32,7 +32,10 @@ import org.junit.runners.Suite.SuiteClasses;
 	MinimalTargetDefinitionResolutionTests.class, //
 	MinimalTargetDefinitionFeatureResolutionTests.class, //
 	IUBundleContainerTests.class, //
-	ProfileContainerTests.class
+	ProfileContainerTests.class, //
+	PDEStateTests.class, //
+	TargetStateSnapshotTests.class, //
+	TargetReloadTests.class
 })
 public class AllTargetMinimalTests {
 }
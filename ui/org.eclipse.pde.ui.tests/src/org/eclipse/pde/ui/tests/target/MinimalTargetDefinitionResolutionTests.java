@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2016, 2017 IBM Corporation and others.
+ * Copyright (c) 2016, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -20,13 +20,17 @@ import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
 
 import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
 import org.eclipse.core.runtime.IPath;
 import org.eclipse.core.runtime.IStatus;
+import org.eclipse.equinox.frameworkadmin.BundleInfo;
 import org.eclipse.equinox.p2.metadata.IInstallableUnit;
 import org.eclipse.jdt.launching.JavaRuntime;
 import org.eclipse.pde.core.plugin.TargetPlatform;
 import org.eclipse.pde.core.target.*;
 import org.eclipse.pde.internal.core.target.IUBundleContainer;
+import org.eclipse.pde.internal.core.util.WorkerPool;
 import org.junit.Test;
 
 /**
@@ -393,4 +397,48 @@ public class MinimalTargetDefinitionResolutionTests extends AbstractTargetTest {
 		d2 = new NameVersionDescriptor("a.b.c", null);
 		assertFalse(d1.equals(d2));
 	}
-}
\ No newline at end of file
+
+	/**
+	 * Tests that resolving the locations of a target concurrently gives the
+	 * same bundles and problems, in the same order, as resolving them one
+	 * after another
+	 */
+	@Test
+	public void testConcurrentResolution() throws Exception {
+		try {
+			List<String> sequential = resolveLocations(1);
+			List<String> concurrent = resolveLocations(4);
+			assertEquals(sequential, concurrent);
+		} finally {
+			System.clearProperty(WorkerPool.THREADS_PROPERTY);
+			WorkerPool.shutdown();
+		}
+	}
+
+	/**
+	 * Resolves a target with several locations using the given number of
+	 * threads
+	 *
+	 * @return the problems and the bundles of the target in their order
+	 */
+	private List<String> resolveLocations(int threads) throws Exception {
+		System.setProperty(WorkerPool.THREADS_PROPERTY, Integer.toString(threads));
+		WorkerPool.shutdown();
+		ITargetDefinition definition = getNewTarget();
+		definition.setTargetLocations(new ITargetLocation[] {
+				getTargetService().newDirectoryLocation(extractAbcdePlugins().append("plugins").toPortableString()),
+				getTargetService().newDirectoryLocation("***SHOULD NOT EXIST***"),
+				getTargetService().newDirectoryLocation(extractMultiVersionPlugins().toPortableString()),
+				getTargetService().newProfileLocation("***SHOULD NOT EXIST EITHER***", null) });
+		IStatus status = definition.resolve(null);
+		List<String> result = new ArrayList<>();
+		for (IStatus child : status.getChildren()) {
+			result.add(child.getSeverity() + " " + child.getMessage());
+		}
+		for (TargetBundle bundle : definition.getAllBundles()) {
+			BundleInfo info = bundle.getBundleInfo();
+			result.add(info.getSymbolicName() + " " + info.getVersion() + " " + info.getLocation());
+		}
+		return result;
+	}
+}
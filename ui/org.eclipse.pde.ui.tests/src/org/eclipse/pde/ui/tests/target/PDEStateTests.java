@@ -0,0 +1,85 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse contributors and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Eclipse contributors - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.pde.ui.tests.target;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import org.eclipse.core.runtime.NullProgressMonitor;
+import org.eclipse.osgi.service.resolver.BundleDescription;
+import org.eclipse.pde.core.target.ITargetDefinition;
+import org.eclipse.pde.core.target.ITargetLocation;
+import org.eclipse.pde.internal.core.PDEState;
+import org.eclipse.pde.internal.core.TargetStateSnapshot;
+import org.eclipse.pde.internal.core.util.WorkerPool;
+import org.junit.After;
+import org.junit.Test;
+
+/**
+ * Tests that the target state does not depend on the number of threads
+ * reading the manifests of the target bundles
+ */
+public class PDEStateTests extends AbstractTargetTest {
+
+	@Override
+	@After
+	public void tearDown() throws Exception {
+		System.clearProperty(WorkerPool.THREADS_PROPERTY);
+		WorkerPool.shutdown();
+		TargetStateSnapshot.discard();
+		super.tearDown();
+	}
+
+	/**
+	 * Creates the state of the given bundles, reading every manifest with the
+	 * given number of threads
+	 *
+	 * @return a description of the bundles of the state, in the order of their
+	 *         ids
+	 */
+	private List<String> createState(URI[] bundles, int threads) {
+		System.setProperty(WorkerPool.THREADS_PROPERTY, Integer.toString(threads));
+		WorkerPool.shutdown();
+		TargetStateSnapshot.discard();
+		PDEState state = new PDEState(bundles, true, true, new NullProgressMonitor());
+		state.resolveState(false);
+		List<String> descriptions = new ArrayList<>();
+		BundleDescription[] descs = state.getState().getBundles();
+		Arrays.sort(descs, (d1, d2) -> Long.compare(d1.getBundleId(), d2.getBundleId()));
+		for (BundleDescription desc : descs) {
+			descriptions.add(desc.getBundleId() + " " + desc.getSymbolicName() + " " + desc.getVersion() + " " //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+					+ desc.getLocation() + " " + desc.isResolved()); //$NON-NLS-1$
+		}
+		return descriptions;
+	}
+
+	@Test
+	public void testParallelLoading() throws Exception {
+		ITargetDefinition target = getNewTarget();
+		target.setTargetLocations(new ITargetLocation[] {
+				getTargetService().newDirectoryLocation(extractAbcdePlugins().toPortableString()),
+				getTargetService().newDirectoryLocation(extractMultiVersionPlugins().toPortableString()) });
+		assertTrue(target.resolve(new NullProgressMonitor()).isOK());
+		URI[] bundles = Arrays.stream(target.getBundles()).map(b -> b.getBundleInfo().getLocation())
+				.toArray(URI[]::new);
+
+		List<String> sequential = createState(bundles, 1);
+		List<String> parallel = createState(bundles, 4);
+		assertEquals(sequential, parallel);
+	}
+}
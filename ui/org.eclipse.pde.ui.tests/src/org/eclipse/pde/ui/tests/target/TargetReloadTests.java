@@ -0,0 +1,135 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse contributors and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Eclipse contributors - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.pde.ui.tests.target;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import org.eclipse.core.runtime.IPath;
+import org.eclipse.pde.core.plugin.IPluginModelBase;
+import org.eclipse.pde.core.plugin.ModelEntry;
+import org.eclipse.pde.core.plugin.PluginRegistry;
+import org.eclipse.pde.core.target.ITargetDefinition;
+import org.eclipse.pde.core.target.ITargetLocation;
+import org.eclipse.pde.ui.tests.PDETestsPlugin;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests that a target reload only updates the models of the target bundles
+ * that were added, removed or changed, unless too many bundles changed
+ */
+public class TargetReloadTests extends AbstractTargetTest {
+
+	private File fPlugins;
+
+	@Override
+	@Before
+	public void setUp() throws Exception {
+		super.setUp();
+		fPlugins = PDETestsPlugin.getDefault().getStateLocation().append("reload-plugins").toFile();
+		if (fPlugins.exists()) {
+			delete(fPlugins);
+		}
+		fPlugins.mkdirs();
+		copyBundles(extractAbcdePlugins().append("plugins"));
+		copyBundles(extractMultiVersionPlugins());
+		// added by the test
+		new File(fPlugins, "a.typical.bundle_1.1.0.200907071100.jar").delete();
+	}
+
+	@Override
+	@After
+	public void tearDown() throws Exception {
+		try {
+			resetTargetPlatform();
+		} finally {
+			delete(fPlugins);
+			super.tearDown();
+		}
+	}
+
+	private void copyBundles(IPath folder) throws Exception {
+		for (File jar : folder.toFile().listFiles()) {
+			Files.copy(jar.toPath(), new File(fPlugins, jar.getName()).toPath(), StandardCopyOption.REPLACE_EXISTING);
+		}
+	}
+
+	private void loadTarget() throws Exception {
+		ITargetDefinition target = getNewTarget();
+		target.setTargetLocations(new ITargetLocation[] { getTargetService().newDirectoryLocation(fPlugins.getAbsolutePath()) });
+		setTargetPlatform(target);
+	}
+
+	private static IPluginModelBase findModel(String id) {
+		return PluginRegistry.findModel(id);
+	}
+
+	@Test
+	public void testIncrementalReload() throws Exception {
+		loadTarget();
+		IPluginModelBase a = findModel("bundle.a");
+		IPluginModelBase b = findModel("bundle.b");
+		assertNotNull(a);
+		assertNotNull(b);
+		ModelEntry typical = PluginRegistry.findEntry("a.typical.bundle");
+		assertEquals(1, typical.getExternalModels().length);
+
+		// added
+		File addedJar = new File(fPlugins, "a.typical.bundle_1.1.0.200907071100.jar");
+		Files.copy(extractMultiVersionPlugins().append(addedJar.getName()).toFile().toPath(), addedJar.toPath());
+		loadTarget();
+		assertEquals(2, PluginRegistry.findEntry("a.typical.bundle").getExternalModels().length);
+		assertSame("Unchanged bundles should keep their model", a, findModel("bundle.a"));
+
+		// changed
+		File bJar = new File(fPlugins, "bundle.b_1.0.0.jar");
+		bJar.setLastModified(bJar.lastModified() - 10000);
+		loadTarget();
+		assertNotSame("A changed bundle should get a new model", b, findModel("bundle.b"));
+		assertNotNull(findModel("bundle.b"));
+		assertSame("Unchanged bundles should keep their model", a, findModel("bundle.a"));
+
+		// removed
+		new File(fPlugins, "bundle.c_1.0.0.jar").delete();
+		loadTarget();
+		assertNull(findModel("bundle.c"));
+		assertSame("Unchanged bundles should keep their model", a, findModel("bundle.a"));
+	}
+
+	@Test
+	public void testReloadWhenManyBundlesChanged() throws Exception {
+		loadTarget();
+		IPluginModelBase a = findModel("bundle.a");
+		assertNotNull(a);
+
+		// more than a quarter of the target bundles
+		new File(fPlugins, "bundle.c_1.0.0.jar").delete();
+		new File(fPlugins, "bundle.d_1.0.0.jar").delete();
+		new File(fPlugins, "bundle.e_1.0.0.jar").delete();
+		loadTarget();
+		assertNull(findModel("bundle.c"));
+		assertNull(findModel("bundle.d"));
+		assertNull(findModel("bundle.e"));
+		assertNotSame("All models should be recreated", a, findModel("bundle.a"));
+		assertEquals("bundle.a", findModel("bundle.a").getPluginBase().getId());
+	}
+}
@@ -0,0 +1,141 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse contributors and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Eclipse contributors - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.pde.ui.tests.target;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Map;
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.pde.internal.core.TargetStateSnapshot;
+import org.eclipse.pde.internal.core.util.ManifestUtils;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * Tests that the manifests of the target bundles are only taken from the
+ * snapshot while the bundles did not change, and that the snapshot is read
+ * back from disk as it was saved
+ */
+public class TargetStateSnapshotTests {
+
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+	@Before
+	public void setUp() {
+		TargetStateSnapshot.discard();
+	}
+
+	@After
+	public void tearDown() {
+		TargetStateSnapshot.discard();
+	}
+
+	/**
+	 * Creates a bundle directory with the given headers
+	 */
+	private File createBundle(String symbolicName, String headers) throws Exception {
+		File bundle = folder.newFolder(symbolicName);
+		writeManifest(bundle, "Bundle-SymbolicName: " + symbolicName + "\n" + headers);
+		return bundle;
+	}
+
+	private static void writeManifest(File bundle, String headers) throws Exception {
+		File manifest = new File(bundle, "META-INF/MANIFEST.MF");
+		manifest.getParentFile().mkdirs();
+		String content = "Manifest-Version: 1.0\nBundle-ManifestVersion: 2\nBundle-Version: 1.0.0\n" + headers;
+		Files.writeString(manifest.toPath(), content, StandardCharsets.UTF_8);
+	}
+
+	/**
+	 * Forgets the snapshot in memory, the next lookups read it from disk
+	 */
+	private static TargetStateSnapshot reload() {
+		TargetStateSnapshot.getDefault().save();
+		TargetStateSnapshot.reset();
+		return TargetStateSnapshot.getDefault();
+	}
+
+	@Test
+	public void testRoundTrip() throws Exception {
+		File bundle = createBundle("snapshot.a", "Export-Package: snapshot.a\n");
+		File notABundle = folder.newFolder("snapshot.none");
+
+		TargetStateSnapshot snapshot = TargetStateSnapshot.getDefault();
+		Map<String, String> parsed = snapshot.loadManifest(bundle);
+		assertThrows(CoreException.class, () -> snapshot.loadManifest(notABundle));
+		assertEquals(2, snapshot.getMissCount());
+
+		TargetStateSnapshot reloaded = reload();
+		Map<String, String> restored = reloaded.loadManifest(bundle);
+		assertEquals(parsed, restored);
+		// the headers are case insensitive like the parsed ones
+		assertEquals("snapshot.a", restored.get("bundle-symbolicname"));
+		CoreException e = assertThrows(CoreException.class, () -> reloaded.loadManifest(notABundle));
+		assertEquals(ManifestUtils.STATUS_CODE_NOT_A_BUNDLE_MANIFEST, e.getStatus().getCode());
+		assertEquals(2, reloaded.getHitCount());
+		assertEquals(0, reloaded.getMissCount());
+	}
+
+	@Test
+	public void testChangedSize() throws Exception {
+		File bundle = createBundle("snapshot.size", "");
+		TargetStateSnapshot.getDefault().loadManifest(bundle);
+		File manifest = new File(bundle, "META-INF/MANIFEST.MF");
+		long lastModified = manifest.lastModified();
+		writeManifest(bundle, "Bundle-SymbolicName: snapshot.size\nExport-Package: snapshot.size\n");
+		assertTrue(manifest.setLastModified(lastModified));
+
+		TargetStateSnapshot reloaded = reload();
+		assertEquals("snapshot.size", reloaded.loadManifest(bundle).get("Export-Package"));
+		assertEquals(1, reloaded.getMissCount());
+	}
+
+	@Test
+	public void testChangedModificationTime() throws Exception {
+		File bundle = createBundle("snapshot.time", "Export-Package: snapshot.a\n");
+		TargetStateSnapshot.getDefault().loadManifest(bundle);
+		File manifest = new File(bundle, "META-INF/MANIFEST.MF");
+		long lastModified = manifest.lastModified();
+		// same size, different content
+		writeManifest(bundle, "Bundle-SymbolicName: snapshot.time\nExport-Package: snapshot.b\n");
+		assertTrue(manifest.setLastModified(lastModified - 10000));
+
+		TargetStateSnapshot reloaded = reload();
+		assertEquals("snapshot.b", reloaded.loadManifest(bundle).get("Export-Package"));
+		assertEquals(1, reloaded.getMissCount());
+	}
+
+	@Test
+	public void testSavedEntriesKept() throws Exception {
+		File first = createBundle("snapshot.first", "");
+		File second = createBundle("snapshot.second", "");
+		TargetStateSnapshot.getDefault().loadManifest(first);
+		// only the second bundle is looked up before the next save
+		reload().loadManifest(second);
+
+		TargetStateSnapshot reloaded = reload();
+		reloaded.loadManifest(first);
+		reloaded.loadManifest(second);
+		assertEquals(0, reloaded.getMissCount());
+	}
+}
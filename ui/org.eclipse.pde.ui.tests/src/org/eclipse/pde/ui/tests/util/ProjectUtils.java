@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2008, 2022 IBM Corporation and others.
+ * Copyright (c) 2008, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -14,8 +14,10 @@
  *******************************************************************************/
 package org.eclipse.pde.ui.tests.util;
 
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.net.URL;
+import java.nio.charset.StandardCharsets;
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.BiConsumer;
@@ -148,6 +150,42 @@ public class ProjectUtils {
 		return javaProject;
 	}
 
+	/**
+	 * Create a plug-in project with the given name as project name and
+	 * symbolic name, whose manifest has the given additional headers.
+	 *
+	 * @param projectName
+	 * @param headers
+	 *            the additional headers, each terminated by a new line
+	 * @return a new plugin project
+	 * @see #setManifest(IProject, String)
+	 */
+	public static IProject createPluginProjectWithHeaders(String projectName, String headers) throws Exception {
+		IProject project = createPluginProject(projectName, (IExecutionEnvironment) null).getProject();
+		setManifest(project, headers);
+		return project;
+	}
+
+	/**
+	 * Replaces the manifest of the given plug-in project by a manifest with
+	 * the project name as symbolic name, version <code>1.0.0</code> and the
+	 * given additional headers, and waits for the models to be updated.
+	 *
+	 * @param project
+	 * @param headers
+	 *            the additional headers, each terminated by a new line
+	 */
+	public static void setManifest(IProject project, String headers) throws CoreException {
+		String manifest = "Manifest-Version: 1.0\n" //
+				+ "Bundle-ManifestVersion: 2\n" //
+				+ "Bundle-SymbolicName: " + project.getName() + "\n" //
+				+ "Bundle-Version: 1.0.0\n" //
+				+ headers;
+		project.getFile("META-INF/MANIFEST.MF").setContents(
+				new ByteArrayInputStream(manifest.getBytes(StandardCharsets.UTF_8)), true, false, null);
+		TestUtils.waitForJobs("ProjectUtils.setManifest " + project.getName(), 100, 10000);
+	}
+
 	private static final Set<IProject> IMPORTED_PROJECTS = ConcurrentHashMap.newKeySet();
 
 	public static IProject importTestProject(String path) throws IOException, CoreException {